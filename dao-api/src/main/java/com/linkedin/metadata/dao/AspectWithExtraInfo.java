@@ -2,19 +2,46 @@ package com.linkedin.metadata.dao;
 
 import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.metadata.query.ExtraInfo;
+import javax.annotation.Nonnull;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.NonNull;
 import lombok.Value;
 
 
 /**
  * A value class that holds aspect along with other information.
+ *
+ * <p>The aspect may be held in its serialized form and only decoded on the first {@link #getAspect()}, see
+ * {@link #lazy(LazyAspect, ExtraInfo)}.
  */
 @Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
 public class AspectWithExtraInfo<ASPECT extends RecordTemplate> {
 
   @NonNull
-  ASPECT aspect;
+  @Getter(AccessLevel.NONE)
+  LazyAspect<ASPECT> lazyAspect;
 
   @NonNull
   ExtraInfo extraInfo;
-}
\ No newline at end of file
+
+  public AspectWithExtraInfo(@NonNull ASPECT aspect, @NonNull ExtraInfo extraInfo) {
+    this(LazyAspect.of(aspect), extraInfo);
+  }
+
+  /**
+   * Creates an {@link AspectWithExtraInfo} whose aspect is decoded on the first {@link #getAspect()}.
+   */
+  @Nonnull
+  public static <ASPECT extends RecordTemplate> AspectWithExtraInfo<ASPECT> lazy(@Nonnull LazyAspect<ASPECT> aspect,
+      @Nonnull ExtraInfo extraInfo) {
+    return new AspectWithExtraInfo<>(aspect, extraInfo);
+  }
+
+  @Nonnull
+  public ASPECT getAspect() {
+    return lazyAspect.get();
+  }
+}
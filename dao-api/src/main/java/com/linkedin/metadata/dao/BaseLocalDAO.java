@@ -19,6 +19,7 @@ import com.linkedin.metadata.annotations.UrnFilter;
 import com.linkedin.metadata.annotations.UrnFilterArray;
 import com.linkedin.metadata.backfill.BackfillMode;
 import com.linkedin.metadata.dao.builder.BaseLocalRelationshipBuilder.LocalRelationshipUpdates;
+import com.linkedin.metadata.dao.cache.BaseAspectCache;
 import com.linkedin.metadata.dao.equality.DefaultEqualityTester;
 import com.linkedin.metadata.dao.equality.EqualityTester;
 import com.linkedin.metadata.dao.exception.ModelValidationException;
@@ -27,6 +28,8 @@ import com.linkedin.metadata.dao.ingestion.BaseLambdaFunction;
 import com.linkedin.metadata.dao.ingestion.LambdaFunctionRegistry;
 import com.linkedin.metadata.dao.ingestion.AspectCallbackRegistry;
 import com.linkedin.metadata.dao.ingestion.AspectCallbackRoutingClient;
+import com.linkedin.metadata.dao.producer.AspectSpecificMetadataAuditEvent;
+import com.linkedin.metadata.dao.producer.BaseMetadataEventOutbox;
 import com.linkedin.metadata.dao.producer.BaseMetadataEventProducer;
 import com.linkedin.metadata.dao.producer.BaseTrackingMetadataEventProducer;
 import com.linkedin.metadata.dao.retention.IndefiniteRetention;
@@ -64,6 +67,7 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
@@ -130,7 +134,6 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
   // Note: intentionally NOT static so it can reference the outer class's URN type parameter directly,
   // ensuring canonicalUrn stays entity-specific (e.g. DatasetInstanceUrn) instead of the base Urn.
   @Getter
-  @AllArgsConstructor
   class AddResult<ASPECT extends RecordTemplate> {
     ASPECT oldValue;
     ASPECT newValue;
@@ -139,6 +142,15 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
     // as the entity-specific URN type (not the base Urn) so hooks/producers expecting URN don't get a
     // ClassCastException. For new entities with no existing DB row, this is set to the incoming MCE URN.
     @Nonnull URN canonicalUrn;
+    // Whether the MAEs of the result have already been appended to the outbox, within the transaction of the write
+    boolean auditEventsAppended = false;
+
+    AddResult(ASPECT oldValue, ASPECT newValue, Class<ASPECT> klass, @Nonnull URN canonicalUrn) {
+      this.oldValue = oldValue;
+      this.newValue = newValue;
+      this.klass = klass;
+      this.canonicalUrn = canonicalUrn;
+    }
   }
 
   @Value
@@ -226,6 +238,65 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
     AspectUpdateLambda<ASPECT> lambda;
   }
 
+  /**
+   * Outcome of the upsert of the aspects of an entity by
+   * {@link #batchUpsertMany(Map, AuditStamp, IngestionTrackingContext, int)}.
+   */
+  public enum BatchUpsertStatus {
+    // at least one aspect was written
+    WRITTEN,
+    // no aspect was written, e.g. as all were unchanged or skipped by a callback
+    SKIPPED,
+    // the entity was rejected or its upsert failed
+    FAILED
+  }
+
+  /**
+   * Per-entity result of {@link #batchUpsertMany(Map, AuditStamp, IngestionTrackingContext, int)}.
+   *
+   * @param <ASPECT_UNION> must be a valid aspect union type defined in com.linkedin.metadata.aspect
+   */
+  @Value
+  public static class BatchUpsertResult<ASPECT_UNION extends UnionTemplate> {
+    @Nonnull
+    BatchUpsertStatus status;
+
+    // The aspects processed, as returned by batchUpsert. Empty if the upsert failed.
+    @Nonnull
+    List<ASPECT_UNION> results;
+
+    // Classes of the aspects that were not written
+    @Nonnull
+    List<Class<? extends RecordTemplate>> skippedAspects;
+
+    @Nullable
+    RuntimeException failure;
+
+    static <ASPECT_UNION extends UnionTemplate> BatchUpsertResult<ASPECT_UNION> failed(
+        @Nonnull RuntimeException failure) {
+      return new BatchUpsertResult<>(BatchUpsertStatus.FAILED, Collections.emptyList(), Collections.emptyList(),
+          failure);
+    }
+  }
+
+  /**
+   * The aspects of an entity that went through the batch upsert pipeline: all the processed aspects, with their old and
+   * new values, and those of them to be written. See {@link #prepareBatchUpsert}.
+   */
+  @Value
+  private class PreparedBatchUpsert {
+    List<AddResult<RecordTemplate>> processedResults;
+    List<AspectUpdateContext<RecordTemplate>> contextsToWrite;
+
+    boolean isTestMode() {
+      // If ANY aspect in the batch has isTestMode=true, the entire batch runs in test mode.
+      // This follows the established precedent in createAssetWithAspects() (see PR #498) where the create pathway
+      // applies the same logic. The assumption is that test mode is a property of the ingestion request, not
+      // individual aspects — callers should never mix test and non-test aspects in a single batch.
+      return contextsToWrite.stream().anyMatch(ctx -> ctx.getLambda().getIngestionParams().isTestMode());
+    }
+  }
+
   private static final String DEFAULT_ID_NAMESPACE = "global";
 
   private static final String BACKFILL_EMITTER = "dao_backfill_endpoint";
@@ -240,7 +311,7 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
 
   private static final IndefiniteRetention INDEFINITE_RETENTION = new IndefiniteRetention();
 
-  private static final int DEFAULT_MAX_TRANSACTION_RETRY = 3;
+  protected static final int DEFAULT_MAX_TRANSACTION_RETRY = 3;
 
   protected final BaseMetadataEventProducer _producer;
   protected final BaseTrackingMetadataEventProducer _trackingProducer;
@@ -282,6 +353,15 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
 
   private Clock _clock = Clock.systemUTC();
 
+  // Read-through cache of latest-version aspects, null if caching is disabled
+  private BaseAspectCache _aspectCache = null;
+
+  // Outbox the MAEs are appended to within the write transactions, null if MAEs are produced directly
+  private BaseMetadataEventOutbox _metadataEventOutbox = null;
+
+  // In-process locks serializing the writes to an urn, null if concurrent writes to an urn only rely on optimistic locking
+  private volatile UrnWriteLocks _urnWriteLocks = null;
+
 
   /**
    * Constructor for BaseLocalDAO.
@@ -514,6 +594,43 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
     _emitAuditEvent = emitAuditEvent;
   }
 
+  /**
+   * Sets a read-through cache for latest-version aspects read by {@link #getWithExtraInfo(Set)} and the
+   * {@code get} methods. Off by default; pass null to turn it off again.
+   *
+   * <p>Cached entries are invalidated by every write and delete made through this DAO, so a process never reads back a
+   * stale value after its own write. Writes made by other processes are only picked up once the entry expires, so the
+   * cache TTL bounds how stale a read can be. Reads made on the write path (read-before-write) always bypass the cache.
+   */
+  public void setAspectCache(@Nullable BaseAspectCache aspectCache) {
+    _aspectCache = aspectCache;
+  }
+
+  /**
+   * Sets a transactional outbox for the MAEs. Off by default; pass null to turn it off again.
+   *
+   * <p>In outbox mode the MAEs are no longer produced after the commit of a write, they are appended to the outbox
+   * within the transaction of the write instead, so that a slow or unavailable producer can't stall ingestion and a
+   * crash after the commit can't lose an event. A separate relay delivers the events of the outbox to the producer.
+   * The emit settings of the DAO still decide which events are appended.
+   */
+  public void setMetadataEventOutbox(@Nullable BaseMetadataEventOutbox metadataEventOutbox) {
+    _metadataEventOutbox = metadataEventOutbox;
+  }
+
+  /**
+   * Sets in-process locks to serialize the writes to an urn. Off by default; pass null to turn it off again.
+   *
+   * <p>With the locks, the transactions of {@link #add(Urn, AspectUpdateLambda, AuditStamp, int, IngestionTrackingContext,
+   * boolean)} and {@link #addMany(Urn, List, AuditStamp, int, IngestionTrackingContext)} hold the stripe of their urn
+   * until they commit, so that the writes to an urn made by the threads of this process queue up instead of failing
+   * each other's optimistic locking and retrying. Writes made by other processes, or joining a transaction started
+   * outside of the DAO, still rely on optimistic locking only. The same locks can be shared by the DAOs of an entity.
+   */
+  public void setUrnWriteLocks(@Nullable UrnWriteLocks urnWriteLocks) {
+    _urnWriteLocks = urnWriteLocks;
+  }
+
   /**
    * Sets the URN validator registry used to validate URNs on write paths.
    */
@@ -692,13 +809,15 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
     final List<AddResult<? extends RecordTemplate>> results;
     if (_enableAtomicMultipleUpdate) {
       // atomic multiple update enabled: run in a single transaction
-      results = runInTransactionWithRetry(() ->
-              aspectUpdateLambdas.stream().map(x -> aspectUpdateHelper(urn, x, auditStamp, trackingContext)).collect(Collectors.toList()),
-          maxTransactionRetry);
+      results = runWithUrnWriteLock(urn, () -> runInTransactionWithRetry(() ->
+              aspectUpdateLambdas.stream().map(x -> appendAuditEvents(aspectUpdateHelper(urn, x, auditStamp, trackingContext),
+                  auditStamp, trackingContext)).collect(Collectors.toList()),
+          maxTransactionRetry));
     } else {
       // no atomic multiple updates: run each in its own transaction. This is the same as repeated calls to add
-      results = aspectUpdateLambdas.stream().map(x -> runInTransactionWithRetry(() ->
-          aspectUpdateHelper(urn, x, auditStamp, trackingContext), maxTransactionRetry)).collect(Collectors.toList());
+      results = aspectUpdateLambdas.stream().map(x -> runWithUrnWriteLock(urn, () -> runInTransactionWithRetry(() ->
+          appendAuditEvents(aspectUpdateHelper(urn, x, auditStamp, trackingContext), auditStamp, trackingContext),
+          maxTransactionRetry))).collect(Collectors.toList());
     }
 
     // send the audit events etc
@@ -769,6 +888,151 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
     );
   }
 
+  /**
+   * Batch upsert of the aspects of many entities, the multi-URN counterpart of
+   * {@link #batchUpsert(Urn, List, AuditStamp, IngestionTrackingContext)}.
+   *
+   * <p>The entities are processed in chunks of {@code chunkSize} URNs. Each chunk runs in its own transaction which:
+   * <ul>
+   *   <li>reads the latest values of all the aspects of the chunk at once,</li>
+   *   <li>runs every aspect through the same pipeline as batchUpsert (lambdas, callbacks, equality testing and
+   *       backfill logic, validation and pre-update hooks),</li>
+   *   <li>writes the changed aspects of the whole chunk at once, see
+   *       {@link #batchUpsertAspects(Map, AuditStamp, IngestionTrackingContext, boolean)}.</li>
+   * </ul>
+   * Once the transaction is committed, the post-update hooks are invoked and the MAEs are emitted.
+   *
+   * <p>A failure of an entity doesn't fail the others. An entity that is rejected or fails in the pipeline is left out
+   * of the write of its chunk. If the write of a chunk fails, its entities are upserted again one by one so that only
+   * the faulty ones fail. An entity whose post-update hooks or MAE emission fail is reported as failed although its
+   * aspects were written.
+   *
+   * @param aspectUpdateLambdas aspect update lambdas to upsert, by entity URN
+   * @param auditStamp audit stamp for tracking
+   * @param trackingContext tracking context for ingestion
+   * @param chunkSize maximum number of entities upserted in a transaction, must be positive
+   * @return the result of each entity, in the order of {@code aspectUpdateLambdas}
+   */
+  @Nonnull
+  public Map<URN, BatchUpsertResult<ASPECT_UNION>> batchUpsertMany(
+      @Nonnull Map<URN, List<AspectUpdateLambda<? extends RecordTemplate>>> aspectUpdateLambdas,
+      @Nonnull AuditStamp auditStamp, @Nullable IngestionTrackingContext trackingContext, int chunkSize) {
+    if (chunkSize <= 0) {
+      throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+    }
+
+    final Map<URN, BatchUpsertResult<ASPECT_UNION>> results = new HashMap<>();
+    final List<URN> validUrns = new ArrayList<>();
+    for (Map.Entry<URN, List<AspectUpdateLambda<? extends RecordTemplate>>> entry : aspectUpdateLambdas.entrySet()) {
+      try {
+        _urnValidatorRegistry.validateUrnForWrite("batchUpsertMany", auditStamp, entry.getKey());
+        checkBatchAspects(entry.getKey(), entry.getValue());
+        validUrns.add(entry.getKey());
+      } catch (RuntimeException e) {
+        results.put(entry.getKey(), BatchUpsertResult.failed(e));
+      }
+    }
+
+    // The MAE emission of a chunk resets the backfill flag of the tracking context, remember it for the next chunks
+    final boolean isBackfill = trackingContext != null && trackingContext.hasBackfill() && trackingContext.isBackfill();
+    for (int start = 0; start < validUrns.size(); start += chunkSize) {
+      final List<URN> chunk = validUrns.subList(start, Math.min(validUrns.size(), start + chunkSize));
+      batchUpsertChunk(chunk, aspectUpdateLambdas, auditStamp, trackingContext, isBackfill, results);
+    }
+
+    final Map<URN, BatchUpsertResult<ASPECT_UNION>> orderedResults = new LinkedHashMap<>();
+    aspectUpdateLambdas.keySet().forEach(urn -> orderedResults.put(urn, results.get(urn)));
+    return orderedResults;
+  }
+
+  /**
+   * Upserts a chunk of entities of {@link #batchUpsertMany} in a transaction, then emits their MAEs. Falls back to
+   * upserting the entities one by one if the transaction fails.
+   */
+  private void batchUpsertChunk(@Nonnull List<URN> urns,
+      @Nonnull Map<URN, List<AspectUpdateLambda<? extends RecordTemplate>>> aspectUpdateLambdas,
+      @Nonnull AuditStamp auditStamp, @Nullable IngestionTrackingContext trackingContext, boolean isBackfill,
+      @Nonnull Map<URN, BatchUpsertResult<ASPECT_UNION>> results) {
+    final Map<URN, RuntimeException> failures = new HashMap<>();
+    final Map<URN, PreparedBatchUpsert> prepared;
+    try {
+      prepared = runInTransactionWithRetry(() -> {
+        failures.clear();
+        if (isBackfill) {
+          trackingContext.setBackfill(true);
+        }
+        final Map<URN, List<AspectUpdateLambda<? extends RecordTemplate>>> chunkLambdas = new LinkedHashMap<>();
+        urns.forEach(urn -> chunkLambdas.put(urn, aspectUpdateLambdas.get(urn)));
+
+        // STEP 1: Batched read of the old values of the whole chunk
+        final Map<URN, Map<Class<? extends RecordTemplate>, AspectWithExtraInfo<RecordTemplate>>> oldValuesWithInfo =
+            batchGetOldValuesWithExtraInfo(chunkLambdas);
+
+        // STEP 2: Process each entity through the callbacks/validation pipeline
+        final Map<URN, PreparedBatchUpsert> chunkPrepared = new LinkedHashMap<>();
+        for (URN urn : urns) {
+          try {
+            chunkPrepared.put(urn, prepareBatchUpsert(urn, chunkLambdas.get(urn),
+                oldValuesWithInfo.getOrDefault(urn, Collections.emptyMap()), auditStamp, trackingContext));
+          } catch (RuntimeException e) {
+            failures.put(urn, e);
+          }
+        }
+
+        // STEP 3: Write the changed aspects of the chunk, test mode entities separately from the others
+        final Map<URN, List<AspectUpdateContext<RecordTemplate>>> contextsToWrite = new LinkedHashMap<>();
+        final Map<URN, List<AspectUpdateContext<RecordTemplate>>> testContextsToWrite = new LinkedHashMap<>();
+        chunkPrepared.forEach((urn, entity) -> {
+          if (!entity.getContextsToWrite().isEmpty()) {
+            (entity.isTestMode() ? testContextsToWrite : contextsToWrite).put(urn, entity.getContextsToWrite());
+          }
+        });
+        if (!contextsToWrite.isEmpty()) {
+          batchUpsertAspects(contextsToWrite, auditStamp, trackingContext, false);
+        }
+        if (!testContextsToWrite.isEmpty()) {
+          batchUpsertAspects(testContextsToWrite, auditStamp, trackingContext, true);
+        }
+        chunkPrepared.values().forEach(entity -> entity.getProcessedResults()
+            .forEach(addResult -> appendAuditEvents(addResult, auditStamp, trackingContext)));
+        return chunkPrepared;
+      }, DEFAULT_MAX_TRANSACTION_RETRY);
+    } catch (RuntimeException e) {
+      if (urns.size() == 1) {
+        results.put(urns.get(0), BatchUpsertResult.failed(e));
+        return;
+      }
+      log.warn("Batch upsert of a chunk of {} urns failed, upserting them one by one", urns.size(), e);
+      urns.forEach(urn -> batchUpsertChunk(Collections.singletonList(urn), aspectUpdateLambdas, auditStamp,
+          trackingContext, isBackfill, results));
+      return;
+    }
+
+    failures.forEach((urn, failure) -> results.put(urn, BatchUpsertResult.failed(failure)));
+
+    // STEP 4: Post-transaction processing (with actual old values for MAE logic)
+    prepared.forEach((urn, entity) -> {
+      try {
+        final List<ASPECT_UNION> unions = new ArrayList<>();
+        for (AddResult<RecordTemplate> addResult : entity.getProcessedResults()) {
+          unions.add(unwrapAddResultToUnion(addResult, auditStamp, trackingContext));
+        }
+        final Set<Class<? extends RecordTemplate>> writtenAspects = entity.getContextsToWrite().stream()
+            .map(ctx -> ctx.getLambda().getAspectClass())
+            .collect(Collectors.toSet());
+        final List<Class<? extends RecordTemplate>> skippedAspects = aspectUpdateLambdas.get(urn).stream()
+            .map(AspectUpdateLambda::getAspectClass)
+            .filter(aspectClass -> !writtenAspects.contains(aspectClass))
+            .collect(Collectors.toList());
+        results.put(urn, new BatchUpsertResult<>(
+            writtenAspects.isEmpty() ? BatchUpsertStatus.SKIPPED : BatchUpsertStatus.WRITTEN, unions, skippedAspects,
+            null));
+      } catch (RuntimeException e) {
+        results.put(urn, BatchUpsertResult.failed(e));
+      }
+    });
+  }
+
   /**
    * Batch upsert with AspectUpdateLambda support (enables test mode and ingestion params).
    *
@@ -791,6 +1055,37 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
       @Nonnull List<AspectUpdateLambda<? extends RecordTemplate>> aspectUpdateLambdas,
       @Nonnull AuditStamp auditStamp, @Nullable IngestionTrackingContext trackingContext) {
 
+    checkBatchAspects(urn, aspectUpdateLambdas);
+
+    // STEP 1: Batched read of old values with extra info (1 query)
+    Map<Class<? extends RecordTemplate>, AspectWithExtraInfo<RecordTemplate>> oldValuesWithInfo =
+        batchGetOldValuesWithExtraInfo(urn, aspectUpdateLambdas);
+
+    // STEP 2: Process all aspects through callbacks/validation pipeline
+    PreparedBatchUpsert prepared =
+        prepareBatchUpsert(urn, aspectUpdateLambdas, oldValuesWithInfo, auditStamp, trackingContext);
+
+    // STEP 3: Execute batch SQL (1 query) - only for changed aspects
+    if (!prepared.getContextsToWrite().isEmpty()) {
+      batchUpsertAspects(urn, prepared.getContextsToWrite(), auditStamp, trackingContext, prepared.isTestMode());
+    }
+
+    // STEP 4: Post-transaction processing (with actual old values for MAE logic)
+    List<ASPECT_UNION> results = new ArrayList<>();
+    for (AddResult<RecordTemplate> addResult : prepared.getProcessedResults()) {
+      // unwrapAddResultToUnion() checks equality internally - won't emit MAE if old == new
+      ASPECT_UNION result = unwrapAddResultToUnion(addResult, auditStamp, trackingContext);
+      results.add(result);
+    }
+
+    return results;
+  }
+
+  /**
+   * Checks that the aspects of a batch upsert are valid and that each aspect class appears only once.
+   */
+  private void checkBatchAspects(@Nonnull URN urn,
+      @Nonnull List<AspectUpdateLambda<? extends RecordTemplate>> aspectUpdateLambdas) {
     // Validate all aspects upfront
     aspectUpdateLambdas.stream().map(AspectUpdateLambda::getAspectClass).forEach(this::checkValidAspect);
 
@@ -804,12 +1099,23 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
                 aspectClass.getCanonicalName(), urn));
       }
     }
+  }
 
-    // STEP 1: Batched read of old values with extra info (1 query)
-    Map<Class<? extends RecordTemplate>, AspectWithExtraInfo<RecordTemplate>> oldValuesWithInfo =
-        batchGetOldValuesWithExtraInfo(urn, aspectUpdateLambdas);
-
-    // STEP 2: Process all aspects through callbacks/validation pipeline
+  /**
+   * Runs the aspects of a batch upsert of an entity through the callbacks/validation pipeline, see
+   * {@link #addManyBatchInternal} for the reasons an aspect may be skipped.
+   *
+   * @param urn entity URN
+   * @param aspectUpdateLambdas aspect update lambdas to upsert
+   * @param oldValuesWithInfo latest values of the aspects with their extra info, by aspect class
+   * @param auditStamp audit stamp for tracking
+   * @param trackingContext tracking context for ingestion
+   * @return the processed aspects and those of them to be written
+   */
+  private PreparedBatchUpsert prepareBatchUpsert(@Nonnull URN urn,
+      @Nonnull List<AspectUpdateLambda<? extends RecordTemplate>> aspectUpdateLambdas,
+      @Nonnull Map<Class<? extends RecordTemplate>, AspectWithExtraInfo<RecordTemplate>> oldValuesWithInfo,
+      @Nonnull AuditStamp auditStamp, @Nullable IngestionTrackingContext trackingContext) {
     List<AddResult<RecordTemplate>> processedResults = new ArrayList<>();
     List<AspectUpdateContext<RecordTemplate>> contextsToWrite = new ArrayList<>();
 
@@ -883,27 +1189,7 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
       contextsToWrite.add(new AspectUpdateContext<>(oldAspect, newValue, (AspectUpdateLambda<RecordTemplate>) updateLambda));
     }
 
-    // STEP 3: Execute batch SQL (1 query) - only for changed aspects
-    if (!contextsToWrite.isEmpty()) {
-      // If ANY aspect in the batch has isTestMode=true, the entire batch runs in test mode.
-      // This follows the established precedent in createAssetWithAspects() (see PR #498) where the create pathway
-      // applies the same logic. The assumption is that test mode is a property of the ingestion request, not
-      // individual aspects — callers should never mix test and non-test aspects in a single batch.
-      boolean isTestMode = contextsToWrite.stream()
-          .anyMatch(ctx -> ctx.getLambda().getIngestionParams().isTestMode());
-
-      batchUpsertAspects(urn, contextsToWrite, auditStamp, trackingContext, isTestMode);
-    }
-
-    // STEP 4: Post-transaction processing (with actual old values for MAE logic)
-    List<ASPECT_UNION> results = new ArrayList<>();
-    for (AddResult<RecordTemplate> addResult : processedResults) {
-      // unwrapAddResultToUnion() checks equality internally - won't emit MAE if old == new
-      ASPECT_UNION result = unwrapAddResultToUnion(addResult, auditStamp, trackingContext);
-      results.add(result);
-    }
-
-    return results;
+    return new PreparedBatchUpsert(processedResults, contextsToWrite);
   }
 
   /**
@@ -914,11 +1200,22 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
       batchGetOldValuesWithExtraInfo(
           @Nonnull URN urn,
           @Nonnull List<AspectUpdateLambda<? extends RecordTemplate>> aspectUpdateLambdas) {
+    return batchGetOldValuesWithExtraInfo(Collections.singletonMap(urn, aspectUpdateLambdas))
+        .getOrDefault(urn, Collections.emptyMap());
+  }
+
+  /**
+   * Multi-URN variant of {@link #batchGetOldValuesWithExtraInfo(Urn, List)}, reading the old values of all the entities
+   * with a single getWithExtraInfo() call.
+   */
+  private Map<URN, Map<Class<? extends RecordTemplate>, AspectWithExtraInfo<RecordTemplate>>>
+      batchGetOldValuesWithExtraInfo(
+          @Nonnull Map<URN, List<AspectUpdateLambda<? extends RecordTemplate>>> aspectUpdateLambdas) {
 
     // Build aspect keys for batch get
-    Set<AspectKey<URN, ? extends RecordTemplate>> keys = aspectUpdateLambdas.stream()
-        .map(lambda -> new AspectKey<>(lambda.getAspectClass(), urn, LATEST_VERSION))
-        .collect(Collectors.toSet());
+    Set<AspectKey<URN, ? extends RecordTemplate>> keys = new HashSet<>();
+    aspectUpdateLambdas.forEach((urn, lambdas) -> lambdas.forEach(
+        lambda -> keys.add(new AspectKey<>(lambda.getAspectClass(), urn, LATEST_VERSION))));
 
     // Single batched query - uses existing infrastructure.
     // Mark as an internal read-before-write so usage instrumentation does not count it as a consumer read.
@@ -927,17 +1224,21 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
       results = getWithExtraInfo(keys);
     }
 
-    // Convert to class-based map for easier lookup
-    Map<Class<? extends RecordTemplate>, AspectWithExtraInfo<RecordTemplate>> byClass = new HashMap<>();
-    for (AspectUpdateLambda lambda : aspectUpdateLambdas) {
-      AspectKey key = new AspectKey<>(lambda.getAspectClass(), urn, LATEST_VERSION);
-      AspectWithExtraInfo info = (AspectWithExtraInfo<RecordTemplate>) results.get(key);
-      if (info != null) {
-        byClass.put(lambda.getAspectClass(), info);
+    // Convert to class-based maps for easier lookup
+    Map<URN, Map<Class<? extends RecordTemplate>, AspectWithExtraInfo<RecordTemplate>>> byUrn = new HashMap<>();
+    aspectUpdateLambdas.forEach((urn, lambdas) -> {
+      Map<Class<? extends RecordTemplate>, AspectWithExtraInfo<RecordTemplate>> byClass = new HashMap<>();
+      for (AspectUpdateLambda lambda : lambdas) {
+        AspectKey key = new AspectKey<>(lambda.getAspectClass(), urn, LATEST_VERSION);
+        AspectWithExtraInfo info = (AspectWithExtraInfo<RecordTemplate>) results.get(key);
+        if (info != null) {
+          byClass.put(lambda.getAspectClass(), info);
+        }
       }
-    }
+      byUrn.put(urn, byClass);
+    });
 
-    return byClass;
+    return byUrn;
   }
 
   private <ASPECT extends RecordTemplate> AddResult<ASPECT> aspectUpdateHelper(URN urn, AspectUpdateLambda<ASPECT> updateTuple,
@@ -1067,14 +1368,14 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
     final Class<ASPECT> aspectClass = result.getKlass();
     final ASPECT oldValue = result.getOldValue();
     final ASPECT newValue = result.getNewValue();
-    final EqualityTester<ASPECT> equalityTester = getEqualityTester(aspectClass);
-    final boolean oldAndNewEqual = (oldValue == null && newValue == null)
-        || (oldValue != null && newValue != null && equalityTester.equals(oldValue, newValue));
 
     // Use the canonical URN stored in AddResult (DB-stored URN if available, otherwise the incoming URN).
     // Already the correctly-typed URN (see addCommon()/addManyBatchInternal()) — no cast needed.
     final URN maeUrn = result.getCanonicalUrn();
 
+    // Drop the cached value before anything downstream (hooks, MAE consumers) gets a chance to read it back
+    invalidateAspectCache(maeUrn, aspectClass);
+
     // Invoke post-update hooks if there's any
     // Note that we do NOT support post-update (or pre-update) hooks for deletion operations (yet). However, since
     //   newValue can in theory be NULL outside of deletion operations, we need to check for that here.
@@ -1082,11 +1383,34 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
       _aspectPostUpdateHooksMap.get(aspectClass).forEach(hook -> hook.accept(maeUrn, newValue));
     }
 
-    // Produce MAE after a successful update
+    // Produce MAE after a successful update, unless it's already in the outbox
+    if (!result.isAuditEventsAppended()) {
+      produceAuditEvents(result, auditStamp, trackingContext);
+    }
+
+    // return the new value for updates and the old value for deletions
+    return isDeletion ? oldValue : newValue;
+  }
+
+  /**
+   * Produces the MAEs of an update, or appends them to the outbox in outbox mode.
+   */
+  private <ASPECT extends RecordTemplate> void produceAuditEvents(@Nonnull AddResult<ASPECT> result,
+      @Nonnull AuditStamp auditStamp, @Nullable IngestionTrackingContext trackingContext) {
+    final Class<ASPECT> aspectClass = result.getKlass();
+    final ASPECT oldValue = result.getOldValue();
+    final ASPECT newValue = result.getNewValue();
+    final URN maeUrn = result.getCanonicalUrn();
+    final EqualityTester<ASPECT> equalityTester = getEqualityTester(aspectClass);
+    final boolean oldAndNewEqual = (oldValue == null && newValue == null)
+        || (oldValue != null && newValue != null && equalityTester.equals(oldValue, newValue));
+
     if (_emitAuditEvent) {
       // https://jira01.corp.linkedin.com:8443/browse/APA-80115
       if (_alwaysEmitAuditEvent || !oldAndNewEqual) {
-        if (_trackingProducer != null) {
+        if (_metadataEventOutbox != null) {
+          _metadataEventOutbox.appendMetadataAuditEvent(maeUrn, oldValue, newValue, aspectClass);
+        } else if (_trackingProducer != null) {
           _trackingProducer.produceMetadataAuditEvent(maeUrn, oldValue, newValue);
         } else {
           _producer.produceMetadataAuditEvent(maeUrn, oldValue, newValue);
@@ -1098,7 +1422,10 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
     // Produce aspect specific MAE after a successful update
     if (_emitAspectSpecificAuditEvent) {
       if (_alwaysEmitAspectSpecificAuditEvent || !oldAndNewEqual) {
-        if (_trackingProducer != null) {
+        if (_metadataEventOutbox != null) {
+          _metadataEventOutbox.appendAspectSpecificMetadataAuditEvent(maeUrn, oldValue, newValue, aspectClass,
+              auditStamp, trackingContext, IngestionMode.LIVE, null);
+        } else if (_trackingProducer != null) {
           _trackingProducer.produceAspectSpecificMetadataAuditEvent(maeUrn, oldValue, newValue, aspectClass, auditStamp,
               trackingContext, IngestionMode.LIVE);
         } else {
@@ -1106,26 +1433,59 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
         }
       }
     }
-
-    // return the new value for updates and the old value for deletions
-    return isDeletion ? oldValue : newValue;
   }
 
-  private <ASPECT extends RecordTemplate> ASPECT unwrapDeleteResult(Urn urn, @Nonnull DeleteResult<ASPECT> result,
-      @Nonnull AuditStamp auditStamp, @Nullable IngestionTrackingContext trackingContext, ChangeType changeType) {
-
-    final ASPECT oldValue = result.getOldValue();
+  /**
+   * In outbox mode, appends the MAEs of an update to the outbox. Must be called within the transaction of the update,
+   * whose result is then unwrapped after the commit without producing the MAEs again.
+   *
+   * @return the given result
+   */
+  @Nullable
+  private <ASPECT extends RecordTemplate> AddResult<ASPECT> appendAuditEvents(@Nullable AddResult<ASPECT> result,
+      @Nonnull AuditStamp auditStamp, @Nullable IngestionTrackingContext trackingContext) {
+    if (_metadataEventOutbox == null || result == null || result.isAuditEventsAppended()) {
+      return result;
+    }
+    if (trackingContext != null) {
+      trackingContext.setBackfill(false); // as done by unwrapAddResult, the MAE won't be a backfill event
+    }
+    produceAuditEvents(result, auditStamp, trackingContext);
+    result.auditEventsAppended = true;
+    return result;
+  }
 
+  /**
+   * Produces the aspect specific MAE of a deletion, or appends it to the outbox in outbox mode.
+   */
+  private <ASPECT extends RecordTemplate> void produceDeleteAuditEvent(@Nonnull Urn urn, @Nullable ASPECT oldValue,
+      @Nonnull Class<ASPECT> aspectClass, @Nonnull AuditStamp auditStamp,
+      @Nullable IngestionTrackingContext trackingContext, @Nonnull ChangeType changeType) {
     if (_emitAspectSpecificAuditEvent) {
       // For delete operation, the new value is always null
-      if (_trackingProducer != null) {
-        _trackingProducer.produceAspectSpecificMetadataAuditEvent(urn, oldValue, null, result.getKlass(), auditStamp,
+      if (_metadataEventOutbox != null) {
+        _metadataEventOutbox.appendAspectSpecificMetadataAuditEvent(urn, oldValue, null, aspectClass, auditStamp,
+            trackingContext, IngestionMode.LIVE, changeType);
+      } else if (_trackingProducer != null) {
+        _trackingProducer.produceAspectSpecificMetadataAuditEvent(urn, oldValue, null, aspectClass, auditStamp,
             trackingContext, IngestionMode.LIVE, changeType);
       } else {
-        _producer.produceAspectSpecificMetadataAuditEvent(urn, oldValue, null, result.getKlass(), auditStamp,
+        _producer.produceAspectSpecificMetadataAuditEvent(urn, oldValue, null, aspectClass, auditStamp,
             IngestionMode.LIVE, changeType);
       }
     }
+  }
+
+  private <ASPECT extends RecordTemplate> ASPECT unwrapDeleteResult(Urn urn, @Nonnull DeleteResult<ASPECT> result,
+      @Nonnull AuditStamp auditStamp, @Nullable IngestionTrackingContext trackingContext, ChangeType changeType) {
+
+    final ASPECT oldValue = result.getOldValue();
+    invalidateAspectCache(urn, result.getKlass());
+
+    // in outbox mode, the MAE has been appended within the transaction of the deletion
+    if (_metadataEventOutbox == null) {
+      produceDeleteAuditEvent(urn, oldValue, result.getKlass(), auditStamp, trackingContext, changeType);
+    }
 
     return oldValue;
   }
@@ -1218,19 +1578,53 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
   @Nonnull
   public <ASPECT extends RecordTemplate> ASPECT add(@Nonnull URN urn, AspectUpdateLambda<ASPECT> updateLambda,
       @Nonnull AuditStamp auditStamp, int maxTransactionRetry, @Nullable IngestionTrackingContext trackingContext, boolean isRawUpdate) {
-    _urnValidatorRegistry.validateUrnForWrite("add", auditStamp, urn);
+    checkAdd(urn, updateLambda, auditStamp);
 
-    final Class<ASPECT> aspectClass = updateLambda.getAspectClass();
-    checkValidAspect(aspectClass);
+    final Supplier<ASPECT> completion = runWithUrnWriteLock(urn, () ->
+        runInTransactionWithRetry(() -> addWithinTransaction(urn, updateLambda, auditStamp, trackingContext, isRawUpdate),
+            maxTransactionRetry, updateLambda.getAspectClass()));
+    return completion.get();
+  }
+
+  /**
+   * Runs a write to an urn, including the commit of its transaction, while holding the urn write lock of the urn if
+   * {@link #setUrnWriteLocks(UrnWriteLocks)} is set.
+   */
+  private <T> T runWithUrnWriteLock(@Nonnull URN urn, @Nonnull Supplier<T> write) {
+    final UrnWriteLocks urnWriteLocks = _urnWriteLocks;
+    return urnWriteLocks == null ? write.get() : urnWriteLocks.runLocked(urn, write);
+  }
+
+  /**
+   * Validates the URN and the aspect of an {@link #add(Urn, AspectUpdateLambda, AuditStamp, int, IngestionTrackingContext, boolean)}
+   * call, before its transaction starts.
+   */
+  <ASPECT extends RecordTemplate> void checkAdd(@Nonnull URN urn, @Nonnull AspectUpdateLambda<ASPECT> updateLambda,
+      @Nonnull AuditStamp auditStamp) {
+    _urnValidatorRegistry.validateUrnForWrite("add", auditStamp, urn);
+    checkValidAspect(updateLambda.getAspectClass());
+  }
 
+  /**
+   * Runs the transactional part of an {@link #add(Urn, AspectUpdateLambda, AuditStamp, int, IngestionTrackingContext, boolean)}
+   * call. Must be called within a transaction, e.g. one shared by several adds, see {@code GroupCommitWriter}.
+   *
+   * @return the rest of the add, producing the MAE and invoking the post-update hooks, to be run once the transaction
+   *     has been committed. It returns the new value of the aspect.
+   */
+  @Nonnull
+  <ASPECT extends RecordTemplate> Supplier<ASPECT> addWithinTransaction(@Nonnull URN urn,
+      @Nonnull AspectUpdateLambda<ASPECT> updateLambda, @Nonnull AuditStamp auditStamp,
+      @Nullable IngestionTrackingContext trackingContext, boolean isRawUpdate) {
     // default test mode is false being set in
     // {@link #rawAdd(Urn, RecordTemplate, AuditStamp, IngestionTrackingContext, IngestionParams)}}
-    final AddResult<ASPECT> result =
-        runInTransactionWithRetry(() -> aspectUpdateHelper(urn, updateLambda, auditStamp, trackingContext, isRawUpdate),
-            maxTransactionRetry);
+    final AddResult<ASPECT> result = aspectUpdateHelper(urn, updateLambda, auditStamp, trackingContext, isRawUpdate);
+    if (!updateLambda.getIngestionParams().isTestMode()) {
+      appendAuditEvents(result, auditStamp, trackingContext);
+    }
 
     // skip MAE producing and post update hook in test mode or if the result is null (no actual update with addCommon)
-    return result == null ? null : (updateLambda.getIngestionParams().isTestMode() ? result.newValue
+    return () -> result == null ? null : (updateLambda.getIngestionParams().isTestMode() ? result.newValue
         : unwrapAddResult(result, auditStamp, trackingContext));
   }
 
@@ -1348,9 +1742,17 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
       });
 
       permanentDelete(urn, nonNullIngestionParams.isTestMode());
+      if (_metadataEventOutbox != null) {
+        results.forEach((aspectClass, deletedAspect) -> produceDeleteAuditEvent(urn, deletedAspect,
+            (Class<RecordTemplate>) aspectClass, auditStamp, trackingContext, ChangeType.DELETE_ALL));
+      }
       return results;
     }, maxTransactionRetry);
 
+    if (_aspectCache != null) {
+      _aspectCache.invalidateAll(urn);
+    }
+
 
     Collection<RecordTemplate> deletedAspects = new ArrayList<>();
     results.forEach((key, value) -> {
@@ -1469,8 +1871,10 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
     final AddResult<ASPECT> result = runInTransactionWithRetry(() -> {
       final AspectEntry<ASPECT> latest = getLatest(urn, aspectClass, false);
       final IngestionParams ingestionParams = new IngestionParams().setIngestionMode(IngestionMode.LIVE);
-      return addCommon(urn, latest, null, aspectClass, auditStamp, new DefaultEqualityTester<>(), trackingContext, ingestionParams);
-    }, maxTransactionRetry);
+      return appendAuditEvents(
+          addCommon(urn, latest, null, aspectClass, auditStamp, new DefaultEqualityTester<>(), trackingContext, ingestionParams),
+          auditStamp, trackingContext);
+    }, maxTransactionRetry, aspectClass);
 
     // TODO: add support for sending MAE for soft deleted aspects
     // FY25H2 Note: When performing an Aspect UPDATE, unwrapAddResultToUnion() is called, which emits MAE and does post-update hooks.
@@ -1647,6 +2051,27 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
       @Nonnull AuditStamp auditStamp,
       @Nullable IngestionTrackingContext trackingContext, boolean isTestMode);
 
+  /**
+   * Batch upsert multiple aspects for multiple URNs, called within the transaction of a chunk of
+   * {@link #batchUpsertMany(Map, AuditStamp, IngestionTrackingContext, int)}. The default implementation upserts each
+   * URN with {@link #batchUpsertAspects(Urn, List, AuditStamp, IngestionTrackingContext, boolean)}, subclasses should
+   * override it to write all the URNs with as few statements as possible.
+   *
+   * @param updateContexts aspect update contexts by entity URN
+   * @param auditStamp audit stamp for tracking
+   * @param trackingContext tracking context for ingestion
+   * @param isTestMode whether the test mode is enabled or not
+   * @return number of rows affected
+   */
+  protected int batchUpsertAspects(@Nonnull Map<URN, List<AspectUpdateContext<RecordTemplate>>> updateContexts,
+      @Nonnull AuditStamp auditStamp, @Nullable IngestionTrackingContext trackingContext, boolean isTestMode) {
+    int rows = 0;
+    for (Map.Entry<URN, List<AspectUpdateContext<RecordTemplate>>> entry : updateContexts.entrySet()) {
+      rows += batchUpsertAspects(entry.getKey(), entry.getValue(), auditStamp, trackingContext, isTestMode);
+    }
+    return rows;
+  }
+
   /**
    * Mark the asset as deleted.
    *
@@ -1726,6 +2151,26 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
     return listUrns(indexFilter, lastUrn, pageSize);
   }
 
+  /**
+   * Asynchronous version of {@link #listUrns(IndexFilter, IndexSortCriterion, Urn, int)}, run on the
+   * {@link #getAsyncReadExecutor()}.
+   */
+  @Nonnull
+  public CompletableFuture<List<URN>> listUrnsAsync(@Nullable IndexFilter indexFilter,
+      @Nullable IndexSortCriterion indexSortCriterion, @Nullable URN lastUrn, int pageSize) {
+    return supplyAsync(() -> listUrns(indexFilter, indexSortCriterion, lastUrn, pageSize));
+  }
+
+  /**
+   * Asynchronous version of {@link #listUrns(IndexFilter, IndexSortCriterion, int, int)}, run on the
+   * {@link #getAsyncReadExecutor()}.
+   */
+  @Nonnull
+  public CompletableFuture<ListResult<URN>> listUrnsAsync(@Nullable IndexFilter indexFilter,
+      @Nullable IndexSortCriterion indexSortCriterion, int start, int pageSize) {
+    return supplyAsync(() -> listUrns(indexFilter, indexSortCriterion, start, pageSize));
+  }
+
   /**
    * Retrieves list of urn aspect entries corresponding to the aspect classes and urns.
    *
@@ -1736,29 +2181,51 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
   @Nonnull
   private List<UrnAspectEntry<URN>> getUrnAspectEntries(@Nonnull Set<Class<? extends RecordTemplate>> aspectClasses,
       @Nonnull List<URN> urns) {
-    final Map<URN, Map<Class<? extends RecordTemplate>, Optional<? extends RecordTemplate>>> urnAspectMap =
-        get(aspectClasses, new HashSet<>(urns));
+    final Set<AspectKey<URN, ? extends RecordTemplate>> keys = new HashSet<>();
+    for (URN urn : urns) {
+      for (Class<? extends RecordTemplate> aspectClass : aspectClasses) {
+        keys.add(new AspectKey<>(aspectClass, urn, LATEST_VERSION));
+      }
+    }
+    final Map<AspectKey<URN, ? extends RecordTemplate>, LazyAspect<? extends RecordTemplate>> aspects =
+        keys.isEmpty() ? Collections.emptyMap() : getLazily(keys);
 
-    final Map<URN, List<RecordTemplate>> urnListAspectMap = new LinkedHashMap<>();
+    final Map<URN, List<LazyAspect<? extends RecordTemplate>>> urnListAspectMap = new LinkedHashMap<>();
     for (URN urn : urns) {
-      final Map<Class<? extends RecordTemplate>, Optional<? extends RecordTemplate>> aspectMap = urnAspectMap.get(urn);
-      urnListAspectMap.compute(urn, (k, v) -> {
-        if (v == null) {
-          v = new ArrayList<>();
+      final List<LazyAspect<? extends RecordTemplate>> urnAspects =
+          urnListAspectMap.computeIfAbsent(urn, k -> new ArrayList<>());
+      for (Class<? extends RecordTemplate> aspectClass : aspectClasses) {
+        final LazyAspect<? extends RecordTemplate> aspect = aspects.get(new AspectKey<>(aspectClass, urn, LATEST_VERSION));
+        if (aspect != null) {
+          urnAspects.add(aspect);
         }
-        return v;
-      });
-      for (Optional<? extends RecordTemplate> aspect : aspectMap.values()) {
-        aspect.ifPresent(record -> urnListAspectMap.get(urn).add(record));
       }
     }
 
     return urnListAspectMap.entrySet()
         .stream()
-        .map(entry -> new UrnAspectEntry<>(entry.getKey(), entry.getValue()))
+        .map(entry -> UrnAspectEntry.lazy(entry.getKey(), entry.getValue()))
         .collect(Collectors.toList());
   }
 
+  /**
+   * Similar to {@link #get(Set)} but the returned aspects may be decoded lazily, on first access. Absent aspects are
+   * left out of the returned map.
+   *
+   * <p>The default implementation decodes all the aspects eagerly through {@link #get(Set)}. Implementations reading
+   * serialized aspects should override it to return them with {@link LazyAspect#fromJson(Class, String)}.
+   *
+   * @param keys set of keys for the metadata to retrieve
+   * @return a mapping of given keys to the corresponding metadata aspect, for those that exist
+   */
+  @Nonnull
+  protected Map<AspectKey<URN, ? extends RecordTemplate>, LazyAspect<? extends RecordTemplate>> getLazily(
+      @Nonnull Set<AspectKey<URN, ? extends RecordTemplate>> keys) {
+    final Map<AspectKey<URN, ? extends RecordTemplate>, LazyAspect<? extends RecordTemplate>> result = new HashMap<>();
+    get(keys).forEach((key, value) -> value.ifPresent(aspect -> result.put(key, LazyAspect.of(aspect))));
+    return result;
+  }
+
   /**
    * Retrieves list of {@link UrnAspectEntry} containing latest version of aspects along with the urn for the list of urns
    * returned from local secondary index that satisfy given filter conditions. The returned list is ordered by the
@@ -1819,6 +2286,48 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
         .build();
   }
 
+  /**
+   * Scans the urns that satisfy the given filter conditions, ordered lexicographically by their string representation.
+   * Unlike paginating with {@link #listUrns(IndexFilter, IndexSortCriterion, Urn, int)}, the whole result can be
+   * consumed in constant memory, e.g. to export the urns of a whole entity table.
+   *
+   * <p>The returned iterator must be closed, see {@link CloseableIterator}. The default implementation reads the urns a
+   * page of {@code fetchSize} at a time with {@link #listUrns(IndexFilter, IndexSortCriterion, Urn, int)}.
+   *
+   * @param indexFilter {@link IndexFilter} containing filter conditions to be applied, or null to scan all the urns
+   * @param fetchSize number of urns read from the underlying store at a time, must be positive
+   * @return an iterator over the urns satisfying the filter conditions
+   */
+  @Nonnull
+  public CloseableIterator<URN> scanUrns(@Nullable IndexFilter indexFilter, int fetchSize) {
+    checkFetchSize(fetchSize);
+    return new KeysetScanIterator<>(lastUrn -> listUrns(indexFilter, null, lastUrn, fetchSize), fetchSize);
+  }
+
+  /**
+   * Similar to {@link #scanUrns(IndexFilter, int)} but also returns the latest versions of the given aspects of each
+   * urn, like {@link #getAspects(Set, IndexFilter, IndexSortCriterion, Urn, int)} does for a page.
+   *
+   * <p>The default implementation reads the aspects of the scanned urns a batch of {@code fetchSize} at a time.
+   *
+   * @param aspectClasses aspect classes whose latest versions need to be retrieved
+   * @param indexFilter {@link IndexFilter} containing filter conditions to be applied, or null to scan all the urns
+   * @param fetchSize number of urns read from the underlying store at a time, must be positive
+   * @return an iterator over the urns satisfying the filter conditions along with their aspects
+   */
+  @Nonnull
+  public CloseableIterator<UrnAspectEntry<URN>> scanAspects(@Nonnull Set<Class<? extends RecordTemplate>> aspectClasses,
+      @Nullable IndexFilter indexFilter, int fetchSize) {
+    return new BatchMappingIterator<>(scanUrns(indexFilter, fetchSize), fetchSize,
+        urns -> getUrnAspectEntries(aspectClasses, urns));
+  }
+
+  protected static void checkFetchSize(int fetchSize) {
+    if (fetchSize <= 0) {
+      throw new IllegalArgumentException("Fetch size must be positive: " + fetchSize);
+    }
+  }
+
   /**
    * Runs the given lambda expression in a transaction with a limited number of retries.
    *
@@ -1830,6 +2339,22 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
   @Nonnull
   protected abstract <T> T runInTransactionWithRetry(@Nonnull Supplier<T> block, int maxTransactionRetry);
 
+  /**
+   * Same as {@link #runInTransactionWithRetry(Supplier, int)} for a transaction writing a single aspect, which the
+   * implementation may attribute its retries to.
+   *
+   * @param block the lambda expression to run
+   * @param maxTransactionRetry maximum number of transaction retries before throwing an exception
+   * @param aspectClass the class of the aspect written by the transaction
+   * @param <T> type for the result object
+   * @return the result object from a successfully committed transaction
+   */
+  @Nonnull
+  protected <T> T runInTransactionWithRetry(@Nonnull Supplier<T> block, int maxTransactionRetry,
+      @Nonnull Class<? extends RecordTemplate> aspectClass) {
+    return runInTransactionWithRetry(block, maxTransactionRetry);
+  }
+
   /**
    * Gets the latest version of a specific aspect type for an entity.
    *
@@ -1889,6 +2414,14 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
    */
   public abstract boolean exists(@Nonnull URN urn);
 
+  /**
+   * Asynchronous version of {@link #exists(Urn)}, run on the {@link #getAsyncReadExecutor()}.
+   */
+  @Nonnull
+  public CompletableFuture<Boolean> existsAsync(@Nonnull URN urn) {
+    return supplyAsync(() -> exists(urn));
+  }
+
   /**
    * Applies version-based retention against a specific aspect type for an entity.
    *
@@ -1940,7 +2473,7 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
     try (DaoReadContext.Scope ignored = DaoReadContext.markInternalRead()) {
       aspect = get(aspectClass, urn, LATEST_VERSION);
     }
-    aspect.ifPresent(value -> backfill(mode, value, urn));
+    aspect.ifPresent(value -> produceBackfillEvents(mode, Collections.singletonList(newBackfillEvent(urn, value))));
     return aspect;
   }
 
@@ -1991,9 +2524,11 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
     try (DaoReadContext.Scope ignored = DaoReadContext.markInternalRead()) {
       urnToAspects = get(aspectToBackfill, urns);
     }
+    final List<AspectSpecificMetadataAuditEvent<URN, ? extends RecordTemplate>> events = new ArrayList<>();
     urnToAspects.forEach((urn, aspects) -> {
-      aspects.forEach((aspectClass, aspect) -> aspect.ifPresent(value -> backfill(mode, value, urn)));
+      aspects.forEach((aspectClass, aspect) -> aspect.ifPresent(value -> events.add(newBackfillEvent(urn, value))));
     });
+    produceBackfillEvents(mode, events);
     return urnToAspects;
   }
 
@@ -2056,16 +2591,32 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
   }
 
   /**
-   * Emits backfill MAE for an aspect of an entity depending on the backfill mode.
+   * Creates the backfill MAE of an aspect of an entity, whose old and new values are both the backfilled value.
    *
-   * @param mode backfill mode
-   * @param aspect aspect to backfill
    * @param urn {@link Urn} for the entity
+   * @param aspect aspect to backfill
    * @param <ASPECT> must be a supported aspect type in {@code ASPECT_UNION}.
    */
-  private <ASPECT extends RecordTemplate> void backfill(@Nonnull BackfillMode mode, @Nonnull ASPECT aspect,
-      @Nonnull URN urn) {
+  @Nonnull
+  @SuppressWarnings("unchecked")
+  private <ASPECT extends RecordTemplate> AspectSpecificMetadataAuditEvent<URN, ASPECT> newBackfillEvent(
+      @Nonnull URN urn, @Nonnull ASPECT aspect) {
+    return new AspectSpecificMetadataAuditEvent<>((Class<ASPECT>) aspect.getClass(), urn, aspect, aspect, null);
+  }
+
+  /**
+   * Emits the backfill MAEs of a backfill as a single batch depending on the backfill mode. The events of the batch
+   * share the same tracking context.
+   *
+   * @param mode backfill mode
+   * @param events backfill MAEs to emit
+   */
+  private void produceBackfillEvents(@Nonnull BackfillMode mode,
+      @Nonnull List<AspectSpecificMetadataAuditEvent<URN, ? extends RecordTemplate>> events) {
 
+    if (events.isEmpty()) {
+      return;
+    }
     if (mode == BackfillMode.MAE_ONLY
         || mode == BackfillMode.BACKFILL_ALL
         || mode == BackfillMode.BACKFILL_INCLUDING_LIVE_INDEX) {
@@ -2074,9 +2625,9 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
         IngestionTrackingContext trackingContext = buildIngestionTrackingContext(
             TrackingUtils.getRandomUUID(), BACKFILL_EMITTER, System.currentTimeMillis());
 
-        _trackingProducer.produceAspectSpecificMetadataAuditEvent(urn, aspect, aspect, aspect.getClass(), null, trackingContext, ingestionMode);
+        _trackingProducer.produceAspectSpecificMetadataAuditEvents(events, trackingContext, ingestionMode);
       } else {
-        _producer.produceAspectSpecificMetadataAuditEvent(urn, aspect, aspect, aspect.getClass(), null, ingestionMode);
+        _producer.produceAspectSpecificMetadataAuditEvents(events, ingestionMode);
       }
     }
   }
@@ -2109,6 +2660,33 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
   public abstract <ASPECT extends RecordTemplate> ListResult<URN> listUrns(@Nonnull Class<ASPECT> aspectClass,
       int start, int pageSize);
 
+  /**
+   * Asynchronous version of {@link #listUrns(Class, int, int)}, run on the {@link #getAsyncReadExecutor()}.
+   */
+  @Nonnull
+  public <ASPECT extends RecordTemplate> CompletableFuture<ListResult<URN>> listUrnsAsync(
+      @Nonnull Class<ASPECT> aspectClass, int start, int pageSize) {
+    return supplyAsync(() -> listUrns(aspectClass, start, pageSize));
+  }
+
+  /**
+   * Similar to {@link #listUrns(Class, int, int)} but paginates by the last urn of the previous page instead of an
+   * offset, so that a page costs the same however deep it is. URNs are sorted lexicographically.
+   *
+   * <p>The next start of the result is always {@link ListResult#INVALID_NEXT_START}: the next page is listed after the
+   * last urn returned, if the result is having more.
+   *
+   * @param aspectClass the type of the aspect to query
+   * @param lastUrn the last urn of the previous page, or null for the first page
+   * @param pageSize the size of the page, must be positive
+   * @param totalCountMode how the total count is computed, counting exactly reads all the urns
+   * @param <ASPECT> must be a supported aspect type in {@code ASPECT_UNION}.
+   * @return a {@link ListResult} containing a list of URN and other pagination information
+   */
+  @Nonnull
+  public abstract <ASPECT extends RecordTemplate> ListResult<URN> listUrns(@Nonnull Class<ASPECT> aspectClass,
+      @Nullable URN lastUrn, int pageSize, @Nonnull ListResult.TotalCountMode totalCountMode);
+
   /**
    * Paginates over all versions of an aspect for a specific Urn. It does not return metadata corresponding to versions
    * indicating soft deleted aspect(s).
@@ -2153,6 +2731,24 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
   public abstract <ASPECT extends RecordTemplate> ListResult<ASPECT> list(@Nonnull Class<ASPECT> aspectClass, int start,
       int pageSize);
 
+  /**
+   * Similar to {@link #list(Class, int, int)} but paginates by the last urn of the previous page instead of an offset,
+   * so that a page costs the same however deep it is. Aspects are sorted lexicographically by their urn.
+   *
+   * <p>The next start of the result is always {@link ListResult#INVALID_NEXT_START}: the next page is listed after the
+   * urn of the last aspect returned, found in the result's metadata, if the result is having more.
+   *
+   * @param aspectClass the type of the aspect to query
+   * @param lastUrn the last urn of the previous page, or null for the first page
+   * @param pageSize the size of the page, must be positive
+   * @param totalCountMode how the total count is computed, counting exactly reads all the aspects
+   * @param <ASPECT> must be a supported aspect type in {@code ASPECT_UNION}.
+   * @return a {@link ListResult} containing a list of aspects and other pagination information
+   */
+  @Nonnull
+  public abstract <ASPECT extends RecordTemplate> ListResult<ASPECT> list(@Nonnull Class<ASPECT> aspectClass,
+      @Nullable URN lastUrn, int pageSize, @Nonnull ListResult.TotalCountMode totalCountMode);
+
   /**
    *  Gets the count of an aggregation specified by the aspect and field to group on.
    * @param indexFilter {@link IndexFilter} that defines the filter conditions
@@ -2173,6 +2769,68 @@ public abstract class BaseLocalDAO<ASPECT_UNION extends UnionTemplate, URN exten
   public abstract Map<AspectKey<URN, ? extends RecordTemplate>, AspectWithExtraInfo<? extends RecordTemplate>> getWithExtraInfo(
       @Nonnull Set<AspectKey<URN, ? extends RecordTemplate>> keys);
 
+  /**
+   * Serves the latest-version keys from the aspect cache, if one is set, and reads the rest with the given loader.
+   * Implementations of {@link #getWithExtraInfo(Set)} should route their reads through this method.
+   *
+   * @param keys set of keys for the metadata to retrieve
+   * @param loader reads the given keys from storage
+   * @return a mapping of given keys to the corresponding metadata aspect and {@link ExtraInfo}.
+   */
+  @Nonnull
+  protected Map<AspectKey<URN, ? extends RecordTemplate>, AspectWithExtraInfo<? extends RecordTemplate>> getWithExtraInfoThroughCache(
+      @Nonnull Set<AspectKey<URN, ? extends RecordTemplate>> keys,
+      @Nonnull Function<Set<AspectKey<URN, ? extends RecordTemplate>>,
+          Map<AspectKey<URN, ? extends RecordTemplate>, AspectWithExtraInfo<? extends RecordTemplate>>> loader) {
+    final BaseAspectCache aspectCache = _aspectCache;
+    if (aspectCache == null || DaoReadContext.isInternalRead()) {
+      return loader.apply(keys);
+    }
+
+    final Map<AspectKey<URN, ? extends RecordTemplate>, AspectWithExtraInfo<? extends RecordTemplate>> result =
+        new HashMap<>();
+    final Set<AspectKey<URN, ? extends RecordTemplate>> misses = new HashSet<>();
+    for (AspectKey<URN, ? extends RecordTemplate> key : keys) {
+      final AspectWithExtraInfo<? extends RecordTemplate> cached =
+          key.getVersion() == LATEST_VERSION ? aspectCache.get(key) : null;
+      if (cached != null) {
+        result.put(key, cached);
+      } else {
+        misses.add(key);
+      }
+    }
+    if (misses.isEmpty()) {
+      return result;
+    }
+
+    final long loadStamp = aspectCache.beginLoad();
+    final Map<AspectKey<URN, ? extends RecordTemplate>, AspectWithExtraInfo<? extends RecordTemplate>> loaded =
+        loader.apply(misses);
+    loaded.forEach((key, value) -> {
+      if (key.getVersion() == LATEST_VERSION) {
+        aspectCache.put((AspectKey<URN, RecordTemplate>) key, (AspectWithExtraInfo<RecordTemplate>) value, loadStamp);
+      }
+    });
+    result.putAll(loaded);
+    return result;
+  }
+
+  /**
+   * Whether reads are served through an aspect cache, see {@link #setAspectCache(BaseAspectCache)}.
+   */
+  protected boolean isAspectCacheEnabled() {
+    return _aspectCache != null;
+  }
+
+  /**
+   * Drops the cached value of an aspect, if any, after a write that doesn't go through {@code add} or {@code delete}.
+   */
+  protected void invalidateAspectCache(@Nonnull Urn urn, @Nonnull Class<? extends RecordTemplate> aspectClass) {
+    if (_aspectCache != null) {
+      _aspectCache.invalidate(urn, aspectClass);
+    }
+  }
+
   /**
    * Similar to {@link #getWithExtraInfo(Set)} but only using only one {@link AspectKey}.
    */
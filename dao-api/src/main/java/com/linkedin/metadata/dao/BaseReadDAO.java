@@ -4,6 +4,7 @@ import com.linkedin.common.urn.Urn;
 import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.data.template.UnionTemplate;
 import com.linkedin.metadata.dao.exception.InvalidMetadataType;
+import com.linkedin.metadata.dao.utils.AsyncReadExecutors;
 import com.linkedin.metadata.dao.utils.ModelUtils;
 import com.linkedin.metadata.validator.AspectValidator;
 import java.util.Collections;
@@ -12,8 +13,12 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 
 public abstract class BaseReadDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn> {
@@ -24,6 +29,9 @@ public abstract class BaseReadDAO<ASPECT_UNION extends UnionTemplate, URN extend
   // A set of pre-computed valid metadata types
   private final Set<Class<? extends RecordTemplate>> _validMetadataAspects;
 
+  // Executor running the asynchronous reads. Null means the shared AsyncReadExecutors#defaultExecutor().
+  private Executor _asyncReadExecutor = null;
+
   public BaseReadDAO(@Nonnull Class<ASPECT_UNION> aspectUnionClass) {
     AspectValidator.validateAspectUnionSchema(aspectUnionClass);
 
@@ -125,6 +133,80 @@ public abstract class BaseReadDAO<ASPECT_UNION extends UnionTemplate, URN extend
         .collect(Collectors.toMap(Map.Entry::getKey, entry -> (Optional<ASPECT>) entry.getValue().get(aspectClass)));
   }
 
+  /**
+   * Sets the executor running the asynchronous reads of this DAO, e.g. {@link #getAsync(Set)}. Reads block on the
+   * underlying store, so the executor should be dedicated to them; see {@link AsyncReadExecutors#newExecutor(int)} for
+   * one that uses virtual threads where the runtime has them. Pass null to use the shared
+   * {@link AsyncReadExecutors#defaultExecutor()}.
+   *
+   * @param asyncReadExecutor executor running the asynchronous reads, or null
+   */
+  public void setAsyncReadExecutor(@Nullable Executor asyncReadExecutor) {
+    _asyncReadExecutor = asyncReadExecutor;
+  }
+
+  /**
+   * Returns the executor running the asynchronous reads of this DAO.
+   */
+  @Nonnull
+  public Executor getAsyncReadExecutor() {
+    final Executor executor = _asyncReadExecutor;
+    return executor != null ? executor : AsyncReadExecutors.defaultExecutor();
+  }
+
+  /**
+   * Asynchronous version of {@link #get(Set)}, run on the {@link #getAsyncReadExecutor()}.
+   *
+   * <p>The read runs on another thread, so it isn't part of any transaction or thread scoped read option of the
+   * calling thread.
+   *
+   * @param keys set of keys for the metadata to retrieve
+   * @return a future of the mapping of given keys to the corresponding metadata aspect
+   */
+  @Nonnull
+  public CompletableFuture<Map<AspectKey<URN, ? extends RecordTemplate>, Optional<? extends RecordTemplate>>> getAsync(
+      @Nonnull Set<AspectKey<URN, ? extends RecordTemplate>> keys) {
+    return supplyAsync(() -> get(keys));
+  }
+
+  /**
+   * Asynchronous version of {@link #get(AspectKey)}.
+   */
+  @Nonnull
+  public <ASPECT extends RecordTemplate> CompletableFuture<Optional<ASPECT>> getAsync(
+      @Nonnull AspectKey<URN, ASPECT> key) {
+    return supplyAsync(() -> get(key));
+  }
+
+  /**
+   * Asynchronous version of {@link #get(Class, Urn)}.
+   */
+  @Nonnull
+  public <ASPECT extends RecordTemplate> CompletableFuture<Optional<ASPECT>> getAsync(
+      @Nonnull Class<ASPECT> aspectClass, @Nonnull URN urn) {
+    return supplyAsync(() -> get(aspectClass, urn));
+  }
+
+  /**
+   * Asynchronous version of {@link #get(Set, Set)}.
+   */
+  @Nonnull
+  public CompletableFuture<Map<URN, Map<Class<? extends RecordTemplate>, Optional<? extends RecordTemplate>>>> getAsync(
+      @Nonnull Set<Class<? extends RecordTemplate>> aspectClasses, @Nonnull Set<URN> urns) {
+    return supplyAsync(() -> get(aspectClasses, urns));
+  }
+
+  /**
+   * Runs a blocking read of this DAO on the {@link #getAsyncReadExecutor()}.
+   *
+   * @param read the read to run
+   * @return a future completed with the result of the read, or exceptionally with what it threw
+   */
+  @Nonnull
+  protected <T> CompletableFuture<T> supplyAsync(@Nonnull Supplier<T> read) {
+    return CompletableFuture.supplyAsync(read, getAsyncReadExecutor());
+  }
+
   protected void checkValidAspect(@Nonnull Class<? extends RecordTemplate> aspectClass) {
     if (!_validMetadataAspects.contains(aspectClass)) {
       throw new InvalidMetadataType(aspectClass + " is not a supported metadata aspect type");
@@ -0,0 +1,62 @@
+package com.linkedin.metadata.dao;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+
+
+/**
+ * {@link CloseableIterator} mapping the elements of another one a batch at a time, e.g. to read the aspects of a batch
+ * of scanned urns with one query. Closing it closes the source.
+ */
+final class BatchMappingIterator<S, T> implements CloseableIterator<T> {
+
+  private final CloseableIterator<S> _source;
+  private final int _batchSize;
+  private final Function<List<S>, List<T>> _mapper;
+
+  private Iterator<T> _batch = Collections.emptyIterator();
+
+  /**
+   * Constructor for BatchMappingIterator.
+   *
+   * @param source the iterator whose elements are mapped
+   * @param batchSize maximum number of elements mapped at once
+   * @param mapper maps a batch of source elements
+   */
+  BatchMappingIterator(@Nonnull CloseableIterator<S> source, int batchSize, @Nonnull Function<List<S>, List<T>> mapper) {
+    _source = source;
+    _batchSize = batchSize;
+    _mapper = mapper;
+  }
+
+  @Override
+  public boolean hasNext() {
+    while (!_batch.hasNext() && _source.hasNext()) {
+      final List<S> batch = new ArrayList<>(_batchSize);
+      while (batch.size() < _batchSize && _source.hasNext()) {
+        batch.add(_source.next());
+      }
+      _batch = _mapper.apply(batch).iterator();
+    }
+    return _batch.hasNext();
+  }
+
+  @Override
+  public T next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    return _batch.next();
+  }
+
+  @Override
+  public void close() {
+    _batch = Collections.emptyIterator();
+    _source.close();
+  }
+}
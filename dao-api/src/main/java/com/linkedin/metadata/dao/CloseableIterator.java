@@ -0,0 +1,17 @@
+package com.linkedin.metadata.dao;
+
+import java.util.Iterator;
+
+
+/**
+ * An {@link Iterator} holding resources, e.g. a database cursor, that must be released by {@link #close()} once the
+ * caller is done with it, whether or not it was iterated to the end. Use it with try-with-resources.
+ */
+public interface CloseableIterator<T> extends Iterator<T>, AutoCloseable {
+
+  /**
+   * Releases the resources of the iterator. After it's closed the iterator has no more elements.
+   */
+  @Override
+  void close();
+}
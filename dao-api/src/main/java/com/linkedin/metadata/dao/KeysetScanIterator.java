@@ -0,0 +1,66 @@
+package com.linkedin.metadata.dao;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * {@link CloseableIterator} over the elements of a keyset paginated read, fetching a page at a time. Each page starts
+ * after the last element of the previous one, and a page shorter than the page size is the last.
+ */
+final class KeysetScanIterator<T> implements CloseableIterator<T> {
+
+  private final Function<T, List<T>> _pageAfter;
+  private final int _pageSize;
+
+  private Iterator<T> _page = Collections.emptyIterator();
+  private T _last = null;
+  private boolean _lastPage = false;
+
+  /**
+   * Constructor for KeysetScanIterator.
+   *
+   * @param pageAfter reads the page following the given element, or the first page if it's null
+   * @param pageSize maximum number of elements of a page
+   */
+  KeysetScanIterator(@Nonnull Function<T, List<T>> pageAfter, int pageSize) {
+    _pageAfter = pageAfter;
+    _pageSize = pageSize;
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (!_page.hasNext() && !_lastPage) {
+      final List<T> page = fetchPage(_last);
+      _lastPage = page.size() < _pageSize;
+      _page = page.iterator();
+    }
+    return _page.hasNext();
+  }
+
+  @Override
+  public T next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    _last = _page.next();
+    return _last;
+  }
+
+  @Override
+  public void close() {
+    _page = Collections.emptyIterator();
+    _lastPage = true;
+  }
+
+  @Nonnull
+  private List<T> fetchPage(@Nullable T last) {
+    final List<T> page = _pageAfter.apply(last);
+    return page == null ? Collections.emptyList() : page;
+  }
+}
@@ -0,0 +1,142 @@
+package com.linkedin.metadata.dao;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.dao.utils.RecordUtils;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * Holds an aspect read from storage in its serialized JSON form and only decodes it into its {@link RecordTemplate}
+ * (and the underlying {@link com.linkedin.data.DataMap}) the first time it's accessed, so that aspects that are fetched
+ * but then dropped, e.g. by a projection, never pay for deserialization.
+ *
+ * <p>Decoding happens at most once and is thread safe. The serialized JSON is released once decoded.
+ *
+ * <p>The class keeps process wide counters of the aspects created lazily and of those that were materialized, see
+ * {@link #getNeverMaterializedCount()}.
+ */
+public final class LazyAspect<ASPECT extends RecordTemplate> {
+
+  private static final LongAdder LAZY_COUNT = new LongAdder();
+  private static final LongAdder MATERIALIZED_COUNT = new LongAdder();
+
+  private final Class<ASPECT> _aspectClass;
+
+  // Serialized aspect, null once decoded or if the aspect was never serialized
+  private volatile String _json;
+  private volatile ASPECT _aspect;
+
+  private LazyAspect(@Nonnull Class<ASPECT> aspectClass, @Nullable String json, @Nullable ASPECT aspect) {
+    _aspectClass = aspectClass;
+    _json = json;
+    _aspect = aspect;
+  }
+
+  /**
+   * Wraps an already decoded aspect. It isn't counted as a lazy aspect.
+   */
+  @Nonnull
+  @SuppressWarnings("unchecked")
+  public static <ASPECT extends RecordTemplate> LazyAspect<ASPECT> of(@Nonnull ASPECT aspect) {
+    return new LazyAspect<>((Class<ASPECT>) aspect.getClass(), null, aspect);
+  }
+
+  /**
+   * Creates an aspect decoded from its serialized JSON on first access.
+   *
+   * @param aspectClass the class of the aspect
+   * @param json the aspect serialized as JSON
+   */
+  @Nonnull
+  public static <ASPECT extends RecordTemplate> LazyAspect<ASPECT> fromJson(@Nonnull Class<ASPECT> aspectClass,
+      @Nonnull String json) {
+    LAZY_COUNT.increment();
+    return new LazyAspect<>(aspectClass, json, null);
+  }
+
+  @Nonnull
+  public Class<ASPECT> getAspectClass() {
+    return _aspectClass;
+  }
+
+  /**
+   * Returns whether the aspect has been decoded already.
+   */
+  public boolean isMaterialized() {
+    return _aspect != null;
+  }
+
+  /**
+   * Returns the aspect, decoding it on first access.
+   */
+  @Nonnull
+  public ASPECT get() {
+    ASPECT aspect = _aspect;
+    if (aspect == null) {
+      synchronized (this) {
+        aspect = _aspect;
+        if (aspect == null) {
+          aspect = RecordUtils.toRecordTemplate(_aspectClass, _json);
+          _aspect = aspect;
+          _json = null;
+          MATERIALIZED_COUNT.increment();
+        }
+      }
+    }
+    return aspect;
+  }
+
+  /**
+   * Returns the number of aspects created from their serialized JSON since the process started, or the last reset.
+   */
+  public static long getLazyCount() {
+    return LAZY_COUNT.sum();
+  }
+
+  /**
+   * Returns the number of lazily created aspects that have been decoded since the process started, or the last reset.
+   */
+  public static long getMaterializedCount() {
+    return MATERIALIZED_COUNT.sum();
+  }
+
+  /**
+   * Returns the number of lazily created aspects that haven't been decoded, i.e. the deserializations saved. It also
+   * counts the aspects still held by callers which may yet be accessed.
+   */
+  public static long getNeverMaterializedCount() {
+    return getLazyCount() - getMaterializedCount();
+  }
+
+  @VisibleForTesting
+  static void resetCounters() {
+    LAZY_COUNT.reset();
+    MATERIALIZED_COUNT.reset();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof LazyAspect)) {
+      return false;
+    }
+    return get().equals(((LazyAspect<?>) o).get());
+  }
+
+  @Override
+  public int hashCode() {
+    return get().hashCode();
+  }
+
+  @Override
+  public String toString() {
+    // read the aspect first, as the JSON is released after it's set
+    final ASPECT aspect = _aspect;
+    return aspect != null ? aspect.toString() : _json;
+  }
+}
@@ -20,6 +20,22 @@ public class ListResult<T> {
 
   public static final int INVALID_NEXT_START = -1;
 
+  // Total count, and total page count, of a result listed without counting
+  public static final int UNKNOWN_TOTAL_COUNT = -1;
+
+  /**
+   * How the total count of a list result paginated by last urn is computed. Counting reads every matching row, so
+   * callers that only iterate over the pages should use {@link #ESTIMATED} or {@link #NONE}.
+   */
+  public enum TotalCountMode {
+    // Exact count of the matching rows
+    EXACT,
+    // Estimate from the table statistics, which may also count rows that don't match, or UNKNOWN_TOTAL_COUNT without any
+    ESTIMATED,
+    // No count, the total count is UNKNOWN_TOTAL_COUNT
+    NONE
+  }
+
   // A single page of results
   List<T> values;
 
@@ -2,7 +2,9 @@ package com.linkedin.metadata.dao;
 
 import com.linkedin.common.urn.Urn;
 import com.linkedin.data.template.RecordTemplate;
+import java.util.AbstractList;
 import java.util.List;
+import javax.annotation.Nonnull;
 import lombok.NonNull;
 import lombok.Value;
 
@@ -18,4 +20,36 @@ public class UrnAspectEntry<URN extends Urn> {
 
   @NonNull
   List<RecordTemplate> aspects;
-}
\ No newline at end of file
+
+  /**
+   * Creates an {@link UrnAspectEntry} whose aspects are each decoded the first time they're accessed in
+   * {@link #getAspects()}.
+   */
+  @Nonnull
+  public static <URN extends Urn> UrnAspectEntry<URN> lazy(@Nonnull URN urn,
+      @Nonnull List<LazyAspect<? extends RecordTemplate>> aspects) {
+    return new UrnAspectEntry<>(urn, new LazyAspectList(aspects));
+  }
+
+  /**
+   * Read-only view of a list of {@link LazyAspect}, decoding each aspect on access.
+   */
+  private static final class LazyAspectList extends AbstractList<RecordTemplate> {
+
+    private final List<LazyAspect<? extends RecordTemplate>> _aspects;
+
+    LazyAspectList(@Nonnull List<LazyAspect<? extends RecordTemplate>> aspects) {
+      _aspects = aspects;
+    }
+
+    @Override
+    public RecordTemplate get(int index) {
+      return _aspects.get(index).get();
+    }
+
+    @Override
+    public int size() {
+      return _aspects.size();
+    }
+  }
+}
@@ -0,0 +1,110 @@
+package com.linkedin.metadata.dao;
+
+import com.linkedin.common.urn.Urn;
+import com.linkedin.metadata.dao.tracking.BaseDaoBenchmarkMetrics;
+import com.linkedin.metadata.dao.tracking.NoOpDaoBenchmarkMetrics;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+
+
+/**
+ * In-process locks serializing the writes to an urn, see {@link BaseLocalDAO#setUrnWriteLocks(UrnWriteLocks)}.
+ *
+ * <p>Urns are mapped to a fixed number of stripes by hash, so two urns sharing a stripe are serialized too. A write
+ * made while its thread already holds a stripe, e.g. from a callback of another write, runs without taking another
+ * one, so that a thread never waits for a stripe while holding one and two threads can't deadlock on a pair of them.
+ *
+ * <p>The time each write waited for its stripe is recorded through {@link BaseDaoBenchmarkMetrics} as a
+ * {@value #OPERATION} operation.
+ */
+public final class UrnWriteLocks {
+
+  static final String OPERATION = "urnWriteLockWait";
+
+  // Stripe held by the current thread, if any, of any instance
+  private static final ThreadLocal<ReentrantLock> HELD_STRIPE = new ThreadLocal<>();
+
+  private final ReentrantLock[] _stripes;
+  private BaseDaoBenchmarkMetrics _metrics = new NoOpDaoBenchmarkMetrics();
+
+  /**
+   * Constructor for UrnWriteLocks.
+   *
+   * @param stripeCount number of stripes, must be positive. More stripes make it less likely that writes to different
+   *     urns wait for each other.
+   */
+  public UrnWriteLocks(int stripeCount) {
+    if (stripeCount <= 0) {
+      throw new IllegalArgumentException("Stripe count must be positive: " + stripeCount);
+    }
+    _stripes = new ReentrantLock[stripeCount];
+    for (int i = 0; i < stripeCount; i++) {
+      _stripes[i] = new ReentrantLock();
+    }
+  }
+
+  /**
+   * Sets the metrics the lock waits are recorded to.
+   */
+  public void setBenchmarkMetrics(@Nonnull BaseDaoBenchmarkMetrics metrics) {
+    _metrics = metrics;
+  }
+
+  /**
+   * Returns the number of stripes.
+   */
+  public int getStripeCount() {
+    return _stripes.length;
+  }
+
+  /**
+   * Returns an estimate of the number of writes currently waiting for a stripe.
+   */
+  public int getQueueLength() {
+    int queueLength = 0;
+    for (ReentrantLock stripe : _stripes) {
+      queueLength += stripe.getQueueLength();
+    }
+    return queueLength;
+  }
+
+  /**
+   * Returns whether the current thread holds the stripe of an urn.
+   */
+  boolean isHeldByCurrentThread(@Nonnull Urn urn) {
+    return getStripe(urn).isHeldByCurrentThread();
+  }
+
+  /**
+   * Runs a write to an urn while holding its stripe.
+   */
+  <T> T runLocked(@Nonnull Urn urn, @Nonnull Supplier<T> write) {
+    if (HELD_STRIPE.get() != null) {
+      return write.get();
+    }
+
+    final ReentrantLock stripe = getStripe(urn);
+    final long start = System.currentTimeMillis();
+    stripe.lock();
+    try {
+      if (_metrics.isEnabled()) {
+        _metrics.recordOperation(OPERATION, urn.getEntityType(), null, null, "success", null,
+            System.currentTimeMillis() - start);
+      }
+      HELD_STRIPE.set(stripe);
+      try {
+        return write.get();
+      } finally {
+        HELD_STRIPE.remove();
+      }
+    } finally {
+      stripe.unlock();
+    }
+  }
+
+  @Nonnull
+  private ReentrantLock getStripe(@Nonnull Urn urn) {
+    return _stripes[Math.floorMod(urn.toString().hashCode(), _stripes.length)];
+  }
+}
@@ -0,0 +1,56 @@
+package com.linkedin.metadata.dao.cache;
+
+import com.linkedin.common.urn.Urn;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.dao.AspectKey;
+import com.linkedin.metadata.dao.AspectWithExtraInfo;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * A read-through cache of latest-version aspects (with their {@link com.linkedin.metadata.query.ExtraInfo}) placed in
+ * front of the local DAO reads. See {@link com.linkedin.metadata.dao.BaseLocalDAO#setAspectCache(BaseAspectCache)}.
+ *
+ * <p>The DAO invalidates an entry whenever it writes or deletes the corresponding aspect. To prevent a concurrent read
+ * from putting back a value it loaded before the write, the DAO calls {@link #beginLoad()} before reading from storage
+ * and passes the returned stamp to {@link #put(AspectKey, AspectWithExtraInfo, long)}. Implementations must drop the
+ * put if the urn has been invalidated after the stamp was taken.
+ *
+ * <p>Implementations must be thread-safe, and must not hand out instances that a caller could mutate to change the
+ * cached value.
+ */
+public interface BaseAspectCache {
+
+  /**
+   * Returns a stamp to be passed to {@link #put(AspectKey, AspectWithExtraInfo, long)} for values loaded from storage
+   * after this call.
+   */
+  long beginLoad();
+
+  /**
+   * Returns the cached value for the key, or null if it's not cached (or has expired).
+   */
+  @Nullable
+  <ASPECT extends RecordTemplate> AspectWithExtraInfo<ASPECT> get(@Nonnull AspectKey<? extends Urn, ASPECT> key);
+
+  /**
+   * Caches a value loaded from storage, unless the urn has been invalidated since {@code loadStamp} was taken.
+   *
+   * @param key the key of the value, always for {@link com.linkedin.metadata.dao.BaseReadDAO#LATEST_VERSION}
+   * @param value the value read from storage
+   * @param loadStamp the stamp returned by {@link #beginLoad()} before the value was read
+   */
+  <ASPECT extends RecordTemplate> void put(@Nonnull AspectKey<? extends Urn, ASPECT> key,
+      @Nonnull AspectWithExtraInfo<ASPECT> value, long loadStamp);
+
+  /**
+   * Removes the cached value of an aspect of an entity.
+   */
+  void invalidate(@Nonnull Urn urn, @Nonnull Class<? extends RecordTemplate> aspectClass);
+
+  /**
+   * Removes the cached values of all aspects of an entity.
+   */
+  void invalidateAll(@Nonnull Urn urn);
+}
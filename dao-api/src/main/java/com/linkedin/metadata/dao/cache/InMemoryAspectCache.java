@@ -0,0 +1,218 @@
+package com.linkedin.metadata.dao.cache;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.dao.AspectKey;
+import com.linkedin.metadata.dao.AspectWithExtraInfo;
+import com.linkedin.metadata.dao.tracking.BaseDaoBenchmarkMetrics;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.AllArgsConstructor;
+
+
+/**
+ * An in-process {@link BaseAspectCache} bounded by the number of cached aspects and by a time-to-live.
+ *
+ * <p>Entries are grouped per urn and evicted least-recently-used urn first once the number of cached aspects exceeds
+ * the max size. Entries older than the TTL are dropped on access. The urn match is case-insensitive, same as the DAO
+ * reads. Values are copied on the way in and out, so callers can freely mutate what they get back.
+ *
+ * <p>Hits, misses and evictions are recorded through {@link BaseDaoBenchmarkMetrics} under the
+ * {@value #OPERATION} operation, with the outcome as the status.
+ */
+public class InMemoryAspectCache implements BaseAspectCache {
+
+  static final String OPERATION = "aspectCache";
+  static final String STATUS_HIT = "hit";
+  static final String STATUS_MISS = "miss";
+  static final String STATUS_EVICTION = "eviction";
+
+  // Number of stripes used to track the last invalidation per urn. Collisions only cause extra dropped puts.
+  private static final int INVALIDATION_STRIPES = 64;
+
+  private final int _maxSize;
+  private final long _ttlMs;
+  private final BaseDaoBenchmarkMetrics _metrics;
+  private final Clock _clock;
+
+  // Lower-cased urn -> cached aspects of that urn, in least-recently-used order. Guarded by this.
+  private final LinkedHashMap<String, Map<Class<? extends RecordTemplate>, Entry>> _entries =
+      new LinkedHashMap<>(16, 0.75f, true);
+  private final long[] _invalidatedAt = new long[INVALIDATION_STRIPES];
+  private long _sequence = 0;
+  private int _size = 0;
+
+  @AllArgsConstructor
+  private static final class Entry {
+    final Urn urn;
+    final AspectWithExtraInfo<? extends RecordTemplate> value;
+    final long expiresAtMs;
+  }
+
+  /**
+   * Constructor for InMemoryAspectCache.
+   *
+   * @param maxSize max number of aspects cached, must be positive
+   * @param ttl time-to-live of a cached aspect, must be positive
+   * @param metrics recorder for hits, misses and evictions
+   */
+  public InMemoryAspectCache(int maxSize, @Nonnull Duration ttl, @Nonnull BaseDaoBenchmarkMetrics metrics) {
+    this(maxSize, ttl, metrics, Clock.systemUTC());
+  }
+
+  @VisibleForTesting
+  InMemoryAspectCache(int maxSize, @Nonnull Duration ttl, @Nonnull BaseDaoBenchmarkMetrics metrics,
+      @Nonnull Clock clock) {
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("Max size must be positive: " + maxSize);
+    }
+    if (ttl.isNegative() || ttl.isZero()) {
+      throw new IllegalArgumentException("TTL must be positive: " + ttl);
+    }
+    _maxSize = maxSize;
+    _ttlMs = ttl.toMillis();
+    _metrics = metrics;
+    _clock = clock;
+  }
+
+  @Override
+  public synchronized long beginLoad() {
+    return _sequence;
+  }
+
+  @Override
+  @Nullable
+  public <ASPECT extends RecordTemplate> AspectWithExtraInfo<ASPECT> get(
+      @Nonnull AspectKey<? extends Urn, ASPECT> key) {
+    final Entry entry;
+    boolean expired = false;
+    synchronized (this) {
+      final String urnKey = urnKey(key.getUrn());
+      final Map<Class<? extends RecordTemplate>, Entry> aspects = _entries.get(urnKey);
+      Entry found = aspects == null ? null : aspects.get(key.getAspectClass());
+      if (found != null && found.expiresAtMs <= _clock.millis()) {
+        remove(urnKey, aspects, key.getAspectClass());
+        found = null;
+        expired = true;
+      }
+      entry = found;
+    }
+
+    if (expired) {
+      record(key.getUrn(), key.getAspectClass(), STATUS_EVICTION);
+    }
+    record(key.getUrn(), key.getAspectClass(), entry == null ? STATUS_MISS : STATUS_HIT);
+    return entry == null ? null : copy((AspectWithExtraInfo<ASPECT>) entry.value);
+  }
+
+  @Override
+  public <ASPECT extends RecordTemplate> void put(@Nonnull AspectKey<? extends Urn, ASPECT> key,
+      @Nonnull AspectWithExtraInfo<ASPECT> value, long loadStamp) {
+    final AspectWithExtraInfo<ASPECT> copied = copy(value);
+    final List<Entry> evicted = new ArrayList<>();
+    synchronized (this) {
+      final String urnKey = urnKey(key.getUrn());
+      if (_invalidatedAt[stripe(urnKey)] > loadStamp) {
+        // the urn was written after the value was loaded, so the value may be stale
+        return;
+      }
+      final Map<Class<? extends RecordTemplate>, Entry> aspects = _entries.computeIfAbsent(urnKey, k -> new HashMap<>());
+      if (aspects.put(key.getAspectClass(), new Entry(key.getUrn(), copied, _clock.millis() + _ttlMs)) == null) {
+        _size++;
+      }
+      evictIfNeeded(urnKey, evicted);
+    }
+    evicted.forEach(entry -> record(entry.urn, entry.value.getAspect().getClass(), STATUS_EVICTION));
+  }
+
+  @Override
+  public synchronized void invalidate(@Nonnull Urn urn, @Nonnull Class<? extends RecordTemplate> aspectClass) {
+    final String urnKey = urnKey(urn);
+    markInvalidated(urnKey);
+    final Map<Class<? extends RecordTemplate>, Entry> aspects = _entries.get(urnKey);
+    if (aspects != null) {
+      remove(urnKey, aspects, aspectClass);
+    }
+  }
+
+  @Override
+  public synchronized void invalidateAll(@Nonnull Urn urn) {
+    final String urnKey = urnKey(urn);
+    markInvalidated(urnKey);
+    final Map<Class<? extends RecordTemplate>, Entry> aspects = _entries.remove(urnKey);
+    if (aspects != null) {
+      _size -= aspects.size();
+    }
+  }
+
+  /**
+   * Returns the number of aspects currently cached, including expired ones not yet dropped.
+   */
+  public synchronized int size() {
+    return _size;
+  }
+
+  private void markInvalidated(@Nonnull String urnKey) {
+    _invalidatedAt[stripe(urnKey)] = ++_sequence;
+  }
+
+  private void remove(@Nonnull String urnKey, @Nonnull Map<Class<? extends RecordTemplate>, Entry> aspects,
+      @Nonnull Class<? extends RecordTemplate> aspectClass) {
+    if (aspects.remove(aspectClass) != null) {
+      _size--;
+    }
+    if (aspects.isEmpty()) {
+      _entries.remove(urnKey);
+    }
+  }
+
+  // Evicts least-recently-used urns, other than the one just written, until the cache fits its max size again.
+  private void evictIfNeeded(@Nonnull String justWritten, @Nonnull List<Entry> evicted) {
+    final Iterator<Map.Entry<String, Map<Class<? extends RecordTemplate>, Entry>>> iterator =
+        _entries.entrySet().iterator();
+    while (_size > _maxSize && iterator.hasNext()) {
+      final Map.Entry<String, Map<Class<? extends RecordTemplate>, Entry>> eldest = iterator.next();
+      if (eldest.getKey().equals(justWritten) && _entries.size() > 1) {
+        continue;
+      }
+      iterator.remove();
+      _size -= eldest.getValue().size();
+      evicted.addAll(eldest.getValue().values());
+    }
+  }
+
+  private void record(@Nonnull Urn urn, @Nonnull Class<? extends RecordTemplate> aspectClass, @Nonnull String status) {
+    if (_metrics.isEnabled()) {
+      _metrics.recordOperation(OPERATION, urn.getEntityType(), aspectClass.getSimpleName(), null, status, null, 0);
+    }
+  }
+
+  @Nonnull
+  private static String urnKey(@Nonnull Urn urn) {
+    return urn.toString().toLowerCase(Locale.ROOT);
+  }
+
+  private static int stripe(@Nonnull String urnKey) {
+    return Math.floorMod(urnKey.hashCode(), INVALIDATION_STRIPES);
+  }
+
+  @Nonnull
+  private static <ASPECT extends RecordTemplate> AspectWithExtraInfo<ASPECT> copy(
+      @Nonnull AspectWithExtraInfo<ASPECT> value) {
+    try {
+      return new AspectWithExtraInfo<>((ASPECT) value.getAspect().copy(), value.getExtraInfo().copy());
+    } catch (CloneNotSupportedException e) {
+      throw new IllegalStateException("Failed to copy cached aspect " + value.getAspect().getClass().getName(), e);
+    }
+  }
+}
@@ -0,0 +1,35 @@
+package com.linkedin.metadata.dao.producer;
+
+import com.linkedin.common.AuditStamp;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.data.template.RecordTemplate;
+import javax.annotation.Nullable;
+import lombok.NonNull;
+import lombok.Value;
+
+
+/**
+ * A value class that holds an aspect specific Metadata Audit Event (MAE) of a batch, see
+ * {@link BaseMetadataEventProducer#produceAspectSpecificMetadataAuditEvents(java.util.List,
+ * com.linkedin.metadata.events.IngestionMode)}.
+ */
+@Value
+public class AspectSpecificMetadataAuditEvent<URN extends Urn, ASPECT extends RecordTemplate> {
+
+  @NonNull
+  Class<ASPECT> aspectClass;
+
+  @NonNull
+  URN urn;
+
+  // the value prior to the update, or null if there's none
+  @Nullable
+  ASPECT oldValue;
+
+  // the value after the update
+  @Nullable
+  ASPECT newValue;
+
+  @Nullable
+  AuditStamp auditStamp;
+}
@@ -0,0 +1,58 @@
+package com.linkedin.metadata.dao.producer;
+
+import com.linkedin.common.AuditStamp;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.events.ChangeType;
+import com.linkedin.metadata.events.IngestionMode;
+import com.linkedin.metadata.events.IngestionTrackingContext;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * A transactional outbox of Metadata Audit Events (MAEs). See
+ * {@link com.linkedin.metadata.dao.BaseLocalDAO#setMetadataEventOutbox(BaseMetadataEventOutbox)}.
+ *
+ * <p>In outbox mode the DAO doesn't produce MAEs itself, it appends them to the outbox within the transaction of the
+ * write they are for. An event is thus stored if and only if its write is committed, and it's up to a separate relay
+ * to hand the stored events to a {@link BaseMetadataEventProducer}, at least once and in the order they were appended
+ * for each urn.
+ *
+ * <p>The parameters mirror the ones of the corresponding {@link BaseMetadataEventProducer} and
+ * {@link BaseTrackingMetadataEventProducer} methods.
+ */
+public interface BaseMetadataEventOutbox {
+
+  /**
+   * Appends a Metadata Audit Event (MAE), see {@link BaseMetadataEventProducer#produceMetadataAuditEvent(Urn,
+   * RecordTemplate, RecordTemplate)}. Must be called within the transaction of the write.
+   *
+   * @param urn {@link Urn} of the entity
+   * @param oldValue the value prior to the update, or null if there's none.
+   * @param newValue the value after the update
+   * @param aspectClass the class of ASPECT
+   */
+  <ASPECT extends RecordTemplate> void appendMetadataAuditEvent(@Nonnull Urn urn, @Nullable ASPECT oldValue,
+      @Nullable ASPECT newValue, @Nonnull Class<ASPECT> aspectClass);
+
+  /**
+   * Appends an aspect specific Metadata Audit Event (MAE), see
+   * {@link BaseTrackingMetadataEventProducer#produceAspectSpecificMetadataAuditEvent(Urn, RecordTemplate,
+   * RecordTemplate, Class, AuditStamp, IngestionTrackingContext, IngestionMode, ChangeType)}. Must be called within
+   * the transaction of the write.
+   *
+   * @param urn {@link Urn} of the entity
+   * @param oldValue the value prior to the update, or null if there's none.
+   * @param newValue the value after the update
+   * @param aspectClass the class of ASPECT
+   * @param auditStamp {@link AuditStamp} containing version auditing information for the metadata change
+   * @param trackingContext nullable tracking context to be passed on to a tracking producer
+   * @param ingestionMode {@link IngestionMode} of the change
+   * @param changeType {@link ChangeType} of the change, or null if the producer should use its default
+   */
+  <ASPECT extends RecordTemplate> void appendAspectSpecificMetadataAuditEvent(@Nonnull Urn urn,
+      @Nullable ASPECT oldValue, @Nullable ASPECT newValue, @Nonnull Class<ASPECT> aspectClass,
+      @Nullable AuditStamp auditStamp, @Nullable IngestionTrackingContext trackingContext,
+      @Nullable IngestionMode ingestionMode, @Nullable ChangeType changeType);
+}
@@ -83,6 +83,29 @@ public abstract class BaseMetadataEventProducer<SNAPSHOT extends RecordTemplate,
       @Nullable ASPECT oldValue, @Nullable ASPECT newValue, @Nonnull Class<ASPECT> aspectClass,
       @Nullable AuditStamp auditStamp, @Nullable IngestionMode ingestionMode, ChangeType changeType);
 
+  /**
+   * Produces a batch of aspect specific Metadata Audit Events (MAEs) with the same {@link IngestionMode}, e.g. the ones
+   * of a backfill.
+   *
+   * <p>The default implementation produces the events one at a time, in order, see
+   * {@link #produceAspectSpecificMetadataAuditEvent(Urn, RecordTemplate, RecordTemplate, Class, AuditStamp, IngestionMode)}.
+   * Producers able to send a whole batch at once should override it.
+   *
+   * @param events the events to produce
+   * @param ingestionMode {@link IngestionMode} of the changes
+   */
+  public void produceAspectSpecificMetadataAuditEvents(
+      @Nonnull List<AspectSpecificMetadataAuditEvent<URN, ? extends RecordTemplate>> events,
+      @Nullable IngestionMode ingestionMode) {
+    events.forEach(event -> produceEvent(event, ingestionMode));
+  }
+
+  private <ASPECT extends RecordTemplate> void produceEvent(
+      @Nonnull AspectSpecificMetadataAuditEvent<URN, ASPECT> event, @Nullable IngestionMode ingestionMode) {
+    produceAspectSpecificMetadataAuditEvent(event.getUrn(), event.getOldValue(), event.getNewValue(),
+        event.getAspectClass(), event.getAuditStamp(), ingestionMode);
+  }
+
   /**
    * Produce Metadata Graph search metrics inside SearchDAO.
    * TODO: (jejia) Clean this up after we fully migrate to Hosted Search.
@@ -7,6 +7,7 @@ import com.linkedin.data.template.UnionTemplate;
 import com.linkedin.metadata.events.ChangeType;
 import com.linkedin.metadata.events.IngestionMode;
 import com.linkedin.metadata.events.IngestionTrackingContext;
+import java.util.List;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
@@ -39,4 +40,28 @@ public abstract class BaseTrackingMetadataEventProducer<SNAPSHOT extends RecordT
       @Nullable ASPECT oldValue, @Nullable ASPECT newValue, @Nonnull Class<ASPECT> aspectClass,
       @Nullable AuditStamp auditStamp, @Nullable IngestionTrackingContext trackingContext, @Nullable IngestionMode ingestionMode,
       @Nonnull ChangeType changeType);
+
+  /**
+   * Same as inherited method {@link #produceAspectSpecificMetadataAuditEvents(List, IngestionMode)} but with the
+   * tracking context of the whole batch.
+   *
+   * <p>The default implementation produces the events one at a time, in order, see
+   * {@link #produceAspectSpecificMetadataAuditEvent(Urn, RecordTemplate, RecordTemplate, Class, AuditStamp,
+   * IngestionTrackingContext, IngestionMode)}. Producers able to send a whole batch at once should override it.
+   *
+   * @param events the events to produce
+   * @param trackingContext nullable tracking context passed in to be appended to all the produced MAEv5s
+   * @param ingestionMode {@link IngestionMode} of the changes
+   */
+  public void produceAspectSpecificMetadataAuditEvents(
+      @Nonnull List<AspectSpecificMetadataAuditEvent<URN, ? extends RecordTemplate>> events,
+      @Nullable IngestionTrackingContext trackingContext, @Nullable IngestionMode ingestionMode) {
+    events.forEach(event -> produceEvent(event, trackingContext, ingestionMode));
+  }
+
+  private <ASPECT extends RecordTemplate> void produceEvent(@Nonnull AspectSpecificMetadataAuditEvent<URN, ASPECT> event,
+      @Nullable IngestionTrackingContext trackingContext, @Nullable IngestionMode ingestionMode) {
+    produceAspectSpecificMetadataAuditEvent(event.getUrn(), event.getOldValue(), event.getNewValue(),
+        event.getAspectClass(), event.getAuditStamp(), trackingContext, ingestionMode);
+  }
 }
@@ -0,0 +1,91 @@
+package com.linkedin.metadata.dao.utils;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Factory of the executors running the asynchronous reads of the DAOs, e.g.
+ * {@link com.linkedin.metadata.dao.BaseReadDAO#getAsync(java.util.Set)}.
+ *
+ * <p>DAO reads block on JDBC, so on runtimes that have virtual threads (Java 21+) each read runs on its own virtual
+ * thread, which doesn't tie up a platform thread while waiting on the database. Other runtimes fall back to a fixed
+ * pool of daemon platform threads.
+ */
+@Slf4j
+public final class AsyncReadExecutors {
+
+  private static final String THREAD_NAME_PREFIX = "gma-dao-async-read-";
+
+  private AsyncReadExecutors() {
+    // Utils class
+  }
+
+  // Lazily creates the shared executor on first use
+  private static final class DefaultExecutorHolder {
+    private static final ExecutorService INSTANCE = newExecutor(Math.max(4, 2 * Runtime.getRuntime().availableProcessors()));
+  }
+
+  /**
+   * Returns the executor shared by the DAOs that aren't configured with their own.
+   */
+  @Nonnull
+  public static ExecutorService defaultExecutor() {
+    return DefaultExecutorHolder.INSTANCE;
+  }
+
+  /**
+   * Creates an executor running each task on a new virtual thread if the runtime supports them, or else on a fixed
+   * pool of daemon threads.
+   *
+   * @param platformThreads number of threads of the pool used when virtual threads aren't available, must be positive
+   */
+  @Nonnull
+  public static ExecutorService newExecutor(int platformThreads) {
+    if (platformThreads <= 0) {
+      throw new IllegalArgumentException("Platform threads must be positive: " + platformThreads);
+    }
+    final ExecutorService virtualThreadExecutor = newVirtualThreadExecutor();
+    return virtualThreadExecutor != null ? virtualThreadExecutor : newPlatformThreadExecutor(platformThreads);
+  }
+
+  /**
+   * Creates a fixed pool of daemon platform threads, regardless of virtual thread support.
+   *
+   * @param threads number of threads of the pool, must be positive
+   */
+  @Nonnull
+  public static ExecutorService newPlatformThreadExecutor(int threads) {
+    final AtomicInteger threadCount = new AtomicInteger();
+    final ThreadFactory threadFactory = runnable -> {
+      final Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+    return Executors.newFixedThreadPool(threads, threadFactory);
+  }
+
+  /**
+   * Creates an executor starting a new virtual thread per task, or returns null if the runtime doesn't support them.
+   * Resolved reflectively as the library still targets runtimes without virtual threads.
+   */
+  @Nullable
+  public static ExecutorService newVirtualThreadExecutor() {
+    try {
+      final Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+      return (ExecutorService) factory.invoke(null);
+    } catch (NoSuchMethodException e) {
+      return null;
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      // e.g. virtual threads are a disabled preview feature of this runtime
+      log.warn("Virtual threads are not available, falling back to platform threads: {}", e.toString());
+      return null;
+    }
+  }
+}
@@ -5,7 +5,9 @@ import com.linkedin.common.urn.Urn;
 import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.data.template.SetMode;
 import com.linkedin.data.template.UnionTemplate;
+import com.linkedin.metadata.backfill.BackfillMode;
 import com.linkedin.metadata.dao.builder.BaseLocalRelationshipBuilder.LocalRelationshipUpdates;
+import com.linkedin.metadata.dao.cache.InMemoryAspectCache;
 import com.linkedin.metadata.dao.exception.InvalidUrnException;
 import com.linkedin.metadata.dao.ingestion.AspectCallbackMapKey;
 import com.linkedin.metadata.dao.ingestion.AspectCallbackRegistry;
@@ -13,12 +15,15 @@ import com.linkedin.metadata.dao.ingestion.AspectCallbackResponse;
 import com.linkedin.metadata.dao.ingestion.AspectCallbackRoutingClient;
 import com.linkedin.metadata.dao.ingestion.SampleAspectCallbackRoutingClient;
 import com.linkedin.metadata.dao.ingestion.SampleLambdaFunctionRegistryImpl;
+import com.linkedin.metadata.dao.producer.AspectSpecificMetadataAuditEvent;
 import com.linkedin.metadata.dao.producer.BaseMetadataEventProducer;
 import com.linkedin.metadata.dao.producer.BaseTrackingMetadataEventProducer;
 import com.linkedin.metadata.dao.retention.TimeBasedRetention;
 import com.linkedin.metadata.dao.retention.VersionBasedRetention;
+import com.linkedin.metadata.dao.tracking.BaseDaoBenchmarkMetrics;
 import com.linkedin.metadata.dao.tracking.BaseTrackingManager;
 import com.linkedin.metadata.dao.tracking.DaoReadContext;
+import com.linkedin.metadata.dao.tracking.NoOpDaoBenchmarkMetrics;
 import com.linkedin.metadata.dao.urnpath.EmptyPathExtractor;
 import com.linkedin.metadata.events.IngestionMode;
 import com.linkedin.metadata.events.IngestionTrackingContext;
@@ -40,20 +45,25 @@ import com.linkedin.testing.urn.BurgerUrn;
 import com.linkedin.testing.urn.FooUrn;
 import java.net.URISyntaxException;
 import java.sql.Timestamp;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Supplier;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import org.mockito.ArgumentCaptor;
 import org.mockito.stubbing.OngoingStubbing;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.DataProvider;
@@ -200,6 +210,12 @@ public class BaseLocalDAOTest {
       return null;
     }
 
+    @Override
+    public <ASPECT extends RecordTemplate> ListResult<FooUrn> listUrns(Class<ASPECT> aspectClass, FooUrn lastUrn,
+        int pageSize, ListResult.TotalCountMode totalCountMode) {
+      return null;
+    }
+
     @Override
     public List<FooUrn> listUrns(@Nonnull IndexFilter indexFilter, @Nullable IndexSortCriterion indexSortCriterion,
         @Nullable FooUrn lastUrn, int pageSize) {
@@ -229,6 +245,12 @@ public class BaseLocalDAOTest {
       return null;
     }
 
+    @Override
+    public <ASPECT extends RecordTemplate> ListResult<ASPECT> list(Class<ASPECT> aspectClass, FooUrn lastUrn,
+        int pageSize, ListResult.TotalCountMode totalCountMode) {
+      return null;
+    }
+
     @Override
     public Map<String, Long> countAggregate(@Nonnull IndexFilter indexFilter, @Nonnull IndexGroupByCriterion groupCriterion) {
       return Collections.emptyMap();
@@ -310,6 +332,27 @@ public class BaseLocalDAOTest {
     }
   }
 
+  /**
+   * Routes {@link BaseLocalDAO#getWithExtraInfo(Set)} through the aspect cache, counting the reads that reach storage.
+   */
+  static class CachingLocalDAO<ENTITY_ASPECT_UNION extends UnionTemplate>
+      extends CountingGetWithExtraInfoLocalDAO<ENTITY_ASPECT_UNION> {
+
+    CachingLocalDAO(Class<ENTITY_ASPECT_UNION> aspectClass,
+        BiFunction<FooUrn, Class<? extends RecordTemplate>, AspectEntry> getLatestFunction,
+        BaseMetadataEventProducer eventProducer, DummyTransactionRunner transactionRunner,
+        Map<AspectKey<FooUrn, ? extends RecordTemplate>, AspectWithExtraInfo<? extends RecordTemplate>> canned) {
+      super(aspectClass, getLatestFunction, eventProducer, transactionRunner, canned);
+    }
+
+    @Override
+    @Nonnull
+    public Map<AspectKey<FooUrn, ? extends RecordTemplate>, AspectWithExtraInfo<? extends RecordTemplate>> getWithExtraInfo(
+        @Nonnull Set<AspectKey<FooUrn, ? extends RecordTemplate>> keys) {
+      return getWithExtraInfoThroughCache(keys, super::getWithExtraInfo);
+    }
+  }
+
   /**
    * String-keyed DAO for testing case-insensitive URN canonicalization (e.g. lixTrackingArchive vs LixTrackingArchive).
    * BurgerUrn uses a String ID, so two instances with different-case names are genuinely distinct objects.
@@ -410,6 +453,12 @@ public class BaseLocalDAOTest {
       return null;
     }
 
+    @Override
+    public <ASPECT extends RecordTemplate> ListResult<BurgerUrn> listUrns(Class<ASPECT> aspectClass, BurgerUrn lastUrn,
+        int pageSize, ListResult.TotalCountMode totalCountMode) {
+      return null;
+    }
+
     @Override
     public List<BurgerUrn> listUrns(@Nonnull IndexFilter indexFilter, @Nullable IndexSortCriterion indexSortCriterion,
         @Nullable BurgerUrn lastUrn, int pageSize) {
@@ -439,6 +488,12 @@ public class BaseLocalDAOTest {
       return null;
     }
 
+    @Override
+    public <ASPECT extends RecordTemplate> ListResult<ASPECT> list(Class<ASPECT> aspectClass, BurgerUrn lastUrn,
+        int pageSize, ListResult.TotalCountMode totalCountMode) {
+      return null;
+    }
+
     @Override
     public Map<String, Long> countAggregate(@Nonnull IndexFilter indexFilter,
         @Nonnull IndexGroupByCriterion groupCriterion) {
@@ -772,6 +827,41 @@ public class BaseLocalDAOTest {
     verifyNoMoreInteractions(_mockTrackingEventProducer);
   }
 
+  @Test
+  public void testBackfillProducesMAEsAsASingleBatch() throws URISyntaxException {
+    FooUrn urn1 = new FooUrn(1);
+    FooUrn urn2 = new FooUrn(2);
+    AspectFoo foo = new AspectFoo().setValue("foo");
+    AspectBar bar = new AspectBar().setValue("bar");
+    DummyLocalDAO<EntityAspectUnion> dao = spy(new DummyLocalDAO<>(EntityAspectUnion.class,
+        _mockGetLatestFunction, _mockTrackingEventProducer, _mockTrackingManager,
+        _dummyLocalDAO._transactionRunner));
+    Set<Class<? extends RecordTemplate>> aspectClasses = new HashSet<>(Arrays.asList(AspectFoo.class, AspectBar.class));
+    Set<FooUrn> urns = new HashSet<>(Arrays.asList(urn1, urn2));
+    Map<Class<? extends RecordTemplate>, Optional<? extends RecordTemplate>> urn1Aspects = new HashMap<>();
+    urn1Aspects.put(AspectFoo.class, Optional.of(foo));
+    urn1Aspects.put(AspectBar.class, Optional.of(bar));
+    Map<Class<? extends RecordTemplate>, Optional<? extends RecordTemplate>> urn2Aspects = new HashMap<>();
+    urn2Aspects.put(AspectFoo.class, Optional.of(foo));
+    urn2Aspects.put(AspectBar.class, Optional.empty());
+    Map<FooUrn, Map<Class<? extends RecordTemplate>, Optional<? extends RecordTemplate>>> aspects = new HashMap<>();
+    aspects.put(urn1, urn1Aspects);
+    aspects.put(urn2, urn2Aspects);
+    doReturn(aspects).when(dao).get(aspectClasses, urns);
+
+    dao.backfill(BackfillMode.BACKFILL_ALL, aspectClasses, urns);
+
+    // a single batch, with a single tracking context, of the present aspects
+    ArgumentCaptor<List> eventsCaptor = ArgumentCaptor.forClass(List.class);
+    verify(_mockTrackingEventProducer, times(1)).produceAspectSpecificMetadataAuditEvents(eventsCaptor.capture(),
+        any(IngestionTrackingContext.class), eq(IngestionMode.BOOTSTRAP));
+    verifyNoMoreInteractions(_mockTrackingEventProducer);
+    assertEquals(new HashSet<>(eventsCaptor.getValue()), new HashSet<>(Arrays.asList(
+        new AspectSpecificMetadataAuditEvent<>(AspectFoo.class, urn1, foo, foo, null),
+        new AspectSpecificMetadataAuditEvent<>(AspectBar.class, urn1, bar, bar, null),
+        new AspectSpecificMetadataAuditEvent<>(AspectFoo.class, urn2, foo, foo, null))));
+  }
+
   @Test
   public void testAddSamePreUpdateHookTwice() {
     BiConsumer<FooUrn, AspectFoo> hook = (urn, foo) -> {
@@ -868,6 +958,34 @@ public class BaseLocalDAOTest {
     verify(_mockTransactionRunner, times(2)).run(any());
   }
 
+  @Test
+  public void testTransactionsHoldTheUrnWriteLock() throws URISyntaxException {
+    FooUrn urn = new FooUrn(1);
+    AspectFoo foo = new AspectFoo().setValue("foo");
+    AspectBar bar = new AspectBar().setValue("bar");
+    UrnWriteLocks urnWriteLocks = new UrnWriteLocks(4);
+    BaseDaoBenchmarkMetrics metrics = mock(BaseDaoBenchmarkMetrics.class);
+    when(metrics.isEnabled()).thenReturn(true);
+    urnWriteLocks.setBenchmarkMetrics(metrics);
+    _dummyLocalDAO.setUrnWriteLocks(urnWriteLocks);
+
+    _dummyLocalDAO.enableAtomicMultipleUpdate(false);
+    when(_mockGetLatestFunction.apply(any(), eq(AspectFoo.class))).thenReturn(new BaseLocalDAO.AspectEntry<AspectFoo>(null, null));
+    when(_mockGetLatestFunction.apply(any(), eq(AspectBar.class))).thenReturn(new BaseLocalDAO.AspectEntry<AspectBar>(null, null));
+    doAnswer(invocation -> {
+      assertTrue(urnWriteLocks.isHeldByCurrentThread(urn));
+      return invocation.callRealMethod();
+    }).when(_mockTransactionRunner).run(any());
+
+    _dummyLocalDAO.add(urn, foo, _dummyAuditStamp);
+    _dummyLocalDAO.addMany(urn, Arrays.asList(foo, bar), _dummyAuditStamp);
+
+    verify(_mockTransactionRunner, times(3)).run(any());
+    verify(metrics, times(3)).recordOperation(eq(UrnWriteLocks.OPERATION), eq("foo"), isNull(), isNull(), eq("success"),
+        isNull(), anyLong());
+    assertFalse(urnWriteLocks.isHeldByCurrentThread(urn));
+  }
+
   @DataProvider(name = "addBackfillForNoopCases")
   public Object[][] addBackfillForNoopCases() {
     AuditStamp oldAuditStamp = makeAuditStamp("susActor", 6L);
@@ -1976,4 +2094,146 @@ public class BaseLocalDAOTest {
     assertFalse(result.isPresent());
     assertEquals(dao._batchCallCount.get(), 1);
   }
+
+  private CachingLocalDAO<EntityAspectUnion> makeCachingLocalDAO(AspectKey<FooUrn, AspectFoo> key) {
+    AspectWithExtraInfo<AspectFoo> stored =
+        new AspectWithExtraInfo<>(new AspectFoo().setValue("bar"), new ExtraInfo().setUrn(key.getUrn()));
+    CachingLocalDAO<EntityAspectUnion> dao =
+        new CachingLocalDAO<>(EntityAspectUnion.class, _mockGetLatestFunction, _mockEventProducer,
+            _mockTransactionRunner, Collections.singletonMap(key, stored));
+    dao.setAspectCache(new InMemoryAspectCache(100, Duration.ofMinutes(1), new NoOpDaoBenchmarkMetrics()));
+    return dao;
+  }
+
+  @Test
+  public void testAspectCacheServesRepeatedReads() throws Exception {
+    FooUrn urn = new FooUrn(1);
+    AspectKey<FooUrn, AspectFoo> key = new AspectKey<>(AspectFoo.class, urn, LATEST_VERSION);
+    CachingLocalDAO<EntityAspectUnion> dao = makeCachingLocalDAO(key);
+
+    Optional<AspectWithExtraInfo<AspectFoo>> first = dao.getWithExtraInfo(key);
+    Optional<AspectWithExtraInfo<AspectFoo>> second = dao.getWithExtraInfo(key);
+
+    assertEquals(first.get().getAspect(), new AspectFoo().setValue("bar"));
+    assertEquals(second, first);
+    assertEquals(dao._batchCallCount.get(), 1);
+  }
+
+  @Test
+  public void testAspectCacheInvalidatedByWrite() throws Exception {
+    FooUrn urn = new FooUrn(1);
+    AspectKey<FooUrn, AspectFoo> key = new AspectKey<>(AspectFoo.class, urn, LATEST_VERSION);
+    CachingLocalDAO<EntityAspectUnion> dao = makeCachingLocalDAO(key);
+    expectGetLatest(urn, AspectFoo.class, Collections.singletonList(makeAspectEntry(null, null, null)));
+
+    dao.getWithExtraInfo(key);
+    dao.add(urn, new AspectFoo().setValue("baz"), _dummyAuditStamp);
+    dao.getWithExtraInfo(key);
+
+    assertEquals(dao._batchCallCount.get(), 2);
+  }
+
+  @Test
+  public void testAspectCacheInvalidatedByDelete() throws Exception {
+    FooUrn urn = new FooUrn(1);
+    AspectKey<FooUrn, AspectFoo> key = new AspectKey<>(AspectFoo.class, urn, LATEST_VERSION);
+    CachingLocalDAO<EntityAspectUnion> dao = makeCachingLocalDAO(key);
+    expectGetLatest(urn, AspectFoo.class,
+        Collections.singletonList(makeAspectEntry(new AspectFoo().setValue("bar"), _dummyAuditStamp, urn)));
+
+    dao.getWithExtraInfo(key);
+    dao.delete(urn, AspectFoo.class, _dummyAuditStamp);
+    dao.getWithExtraInfo(key);
+
+    assertEquals(dao._batchCallCount.get(), 2);
+  }
+
+  @Test
+  public void testAspectCacheBypassedForInternalReads() throws Exception {
+    FooUrn urn = new FooUrn(1);
+    AspectKey<FooUrn, AspectFoo> key = new AspectKey<>(AspectFoo.class, urn, LATEST_VERSION);
+    CachingLocalDAO<EntityAspectUnion> dao = makeCachingLocalDAO(key);
+
+    dao.getWithExtraInfo(key);
+    try (DaoReadContext.Scope ignored = DaoReadContext.markInternalRead()) {
+      dao.getWithExtraInfo(key);
+    }
+
+    assertEquals(dao._batchCallCount.get(), 2);
+  }
+
+  @Test
+  public void testAspectCacheSkipsNonLatestVersions() throws Exception {
+    FooUrn urn = new FooUrn(1);
+    AspectKey<FooUrn, AspectFoo> key = new AspectKey<>(AspectFoo.class, urn, 1L);
+    CachingLocalDAO<EntityAspectUnion> dao = makeCachingLocalDAO(key);
+
+    dao.getWithExtraInfo(key);
+    dao.getWithExtraInfo(key);
+
+    assertEquals(dao._batchCallCount.get(), 2);
+  }
+
+  @Test
+  public void testAsyncReadsRunOnAsyncReadExecutor() {
+    FooUrn urn = new FooUrn(1);
+    AtomicInteger executedReads = new AtomicInteger();
+    _dummyLocalDAO.setAsyncReadExecutor(read -> {
+      executedReads.incrementAndGet();
+      read.run();
+    });
+
+    assertTrue(_dummyLocalDAO.existsAsync(urn).join());
+    assertNotNull(_dummyLocalDAO.listUrnsAsync(new IndexFilter(), null, 0, 10).join());
+    assertEquals(executedReads.get(), 2);
+
+    // null restores the shared default executor
+    _dummyLocalDAO.setAsyncReadExecutor(null);
+    assertTrue(_dummyLocalDAO.existsAsync(urn).join());
+    assertEquals(executedReads.get(), 2);
+  }
+
+  @Test
+  public void testAsyncReadFailureCompletesFutureExceptionally() {
+    FooUrn urn = new FooUrn(1);
+    DummyLocalDAO<EntityAspectUnion> dao = spy(_dummyLocalDAO);
+    doThrow(new IllegalStateException("boom")).when(dao).exists(urn);
+
+    CompletableFuture<Boolean> future = dao.existsAsync(urn);
+
+    try {
+      future.join();
+      fail("An exception should've been thrown!");
+    } catch (CompletionException e) {
+      assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+  }
+
+  @Test
+  public void testScanUrnsPagesByLastUrn() {
+    FooUrn urn1 = new FooUrn(1);
+    FooUrn urn2 = new FooUrn(2);
+    FooUrn urn3 = new FooUrn(3);
+    DummyLocalDAO<EntityAspectUnion> dao = spy(_dummyLocalDAO);
+    doReturn(Arrays.asList(urn1, urn2)).when(dao).listUrns(null, null, null, 2);
+    doReturn(Collections.singletonList(urn3)).when(dao).listUrns(null, null, urn2, 2);
+
+    List<FooUrn> urns = new ArrayList<>();
+    try (CloseableIterator<FooUrn> iterator = dao.scanUrns(null, 2)) {
+      iterator.forEachRemaining(urns::add);
+    }
+    assertEquals(urns, Arrays.asList(urn1, urn2, urn3));
+
+    List<FooUrn> entryUrns = new ArrayList<>();
+    try (CloseableIterator<UrnAspectEntry<FooUrn>> iterator =
+        dao.scanAspects(Collections.singleton(AspectFoo.class), null, 2)) {
+      iterator.forEachRemaining(entry -> entryUrns.add(entry.getUrn()));
+    }
+    assertEquals(entryUrns, Arrays.asList(urn1, urn2, urn3));
+  }
+
+  @Test
+  public void testScanUrnsInvalidFetchSize() {
+    assertThrows(IllegalArgumentException.class, () -> _dummyLocalDAO.scanUrns(null, 0));
+  }
 }
@@ -0,0 +1,83 @@
+package com.linkedin.metadata.dao;
+
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.dao.utils.RecordUtils;
+import com.linkedin.metadata.query.ExtraInfo;
+import com.linkedin.testing.AspectBar;
+import com.linkedin.testing.AspectFoo;
+import com.linkedin.testing.urn.FooUrn;
+import java.util.Arrays;
+import java.util.List;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class LazyAspectTest {
+
+  @BeforeMethod
+  public void setup() {
+    LazyAspect.resetCounters();
+  }
+
+  @Test
+  public void testDecodesOnFirstAccessOnly() {
+    AspectFoo foo = new AspectFoo().setValue("foo");
+    LazyAspect<AspectFoo> lazy = LazyAspect.fromJson(AspectFoo.class, RecordUtils.toJsonString(foo));
+
+    assertFalse(lazy.isMaterialized());
+    assertEquals(LazyAspect.getNeverMaterializedCount(), 1);
+
+    AspectFoo decoded = lazy.get();
+    assertEquals(decoded, foo);
+    assertTrue(lazy.isMaterialized());
+    assertSame(lazy.get(), decoded);
+    assertEquals(LazyAspect.getLazyCount(), 1);
+    assertEquals(LazyAspect.getMaterializedCount(), 1);
+    assertEquals(LazyAspect.getNeverMaterializedCount(), 0);
+  }
+
+  @Test
+  public void testDecodedAspectIsNotCounted() {
+    AspectFoo foo = new AspectFoo().setValue("foo");
+    LazyAspect<AspectFoo> eager = LazyAspect.of(foo);
+
+    assertTrue(eager.isMaterialized());
+    assertSame(eager.get(), foo);
+    assertEquals(eager.getAspectClass(), AspectFoo.class);
+    assertEquals(LazyAspect.getLazyCount(), 0);
+    assertEquals(LazyAspect.getMaterializedCount(), 0);
+  }
+
+  @Test
+  public void testAspectWithExtraInfo() {
+    AspectFoo foo = new AspectFoo().setValue("foo");
+    ExtraInfo extraInfo = new ExtraInfo().setVersion(0);
+
+    AspectWithExtraInfo<AspectFoo> lazy =
+        AspectWithExtraInfo.lazy(LazyAspect.fromJson(AspectFoo.class, RecordUtils.toJsonString(foo)), extraInfo);
+
+    assertEquals(LazyAspect.getNeverMaterializedCount(), 1);
+    assertEquals(lazy.getAspect(), foo);
+    assertEquals(lazy, new AspectWithExtraInfo<>(foo, extraInfo));
+    assertEquals(LazyAspect.getNeverMaterializedCount(), 0);
+  }
+
+  @Test
+  public void testUrnAspectEntryDecodesAccessedAspectsOnly() {
+    AspectFoo foo = new AspectFoo().setValue("foo");
+    AspectBar bar = new AspectBar().setValue("bar");
+    List<LazyAspect<? extends RecordTemplate>> aspects =
+        Arrays.asList(LazyAspect.fromJson(AspectFoo.class, RecordUtils.toJsonString(foo)),
+            LazyAspect.fromJson(AspectBar.class, RecordUtils.toJsonString(bar)));
+
+    UrnAspectEntry<FooUrn> entry = UrnAspectEntry.lazy(new FooUrn(1), aspects);
+
+    assertEquals(entry.getAspects().size(), 2);
+    assertEquals(entry.getAspects().get(1), bar);
+    assertFalse(aspects.get(0).isMaterialized());
+    assertEquals(LazyAspect.getNeverMaterializedCount(), 1);
+    assertEquals(entry.getAspects(), Arrays.asList(foo, bar));
+  }
+}
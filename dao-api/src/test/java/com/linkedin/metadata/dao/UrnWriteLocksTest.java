@@ -0,0 +1,69 @@
+package com.linkedin.metadata.dao;
+
+import com.linkedin.testing.urn.FooUrn;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class UrnWriteLocksTest {
+
+  @Test
+  public void testWritesToAnUrnAreSerialized() throws Exception {
+    UrnWriteLocks urnWriteLocks = new UrnWriteLocks(16);
+    FooUrn urn = new FooUrn(1);
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        futures.add(executor.submit(() -> {
+          for (int j = 0; j < 100; j++) {
+            urnWriteLocks.runLocked(urn, () -> {
+              maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+              Thread.yield();
+              return running.decrementAndGet();
+            });
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get(30, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertEquals(maxRunning.get(), 1);
+    assertEquals(urnWriteLocks.getQueueLength(), 0);
+  }
+
+  @Test
+  public void testNestedWriteDoesNotTakeAnotherStripe() throws URISyntaxException {
+    UrnWriteLocks urnWriteLocks = new UrnWriteLocks(1024);
+    FooUrn urn1 = new FooUrn(1);
+    FooUrn urn2 = new FooUrn(2);
+
+    boolean heldInNestedWrite = urnWriteLocks.runLocked(urn1,
+        () -> urnWriteLocks.runLocked(urn2, () -> urnWriteLocks.isHeldByCurrentThread(urn1)));
+
+    assertTrue(heldInNestedWrite);
+    assertFalse(urnWriteLocks.isHeldByCurrentThread(urn1));
+  }
+
+  @Test
+  public void testInvalidStripeCount() {
+    assertThrows(IllegalArgumentException.class, () -> new UrnWriteLocks(0));
+    assertEquals(new UrnWriteLocks(8).getStripeCount(), 8);
+  }
+}
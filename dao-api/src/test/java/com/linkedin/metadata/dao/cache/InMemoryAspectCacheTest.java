@@ -0,0 +1,162 @@
+package com.linkedin.metadata.dao.cache;
+
+import com.linkedin.common.urn.Urn;
+import com.linkedin.metadata.dao.AspectKey;
+import com.linkedin.metadata.dao.AspectWithExtraInfo;
+import com.linkedin.metadata.dao.tracking.BaseDaoBenchmarkMetrics;
+import com.linkedin.metadata.query.ExtraInfo;
+import com.linkedin.testing.AspectBar;
+import com.linkedin.testing.AspectFoo;
+import com.linkedin.testing.urn.FooUrn;
+import java.net.URISyntaxException;
+import java.time.Clock;
+import java.time.Duration;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static com.linkedin.metadata.dao.cache.InMemoryAspectCache.*;
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+
+public class InMemoryAspectCacheTest {
+
+  private BaseDaoBenchmarkMetrics _metrics;
+  private Clock _clock;
+
+  @BeforeMethod
+  public void setup() {
+    _metrics = mock(BaseDaoBenchmarkMetrics.class);
+    when(_metrics.isEnabled()).thenReturn(true);
+    _clock = mock(Clock.class);
+    when(_clock.millis()).thenReturn(1000L);
+  }
+
+  private static AspectKey<FooUrn, AspectFoo> fooKey(int id) throws URISyntaxException {
+    return new AspectKey<>(AspectFoo.class, new FooUrn(id), 0L);
+  }
+
+  private static AspectWithExtraInfo<AspectFoo> fooValue(String value) {
+    return new AspectWithExtraInfo<>(new AspectFoo().setValue(value), new ExtraInfo().setVersion(0L));
+  }
+
+  @Test
+  public void testPutAndGet() throws URISyntaxException {
+    InMemoryAspectCache cache = new InMemoryAspectCache(10, Duration.ofMinutes(1), _metrics, _clock);
+
+    assertNull(cache.get(fooKey(1)));
+    cache.put(fooKey(1), fooValue("foo"), cache.beginLoad());
+
+    assertEquals(cache.get(fooKey(1)), fooValue("foo"));
+    assertNull(cache.get(new AspectKey<>(AspectBar.class, new FooUrn(1), 0L)));
+    verify(_metrics).recordOperation(OPERATION, "foo", "AspectFoo", null, STATUS_MISS, null, 0);
+    verify(_metrics).recordOperation(OPERATION, "foo", "AspectBar", null, STATUS_MISS, null, 0);
+    verify(_metrics).recordOperation(OPERATION, "foo", "AspectFoo", null, STATUS_HIT, null, 0);
+  }
+
+  @Test
+  public void testReturnedValuesAreCopies() throws URISyntaxException {
+    InMemoryAspectCache cache = new InMemoryAspectCache(10, Duration.ofMinutes(1), _metrics, _clock);
+    AspectWithExtraInfo<AspectFoo> value = fooValue("foo");
+    cache.put(fooKey(1), value, cache.beginLoad());
+
+    value.getAspect().setValue("mutated");
+    cache.get(fooKey(1)).getAspect().setValue("mutated");
+
+    assertEquals(cache.get(fooKey(1)), fooValue("foo"));
+  }
+
+  @Test
+  public void testUrnMatchIsCaseInsensitive() throws URISyntaxException {
+    InMemoryAspectCache cache = new InMemoryAspectCache(10, Duration.ofMinutes(1), _metrics, _clock);
+    AspectKey<Urn, AspectFoo> upperCaseKey = new AspectKey<>(AspectFoo.class, Urn.createFromString("urn:li:foo:ABC"), 0L);
+    AspectKey<Urn, AspectFoo> lowerCaseKey = new AspectKey<>(AspectFoo.class, Urn.createFromString("urn:li:foo:abc"), 0L);
+    cache.put(upperCaseKey, fooValue("foo"), cache.beginLoad());
+
+    assertEquals(cache.get(lowerCaseKey), fooValue("foo"));
+
+    cache.invalidate(lowerCaseKey.getUrn(), AspectFoo.class);
+    assertNull(cache.get(upperCaseKey));
+  }
+
+  @Test
+  public void testInvalidate() throws URISyntaxException {
+    InMemoryAspectCache cache = new InMemoryAspectCache(10, Duration.ofMinutes(1), _metrics, _clock);
+    cache.put(fooKey(1), fooValue("foo"), cache.beginLoad());
+    cache.put(new AspectKey<>(AspectBar.class, new FooUrn(1), 0L),
+        new AspectWithExtraInfo<>(new AspectBar().setValue("bar"), new ExtraInfo()), cache.beginLoad());
+    cache.put(fooKey(2), fooValue("foo2"), cache.beginLoad());
+
+    cache.invalidate(new FooUrn(1), AspectFoo.class);
+    assertNull(cache.get(fooKey(1)));
+    assertNotNull(cache.get(new AspectKey<>(AspectBar.class, new FooUrn(1), 0L)));
+
+    cache.invalidateAll(new FooUrn(1));
+    assertNull(cache.get(new AspectKey<>(AspectBar.class, new FooUrn(1), 0L)));
+    assertNotNull(cache.get(fooKey(2)));
+    assertEquals(cache.size(), 1);
+  }
+
+  @Test
+  public void testPutDroppedIfInvalidatedDuringLoad() throws URISyntaxException {
+    InMemoryAspectCache cache = new InMemoryAspectCache(10, Duration.ofMinutes(1), _metrics, _clock);
+
+    long loadStamp = cache.beginLoad();
+    // a write lands between the read from storage and the put
+    cache.invalidate(new FooUrn(1), AspectFoo.class);
+    cache.put(fooKey(1), fooValue("stale"), loadStamp);
+    cache.put(fooKey(2), fooValue("foo2"), loadStamp);
+
+    assertNull(cache.get(fooKey(1)));
+    assertNotNull(cache.get(fooKey(2)));
+
+    cache.put(fooKey(1), fooValue("fresh"), cache.beginLoad());
+    assertEquals(cache.get(fooKey(1)), fooValue("fresh"));
+  }
+
+  @Test
+  public void testTtlExpiry() throws URISyntaxException {
+    InMemoryAspectCache cache = new InMemoryAspectCache(10, Duration.ofSeconds(1), _metrics, _clock);
+    cache.put(fooKey(1), fooValue("foo"), cache.beginLoad());
+
+    when(_clock.millis()).thenReturn(1999L);
+    assertNotNull(cache.get(fooKey(1)));
+
+    when(_clock.millis()).thenReturn(2000L);
+    assertNull(cache.get(fooKey(1)));
+    assertEquals(cache.size(), 0);
+    verify(_metrics).recordOperation(OPERATION, "foo", "AspectFoo", null, STATUS_EVICTION, null, 0);
+  }
+
+  @Test
+  public void testSizeBoundEvictsLeastRecentlyUsedUrn() throws URISyntaxException {
+    InMemoryAspectCache cache = new InMemoryAspectCache(2, Duration.ofMinutes(1), _metrics, _clock);
+    cache.put(fooKey(1), fooValue("foo1"), cache.beginLoad());
+    cache.put(fooKey(2), fooValue("foo2"), cache.beginLoad());
+    // touch urn 1 so that urn 2 becomes the least recently used
+    cache.get(fooKey(1));
+    cache.put(fooKey(3), fooValue("foo3"), cache.beginLoad());
+
+    assertEquals(cache.size(), 2);
+    assertNotNull(cache.get(fooKey(1)));
+    assertNull(cache.get(fooKey(2)));
+    assertNotNull(cache.get(fooKey(3)));
+    verify(_metrics).recordOperation(OPERATION, "foo", "AspectFoo", null, STATUS_EVICTION, null, 0);
+  }
+
+  @Test
+  public void testMetricsSkippedWhenDisabled() throws URISyntaxException {
+    when(_metrics.isEnabled()).thenReturn(false);
+    InMemoryAspectCache cache = new InMemoryAspectCache(10, Duration.ofMinutes(1), _metrics, _clock);
+
+    cache.get(fooKey(1));
+
+    verify(_metrics, never()).recordOperation(anyString(), anyString(), any(), any(), anyString(), any(), anyLong());
+  }
+
+  @Test
+  public void testInvalidArguments() {
+    assertThrows(IllegalArgumentException.class, () -> new InMemoryAspectCache(0, Duration.ofMinutes(1), _metrics));
+    assertThrows(IllegalArgumentException.class, () -> new InMemoryAspectCache(10, Duration.ZERO, _metrics));
+  }
+}
@@ -0,0 +1,62 @@
+package com.linkedin.metadata.dao.producer;
+
+import com.linkedin.common.AuditStamp;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.events.IngestionMode;
+import com.linkedin.metadata.events.IngestionTrackingContext;
+import com.linkedin.testing.AspectBar;
+import com.linkedin.testing.AspectFoo;
+import com.linkedin.testing.EntityAspectUnion;
+import com.linkedin.testing.FooSnapshot;
+import com.linkedin.testing.urn.FooUrn;
+import java.util.Arrays;
+import java.util.List;
+import org.mockito.InOrder;
+import org.testng.annotations.Test;
+
+import static com.linkedin.common.AuditStamps.*;
+import static com.linkedin.testing.TestUtils.*;
+import static org.mockito.Mockito.*;
+
+
+public class BaseMetadataEventProducerTest {
+
+  private final FooUrn _urn = makeFooUrn(1);
+  private final AspectFoo _foo = new AspectFoo().setValue("foo");
+  private final AspectBar _bar = new AspectBar().setValue("bar");
+  private final AuditStamp _auditStamp = makeAuditStamp("foo", 1234);
+  private final List<AspectSpecificMetadataAuditEvent<FooUrn, ? extends RecordTemplate>> _events = Arrays.asList(
+      new AspectSpecificMetadataAuditEvent<>(AspectFoo.class, _urn, null, _foo, _auditStamp),
+      new AspectSpecificMetadataAuditEvent<>(AspectBar.class, _urn, _bar, _bar, null));
+
+  @Test
+  public void testBatchIsProducedOneEventAtATimeByDefault() {
+    BaseMetadataEventProducer<FooSnapshot, EntityAspectUnion, FooUrn> producer = mock(BaseMetadataEventProducer.class);
+    doCallRealMethod().when(producer).produceAspectSpecificMetadataAuditEvents(any(), any());
+
+    producer.produceAspectSpecificMetadataAuditEvents(_events, IngestionMode.BACKFILL);
+
+    InOrder inOrder = inOrder(producer);
+    inOrder.verify(producer).produceAspectSpecificMetadataAuditEvent(_urn, null, _foo, AspectFoo.class, _auditStamp,
+        IngestionMode.BACKFILL);
+    inOrder.verify(producer).produceAspectSpecificMetadataAuditEvent(_urn, _bar, _bar, AspectBar.class, null,
+        IngestionMode.BACKFILL);
+  }
+
+  @Test
+  public void testTrackedBatchIsProducedOneEventAtATimeByDefault() {
+    BaseTrackingMetadataEventProducer<FooSnapshot, EntityAspectUnion, FooUrn> producer =
+        mock(BaseTrackingMetadataEventProducer.class);
+    doCallRealMethod().when(producer).produceAspectSpecificMetadataAuditEvents(any(), any(), any());
+    IngestionTrackingContext trackingContext = new IngestionTrackingContext().setEmitter("test");
+
+    producer.produceAspectSpecificMetadataAuditEvents(_events, trackingContext, IngestionMode.BACKFILL);
+
+    // every event of the batch shares its tracking context
+    InOrder inOrder = inOrder(producer);
+    inOrder.verify(producer).produceAspectSpecificMetadataAuditEvent(_urn, null, _foo, AspectFoo.class, _auditStamp,
+        trackingContext, IngestionMode.BACKFILL);
+    inOrder.verify(producer).produceAspectSpecificMetadataAuditEvent(_urn, _bar, _bar, AspectBar.class, null,
+        trackingContext, IngestionMode.BACKFILL);
+  }
+}
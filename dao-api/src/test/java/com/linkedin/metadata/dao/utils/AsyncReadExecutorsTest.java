@@ -0,0 +1,43 @@
+package com.linkedin.metadata.dao.utils;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class AsyncReadExecutorsTest {
+
+  @Test
+  public void testNewExecutorRunsTasks() {
+    ExecutorService executor = AsyncReadExecutors.newExecutor(2);
+    try {
+      assertEquals(CompletableFuture.supplyAsync(() -> "foo", executor).join(), "foo");
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testPlatformThreadsAreNamedDaemons() {
+    ExecutorService executor = AsyncReadExecutors.newPlatformThreadExecutor(1);
+    try {
+      Thread thread = CompletableFuture.supplyAsync(Thread::currentThread, executor).join();
+      assertTrue(thread.isDaemon());
+      assertTrue(thread.getName().startsWith("gma-dao-async-read-"));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testDefaultExecutorIsShared() {
+    assertSame(AsyncReadExecutors.defaultExecutor(), AsyncReadExecutors.defaultExecutor());
+  }
+
+  @Test
+  public void testInvalidThreads() {
+    assertThrows(IllegalArgumentException.class, () -> AsyncReadExecutors.newExecutor(0));
+  }
+}
@@ -0,0 +1,177 @@
+package com.linkedin.metadata.dao;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.linkedin.metadata.dao.utils.SQLSchemaUtils;
+import com.linkedin.metadata.query.IndexCriterion;
+import com.linkedin.metadata.query.IndexFilter;
+import com.linkedin.metadata.query.IndexGroupByCriterion;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Value;
+
+
+/**
+ * A cache of the results of {@link IEbeanLocalAccess#countAggregate(IndexFilter, IndexGroupByCriterion)} for a set of
+ * registered (filter, group by) shapes, e.g. the facets a UI asks for on every page. See
+ * {@link IEbeanLocalAccess#setAggregateCountCache(AggregateCountCache)}.
+ *
+ * <p>Only the registered shapes are cached, other shapes are always counted live. A cached result is served until an
+ * aspect it depends on is written through the local access, or until it expires after the TTL, which bounds the
+ * staleness caused by writes made elsewhere (e.g. another host). A shape depends on the aspect it groups by and the
+ * aspects its filter criteria read. A shape with no such criteria counts every urn of the table, so it depends on every
+ * write, as any write may add a new urn to the null group. Writes reviving an asset-deleted urn without writing the
+ * aspects of a shape aren't tracked, their staleness is bounded by the TTL too.
+ *
+ * <p>To prevent a count that raced with a write from caching a result it computed before the write, a reader takes a
+ * stamp with {@link #beginRead()} before counting and passes it when caching the result. Results of counts started
+ * before the last invalidation of their shape are dropped.
+ *
+ * <p>The registered {@link IndexFilter} and {@link IndexGroupByCriterion} are matched by value and must not be modified
+ * after being registered.
+ */
+public class AggregateCountCache {
+
+  private final long _ttlMs;
+  private final Clock _clock;
+
+  // Registered shape -> cached counts, or null if not counted yet. Guarded by this.
+  private final Map<Shape, CachedCounts> _counts = new HashMap<>();
+  // Registered shape -> aspects read by its filter criteria, urns excluded. Guarded by this.
+  private final Map<Shape, Set<String>> _filteredAspects = new HashMap<>();
+  // Registered shape -> sequence of its last invalidation. Guarded by this.
+  private final Map<Shape, Long> _invalidatedAt = new HashMap<>();
+  private long _sequence = 0;
+
+  @Value
+  private static class Shape {
+    IndexFilter indexFilter;
+    IndexGroupByCriterion indexGroupByCriterion;
+  }
+
+  @Value
+  private static class CachedCounts {
+    Map<String, Long> counts;
+    long expiresAtMs;
+  }
+
+  /**
+   * Constructor for AggregateCountCache.
+   *
+   * @param ttl how long a result is cached, must be positive
+   */
+  public AggregateCountCache(@Nonnull Duration ttl) {
+    this(ttl, Clock.systemUTC());
+  }
+
+  @VisibleForTesting
+  AggregateCountCache(@Nonnull Duration ttl, @Nonnull Clock clock) {
+    if (ttl.isNegative() || ttl.isZero()) {
+      throw new IllegalArgumentException("TTL must be positive: " + ttl);
+    }
+    _ttlMs = ttl.toMillis();
+    _clock = clock;
+  }
+
+  /**
+   * Registers a shape whose results are to be cached.
+   *
+   * @param indexFilter filter of the counts, or null to count all the urns
+   * @param indexGroupByCriterion criterion the urns are grouped by
+   */
+  public synchronized void register(@Nullable IndexFilter indexFilter,
+      @Nonnull IndexGroupByCriterion indexGroupByCriterion) {
+    final Shape shape = new Shape(indexFilter, indexGroupByCriterion);
+    if (_counts.containsKey(shape)) {
+      return;
+    }
+    _counts.put(shape, null);
+    _filteredAspects.put(shape, indexFilter == null || !indexFilter.hasCriteria() ? Collections.emptySet()
+        : indexFilter.getCriteria()
+            .stream()
+            .map(IndexCriterion::getAspect)
+            .filter(aspect -> !SQLSchemaUtils.isUrn(aspect))
+            .collect(Collectors.toSet()));
+  }
+
+  /**
+   * Returns true if the results of the shape are cached.
+   */
+  public synchronized boolean isRegistered(@Nullable IndexFilter indexFilter,
+      @Nonnull IndexGroupByCriterion indexGroupByCriterion) {
+    return _counts.containsKey(new Shape(indexFilter, indexGroupByCriterion));
+  }
+
+  /**
+   * Returns the cached result of the shape, or null if the shape isn't registered or has no current result.
+   */
+  @Nullable
+  public synchronized Map<String, Long> get(@Nullable IndexFilter indexFilter,
+      @Nonnull IndexGroupByCriterion indexGroupByCriterion) {
+    final CachedCounts cached = _counts.get(new Shape(indexFilter, indexGroupByCriterion));
+    return cached != null && cached.getExpiresAtMs() > _clock.millis() ? cached.getCounts() : null;
+  }
+
+  /**
+   * Returns a stamp to pass when caching the result of a count started after this call.
+   */
+  public synchronized long beginRead() {
+    return _sequence;
+  }
+
+  /**
+   * Caches the result of a registered shape, unless the cache has been invalidated since {@code readStamp} was taken.
+   * Results of shapes that aren't registered are ignored.
+   */
+  public synchronized void put(@Nullable IndexFilter indexFilter, @Nonnull IndexGroupByCriterion indexGroupByCriterion,
+      @Nonnull Map<String, Long> counts, long readStamp) {
+    final Shape shape = new Shape(indexFilter, indexGroupByCriterion);
+    if (!_counts.containsKey(shape) || _invalidatedAt.getOrDefault(shape, 0L) > readStamp) {
+      // not registered, or an aspect of the shape was written after the count started so the result may be stale
+      return;
+    }
+    _counts.put(shape, new CachedCounts(Collections.unmodifiableMap(new HashMap<>(counts)), _clock.millis() + _ttlMs));
+  }
+
+  /**
+   * Forgets all the cached results, to be called whenever urns of the entity table are deleted or written in a way that
+   * isn't tracked per aspect.
+   */
+  public synchronized void invalidate() {
+    invalidate(Collections.emptySet(), true);
+  }
+
+  /**
+   * Forgets the cached results of the shapes depending on any of the given aspects, to be called whenever they are
+   * written.
+   *
+   * @param aspectNames canonical class names of the aspects written
+   */
+  public synchronized void invalidate(@Nonnull Collection<String> aspectNames) {
+    invalidate(aspectNames, false);
+  }
+
+  private void invalidate(@Nonnull Collection<String> aspectNames, boolean all) {
+    final long sequence = ++_sequence;
+    _counts.replaceAll((shape, cached) -> {
+      if (!all && !dependsOnAny(shape, aspectNames)) {
+        return cached;
+      }
+      _invalidatedAt.put(shape, sequence);
+      return null;
+    });
+  }
+
+  private boolean dependsOnAny(@Nonnull Shape shape, @Nonnull Collection<String> aspectNames) {
+    final Set<String> filteredAspects = _filteredAspects.get(shape);
+    return filteredAspects.isEmpty() || aspectNames.contains(shape.getIndexGroupByCriterion().getAspect())
+        || aspectNames.stream().anyMatch(filteredAspects::contains);
+  }
+}
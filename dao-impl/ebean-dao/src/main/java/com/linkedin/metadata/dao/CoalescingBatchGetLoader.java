@@ -0,0 +1,171 @@
+package com.linkedin.metadata.dao;
+
+import com.linkedin.common.urn.Urn;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.dao.EbeanLocalDAO.RecordJoinKey;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Coalesces concurrent single-key aspect reads into one batch read (a.k.a. dataloader).
+ *
+ * <p>Keys are collected until either the window since the first key of the batch elapses or the batch reaches its max
+ * size, then the whole batch is read with a single call to the batch function on the scheduler. Each caller gets a
+ * future completed with the records of its own key. Callers asking for a key that is already pending share the same
+ * future, so a hot key is read once per batch no matter how many callers ask for it. A key whose batch has already
+ * been dispatched joins the next batch instead: the dispatched read may have started before the caller's latest write,
+ * so sharing its result would break read-your-writes. Keys are matched case-insensitively on the urn, same as
+ * {@link EbeanLocalDAO#get(java.util.Set)}.
+ *
+ * @param <URN> the URN type for this entity
+ */
+@Slf4j
+final class CoalescingBatchGetLoader<URN extends Urn> {
+
+  private final Function<List<AspectKey<URN, ? extends RecordTemplate>>, List<EbeanMetadataAspect>> _batchFunction;
+  private final ScheduledExecutorService _scheduler;
+  private final long _windowMs;
+  private final int _maxBatchSize;
+
+  // Keys of the batch being collected, guarded by this
+  private Map<RecordJoinKey, PendingKey<URN>> _pending = new LinkedHashMap<>();
+
+  private static final class PendingKey<URN extends Urn> {
+    final AspectKey<URN, ? extends RecordTemplate> key;
+    final CompletableFuture<List<EbeanMetadataAspect>> future = new CompletableFuture<>();
+
+    PendingKey(@Nonnull AspectKey<URN, ? extends RecordTemplate> key) {
+      this.key = key;
+    }
+  }
+
+  /**
+   * Constructor for CoalescingBatchGetLoader.
+   *
+   * @param batchFunction reads all the given keys in one round trip
+   * @param scheduler runs the window timers and the batch reads
+   * @param windowMs max time a key waits for more keys to join its batch
+   * @param maxBatchSize number of distinct keys that triggers a batch read right away
+   */
+  CoalescingBatchGetLoader(
+      @Nonnull Function<List<AspectKey<URN, ? extends RecordTemplate>>, List<EbeanMetadataAspect>> batchFunction,
+      @Nonnull ScheduledExecutorService scheduler, long windowMs, int maxBatchSize) {
+    if (windowMs < 0) {
+      throw new IllegalArgumentException("Coalescing window must be non-negative: " + windowMs);
+    }
+    if (maxBatchSize <= 0) {
+      throw new IllegalArgumentException("Max batch size must be positive: " + maxBatchSize);
+    }
+    _batchFunction = batchFunction;
+    _scheduler = scheduler;
+    _windowMs = windowMs;
+    _maxBatchSize = maxBatchSize;
+  }
+
+  /**
+   * Queues a key for the next batch read.
+   *
+   * @param key key to read
+   * @return a future completed with the records of the key (empty if it doesn't exist) once its batch has been read
+   */
+  @Nonnull
+  CompletableFuture<List<EbeanMetadataAspect>> load(@Nonnull AspectKey<URN, ? extends RecordTemplate> key) {
+    final RecordJoinKey joinKey = RecordJoinKey.of(key);
+    final Map<RecordJoinKey, PendingKey<URN>> batchToDispatch;
+    final Map<RecordJoinKey, PendingKey<URN>> batchToSchedule;
+    final CompletableFuture<List<EbeanMetadataAspect>> future;
+    synchronized (this) {
+      PendingKey<URN> pending = _pending.get(joinKey);
+      if (pending != null) {
+        return pending.future;
+      }
+
+      pending = new PendingKey<>(key);
+      _pending.put(joinKey, pending);
+      future = pending.future;
+      if (_pending.size() >= _maxBatchSize) {
+        batchToDispatch = takePending();
+        batchToSchedule = null;
+      } else {
+        batchToDispatch = null;
+        // the first key of a batch starts its window
+        batchToSchedule = _pending.size() == 1 ? _pending : null;
+      }
+    }
+
+    if (batchToDispatch != null) {
+      submit(batchToDispatch);
+    } else if (batchToSchedule != null) {
+      scheduleWindow(batchToSchedule);
+    }
+    return future;
+  }
+
+  private void scheduleWindow(@Nonnull Map<RecordJoinKey, PendingKey<URN>> batch) {
+    try {
+      _scheduler.schedule(() -> flushIfStillPending(batch), _windowMs, TimeUnit.MILLISECONDS);
+    } catch (RejectedExecutionException e) {
+      log.warn("Coalescing scheduler rejected the window timer, reading the batch on the calling thread.");
+      flushIfStillPending(batch);
+    }
+  }
+
+  private void flushIfStillPending(@Nonnull Map<RecordJoinKey, PendingKey<URN>> batch) {
+    final Map<RecordJoinKey, PendingKey<URN>> toDispatch;
+    synchronized (this) {
+      // the batch may already have been dispatched because it reached the max size
+      if (_pending != batch) {
+        return;
+      }
+      toDispatch = takePending();
+    }
+    dispatch(toDispatch);
+  }
+
+  // Must be called while holding the lock
+  @Nonnull
+  private Map<RecordJoinKey, PendingKey<URN>> takePending() {
+    final Map<RecordJoinKey, PendingKey<URN>> batch = _pending;
+    _pending = new LinkedHashMap<>();
+    return batch;
+  }
+
+  private void submit(@Nonnull Map<RecordJoinKey, PendingKey<URN>> batch) {
+    try {
+      _scheduler.execute(() -> dispatch(batch));
+    } catch (RejectedExecutionException e) {
+      log.warn("Coalescing scheduler rejected the batch read, reading it on the calling thread.");
+      dispatch(batch);
+    }
+  }
+
+  private void dispatch(@Nonnull Map<RecordJoinKey, PendingKey<URN>> batch) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    final List<AspectKey<URN, ? extends RecordTemplate>> keys = new ArrayList<>(batch.size());
+    batch.values().forEach(pending -> keys.add(pending.key));
+
+    try {
+      final Map<RecordJoinKey, EbeanMetadataAspect> recordsByKey =
+          EbeanLocalDAO.indexRecordsByKey(_batchFunction.apply(keys));
+      batch.forEach((joinKey, pending) -> {
+        final EbeanMetadataAspect record = recordsByKey.get(joinKey);
+        pending.future.complete(record == null ? Collections.emptyList() : Collections.singletonList(record));
+      });
+    } catch (Throwable t) {
+      batch.values().forEach(pending -> pending.future.completeExceptionally(t));
+    }
+  }
+}
@@ -0,0 +1,275 @@
+package com.linkedin.metadata.dao;
+
+import com.google.common.util.concurrent.RateLimiter;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.backfill.BackfillMode;
+import com.linkedin.metadata.dao.tracking.BaseDaoBenchmarkMetrics;
+import com.linkedin.metadata.dao.tracking.NoOpDaoBenchmarkMetrics;
+import com.linkedin.metadata.dao.utils.ModelUtils;
+import io.ebean.EbeanServer;
+import io.ebean.SqlRow;
+import java.sql.Timestamp;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Backfills the aspects of all the urns of an entity type, see
+ * {@link BaseLocalDAO#backfill(BackfillMode, Set, Class, Urn, int)}, as a single resumable job.
+ *
+ * <p>The job walks the keyset pages of {@link BaseLocalDAO#listUrns(Class, Urn, int)} and backfills up to
+ * {@code parallelism} pages at a time on its own worker threads, within a global budget of urns per second. Each page
+ * done, in listing order, advances a checkpoint stored in the {@value #TABLE_NAME} table under the name of the job: the
+ * last urn of the page and the counters so far. A job stopped, failed, or killed resumes from its checkpoint when it's
+ * run again under the same name, so that at most the pages that were in flight are backfilled twice.
+ *
+ * <p>The progress of a running job is reported by {@link #getProgress()}, and each page is recorded through
+ * {@link BaseDaoBenchmarkMetrics} as a {@value #OPERATION} operation.
+ *
+ * @param <URN> the URN type of the entity backfilled
+ */
+@Slf4j
+public final class EbeanBackfillJob<URN extends Urn> {
+
+  static final String OPERATION = "backfillPage";
+  static final String TABLE_NAME = "metadata_backfill_checkpoint";
+
+  private static final String THREAD_NAME_PREFIX = "gma-dao-backfill-";
+  private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+  private static final String SELECT_CHECKPOINT = "SELECT last_urn, urns_processed, pages_processed, completed FROM "
+      + TABLE_NAME + " WHERE job_name = :jobName";
+
+  private static final String UPSERT_CHECKPOINT = "INSERT INTO " + TABLE_NAME
+      + " (job_name, last_urn, urns_processed, pages_processed, completed, updatedon)"
+      + " VALUES (:jobName, :lastUrn, :urnsProcessed, :pagesProcessed, :completed, :updatedOn)"
+      + " ON DUPLICATE KEY UPDATE last_urn = VALUES(last_urn), urns_processed = VALUES(urns_processed),"
+      + " pages_processed = VALUES(pages_processed), completed = VALUES(completed), updatedon = VALUES(updatedon)";
+
+  private static final String DELETE_CHECKPOINT = "DELETE FROM " + TABLE_NAME + " WHERE job_name = :jobName";
+
+  /**
+   * Progress of a job, as stored in its checkpoint.
+   */
+  @Value
+  public static class Progress {
+    // last urn of the last page done, null if no page is done yet
+    @Nullable
+    String lastUrn;
+    long urnsProcessed;
+    long pagesProcessed;
+    boolean completed;
+  }
+
+  private static final Progress NOT_STARTED = new Progress(null, 0, 0, false);
+
+  /**
+   * A page of urns and the future of its backfill.
+   */
+  @Value
+  private static class Page<URN extends Urn> {
+    List<URN> urns;
+    Future<?> future;
+  }
+
+  private final EbeanServer _server;
+  private final BaseLocalDAO<?, URN> _dao;
+  private final String _jobName;
+  private final BackfillMode _mode;
+  private final Set<Class<? extends RecordTemplate>> _aspectClasses;
+  private final Class<URN> _urnClass;
+  private final int _pageSize;
+  private final int _parallelism;
+  private final RateLimiter _rateLimiter;
+  private BaseDaoBenchmarkMetrics _metrics = new NoOpDaoBenchmarkMetrics();
+
+  private volatile Progress _progress = NOT_STARTED;
+  private volatile boolean _stopped = false;
+
+  /**
+   * Constructor for EbeanBackfillJob.
+   *
+   * @param server server of the database the checkpoint is stored in
+   * @param dao DAO of the entity to backfill
+   * @param jobName name of the job, which identifies its checkpoint
+   * @param mode backfill mode
+   * @param aspectClasses aspects to backfill
+   * @param urnClass class of the urns to backfill
+   * @param pageSize number of urns listed and backfilled at a time, must be positive
+   * @param parallelism max number of pages backfilled at the same time, must be positive
+   * @param maxUrnsPerSecond max number of urns backfilled per second, across all the pages, must be positive
+   */
+  public EbeanBackfillJob(@Nonnull EbeanServer server, @Nonnull BaseLocalDAO<?, URN> dao, @Nonnull String jobName,
+      @Nonnull BackfillMode mode, @Nonnull Set<Class<? extends RecordTemplate>> aspectClasses,
+      @Nonnull Class<URN> urnClass, int pageSize, int parallelism, double maxUrnsPerSecond) {
+    if (pageSize <= 0) {
+      throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+    }
+    if (parallelism <= 0) {
+      throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+    }
+    if (!(maxUrnsPerSecond > 0)) {
+      throw new IllegalArgumentException("Max urns per second must be positive: " + maxUrnsPerSecond);
+    }
+    _server = server;
+    _dao = dao;
+    _jobName = jobName;
+    _mode = mode;
+    _aspectClasses = aspectClasses;
+    _urnClass = urnClass;
+    _pageSize = pageSize;
+    _parallelism = parallelism;
+    _rateLimiter = RateLimiter.create(maxUrnsPerSecond);
+  }
+
+  /**
+   * Sets the metrics the pages are recorded to.
+   */
+  public void setBenchmarkMetrics(@Nonnull BaseDaoBenchmarkMetrics metrics) {
+    _metrics = metrics;
+  }
+
+  /**
+   * Returns the progress of the job, as of its last checkpoint.
+   */
+  @Nonnull
+  public Progress getProgress() {
+    return _progress;
+  }
+
+  /**
+   * Runs the job from its checkpoint until all the urns are backfilled, or the job is stopped.
+   *
+   * @return the progress of the job when it returns
+   * @throws RuntimeException the failure of a page, once the checkpoint is saved up to the page before it. The pages
+   *     in flight after the failed one are cancelled.
+   * @throws InterruptedException if the thread is interrupted while waiting for a page
+   */
+  @Nonnull
+  public Progress run() throws InterruptedException {
+    _progress = readCheckpoint();
+    if (_progress.isCompleted()) {
+      return _progress;
+    }
+
+    final String entityType = ModelUtils.getEntityTypeFromUrnClass(_urnClass);
+    final ExecutorService workers = Executors.newFixedThreadPool(_parallelism, runnable -> {
+      final Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + THREAD_COUNT.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    // pages in flight, in listing order
+    final Deque<Page<URN>> pages = new ArrayDeque<>();
+    try {
+      URN lastListed = ModelUtils.getUrnFromString(_progress.getLastUrn(), _urnClass);
+      boolean allListed = false;
+      while (true) {
+        while (!allListed && !_stopped && pages.size() < _parallelism) {
+          final List<URN> urns = _dao.listUrns(_urnClass, lastListed, _pageSize);
+          allListed = urns.size() < _pageSize;
+          if (urns.isEmpty()) {
+            break;
+          }
+          lastListed = urns.get(urns.size() - 1);
+          pages.add(new Page<>(urns, workers.submit(() -> backfill(entityType, urns))));
+        }
+        if (pages.isEmpty()) {
+          break;
+        }
+
+        final Page<URN> page = pages.poll();
+        try {
+          page.getFuture().get();
+        } catch (ExecutionException e) {
+          pages.forEach(inFlight -> inFlight.getFuture().cancel(true));
+          log.warn("Backfill job {} failed after {}", _jobName, _progress.getLastUrn(), e.getCause());
+          if (e.getCause() instanceof Error) {
+            throw (Error) e.getCause();
+          }
+          throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new RuntimeException(e.getCause());
+        }
+        saveCheckpoint(new Progress(page.getUrns().get(page.getUrns().size() - 1).toString(),
+            _progress.getUrnsProcessed() + page.getUrns().size(), _progress.getPagesProcessed() + 1, false));
+      }
+
+      if (allListed) {
+        saveCheckpoint(new Progress(_progress.getLastUrn(), _progress.getUrnsProcessed(), _progress.getPagesProcessed(),
+            true));
+      }
+      return _progress;
+    } finally {
+      workers.shutdownNow();
+    }
+  }
+
+  /**
+   * Stops a running job once the pages in flight are done. A stopped job doesn't run again, a new job with the same
+   * name resumes from where it stopped.
+   */
+  public void stop() {
+    _stopped = true;
+  }
+
+  /**
+   * Deletes the checkpoint of the job, so that its next run starts over from the first urn.
+   */
+  public void resetCheckpoint() {
+    _server.createSqlUpdate(DELETE_CHECKPOINT).setParameter("jobName", _jobName).execute();
+    _progress = NOT_STARTED;
+  }
+
+  private void backfill(@Nonnull String entityType, @Nonnull List<URN> urns) {
+    _rateLimiter.acquire(urns.size());
+    final long start = System.currentTimeMillis();
+    try {
+      _dao.backfill(_mode, _aspectClasses, new HashSet<>(urns));
+    } catch (RuntimeException e) {
+      record(entityType, urns.size(), e, start);
+      throw e;
+    }
+    record(entityType, urns.size(), null, start);
+  }
+
+  private void record(@Nonnull String entityType, int urnCount, @Nullable RuntimeException failure, long start) {
+    if (_metrics.isEnabled()) {
+      _metrics.recordOperation(OPERATION, entityType, null, InstrumentedEbeanLocalAccess.bucketCount(urnCount),
+          failure == null ? InstrumentedEbeanLocalAccess.STATUS_SUCCESS : InstrumentedEbeanLocalAccess.STATUS_FAILURE,
+          failure == null ? null : failure.getClass().getSimpleName(), System.currentTimeMillis() - start);
+    }
+  }
+
+  @Nonnull
+  private Progress readCheckpoint() {
+    final SqlRow row = _server.createSqlQuery(SELECT_CHECKPOINT).setParameter("jobName", _jobName).findOne();
+    if (row == null) {
+      return NOT_STARTED;
+    }
+    return new Progress(row.getString("last_urn"), row.getLong("urns_processed"), row.getLong("pages_processed"),
+        row.getBoolean("completed"));
+  }
+
+  private void saveCheckpoint(@Nonnull Progress progress) {
+    _server.createSqlUpdate(UPSERT_CHECKPOINT)
+        .setParameter("jobName", _jobName)
+        .setParameter("lastUrn", progress.getLastUrn())
+        .setParameter("urnsProcessed", progress.getUrnsProcessed())
+        .setParameter("pagesProcessed", progress.getPagesProcessed())
+        .setParameter("completed", progress.isCompleted())
+        .setParameter("updatedOn", new Timestamp(System.currentTimeMillis()))
+        .execute();
+    _progress = progress;
+  }
+}
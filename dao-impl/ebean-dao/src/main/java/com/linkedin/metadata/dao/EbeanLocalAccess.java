@@ -7,6 +7,7 @@ import com.linkedin.data.template.SetMode;
 import com.linkedin.metadata.aspect.AuditedAspect;
 import com.linkedin.metadata.dao.urnpath.EmptyPathExtractor;
 import com.linkedin.metadata.dao.urnpath.UrnPathExtractor;
+import com.linkedin.metadata.dao.utils.AspectContentHash;
 import com.linkedin.metadata.dao.utils.EBeanDAOUtils;
 import com.linkedin.metadata.dao.utils.ModelUtils;
 import com.linkedin.metadata.dao.utils.RecordUtils;
@@ -22,11 +23,13 @@ import com.linkedin.metadata.query.IndexFilter;
 import com.linkedin.metadata.query.IndexGroupByCriterion;
 import com.linkedin.metadata.query.IndexSortCriterion;
 import com.linkedin.metadata.query.ListResultMetadata;
+import io.ebean.DuplicateKeyException;
 import io.ebean.EbeanServer;
 import io.ebean.SqlQuery;
 import io.ebean.SqlRow;
 import io.ebean.SqlUpdate;
 import io.ebean.Transaction;
+import io.ebean.TransactionCallbackAdapter;
 import io.ebean.annotation.Transactional;
 import io.ebean.config.ServerConfig;
 import java.sql.Connection;
@@ -35,17 +38,22 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.persistence.PersistenceException;
+import javax.sql.DataSource;
 import lombok.extern.slf4j.Slf4j;
 import org.json.simple.JSONObject;
 import java.time.Instant;
@@ -73,6 +81,12 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
   private final boolean _nonDollarVirtualColumnsEnabled;
   private String _forceIndexName;
   private Map<String, String> _forceIndexRequiredCriteria;
+  private boolean _multiAspectReadsEnabled = false;
+  private NegativeResultCache _negativeResultCache;
+  private AggregateCountCache _aggregateCountCache;
+  private ReadReplicaRouter _readReplicaRouter;
+  // Name of the database of the entity tables, read on first use
+  private volatile String _databaseName;
 
   // TODO confirm if the default page size is 1000 in other code context.
   private static final int DEFAULT_PAGE_SIZE = 1000;
@@ -81,6 +95,7 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
   private static final String ASPECT_JSON_PLACEHOLDER = "__PLACEHOLDER__";
   private static final String DEFAULT_ACTOR = "urn:li:principal:UNKNOWN";
   private static final String EBEAN_SERVER_CONFIG = "EbeanServerConfig";
+  private static final String SQL_GET_DATABASE_NAME = "SELECT DATABASE() AS db";
 
   private final SchemaValidatorUtil validator;
 
@@ -136,6 +151,26 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
     }
   }
 
+  @Override
+  public void setMultiAspectReadsEnabled(boolean multiAspectReadsEnabled) {
+    _multiAspectReadsEnabled = multiAspectReadsEnabled;
+  }
+
+  @Override
+  public void setNegativeResultCache(@Nullable NegativeResultCache negativeResultCache) {
+    _negativeResultCache = negativeResultCache;
+  }
+
+  @Override
+  public void setAggregateCountCache(@Nullable AggregateCountCache aggregateCountCache) {
+    _aggregateCountCache = aggregateCountCache;
+  }
+
+  @Override
+  public void setReadReplicaRouter(@Nullable ReadReplicaRouter readReplicaRouter) {
+    _readReplicaRouter = readReplicaRouter;
+  }
+
   public void ensureSchemaUpToDate() {
     _schemaEvolutionManager.ensureSchemaUpToDate();
     // Re-warm after applying the evolution DDL: the constructor pre-warm ran before these tables
@@ -212,7 +247,10 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
     // newValue is null if aspect is to be soft-deleted.
     if (newValue == null) {
       String deletedValue = EBeanDAOUtils.buildDeletedValue(timestamp, actor);
-      return sqlUpdate.setParameter("metadata", deletedValue).execute();
+      final int updated = sqlUpdate.setParameter("metadata", deletedValue).execute();
+      // the upsert also revives an asset-deleted entity, so the urn may exist now
+      onUrnWritten(urn, Collections.singleton(aspectClass.getCanonicalName()), isTestMode);
+      return updated;
     }
 
     AuditedAspect auditedAspect = new AuditedAspect()
@@ -227,7 +265,63 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
     }
 
       final String metadata = toJsonString(auditedAspect);
-      return sqlUpdate.setParameter("metadata", metadata).execute();
+      final int updated = sqlUpdate.setParameter("metadata", metadata).execute();
+      onUrnWritten(urn, Collections.singleton(aspectClass.getCanonicalName()), isTestMode);
+      return updated;
+  }
+
+  @Override
+  public <ASPECT extends RecordTemplate> boolean upsertIfChanged(@Nonnull URN urn, @Nonnull ASPECT newValue,
+      @Nonnull Class<ASPECT> aspectClass, @Nonnull AuditStamp auditStamp,
+      @Nullable IngestionTrackingContext ingestionTrackingContext, boolean isTestMode) {
+
+    final long timestamp = auditStamp.hasTime() ? auditStamp.getTime() : System.currentTimeMillis();
+    final String actor = auditStamp.hasActor() ? auditStamp.getActor().toString() : DEFAULT_ACTOR;
+    final String impersonator = auditStamp.hasImpersonator() ? auditStamp.getImpersonator().toString() : null;
+    final boolean urnExtraction = _urnPathExtractor != null && !(_urnPathExtractor instanceof EmptyPathExtractor);
+    final String utcTimestamp = Instant.ofEpochMilli(timestamp)
+        .atZone(ZoneOffset.UTC)
+        .format(DateTimeFormatter.ofPattern(DATE_TIME_FORMAT));
+    final String contentHash = AspectContentHash.compute(newValue);
+    final String metadata = toAuditedAspectJson(newValue, aspectClass.getCanonicalName(), actor, utcTimestamp,
+        impersonator, ingestionTrackingContext, contentHash);
+
+    // The update only matches an existing row holding a different aspect (or a soft deleted entity), so no row updated
+    // means the aspect is either unchanged or the entity has no row yet, which the insert tells apart.
+    final SqlUpdate update = _server.createSqlUpdate(
+        SQLStatementUtils.createAspectUpdateIfChangedSql(urn, aspectClass, urnExtraction, isTestMode))
+        .setParameter("urn", urn.toString())
+        .setParameter("metadata", metadata)
+        .setParameter("lastmodifiedon", utcTimestamp)
+        .setParameter("lastmodifiedby", actor)
+        .setParameter("contentHash", contentHash);
+    if (urnExtraction) {
+      update.setParameter("a_urn", toJsonString(urn));
+    }
+    boolean written = update.execute() > 0;
+
+    if (!written) {
+      final SqlUpdate insert = _server.createSqlUpdate(
+          SQLStatementUtils.createAspectInsertSql(urn, aspectClass, urnExtraction, isTestMode))
+          .setParameter("urn", urn.toString())
+          .setParameter("metadata", metadata)
+          .setParameter("lastmodifiedon", utcTimestamp)
+          .setParameter("lastmodifiedby", actor);
+      if (urnExtraction) {
+        insert.setParameter("a_urn", toJsonString(urn));
+      }
+      try {
+        written = insert.execute() > 0;
+      } catch (DuplicateKeyException e) {
+        // A concurrent writer inserted the row after the update ran, so compare against the row it wrote.
+        written = update.execute() > 0;
+      }
+    }
+
+    if (written) {
+      onUrnWritten(urn, Collections.singleton(aspectClass.getCanonicalName()), isTestMode);
+    }
+    return written;
   }
 
   /**
@@ -261,7 +355,9 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
     SqlUpdate sqlUpdate = prepareMultiColumnInsert(urn, aspectValues, aspectCreateLambdas,
         auditStamp, ingestionTrackingContext, onDuplicateKeyClause, isTestMode);
 
-    return sqlUpdate.execute();
+    final int created = sqlUpdate.execute();
+    onUrnWritten(urn, getAspectNames(aspectCreateLambdas), isTestMode);
+    return created;
   }
 
   /**
@@ -299,13 +395,165 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
     SqlUpdate sqlUpdate = prepareMultiColumnInsert(urn, aspectValues, aspectUpdateLambdas,
         auditStamp, ingestionTrackingContext, onDuplicateKeyClause, isTestMode);
 
-    return sqlUpdate.execute();
+    final int upserted = sqlUpdate.execute();
+    onUrnWritten(urn, getAspectNames(aspectUpdateLambdas), isTestMode);
+    return upserted;
+  }
+
+  /**
+   * Construct and execute multi-row SQL statements as follows, one for each distinct set of aspect columns written.
+   * INSERT INTO metadata_entity_foo (urn, lastmodifiedon, lastmodifiedby, a_aspect1, a_aspect2)
+   * VALUES (:urn0, :lastmodifiedon, :lastmodifiedby, :aspect0_0, :aspect0_1), (:urn1, ...)
+   * ON DUPLICATE KEY UPDATE a_aspect1 = VALUES(a_aspect1), a_aspect2 = VALUES(a_aspect2), lastmodifiedon = :lastmodifiedon,
+   * deleted_ts = NULL;
+   */
+  @Override
+  public int batchUpsertMany(@Nonnull Map<URN, List<BaseLocalDAO.AspectUpdateContext<RecordTemplate>>> updateContexts,
+      @Nonnull AuditStamp auditStamp,
+      @Nullable IngestionTrackingContext ingestionTrackingContext,
+      boolean isTestMode) {
+    if (updateContexts.isEmpty()) {
+      return 0;
+    }
+
+    // Group the urns by the aspect columns they write, sorting the aspects so that the order they were given in doesn't
+    // matter
+    final Map<List<String>, List<URN>> urnsByClassNames = new LinkedHashMap<>();
+    final Map<URN, Map<String, RecordTemplate>> valuesByUrn = new HashMap<>();
+    updateContexts.forEach((urn, contexts) -> {
+      final Map<String, RecordTemplate> values = new TreeMap<>();
+      for (BaseLocalDAO.AspectUpdateContext<RecordTemplate> ctx : contexts) {
+        values.put(ctx.getLambda().getAspectClass().getCanonicalName(), ctx.getNewValue());
+      }
+      if (values.isEmpty()) {
+        return;
+      }
+      valuesByUrn.put(urn, values);
+      urnsByClassNames.computeIfAbsent(new ArrayList<>(values.keySet()), key -> new ArrayList<>()).add(urn);
+    });
+
+    // Extract audit information
+    final long timestamp = auditStamp.hasTime() ? auditStamp.getTime() : System.currentTimeMillis();
+    final String actor = auditStamp.hasActor() ? auditStamp.getActor().toString() : DEFAULT_ACTOR;
+    final String impersonator = auditStamp.hasImpersonator() ? auditStamp.getImpersonator().toString() : null;
+    final boolean urnExtraction = _urnPathExtractor != null && !(_urnPathExtractor instanceof EmptyPathExtractor);
+    final String utcTimestamp = Instant.ofEpochMilli(timestamp)
+        .atZone(ZoneOffset.UTC)
+        .format(DateTimeFormatter.ofPattern(DATE_TIME_FORMAT));
+
+    int upserted = 0;
+    for (Map.Entry<List<String>, List<URN>> group : urnsByClassNames.entrySet()) {
+      final List<String> classNames = group.getKey();
+      final List<URN> urns = group.getValue();
+      final String entityType = urns.get(0).getEntityType();
+      final List<String> columnNames =
+          classNames.stream().map(className -> getAspectColumnName(entityType, className)).collect(Collectors.toList());
+
+      final StringBuilder sql = new StringBuilder(urnExtraction ? SQL_INSERT_INTO_ASSET_WITH_URN : SQL_INSERT_INTO_ASSET);
+      sql.append(String.join(", ", columnNames)).append(CLOSING_BRACKET).append("VALUES ");
+      for (int row = 0; row < urns.size(); row++) {
+        sql.append(row > 0 ? ", (" : "(").append(":urn").append(row);
+        if (urnExtraction) {
+          sql.append(", :a_urn").append(row);
+        }
+        sql.append(", :lastmodifiedon, :lastmodifiedby");
+        for (int i = 0; i < classNames.size(); i++) {
+          sql.append(", :aspect").append(row).append('_').append(i);
+        }
+        sql.append(CLOSING_BRACKET);
+      }
+      sql.append(ON_DUPLICATE_KEY_UPDATE);
+      for (String columnName : columnNames) {
+        sql.append(columnName).append(" = VALUES(").append(columnName).append("), ");
+      }
+      sql.append("lastmodifiedon = :lastmodifiedon, deleted_ts = NULL;");
+
+      final SqlUpdate sqlUpdate = _server.createSqlUpdate(
+          String.format(sql.toString(), isTestMode ? getTestTableName(urns.get(0)) : getTableName(urns.get(0))));
+      for (int row = 0; row < urns.size(); row++) {
+        final URN urn = urns.get(row);
+        final Map<String, RecordTemplate> values = valuesByUrn.get(urn);
+        sqlUpdate.setParameter("urn" + row, urn.toString());
+        if (urnExtraction) {
+          sqlUpdate.setParameter("a_urn" + row, toJsonString(urn));
+        }
+        for (int i = 0; i < classNames.size(); i++) {
+          sqlUpdate.setParameter("aspect" + row + "_" + i, toAuditedAspectJson(values.get(classNames.get(i)),
+              classNames.get(i), actor, utcTimestamp, impersonator, ingestionTrackingContext));
+        }
+      }
+      sqlUpdate.setParameter("lastmodifiedon", utcTimestamp).setParameter("lastmodifiedby", actor);
+      upserted += sqlUpdate.execute();
+    }
+
+    valuesByUrn.forEach((urn, values) -> onUrnWritten(urn, values.keySet(), isTestMode));
+    return upserted;
+  }
+
+  /**
+   * Forgets the cached misses of a urn that has just been written. If the write is part of a transaction, they are
+   * forgotten again once it commits, as a concurrent read may have cached a result before the write was visible. Also
+   * forgets the cached aggregate counts depending on the written aspects, once the write commits: until then the counts
+   * don't see it, and counts racing with the commit aren't cached. Also starts the read-your-writes window of the urn,
+   * if reads are routed to a replica.
+   *
+   * @param urn the urn written
+   * @param aspectNames canonical class names of the aspects written, or null if the whole urn was, e.g. deleted
+   * @param isTestMode whether the test mode is enabled or not
+   */
+  private void onUrnWritten(@Nonnull URN urn, @Nullable Collection<String> aspectNames, boolean isTestMode) {
+    final ReadReplicaRouter router = _readReplicaRouter;
+    if (router != null) {
+      router.recordWrite(_server, urn);
+    }
+    final NegativeResultCache cache = _negativeResultCache;
+    final AggregateCountCache aggregateCountCache = _aggregateCountCache;
+    if ((cache == null && aggregateCountCache == null) || isTestMode) {
+      return;
+    }
+    final Runnable aggregateCountInvalidation = () -> {
+      if (aggregateCountCache == null) {
+        return;
+      }
+      if (aspectNames == null) {
+        aggregateCountCache.invalidate();
+      } else {
+        aggregateCountCache.invalidate(aspectNames);
+      }
+    };
+    if (cache != null) {
+      cache.invalidate(urn);
+    }
+    final Transaction transaction = _server.currentTransaction();
+    if (transaction == null) {
+      aggregateCountInvalidation.run();
+      return;
+    }
+    transaction.register(new TransactionCallbackAdapter() {
+      @Override
+      public void postCommit() {
+        if (cache != null) {
+          cache.invalidate(urn);
+        }
+        aggregateCountInvalidation.run();
+      }
+    });
+  }
+
+  @Nonnull
+  private static List<String> getAspectNames(
+      @Nonnull List<? extends BaseLocalDAO.AspectUpdateLambda<? extends RecordTemplate>> aspectLambdas) {
+    return aspectLambdas.stream()
+        .map(lambda -> lambda.getAspectClass().getCanonicalName())
+        .collect(Collectors.toList());
   }
 
   /**
    * Construct and execute a SQL statement as follows.
    * SELECT urn, aspect1, lastmodifiedon, lastmodifiedby FROM metadata_entity_foo WHERE JSON_EXTRACT(aspect1, '$.gma_deleted') IS NULL
-   * AND urn IN ('urn:1', 'urn:2', 'urn:3')
+   * AND urn IN (:urn0, :urn1, :urn2, ...)
+   * The urns are bound rather than inlined, and the IN list is padded to one of the
+   * {@link SQLStatementUtils#IN_LIST_BUCKETS} sizes so that the statement can be reused from the prepared statement caches.
    * @param aspectKeys a List of keys (urn, aspect pairings) to query for
    * @param keysCount number of keys to query
    * @param position position of the key to start from
@@ -317,34 +565,127 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
       @Nonnull List<AspectKey<URN, ? extends RecordTemplate>> aspectKeys, int keysCount, int position,
       boolean includeSoftDeleted, boolean isTestMode) {
 
+    // soft deleted aspects are reported as found when included, so only reads that exclude them can use the cache
+    final NegativeResultCache negativeResultCache = includeSoftDeleted || isTestMode ? null : _negativeResultCache;
+    final long readStamp = negativeResultCache == null ? 0 : negativeResultCache.beginRead();
+
     final int end = Math.min(aspectKeys.size(), position + keysCount);
     final Map<Class<ASPECT>, Set<Urn>> keysToQueryMap = new HashMap<>();
     for (int index = position; index < end; index++) {
       final Urn entityUrn = aspectKeys.get(index).getUrn();
       final Class<ASPECT> aspectClass = (Class<ASPECT>) aspectKeys.get(index).getAspectClass();
+      if (negativeResultCache != null && negativeResultCache.isAspectMissing(entityUrn, aspectClass)) {
+        continue;
+      }
       if (validator.columnExists(isTestMode ? getTestTableName(entityUrn) : getTableName(entityUrn),
           getAspectColumnName(entityUrn.getEntityType(), aspectClass))) {
         keysToQueryMap.computeIfAbsent(aspectClass, unused -> new HashSet<>()).add(entityUrn);
       }
     }
+    if (keysToQueryMap.isEmpty()) {
+      return Collections.emptyList();
+    }
 
-    // each statement is for a single aspect class
-    Map<String, Class<ASPECT>> selectStatements = keysToQueryMap.entrySet()
-        .stream()
-        .collect(Collectors.toMap(
-            entry -> SQLStatementUtils.createAspectReadSql(entry.getKey(), entry.getValue(), includeSoftDeleted,
-                isTestMode), entry -> entry.getKey()));
+    final Set<Urn> urnsToQuery = new HashSet<>();
+    keysToQueryMap.values().forEach(urnsToQuery::addAll);
+    final EbeanServer readServer = getReadServer(urnsToQuery);
+    final List<EbeanMetadataAspect> results = _multiAspectReadsEnabled && keysToQueryMap.size() > 1
+        ? batchGetMultiAspect(readServer, keysToQueryMap, includeSoftDeleted, isTestMode)
+        : batchGetPerAspect(readServer, keysToQueryMap, includeSoftDeleted, isTestMode);
+    if (negativeResultCache != null) {
+      recordMissingAspects(negativeResultCache, readStamp, keysToQueryMap, results);
+    }
+    return results;
+  }
 
-    // consolidate/join the results
+  /**
+   * Reads the given aspects with one statement per aspect class and MAX_IN_LIST_SIZE urns.
+   */
+  @Nonnull
+  private <ASPECT extends RecordTemplate> List<EbeanMetadataAspect> batchGetPerAspect(@Nonnull EbeanServer readServer,
+      @Nonnull Map<Class<ASPECT>, Set<Urn>> keysToQueryMap, boolean includeSoftDeleted, boolean isTestMode) {
+    // each statement is for a single aspect class and at most MAX_IN_LIST_SIZE urns; consolidate/join the results
     final Map<SqlRow, Class<ASPECT>> sqlRows = new LinkedHashMap<>();
-    for (Map.Entry<String, Class<ASPECT>> entry : selectStatements.entrySet()) {
-      for (SqlRow sqlRow : _server.createSqlQuery(entry.getKey()).findList()) {
-        sqlRows.put(sqlRow, entry.getValue());
+    for (Map.Entry<Class<ASPECT>, Set<Urn>> entry : keysToQueryMap.entrySet()) {
+      final Urn firstUrn = entry.getValue().iterator().next();
+      final List<String> urns = entry.getValue().stream().map(Urn::toString).collect(Collectors.toList());
+      for (int start = 0; start < urns.size(); start += SQLStatementUtils.MAX_IN_LIST_SIZE) {
+        final List<String> inList =
+            SQLStatementUtils.padInList(urns.subList(start, Math.min(urns.size(), start + SQLStatementUtils.MAX_IN_LIST_SIZE)));
+        final SqlQuery sqlQuery = readServer.createSqlQuery(
+            SQLStatementUtils.createParameterizedAspectReadSql(entry.getKey(), firstUrn, inList.size(),
+                includeSoftDeleted, isTestMode));
+        for (int index = 0; index < inList.size(); index++) {
+          sqlQuery.setParameter(SQLStatementUtils.getInListParameter(index), inList.get(index));
+        }
+        for (SqlRow sqlRow : sqlQuery.findList()) {
+          sqlRows.put(sqlRow, entry.getKey());
+        }
       }
     }
     return EBeanDAOUtils.readSqlRows(sqlRows);
   }
 
+  /**
+   * Records the keys that were queried but not found as missing.
+   */
+  private <ASPECT extends RecordTemplate> void recordMissingAspects(@Nonnull NegativeResultCache negativeResultCache,
+      long readStamp, @Nonnull Map<Class<ASPECT>, Set<Urn>> keysToQueryMap, @Nonnull List<EbeanMetadataAspect> results) {
+    final Set<String> found = new HashSet<>();
+    for (EbeanMetadataAspect result : results) {
+      found.add(result.getKey().getUrn().toLowerCase(Locale.ROOT) + '|' + result.getKey().getAspect());
+    }
+    keysToQueryMap.forEach((aspectClass, urns) -> urns.forEach(urn -> {
+      if (!found.contains(urn.toString().toLowerCase(Locale.ROOT) + '|' + aspectClass.getCanonicalName())) {
+        negativeResultCache.recordMissingAspect(urn, aspectClass, readStamp);
+      }
+    }));
+  }
+
+  /**
+   * Reads all the given aspects with one statement per MAX_IN_LIST_SIZE urns, projecting every requested aspect column,
+   * and fans each row out into one {@link EbeanMetadataAspect} per aspect requested for its urn.
+   * SELECT urn, aspect1, aspect2, lastmodifiedon, lastmodifiedby FROM metadata_entity_foo WHERE urn IN (:urn0, :urn1, ...)
+   * AND deleted_ts IS NULL
+   */
+  @Nonnull
+  private <ASPECT extends RecordTemplate> List<EbeanMetadataAspect> batchGetMultiAspect(@Nonnull EbeanServer readServer,
+      @Nonnull Map<Class<ASPECT>, Set<Urn>> keysToQueryMap, boolean includeSoftDeleted, boolean isTestMode) {
+    // urn matching is case-insensitive, same as the single aspect reads
+    final Map<String, Set<Class<ASPECT>>> aspectsByUrn = new HashMap<>();
+    final Set<String> urnSet = new LinkedHashSet<>();
+    keysToQueryMap.forEach((aspectClass, urns) -> urns.forEach(urn -> {
+      urnSet.add(urn.toString());
+      aspectsByUrn.computeIfAbsent(urn.toString().toLowerCase(Locale.ROOT), unused -> new LinkedHashSet<>())
+          .add(aspectClass);
+    }));
+    final Urn firstUrn = keysToQueryMap.values().iterator().next().iterator().next();
+    final List<String> urns = new ArrayList<>(urnSet);
+
+    final List<EbeanMetadataAspect> results = new ArrayList<>();
+    for (int start = 0; start < urns.size(); start += SQLStatementUtils.MAX_IN_LIST_SIZE) {
+      final List<String> inList =
+          SQLStatementUtils.padInList(urns.subList(start, Math.min(urns.size(), start + SQLStatementUtils.MAX_IN_LIST_SIZE)));
+      final SqlQuery sqlQuery = readServer.createSqlQuery(
+          SQLStatementUtils.createParameterizedMultiAspectReadSql(keysToQueryMap.keySet(), firstUrn, inList.size(),
+              includeSoftDeleted, isTestMode));
+      for (int index = 0; index < inList.size(); index++) {
+        sqlQuery.setParameter(SQLStatementUtils.getInListParameter(index), inList.get(index));
+      }
+      for (SqlRow sqlRow : sqlQuery.findList()) {
+        final Set<Class<ASPECT>> aspectClasses =
+            aspectsByUrn.getOrDefault(sqlRow.getString("urn").toLowerCase(Locale.ROOT), Collections.emptySet());
+        for (Class<ASPECT> aspectClass : aspectClasses) {
+          final EbeanMetadataAspect aspect = EBeanDAOUtils.readAspectColumn(sqlRow, aspectClass, includeSoftDeleted);
+          if (aspect != null) {
+            results.add(aspect);
+          }
+        }
+      }
+    }
+    return results;
+  }
+
   /**
    * Soft delete all aspects + urn for the given urn by setting deleted_ts=NOW().
    * By this time pre-deletion hooks should be processed.
@@ -355,8 +696,12 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
   @Override
   public int softDeleteAsset(@Nonnull URN urn, boolean isTestMode) {
     // Update this to mark deleted_TS to NOW based on URN
-    final String deleteSqlStatement = SQLStatementUtils.createSoftDeleteAssetSql(urn, isTestMode);
-    return _server.createSqlUpdate(deleteSqlStatement).execute();
+    final String deleteSqlStatement = SQLStatementUtils.createParameterizedSoftDeleteAssetSql(urn, isTestMode);
+    final SqlUpdate sqlUpdate = _server.createSqlUpdate(deleteSqlStatement);
+    sqlUpdate.setParameter(SQLStatementUtils.URN_PARAMETER, urn.toString());
+    final int deleted = sqlUpdate.execute();
+    onUrnWritten(urn, null, isTestMode);
+    return deleted;
   }
 
   @Override
@@ -408,7 +753,9 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
     final String statusColumnName = getStatusColumnName();
     final String sql = SQLStatementUtils.createBatchSoftDeleteAssetSql(urns, cutoffTimestamp, statusColumnName,
         isTestMode);
-    return _server.createSqlUpdate(sql).execute();
+    final int deleted = _server.createSqlUpdate(sql).execute();
+    urns.forEach(urn -> onUrnWritten(urn, null, isTestMode));
+    return deleted;
   }
 
   @Override
@@ -429,7 +776,8 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
         _nonDollarVirtualColumnsEnabled, validator, effectiveForceIndex);
     // Run COUNT in a separate query so neither query exceeds the 5s kill threshold.
     final String countSql = baseSql.replaceFirst("SELECT urn", "SELECT COUNT(urn) AS _total_count");
-    final SqlRow countRow = _server.createSqlQuery(countSql).findOne();
+    final EbeanServer readServer = getReadServer();
+    final SqlRow countRow = readServer.createSqlQuery(countSql).findOne();
     final int totalCount = (countRow == null) ? 0 : countRow.getInteger("_total_count");
     if (totalCount == 0) {
       return toListResult(0, start, pageSize);
@@ -441,16 +789,62 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
     selectSql.append(parseSortCriteria(_entityType, indexSortCriterion, _nonDollarVirtualColumnsEnabled, validator));
     selectSql.append(String.format(" LIMIT %d", Math.max(pageSize, 0)));
     selectSql.append(String.format(" OFFSET %d", Math.max(start, 0)));
-    final List<SqlRow> sqlRows = _server.createSqlQuery(selectSql.toString()).findList();
+    final List<SqlRow> sqlRows = readServer.createSqlQuery(selectSql.toString()).findList();
     final List<URN> values = sqlRows.stream().map(sqlRow -> getUrn(sqlRow.getString("urn"), _urnClass)).collect(Collectors.toList());
     return toListResult(totalCount, start, pageSize, values);
   }
 
+  @Nonnull
+  @Override
+  public CloseableIterator<URN> scanUrns(@Nullable IndexFilter indexFilter, int fetchSize, int segmentSize) {
+    final String selectSql =
+        SQLStatementUtils.createFilterSql(_entityType, indexFilter, _nonDollarVirtualColumnsEnabled, validator);
+    return new EntityTableScanCursor<>(getReadDataSource(), selectSql, fetchSize, segmentSize,
+        resultSet -> getUrn(resultSet.getString("urn"), _urnClass));
+  }
+
+  @Nonnull
+  @Override
+  public CloseableIterator<UrnAspectEntry<URN>> scanAspects(@Nonnull Set<Class<? extends RecordTemplate>> aspectClasses,
+      @Nullable IndexFilter indexFilter, int fetchSize, int segmentSize) {
+    // only select the columns of the aspects the entity table has
+    final Map<String, Class<? extends RecordTemplate>> aspectColumns = new LinkedHashMap<>();
+    for (Class<? extends RecordTemplate> aspectClass : aspectClasses) {
+      final String aspectColumn = getAspectColumnName(_entityType, aspectClass);
+      if (validator.columnExists(getTableName(_entityType), aspectColumn)) {
+        aspectColumns.put(aspectColumn, aspectClass);
+      }
+    }
+    final String selectSql = SQLStatementUtils.createFilterSql(_entityType, new ArrayList<>(aspectColumns.keySet()),
+        indexFilter, _nonDollarVirtualColumnsEnabled, validator);
+
+    return new EntityTableScanCursor<>(getReadDataSource(), selectSql, fetchSize, segmentSize, resultSet -> {
+      final List<LazyAspect<? extends RecordTemplate>> aspects = new ArrayList<>(aspectColumns.size());
+      for (Map.Entry<String, Class<? extends RecordTemplate>> aspectColumn : aspectColumns.entrySet()) {
+        final String aspectJson = readAspectJson(resultSet.getString(aspectColumn.getKey()));
+        if (aspectJson != null) {
+          aspects.add(LazyAspect.fromJson(aspectColumn.getValue(), aspectJson));
+        }
+      }
+      return UrnAspectEntry.lazy(getUrn(resultSet.getString("urn"), _urnClass), aspects);
+    });
+  }
+
   @Override
   public boolean exists(@Nonnull URN urn) {
-    final String existSql = SQLStatementUtils.createExistSql(urn);
-    final SqlQuery sqlQuery = _server.createSqlQuery(existSql);
-    return sqlQuery.findList().size() > 0;
+    final NegativeResultCache negativeResultCache = _negativeResultCache;
+    if (negativeResultCache != null && negativeResultCache.isUrnMissing(urn)) {
+      return false;
+    }
+    final long readStamp = negativeResultCache == null ? 0 : negativeResultCache.beginRead();
+    final String existSql = SQLStatementUtils.createParameterizedExistSql(urn);
+    final SqlQuery sqlQuery = getReadServer(Collections.singleton(urn)).createSqlQuery(existSql);
+    sqlQuery.setParameter(SQLStatementUtils.URN_PARAMETER, urn.toString());
+    final boolean exists = sqlQuery.findList().size() > 0;
+    if (!exists && negativeResultCache != null) {
+      negativeResultCache.recordMissingUrn(urn, readStamp);
+    }
+    return exists;
   }
 
   @Nonnull
@@ -458,11 +852,12 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
   public <ASPECT extends RecordTemplate> ListResult<URN> listUrns(@Nonnull Class<ASPECT> aspectClass, int start,
       int pageSize) {
     final String browseSql = SQLStatementUtils.createAspectBrowseSql(_entityType, aspectClass, start, pageSize);
-    final SqlQuery sqlQuery = _server.createSqlQuery(browseSql);
+    final EbeanServer readServer = getReadServer();
+    final SqlQuery sqlQuery = readServer.createSqlQuery(browseSql);
 
     final List<SqlRow> sqlRows = sqlQuery.findList();
     if (sqlRows.size() == 0) {
-      final List<SqlRow> totalCountResults = _server.createSqlQuery(
+      final List<SqlRow> totalCountResults = readServer.createSqlQuery(
           SQLStatementUtils.createAspectBrowseSql(_entityType, aspectClass, 0, DEFAULT_PAGE_SIZE)).findList();
       final int actualTotalCount = totalCountResults.isEmpty() ? 0 : totalCountResults.get(0).getInteger("_total_count");
       return toListResult(actualTotalCount, start, pageSize);
@@ -478,8 +873,9 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
   public <ASPECT extends RecordTemplate> ListResult<ASPECT> list(@Nonnull Class<ASPECT> aspectClass, @Nonnull URN urn,
       int start, int pageSize) {
     // start / pageSize will be ignored since there will be at most one record returned from entity table.
-    final String listAspectByUrnSql = SQLStatementUtils.createListAspectByUrnSql(aspectClass, urn, false);
-    final SqlQuery sqlQuery = _server.createSqlQuery(listAspectByUrnSql);
+    final String listAspectByUrnSql = SQLStatementUtils.createParameterizedListAspectByUrnSql(aspectClass, urn, false);
+    final SqlQuery sqlQuery = getReadServer(Collections.singleton(urn)).createSqlQuery(listAspectByUrnSql);
+    sqlQuery.setParameter(SQLStatementUtils.URN_PARAMETER, urn.toString());
 
     try {
       final SqlRow sqlRow = sqlQuery.findOne();
@@ -513,25 +909,109 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
 
 
     final String listAspectSql = SQLStatementUtils.createListAspectWithPaginationSql(aspectClass, _entityType, false, start, pageSize);
-    final SqlQuery sqlQuery = _server.createSqlQuery(listAspectSql);
+    final SqlQuery sqlQuery = getReadServer().createSqlQuery(listAspectSql);
     final List<SqlRow> sqlRows = sqlQuery.findList();
     if (sqlRows.isEmpty()) {
       return toListResult(0, start, pageSize);
     }
     final ListResultMetadata listResultMetadata = new ListResultMetadata().setExtraInfos(new ExtraInfoArray());
-    final List<ASPECT> aspectList = sqlRows.stream().map(sqlRow -> {
-      Timestamp utcTimeStamp = timeStampStringToTimeStamp(sqlRow.getString("lastmodifiedon"));
-      final ExtraInfo extraInfo = new ExtraInfo().setUrn(getUrn(sqlRow.getString("urn"), _urnClass))
-          .setVersion(LATEST_VERSION).setAudit(
-              makeAuditStamp(utcTimeStamp, sqlRow.getString("lastmodifiedby"),
-                  sqlRow.getString("createdfor")));
-      listResultMetadata.getExtraInfos().add(extraInfo);
-      return RecordUtils.toRecordTemplate(aspectClass,
-          extractAspectJsonString(sqlRow.getString(getAspectColumnName(_entityType, aspectClass))));
-    }).collect(Collectors.toList());
+    final List<ASPECT> aspectList = sqlRows.stream()
+        .map(sqlRow -> toAspect(aspectClass, sqlRow, listResultMetadata))
+        .collect(Collectors.toList());
     return toListResult(aspectList, sqlRows, listResultMetadata, start, pageSize);
   }
 
+  @Nonnull
+  @Override
+  public <ASPECT extends RecordTemplate> ListResult<URN> listUrns(@Nonnull Class<ASPECT> aspectClass,
+      @Nullable URN lastUrn, int pageSize, @Nonnull ListResult.TotalCountMode totalCountMode) {
+    final EbeanServer readServer = getReadServer();
+    final SqlQuery sqlQuery = readServer.createSqlQuery(
+        SQLStatementUtils.createAspectBrowseAfterUrnSql(_entityType, aspectClass, lastUrn != null, pageSize + 1));
+    if (lastUrn != null) {
+      sqlQuery.setParameter(SQLStatementUtils.URN_PARAMETER, lastUrn.toString());
+    }
+    final List<URN> values = sqlQuery.findList()
+        .stream()
+        .map(sqlRow -> getUrn(sqlRow.getString("urn"), _urnClass))
+        .collect(Collectors.toList());
+    final int totalCount =
+        getTotalCount(readServer, SQLStatementUtils.createAspectBrowseCountSql(_entityType), totalCountMode);
+    return toListResultAfterUrn(values, null, totalCount, pageSize);
+  }
+
+  @Nonnull
+  @Override
+  public <ASPECT extends RecordTemplate> ListResult<ASPECT> list(@Nonnull Class<ASPECT> aspectClass,
+      @Nullable URN lastUrn, int pageSize, @Nonnull ListResult.TotalCountMode totalCountMode) {
+    final EbeanServer readServer = getReadServer();
+    final SqlQuery sqlQuery = readServer.createSqlQuery(
+        SQLStatementUtils.createListAspectAfterUrnSql(aspectClass, _entityType, lastUrn != null, pageSize + 1));
+    if (lastUrn != null) {
+      sqlQuery.setParameter(SQLStatementUtils.URN_PARAMETER, lastUrn.toString());
+    }
+    final ListResultMetadata listResultMetadata = new ListResultMetadata().setExtraInfos(new ExtraInfoArray());
+    final List<ASPECT> aspectList = sqlQuery.findList()
+        .stream()
+        .map(sqlRow -> toAspect(aspectClass, sqlRow, listResultMetadata))
+        .collect(Collectors.toList());
+    final int totalCount = getTotalCount(readServer, SQLStatementUtils.createCountAspectSql(aspectClass, _entityType),
+        totalCountMode);
+    return toListResultAfterUrn(aspectList, listResultMetadata, totalCount, pageSize);
+  }
+
+  /**
+   * Convert a row listed from the entity table to its aspect, adding its {@link ExtraInfo} to the given metadata.
+   */
+  @Nonnull
+  private <ASPECT extends RecordTemplate> ASPECT toAspect(@Nonnull Class<ASPECT> aspectClass, @Nonnull SqlRow sqlRow,
+      @Nonnull ListResultMetadata listResultMetadata) {
+    Timestamp utcTimeStamp = timeStampStringToTimeStamp(sqlRow.getString("lastmodifiedon"));
+    final ExtraInfo extraInfo = new ExtraInfo().setUrn(getUrn(sqlRow.getString("urn"), _urnClass))
+        .setVersion(LATEST_VERSION).setAudit(
+            makeAuditStamp(utcTimeStamp, sqlRow.getString("lastmodifiedby"),
+                sqlRow.getString("createdfor")));
+    listResultMetadata.getExtraInfos().add(extraInfo);
+    return RecordUtils.toRecordTemplate(aspectClass,
+        extractAspectJsonString(sqlRow.getString(getAspectColumnName(_entityType, aspectClass))));
+  }
+
+  /**
+   * Get the total count of a listing according to the given mode.
+   * @param readServer server the listing is read from
+   * @param countSql SQL returning the exact count in its {@code _total_count} column
+   * @param totalCountMode how the total count is computed
+   * @return the total count, or {@link ListResult#UNKNOWN_TOTAL_COUNT}
+   */
+  private int getTotalCount(@Nonnull EbeanServer readServer, @Nonnull String countSql,
+      @Nonnull ListResult.TotalCountMode totalCountMode) {
+    switch (totalCountMode) {
+      case EXACT:
+        final SqlRow countRow = readServer.createSqlQuery(countSql).findOne();
+        return countRow == null ? 0 : countRow.getInteger("_total_count");
+      case ESTIMATED:
+        return getEstimatedTableRowCount(readServer);
+      default:
+        return ListResult.UNKNOWN_TOTAL_COUNT;
+    }
+  }
+
+  /**
+   * Get the number of rows of the entity table estimated from the table statistics, which is read from
+   * information_schema rather than counted. It's an upper bound of the number of urns having a given aspect.
+   */
+  private int getEstimatedTableRowCount(@Nonnull EbeanServer readServer) {
+    String databaseName = _databaseName;
+    if (databaseName == null) {
+      databaseName = readServer.createSqlQuery(SQL_GET_DATABASE_NAME).findOne().getString("db");
+      _databaseName = databaseName;
+    }
+    final SqlRow sqlRow = readServer.createSqlQuery(
+        SQLStatementUtils.getEstimatedRowCount(databaseName, getTableName(_entityType))).findOne();
+    final Long tableRows = sqlRow == null ? null : sqlRow.getLong("table_rows");
+    return tableRows == null ? ListResult.UNKNOWN_TOTAL_COUNT : (int) Math.min(tableRows, Integer.MAX_VALUE);
+  }
+
 
   @Nonnull
   @Override
@@ -546,9 +1026,19 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
       return Collections.emptyMap();
     }
 
+    final AggregateCountCache aggregateCountCache = _aggregateCountCache;
+    final boolean cached = aggregateCountCache != null && aggregateCountCache.isRegistered(indexFilter, indexGroupByCriterion);
+    final long readStamp = cached ? aggregateCountCache.beginRead() : 0;
+    if (cached) {
+      final Map<String, Long> cachedCounts = aggregateCountCache.get(indexFilter, indexGroupByCriterion);
+      if (cachedCounts != null) {
+        return cachedCounts;
+      }
+    }
+
     // now run the actual GROUP BY query
     final String groupBySql = SQLStatementUtils.createGroupBySql(_entityType, indexFilter, indexGroupByCriterion, _nonDollarVirtualColumnsEnabled, validator);
-    final SqlQuery sqlQuery = _server.createSqlQuery(groupBySql);
+    final SqlQuery sqlQuery = getReadServer().createSqlQuery(groupBySql);
     final List<SqlRow> sqlRows = sqlQuery.findList();
     Map<String, Long> resultMap = new HashMap<>();
     for (SqlRow sqlRow : sqlRows) {
@@ -562,6 +1052,9 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
       }
       resultMap.put(value, count);
     }
+    if (cached) {
+      aggregateCountCache.put(indexFilter, indexGroupByCriterion, resultMap, readStamp);
+    }
     return resultMap;
   }
 
@@ -618,7 +1111,33 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
     filterSql.append("\n");
     filterSql.append(parseSortCriteria(_entityType, indexSortCriterion, _nonDollarVirtualColumnsEnabled, validator));
     filterSql.append(String.format(" LIMIT %d", Math.max(pageSize, 0)));
-    return _server.createSqlQuery(filterSql.toString());
+    return getReadServer().createSqlQuery(filterSql.toString());
+  }
+
+  /**
+   * Returns the server to run a read that isn't scoped to a set of urns on, see {@link ReadReplicaRouter}.
+   */
+  @Nonnull
+  private EbeanServer getReadServer() {
+    final ReadReplicaRouter router = _readReplicaRouter;
+    return router == null ? _server : router.getReadServer(_server);
+  }
+
+  /**
+   * Returns the data source of the server to run a scan on, see {@link ReadReplicaRouter}.
+   */
+  @Nonnull
+  private DataSource getReadDataSource() {
+    return getReadServer().getPluginApi().getDataSource();
+  }
+
+  /**
+   * Returns the server to run a read of the given urns on, see {@link ReadReplicaRouter}.
+   */
+  @Nonnull
+  private EbeanServer getReadServer(@Nonnull Collection<? extends Urn> urns) {
+    final ReadReplicaRouter router = _readReplicaRouter;
+    return router == null ? _server : router.getReadServer(_server, urns);
   }
 
   /**
@@ -958,17 +1477,8 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
 
     // Set aspect parameters
     for (int i = 0; i < aspectValues.size(); i++) {
-      AuditedAspect auditedAspect = new AuditedAspect()
-          .setAspect(RecordUtils.toJsonString(aspectValues.get(i)))
-          .setCanonicalName(classNames.get(i))
-          .setLastmodifiedby(actor)
-          .setLastmodifiedon(utcTimestamp)
-          .setCreatedfor(impersonator, SetMode.IGNORE_NULL);
-      if (ingestionTrackingContext != null) {
-        auditedAspect.setEmitTime(ingestionTrackingContext.getEmitTime(), SetMode.IGNORE_NULL);
-        auditedAspect.setEmitter(ingestionTrackingContext.getEmitter(), SetMode.IGNORE_NULL);
-      }
-      sqlUpdate.setParameter("aspect" + i, toJsonString(auditedAspect));
+      sqlUpdate.setParameter("aspect" + i, toAuditedAspectJson(aspectValues.get(i), classNames.get(i), actor,
+          utcTimestamp, impersonator, ingestionTrackingContext));
     }
 
     // Set URN parameter if extraction is enabled
@@ -984,6 +1494,39 @@ public class EbeanLocalAccess<URN extends Urn> implements IEbeanLocalAccess<URN>
     return sqlUpdate;
   }
 
+  /**
+   * Serializes an aspect value, with its audit information, into the JSON stored in its aspect column.
+   */
+  @Nonnull
+  private static String toAuditedAspectJson(@Nonnull RecordTemplate aspectValue, @Nonnull String canonicalName,
+      @Nonnull String actor, @Nonnull String utcTimestamp, @Nullable String impersonator,
+      @Nullable IngestionTrackingContext ingestionTrackingContext) {
+    return toAuditedAspectJson(aspectValue, canonicalName, actor, utcTimestamp, impersonator, ingestionTrackingContext,
+        null);
+  }
+
+  /**
+   * Same as {@link #toAuditedAspectJson(RecordTemplate, String, String, String, String, IngestionTrackingContext)},
+   * with the content hash of the aspect if not null.
+   */
+  @Nonnull
+  private static String toAuditedAspectJson(@Nonnull RecordTemplate aspectValue, @Nonnull String canonicalName,
+      @Nonnull String actor, @Nonnull String utcTimestamp, @Nullable String impersonator,
+      @Nullable IngestionTrackingContext ingestionTrackingContext, @Nullable String contentHash) {
+    AuditedAspect auditedAspect = new AuditedAspect()
+        .setAspect(RecordUtils.toJsonString(aspectValue))
+        .setCanonicalName(canonicalName)
+        .setLastmodifiedby(actor)
+        .setLastmodifiedon(utcTimestamp)
+        .setCreatedfor(impersonator, SetMode.IGNORE_NULL)
+        .setContentHash(contentHash, SetMode.IGNORE_NULL);
+    if (ingestionTrackingContext != null) {
+      auditedAspect.setEmitTime(ingestionTrackingContext.getEmitTime(), SetMode.IGNORE_NULL);
+      auditedAspect.setEmitter(ingestionTrackingContext.getEmitter(), SetMode.IGNORE_NULL);
+    }
+    return toJsonString(auditedAspect);
+  }
+
   /**
    * Helper method to build the ON DUPLICATE KEY UPDATE clause for create() method.
    * This clause throws a DuplicateKeyException if the row already exists and is not soft-deleted.
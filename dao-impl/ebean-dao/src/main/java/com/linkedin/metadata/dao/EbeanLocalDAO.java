@@ -24,6 +24,7 @@ import com.linkedin.metadata.dao.tracking.BaseDaoUsageEmitter;
 import com.linkedin.metadata.dao.tracking.BaseTrackingManager;
 import com.linkedin.metadata.dao.tracking.DaoReadContext;
 import com.linkedin.metadata.dao.tracking.DaoUsageBuffer;
+import com.linkedin.metadata.dao.tracking.NoOpDaoBenchmarkMetrics;
 import com.linkedin.metadata.dao.tracking.NoOpDaoUsageEmitter;
 import com.linkedin.metadata.dao.urnpath.EmptyPathExtractor;
 import com.linkedin.metadata.dao.urnpath.UrnPathExtractor;
@@ -46,11 +47,13 @@ import com.linkedin.metadata.query.IndexValue;
 import com.linkedin.metadata.query.ListResultMetadata;
 import io.ebean.DuplicateKeyException;
 import io.ebean.EbeanServer;
+import io.ebean.ExpressionList;
 import io.ebean.PagedList;
 import io.ebean.Query;
 import io.ebean.SqlRow;
 import io.ebean.SqlUpdate;
 import io.ebean.Transaction;
+import io.ebean.TxScope;
 import io.ebean.config.ServerConfig;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -58,12 +61,19 @@ import java.net.URISyntaxException;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -94,7 +104,29 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
   protected final Class<URN> _urnClass;
 
   private final static int DEFAULT_BATCH_SIZE = 50;
+  private final static int DEFAULT_SCAN_SEGMENT_SIZE = 10_000;
+  // Operations the transaction retries are recorded as, see setTransactionRetryPolicy
+  static final String TRANSACTION_RETRY_OPERATION = "transactionRetry";
+  static final String RETRIED_TRANSACTION_OPERATION = "retriedTransaction";
+  static final String TRANSACTION_RETRY_STATUS = "retry";
   private int _queryKeysCount = DEFAULT_BATCH_SIZE;
+  // Max number of rows read by a single query of a scan, see EntityTableScanCursor
+  private int _scanSegmentSize = DEFAULT_SCAN_SEGMENT_SIZE;
+  // Executor used to run the pages of a paginated batch get concurrently. Null means pages run sequentially.
+  private Executor _batchGetExecutor = null;
+  // Max number of pages of a single batch get call that are in flight on _batchGetExecutor at the same time
+  private int _batchGetMaxConcurrentPages = 1;
+  // Coalesces concurrent single-key reads into one batch read. Null means every read is its own round trip.
+  private CoalescingBatchGetLoader<URN> _coalescingLoader = null;
+  // Routes reads to a read-only replica. Null means every read goes to _server.
+  private ReadReplicaRouter _readReplicaRouter = null;
+  // Hands out numeric ids from blocks reserved in metadata_id. Null means every id is reserved on its own.
+  private volatile NumericIdBlockAllocator _numericIdBlockAllocator = null;
+  // Sweeper the retention of the written aspects is left to. Null means retention is applied within the writes.
+  private volatile EbeanRetentionSweeper<URN> _retentionSweeper = null;
+  // How runInTransactionWithRetry waits between attempts, and where its retries are recorded
+  private volatile TransactionRetryPolicy _transactionRetryPolicy = TransactionRetryPolicy.NO_BACKOFF;
+  private BaseDaoBenchmarkMetrics _benchmarkMetrics = new NoOpDaoBenchmarkMetrics();
   private IEbeanLocalAccess<URN> _localAccess;
   // Tracks whether the usage decorator has been installed. A structural check on _localAccess only
   // sees the outermost layer, so it misses a usage decorator buried under another decorator.
@@ -152,6 +184,14 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     _localRelationshipWriterDAO.setUseAspectColumnForRelationshipRemoval(useAspectColumnForRelationshipRemoval);
   }
 
+  /**
+   * Set a flag to indicate whether to write the relationships of an aspect as a diff against the current relationships,
+   * see {@link EbeanLocalRelationshipWriterDAO#setDiffRelationshipWrites(boolean)}.
+   */
+  public void setDiffRelationshipWrites(boolean diffRelationshipWrites) {
+    _localRelationshipWriterDAO.setDiffRelationshipWrites(diffRelationshipWrites);
+  }
+
   /**
    * Configures a conditional MySQL FORCE INDEX hint for the offset-pagination listUrns filter
    * query. The force index is only emitted when the {@link IndexFilter}'s path-bearing criteria
@@ -175,6 +215,75 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     }
   }
 
+  /**
+   * Sets whether the aspects of a page of a batch read are all read with a single statement against the entity table,
+   * instead of one statement per aspect. Only applies to reads from the entity tables, e.g. full snapshot reads.
+   *
+   * @param multiAspectReadsEnabled whether to read all aspects of a page with a single statement
+   */
+  public void setMultiAspectReadsEnabled(boolean multiAspectReadsEnabled) {
+    if (_localAccess != null) {
+      _localAccess.setMultiAspectReadsEnabled(multiAspectReadsEnabled);
+    }
+  }
+
+  /**
+   * Sets a cache of urns and aspects known to be absent from the entity tables, so that repeated reads of missing
+   * urns or aspects (e.g. {@link #exists(Urn)} or latest-version reads of entities not ingested yet) don't go to the
+   * database. Writes through this DAO invalidate the cache. Pass null to disable.
+   *
+   * @param negativeResultCache cache of negative read results, or null
+   */
+  public void setNegativeResultCache(@Nullable NegativeResultCache negativeResultCache) {
+    if (_localAccess != null) {
+      _localAccess.setNegativeResultCache(negativeResultCache);
+    }
+  }
+
+  /**
+   * Sets a cache of the results of {@link #countAggregate(IndexFilter, IndexGroupByCriterion)} for the (filter, group
+   * by) shapes registered with it, e.g. the facets requested on every page of a UI. Writes through this DAO invalidate
+   * the cached results of the shapes depending on the written aspects, and cached results expire after the cache's TTL.
+   * Pass null to disable.
+   *
+   * @param aggregateCountCache cache of aggregate counts, or null
+   */
+  public void setAggregateCountCache(@Nullable AggregateCountCache aggregateCountCache) {
+    if (_localAccess != null) {
+      _localAccess.setAggregateCountCache(aggregateCountCache);
+    }
+  }
+
+  /**
+   * Routes the reads of this DAO (get, exists, list, listUrns and countAggregate, from both the aspect and the entity
+   * tables) to a read-only replica, except for reads inside a transaction, reads inside a
+   * {@link ReadReplicaRouter#readFromPrimary()} scope, and reads of urns written through this DAO within the router's
+   * read-your-writes window. Writes always go to the primary. Pass null (the default) to read everything from the
+   * primary.
+   *
+   * @param readReplicaRouter router of reads to the replica, or null
+   */
+  public void setReadReplicaRouter(@Nullable ReadReplicaRouter readReplicaRouter) {
+    _readReplicaRouter = readReplicaRouter;
+    if (_localAccess != null) {
+      _localAccess.setReadReplicaRouter(readReplicaRouter);
+    }
+  }
+
+  /**
+   * Sets the max number of rows read by a single query of {@link #scanUrns(IndexFilter, int)} and
+   * {@link #scanAspects(Set, IndexFilter, int)}. A scan continues with a new query after the last urn read, so this
+   * bounds how long a query, and its connection, is held. Defaults to 10,000.
+   *
+   * @param scanSegmentSize max number of rows read by a single query, must be positive
+   */
+  public void setScanSegmentSize(int scanSegmentSize) {
+    if (scanSegmentSize <= 0) {
+      throw new IllegalArgumentException("Scan segment size must be positive: " + scanSegmentSize);
+    }
+    _scanSegmentSize = scanSegmentSize;
+  }
+
   /**
    * Set a flag to indicate whether noisy info logs are enabled. Should only be used for debugging.
    * @param noisyLogsEnabled whether the logs are enabled
@@ -587,11 +696,13 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
   /**
    * Set benchmark metrics for DAO operation instrumentation. Wraps the underlying
    * {@link IEbeanLocalAccess} with an {@link InstrumentedEbeanLocalAccess} decorator.
-   * No-op when {@code _localAccess} is {@code null} (OLD_SCHEMA_ONLY mode).
+   * The decoration is a no-op when {@code _localAccess} is {@code null} (OLD_SCHEMA_ONLY mode),
+   * but the transaction retries are recorded in every mode, see {@link #setTransactionRetryPolicy}.
    *
    * @param metrics the benchmark metrics implementation to use
    */
   public void setBenchmarkMetrics(@Nonnull BaseDaoBenchmarkMetrics metrics) {
+    _benchmarkMetrics = metrics;
     if (_localAccess != null) {
       _localAccess = new InstrumentedEbeanLocalAccess<>(_localAccess, metrics, _urnClass);
     }
@@ -648,9 +759,35 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
   @Nonnull
   @Override
   protected <T> T runInTransactionWithRetry(@Nonnull Supplier<T> block, int maxTransactionRetry) {
+    return runInTransactionWithRetry(block, maxTransactionRetry, (String) null, false);
+  }
+
+  @Nonnull
+  @Override
+  protected <T> T runInTransactionWithRetry(@Nonnull Supplier<T> block, int maxTransactionRetry,
+      @Nonnull Class<? extends RecordTemplate> aspectClass) {
+    return runInTransactionWithRetry(block, maxTransactionRetry, aspectClass.getSimpleName(), false);
+  }
+
+  /**
+   * Runs the block in a transaction, retrying it on conflicts.
+   *
+   * @param requiresNew whether the block runs in its own transaction, committed even if the caller's transaction
+   *                    rolls back, rather than joining the caller's transaction
+   */
+  @Nonnull
+  private <T> T runInTransactionWithRetry(@Nonnull Supplier<T> block, int maxTransactionRetry, @Nullable String aspect,
+      boolean requiresNew) {
     int retryCount = 0;
     Exception lastException = null;
 
+    final TransactionRetryPolicy retryPolicy = _transactionRetryPolicy;
+    // A nested transaction retries right away: waiting would hold the locks of the outer transaction.
+    final boolean backOff = retryPolicy != TransactionRetryPolicy.NO_BACKOFF && _server.currentTransaction() == null;
+    long firstFailureMs = 0;
+    int retries = 0;
+    boolean budgetExhausted = false;
+
     T result = null;
     boolean committed = false;
     // Usage emissions from this transaction are buffered and released only after the outermost
@@ -660,15 +797,28 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     List<Runnable> pendingUsage = Collections.emptyList();
     try {
       do {
+        if (retryCount > 0) {
+          final long waitedMs = backOff ? retryPolicy.awaitRetry(retryCount, System.currentTimeMillis() - firstFailureMs) : 0;
+          if (waitedMs < 0) {
+            budgetExhausted = true;
+            break;
+          }
+          recordTransactionRetry(aspect, lastException, waitedMs);
+          retries++;
+        }
         // Drop whatever the previous attempt buffered before trying again.
         DaoUsageBuffer.truncateTo(usageMark);
-        try (Transaction transaction = _server.beginTransaction()) {
+        try (Transaction transaction = requiresNew ? _server.beginTransaction(TxScope.requiresNew())
+            : _server.beginTransaction()) {
           result = block.get();
           transaction.commit();
           committed = true;
           lastException = null;
           break;
         } catch (RollbackException | DuplicateKeyException | OptimisticLockException exception) {
+          if (lastException == null) {
+            firstFailureMs = System.currentTimeMillis();
+          }
           lastException = exception;
         }
       } while (++retryCount <= maxTransactionRetry);
@@ -676,6 +826,14 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
       pendingUsage = DaoUsageBuffer.exit(usageMark, committed);
     }
 
+    if (firstFailureMs > 0) {
+      recordRetriedTransaction(aspect, retries, lastException,
+          System.currentTimeMillis() - firstFailureMs);
+    }
+    if (budgetExhausted) {
+      throw new RetryLimitReached("Failed to add within the retry budget of " + retryPolicy.getRetryBudgetMs()
+          + " ms after " + retries + " retries", lastException);
+    }
     if (lastException != null) {
       throw new RetryLimitReached("Failed to add after " + maxTransactionRetry + " retries", lastException);
     }
@@ -694,6 +852,30 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     return result;
   }
 
+  /**
+   * Records a retry of a transaction, with the failure that caused it and the time waited before it.
+   */
+  private void recordTransactionRetry(@Nullable String aspect, @Nonnull Exception cause, long waitedMs) {
+    if (_benchmarkMetrics.isEnabled()) {
+      _benchmarkMetrics.recordOperation(TRANSACTION_RETRY_OPERATION, ModelUtils.getEntityTypeFromUrnClass(_urnClass),
+          aspect, null, TRANSACTION_RETRY_STATUS, cause.getClass().getSimpleName(), waitedMs);
+    }
+  }
+
+  /**
+   * Records the outcome of a transaction that has been retried, with its number of retries and the time spent since
+   * its first failure.
+   */
+  private void recordRetriedTransaction(@Nullable String aspect, int retries, @Nullable Exception failure,
+      long retryingMs) {
+    if (_benchmarkMetrics.isEnabled()) {
+      _benchmarkMetrics.recordOperation(RETRIED_TRANSACTION_OPERATION, ModelUtils.getEntityTypeFromUrnClass(_urnClass),
+          aspect, InstrumentedEbeanLocalAccess.bucketCount(retries),
+          failure == null ? InstrumentedEbeanLocalAccess.STATUS_SUCCESS : InstrumentedEbeanLocalAccess.STATUS_FAILURE,
+          failure == null ? null : failure.getClass().getSimpleName(), retryingMs);
+    }
+  }
+
   /**
    * Extracts the optimistic lock for a specific aspect from the ingestion parameters if possible.
    * @param ingestionParams the ingestion parameters containing the aspects and their eTags
@@ -855,6 +1037,70 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     }, 1);
   }
 
+  @Override
+  protected int batchUpsertAspects(@Nonnull Map<URN, List<BaseLocalDAO.AspectUpdateContext<RecordTemplate>>> updateContexts,
+      @Nonnull AuditStamp auditStamp, @Nullable IngestionTrackingContext trackingContext, boolean isTestMode) {
+    return runInTransactionWithRetry(() -> {
+      // Execute multi-row batch upserts of all the urns
+      int rows = _localAccess.batchUpsertMany(updateContexts, auditStamp, trackingContext, isTestMode);
+
+      // also insert any relationships associated with these aspects, see batchUpsertAspects(urn, ...)
+      updateContexts.forEach((urn, contexts) -> {
+        for (BaseLocalDAO.AspectUpdateContext<RecordTemplate> ctx : contexts) {
+          Class<RecordTemplate> aspectClass = (Class<RecordTemplate>) ctx.getLambda().getAspectClass();
+          handleRelationshipIngestion(urn, ctx.getNewValue(), ctx.getOldValue(), aspectClass, isTestMode);
+        }
+      });
+
+      return rows;
+    }, 1);
+  }
+
+  /**
+   * Overwrites the latest value of an aspect unless it is unchanged, without reading the stored value first, see
+   * {@link IEbeanLocalAccess#upsertIfChanged}. Most ingestion re-sends unchanged aspects, for which this saves the read
+   * and the deserialization of the stored value done by {@link #add(Urn, RecordTemplate, AuditStamp)}.
+   *
+   * <p>As the old value is never read, this is only meant for plain overwrites: no aspect callback, pre or post update
+   * hook, equality tester or MAE is involved. Callers needing any of them should use {@code add} instead. The
+   * relationships of the aspect are still ingested when it is written.
+   *
+   * @param urn the URN for the entity the aspect is attached to
+   * @param newValue the new value of the aspect
+   * @param auditStamp the audit stamp for the operation
+   * @param trackingContext the tracking context for the operation, or null
+   * @return whether the aspect was written, i.e. the entity was absent or soft deleted or the aspect changed
+   * @throws UnsupportedOperationException if not in {@link SchemaConfig#NEW_SCHEMA_ONLY} with the change log disabled,
+   *     or if an aspect callback is registered for the aspect
+   */
+  public <ASPECT extends RecordTemplate> boolean upsertIfChanged(@Nonnull URN urn, @Nonnull ASPECT newValue,
+      @Nonnull AuditStamp auditStamp, @Nullable IngestionTrackingContext trackingContext) {
+    if (_schemaConfig != SchemaConfig.NEW_SCHEMA_ONLY || _changeLogEnabled) {
+      throw new UnsupportedOperationException(
+          "upsertIfChanged is only supported in NEW_SCHEMA_ONLY mode with the change log disabled");
+    }
+    final Class<ASPECT> aspectClass = (Class<ASPECT>) newValue.getClass();
+    if (getAspectCallbackRegistry() != null && getAspectCallbackRegistry().isRegistered(aspectClass, urn.getEntityType())) {
+      throw new UnsupportedOperationException(
+          "upsertIfChanged doesn't run aspect callbacks, which are registered for " + aspectClass.getCanonicalName());
+    }
+    checkAdd(urn, new AspectUpdateLambda<>(newValue), auditStamp);
+    validateAgainstSchemaAndFillinDefault(newValue);
+
+    final boolean written = runInTransactionWithRetry(() -> {
+      final boolean upserted = _localAccess.upsertIfChanged(urn, newValue, aspectClass, auditStamp, trackingContext, false);
+      if (upserted) {
+        handleRelationshipIngestion(urn, newValue, null, aspectClass, false);
+      }
+      return upserted;
+    }, DEFAULT_MAX_TRANSACTION_RETRY);
+    if (written) {
+      // Drop the cached value once committed, as add() does
+      invalidateAspectCache(urn, aspectClass);
+    }
+    return written;
+  }
+
   @Override
   protected int permanentDelete(@Nonnull URN urn, boolean isTestMode) {
     // If the table does not have the URN, return empty map. Nothing to delete here.
@@ -1032,6 +1278,12 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
       + "SET urn = :urn, aspect = :aspect, version = :version, metadata = :metadata, createdOn = :createdOn, createdBy = :createdBy "
       + "WHERE urn = :urn and aspect = :aspect and version = :version and createdOn = :oldTimestamp";
 
+  // Bounded deletes of the retention sweeper, the limit is formatted in
+  private static final String SWEEP_VERSION_BASED_RETENTION_SQL = "DELETE FROM metadata_aspect "
+      + "WHERE urn = :urn and aspect = :aspect and version <> 0 and version <= :version ORDER BY version LIMIT %d";
+  private static final String SWEEP_TIME_BASED_RETENTION_SQL = "DELETE FROM metadata_aspect "
+      + "WHERE urn = :urn and aspect = :aspect and createdOn < :createdOn ORDER BY createdOn LIMIT %d";
+
   /**
    * Assembly SQL UPDATE script for old Schema.
    * @param aspect {@link EbeanMetadataAspect}
@@ -1104,6 +1356,7 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
       throw new OptimisticLockException(
           String.format("%s rows updated during update on update: %s.", numOfUpdatedRows, aspect));
     }
+    recordWrite(urn);
   }
 
   @Override
@@ -1133,9 +1386,36 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
           throw e;
         }
       }
+      recordWrite(urn);
+    }
+  }
+
+  /**
+   * Starts the read-your-writes window of a urn written to the aspect table. Writes to the entity tables are recorded
+   * by the local access.
+   */
+  private void recordWrite(@Nonnull URN urn) {
+    if (_readReplicaRouter != null) {
+      _readReplicaRouter.recordWrite(_server, urn);
     }
   }
 
+  /**
+   * Returns the server to run a read that isn't scoped to a set of urns on, see {@link ReadReplicaRouter}.
+   */
+  @Nonnull
+  private EbeanServer getReadServer() {
+    return _readReplicaRouter == null ? _server : _readReplicaRouter.getReadServer(_server);
+  }
+
+  /**
+   * Returns the server to run a read of the given urns on, see {@link ReadReplicaRouter}.
+   */
+  @Nonnull
+  private EbeanServer getReadServer(@Nonnull Collection<URN> urns) {
+    return _readReplicaRouter == null ? _server : _readReplicaRouter.getReadServer(_server, urns);
+  }
+
   /**
    * If the aspect is associated with at least one relationship, upsert the relationship into the corresponding local
    * relationship table. Associated means that the aspect has a registered relationship build or it includes a relationship field.
@@ -1250,6 +1530,11 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
   protected <ASPECT extends RecordTemplate> void applyVersionBasedRetention(@Nonnull Class<ASPECT> aspectClass,
       @Nonnull URN urn, @Nonnull VersionBasedRetention retention, long largestVersion) {
     if (_changeLogEnabled) {
+      final EbeanRetentionSweeper<URN> retentionSweeper = _retentionSweeper;
+      if (retentionSweeper != null) {
+        retentionSweeper.record(urn, aspectClass);
+        return;
+      }
       // only apply version based retention when changeLog is enabled
       _server.find(EbeanMetadataAspect.class)
           .where()
@@ -1265,6 +1550,11 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
   protected <ASPECT extends RecordTemplate> void applyTimeBasedRetention(@Nonnull Class<ASPECT> aspectClass,
       @Nonnull URN urn, @Nonnull TimeBasedRetention retention, long currentTime) {
     if (_changeLogEnabled) {
+      final EbeanRetentionSweeper<URN> retentionSweeper = _retentionSweeper;
+      if (retentionSweeper != null) {
+        retentionSweeper.record(urn, aspectClass);
+        return;
+      }
       // only apply time based retention when changeLog is enabled
       _server.find(EbeanMetadataAspect.class)
           .where()
@@ -1275,6 +1565,38 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     }
   }
 
+  /**
+   * Deletes up to {@code maxRows} of the versions of an aspect that the version-based retention no longer retains,
+   * oldest first, for {@link EbeanRetentionSweeper}. Same as {@link #applyVersionBasedRetention} with the largest
+   * version currently stored.
+   *
+   * @return the number of versions deleted
+   */
+  <ASPECT extends RecordTemplate> int sweepVersionBasedRetention(@Nonnull Class<ASPECT> aspectClass, @Nonnull URN urn,
+      @Nonnull VersionBasedRetention retention, int maxRows) {
+    final long largestVersion = getNextVersion(urn, aspectClass) - 1;
+    return _server.createSqlUpdate(String.format(SWEEP_VERSION_BASED_RETENTION_SQL, maxRows))
+        .setParameter("urn", urn.toString())
+        .setParameter("aspect", ModelUtils.getAspectName(aspectClass))
+        .setParameter("version", largestVersion - retention.getMaxVersionsToRetain() + 1)
+        .execute();
+  }
+
+  /**
+   * Deletes up to {@code maxRows} of the versions of an aspect that the time-based retention no longer retains, oldest
+   * first, for {@link EbeanRetentionSweeper}. Same as {@link #applyTimeBasedRetention}.
+   *
+   * @return the number of versions deleted
+   */
+  <ASPECT extends RecordTemplate> int sweepTimeBasedRetention(@Nonnull Class<ASPECT> aspectClass, @Nonnull URN urn,
+      @Nonnull TimeBasedRetention retention, long currentTime, int maxRows) {
+    return _server.createSqlUpdate(String.format(SWEEP_TIME_BASED_RETENTION_SQL, maxRows))
+        .setParameter("urn", urn.toString())
+        .setParameter("aspect", ModelUtils.getAspectName(aspectClass))
+        .setParameter("createdOn", new Timestamp(currentTime - retention.getMaxAgeToRetain()))
+        .execute();
+  }
+
   @Override
   @Nonnull
   public Map<AspectKey<URN, ? extends RecordTemplate>, Optional<? extends RecordTemplate>> get(
@@ -1283,6 +1605,15 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
       return Collections.emptyMap();
     }
 
+    if (isAspectCacheEnabled()) {
+      // go through getWithExtraInfo so that the cached values are shared by both read paths
+      final Map<AspectKey<URN, ? extends RecordTemplate>, AspectWithExtraInfo<? extends RecordTemplate>> withExtraInfo =
+          getWithExtraInfo(keys);
+      final Map<AspectKey<URN, ? extends RecordTemplate>, Optional<? extends RecordTemplate>> result = new HashMap<>();
+      keys.forEach(key -> result.put(key, Optional.ofNullable(withExtraInfo.get(key)).map(AspectWithExtraInfo::getAspect)));
+      return result;
+    }
+
     final List<EbeanMetadataAspect> records;
 
     if (_queryKeysCount == 0) {
@@ -1291,13 +1622,38 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
       records = batchGet(keys, _queryKeysCount);
     }
 
-    // TODO: Improve this O(n^2) search
-
+    final Map<RecordJoinKey, EbeanMetadataAspect> recordsByKey = indexRecordsByKey(records);
     return keys.stream()
-        .collect(Collectors.toMap(Function.identity(), key -> records.stream()
-            .filter(record -> matchKeys(key, record.getKey()))
-            .findFirst()
-            .flatMap(record -> toRecordTemplate(key.getAspectClass(), record))));
+        .collect(Collectors.toMap(Function.identity(),
+            key -> Optional.ofNullable(recordsByKey.get(RecordJoinKey.of(key)))
+                .flatMap(record -> toRecordTemplate(key.getAspectClass(), record))));
+  }
+
+  @Override
+  @Nonnull
+  protected Map<AspectKey<URN, ? extends RecordTemplate>, LazyAspect<? extends RecordTemplate>> getLazily(
+      @Nonnull Set<AspectKey<URN, ? extends RecordTemplate>> keys) {
+    if (isAspectCacheEnabled()) {
+      // cached values are decoded already
+      return super.getLazily(keys);
+    }
+
+    final List<EbeanMetadataAspect> records;
+    if (_queryKeysCount == 0) {
+      records = batchGet(keys, keys.size());
+    } else {
+      records = batchGet(keys, _queryKeysCount);
+    }
+    final Map<RecordJoinKey, EbeanMetadataAspect> recordsByKey = indexRecordsByKey(records);
+    final Map<AspectKey<URN, ? extends RecordTemplate>, LazyAspect<? extends RecordTemplate>> result = new HashMap<>();
+    keys.forEach(key -> {
+      final EbeanMetadataAspect record = recordsByKey.get(RecordJoinKey.of(key));
+      if (record == null || record.getMetadata() == null || isSoftDeletedAspect(record, key.getAspectClass())) {
+        return;
+      }
+      result.put(key, LazyAspect.fromJson(key.getAspectClass(), record.getMetadata()));
+    });
+    return result;
   }
 
   @Override
@@ -1307,24 +1663,31 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     if (keys.isEmpty()) {
       return Collections.emptyMap();
     }
+    return getWithExtraInfoThroughCache(keys, this::getWithExtraInfoFromStorage);
+  }
+
+  @Nonnull
+  private Map<AspectKey<URN, ? extends RecordTemplate>, AspectWithExtraInfo<? extends RecordTemplate>> getWithExtraInfoFromStorage(
+      @Nonnull Set<AspectKey<URN, ? extends RecordTemplate>> keys) {
     final List<EbeanMetadataAspect> records;
     if (_queryKeysCount == 0) {
       records = batchGet(keys, keys.size());
     } else {
       records = batchGet(keys, _queryKeysCount);
     }
+    final Map<RecordJoinKey, EbeanMetadataAspect> recordsByKey = indexRecordsByKey(records);
     final Map<AspectKey<URN, ? extends RecordTemplate>, AspectWithExtraInfo<? extends RecordTemplate>> result =
         new HashMap<>();
-    keys.forEach(key -> records.stream()
-        .filter(record -> matchKeys(key, record.getKey()))
-        .findFirst()
-        .map(record -> {
-          final Class<RecordTemplate> aspectClass = (Class<RecordTemplate>) key.getAspectClass();
-          final Optional<AspectWithExtraInfo<RecordTemplate>> aspectWithExtraInfo = toRecordTemplateWithExtraInfo(aspectClass, record);
-          aspectWithExtraInfo.ifPresent(
-              recordTemplateAspectWithExtraInfo -> result.put(key, recordTemplateAspectWithExtraInfo));
-          return null;
-        }));
+    keys.forEach(key -> {
+      final EbeanMetadataAspect record = recordsByKey.get(RecordJoinKey.of(key));
+      if (record == null) {
+        return;
+      }
+      final Class<RecordTemplate> aspectClass = (Class<RecordTemplate>) key.getAspectClass();
+      final Optional<AspectWithExtraInfo<RecordTemplate>> aspectWithExtraInfo = toRecordTemplateWithExtraInfo(aspectClass, record);
+      aspectWithExtraInfo.ifPresent(
+          recordTemplateAspectWithExtraInfo -> result.put(key, recordTemplateAspectWithExtraInfo));
+    });
     return result;
   }
 
@@ -1336,7 +1699,8 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
         return _localAccess.exists(urn);
       case DUAL_SCHEMA:
         final boolean existsInNewSchema = _localAccess.exists(urn);
-        final boolean existsInOldSchema = _server.find(EbeanMetadataAspect.class).where().eq(URN_COLUMN, urn.toString()).exists();
+        final boolean existsInOldSchema = getReadServer(Collections.singleton(urn)).find(EbeanMetadataAspect.class)
+            .where().eq(URN_COLUMN, urn.toString()).exists();
         if (existsInNewSchema != existsInOldSchema) {
           log.warn(String.format("The following urn does%s exist in the old schema but does%s exist in the new schema: %s",
               existsInOldSchema ? "" : " not", existsInNewSchema ? "" : " not", urn.toString()));
@@ -1347,7 +1711,8 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
             + "Defaulting to using the old schema.");
         // FALLTHROUGH
       case OLD_SCHEMA_ONLY:
-        return _server.find(EbeanMetadataAspect.class).where().eq(URN_COLUMN, urn.toString()).exists();
+        return getReadServer(Collections.singleton(urn)).find(EbeanMetadataAspect.class)
+            .where().eq(URN_COLUMN, urn.toString()).exists();
     }
   }
 
@@ -1378,8 +1743,119 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
   }
 
   /**
-   * BatchGet that allows pagination on keys to avoid large queries.
-   * TODO: can further improve by running the sub queries in parallel
+   * Enables running the pages of a paginated batch get (see {@link #setQueryKeysCount(int)}) concurrently instead of one
+   * after another. Off by default.
+   *
+   * <p>The executor is owned by the caller and should be bounded (e.g. a fixed thread pool), since it caps the number of
+   * database connections used by batch gets across all concurrent callers. If the executor rejects a page, the page is
+   * run on the calling thread instead. Results are always merged in page order, so the output is the same as in
+   * sequential mode.
+   *
+   * <p>Pages still run sequentially when the batch get fits in a single page, or when it is issued from inside a
+   * transaction or an internal read-before-write, since neither the transaction nor the read marker is visible from
+   * another thread.
+   *
+   * @param executor executor to run the pages on, or null to turn parallel mode off
+   * @param maxConcurrentPages max number of pages of a single batch get call in flight at the same time, must be positive
+   */
+  public void setParallelBatchGet(@Nullable Executor executor, int maxConcurrentPages) {
+    if (maxConcurrentPages <= 0) {
+      throw new IllegalArgumentException("Max concurrent pages must be positive: " + maxConcurrentPages);
+    }
+    _batchGetExecutor = executor;
+    _batchGetMaxConcurrentPages = maxConcurrentPages;
+  }
+
+  /**
+   * Sets the number of ids {@link #newNumericId(String, int)} reserves at once per namespace. Defaults to 1, i.e. every
+   * id is reserved by its own transaction, which serializes id minting of a namespace on the {@code metadata_id} table.
+   *
+   * <p>With a larger block size, the DAO reserves a block of ids of a namespace in one transaction and hands them out
+   * from memory. This trades the density and ordering of the ids for throughput:
+   * <ul>
+   *   <li>ids reserved but not handed out when the DAO is discarded, e.g. on restart, are never used, leaving gaps of
+   *   up to {@code blockSize - 1} ids per namespace;</li>
+   *   <li>DAOs on different hosts hand out ids from different blocks at the same time, so ids are unique but no longer
+   *   increase in the order they were handed out across DAOs.</li>
+   * </ul>
+   * Only the last id of a block is stored, so DAOs with different block sizes can mint ids of the same namespace.
+   *
+   * @param blockSize number of ids reserved at once, must be positive
+   */
+  public void setNumericIdBlockSize(int blockSize) {
+    _numericIdBlockAllocator = blockSize == 1 ? null : new NumericIdBlockAllocator(blockSize);
+  }
+
+  /**
+   * Sets how a transaction that failed on a conflict, i.e. a rollback, a duplicate key or an optimistic lock failure,
+   * waits before it's retried. Defaults to {@link TransactionRetryPolicy#NO_BACKOFF}, i.e. the retries run right away,
+   * which under contention on a hot key makes the writers conflict again. The max number of retries of a transaction
+   * still applies on top of the time budget of the policy.
+   *
+   * <p>A transaction nested in another one always retries right away, as it would hold the locks of the outer one while
+   * waiting. Each retry is recorded through {@link #setBenchmarkMetrics} as a {@value #TRANSACTION_RETRY_OPERATION}
+   * operation, whose error class is the failure that caused it and whose latency is the time waited, and each
+   * transaction that was retried as a {@value #RETRIED_TRANSACTION_OPERATION} operation, whose count is its number of
+   * retries and whose latency is the time spent since its first failure.
+   *
+   * @param transactionRetryPolicy policy to use
+   */
+  public void setTransactionRetryPolicy(@Nonnull TransactionRetryPolicy transactionRetryPolicy) {
+    _transactionRetryPolicy = transactionRetryPolicy;
+  }
+
+  /**
+   * Sets a sweeper to apply the {@link com.linkedin.metadata.dao.retention.Retention} of the written aspects
+   * asynchronously. Off by default, i.e. the retention of an aspect is applied by a range delete on
+   * {@code metadata_aspect} within the transaction of each write; pass null to turn it off again.
+   *
+   * <p>With a sweeper, a write only records that its (urn, aspect) pair needs retention, and the sweeper later deletes
+   * the expired versions in bounded batches outside of the writes. This keeps the write transactions short and free of
+   * locks on the version range, at the cost of the expired versions being kept until the next sweep. Pairs recorded
+   * but not swept yet when the DAO is discarded are swept after their next write.
+   *
+   * @param retentionSweeper a sweeper created for this DAO, or null
+   */
+  public void setRetentionSweeper(@Nullable EbeanRetentionSweeper<URN> retentionSweeper) {
+    if (retentionSweeper != null && retentionSweeper.getDao() != this) {
+      throw new IllegalArgumentException("The retention sweeper belongs to another DAO");
+    }
+    _retentionSweeper = retentionSweeper;
+  }
+
+  /**
+   * Enables coalescing of concurrent single-key reads of the latest version of an aspect, e.g. from
+   * {@link #get(Class, Urn)}, into one batch read of the entity table. Off by default, and only effective in
+   * {@link SchemaConfig#NEW_SCHEMA_ONLY} mode.
+   *
+   * <p>A read waits up to {@code windowMs} for other reads to join its batch, or less if the batch reaches
+   * {@code maxBatchSize} distinct keys first. Concurrent reads of the same key share one result. This trades a little
+   * latency for far fewer round trips when many threads read different urns at the same time. Reads issued inside a
+   * transaction or an internal read-before-write are never coalesced.
+   *
+   * @param scheduler runs the window timers and the batch reads, owned by the caller; null to turn coalescing off
+   * @param windowMs max time in milliseconds a read waits for other reads to join its batch
+   * @param maxBatchSize number of distinct keys that triggers a batch read right away
+   */
+  public void setReadCoalescing(@Nullable ScheduledExecutorService scheduler, long windowMs, int maxBatchSize) {
+    if (scheduler == null) {
+      _coalescingLoader = null;
+      return;
+    }
+    // _localAccess is resolved per batch so that decorators installed later are honored
+    _coalescingLoader = new CoalescingBatchGetLoader<>(
+        keys -> _localAccess.batchGetUnion(keys, keys.size(), 0, false, false), scheduler, windowMs, maxBatchSize);
+  }
+
+  private boolean shouldCoalesce(@Nonnull AspectKey<URN, ? extends RecordTemplate> key) {
+    return _coalescingLoader != null && _schemaConfig == SchemaConfig.NEW_SCHEMA_ONLY
+        && key.getVersion() == LATEST_VERSION && _server.currentTransaction() == null
+        && !DaoReadContext.isInternalRead() && !ReadReplicaRouter.isReadFromPrimary();
+  }
+
+  /**
+   * BatchGet that allows pagination on keys to avoid large queries. The pages are run in parallel if
+   * {@link #setParallelBatchGet(Executor, int)} has been configured.
    *
    * @param keys a set of keys with urn, aspect and version
    * @param keysCount the max number of keys for each sub query
@@ -1390,16 +1866,82 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
 
     int position = 0;
     final int totalPageCount = QueryUtils.getTotalPageCount(keys.size(), keysCount);
+    final List<AspectKey<URN, ? extends RecordTemplate>> keyList = new ArrayList<>(keys);
+
+    if (keyList.size() == 1 && shouldCoalesce(keyList.get(0))) {
+      return new ArrayList<>(joinPage(_coalescingLoader.load(keyList.get(0))));
+    }
 
-    List<EbeanMetadataAspect> finalResult = batchGetHelper(new ArrayList<>(keys), keysCount, position);
+    if (shouldRunPagesInParallel(totalPageCount)) {
+      return parallelBatchGet(keyList, keysCount, totalPageCount);
+    }
+
+    List<EbeanMetadataAspect> finalResult = batchGetHelper(keyList, keysCount, position);
     while (QueryUtils.hasMore(position, keysCount, totalPageCount)) {
       position += keysCount;
-      final List<EbeanMetadataAspect> oneStatementResult = batchGetHelper(new ArrayList<>(keys), keysCount, position);
+      final List<EbeanMetadataAspect> oneStatementResult = batchGetHelper(keyList, keysCount, position);
       finalResult.addAll(oneStatementResult);
     }
     return finalResult;
   }
 
+  private boolean shouldRunPagesInParallel(int totalPageCount) {
+    return _batchGetExecutor != null && _batchGetMaxConcurrentPages > 1 && totalPageCount > 1
+        && _server.currentTransaction() == null && !DaoReadContext.isInternalRead()
+        && !ReadReplicaRouter.isReadFromPrimary();
+  }
+
+  /**
+   * Runs the pages of a batch get on {@link #_batchGetExecutor}, keeping at most {@link #_batchGetMaxConcurrentPages}
+   * of them in flight, and merges the results in page order.
+   */
+  @Nonnull
+  private List<EbeanMetadataAspect> parallelBatchGet(@Nonnull List<AspectKey<URN, ? extends RecordTemplate>> keyList,
+      int keysCount, int totalPageCount) {
+    final List<CompletableFuture<List<EbeanMetadataAspect>>> pages = new ArrayList<>(totalPageCount);
+    final List<EbeanMetadataAspect> finalResult = new ArrayList<>();
+    int merged = 0;
+    try {
+      for (int page = 0; page < totalPageCount; page++) {
+        if (page - merged >= _batchGetMaxConcurrentPages) {
+          // wait for the oldest in-flight page before submitting a new one
+          finalResult.addAll(joinPage(pages.get(merged++)));
+        }
+        final int position = page * keysCount;
+        pages.add(submitPage(() -> batchGetHelper(keyList, keysCount, position)));
+      }
+      while (merged < pages.size()) {
+        finalResult.addAll(joinPage(pages.get(merged++)));
+      }
+    } catch (RuntimeException e) {
+      pages.forEach(page -> page.cancel(false));
+      throw e;
+    }
+    return finalResult;
+  }
+
+  @Nonnull
+  private CompletableFuture<List<EbeanMetadataAspect>> submitPage(@Nonnull Supplier<List<EbeanMetadataAspect>> page) {
+    try {
+      return CompletableFuture.supplyAsync(page, _batchGetExecutor);
+    } catch (RejectedExecutionException e) {
+      log.warn("Batch get page was rejected by the executor, running it on the calling thread instead.");
+      return CompletableFuture.completedFuture(page.get());
+    }
+  }
+
+  @Nonnull
+  private static List<EbeanMetadataAspect> joinPage(@Nonnull CompletableFuture<List<EbeanMetadataAspect>> page) {
+    try {
+      return page.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
   /**
    * Builds a single SELECT statement for batch get, which selects one entity, and then can be UNION'd with other SELECT
    * statements.
@@ -1440,7 +1982,8 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
       }
     }
 
-    final Query<EbeanMetadataAspect> query = _server.findNative(EbeanMetadataAspect.class, sb.toString());
+    final List<URN> urns = keys.subList(position, end).stream().map(AspectKey::getUrn).collect(Collectors.toList());
+    final Query<EbeanMetadataAspect> query = getReadServer(urns).findNative(EbeanMetadataAspect.class, sb.toString());
 
     for (int i = 1; i <= params.size(); i++) {
       query.setParameter(i, params.get(i - 1));
@@ -1477,6 +2020,44 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     return Collections.emptyList();
   }
 
+  /**
+   * Index the records returned by {@link #batchGet(Set, int)} by their normalized (urn, aspect, version) key, so that the
+   * requested {@link AspectKey}s can be joined against them in O(1) each instead of scanning the whole result list.
+   *
+   * <p>If several records share the same normalized key, the first one wins, same as the previous linear search.
+   */
+  @Nonnull
+  static Map<RecordJoinKey, EbeanMetadataAspect> indexRecordsByKey(@Nonnull List<EbeanMetadataAspect> records) {
+    final Map<RecordJoinKey, EbeanMetadataAspect> recordsByKey = new HashMap<>(records.size() * 2);
+    for (EbeanMetadataAspect record : records) {
+      recordsByKey.putIfAbsent(RecordJoinKey.of(record.getKey()), record);
+    }
+    return recordsByKey;
+  }
+
+  /**
+   * Normalized (urn, aspect, version) key used to join the requested {@link AspectKey}s with the returned
+   * {@link PrimaryKey}s. The urn is lower-cased so that the join keeps the case-insensitive urn match of
+   * {@link #matchKeys(AspectKey, PrimaryKey)}.
+   */
+  @Value
+  static class RecordJoinKey {
+    String urn;
+    String aspect;
+    long version;
+
+    @Nonnull
+    static RecordJoinKey of(@Nonnull AspectKey<?, ? extends RecordTemplate> aspectKey) {
+      return new RecordJoinKey(aspectKey.getUrn().toString().toLowerCase(Locale.ROOT),
+          ModelUtils.getAspectName(aspectKey.getAspectClass()), aspectKey.getVersion());
+    }
+
+    @Nonnull
+    static RecordJoinKey of(@Nonnull PrimaryKey pk) {
+      return new RecordJoinKey(pk.getUrn().toLowerCase(Locale.ROOT), pk.getAspect(), pk.getVersion());
+    }
+  }
+
   /**
    * Checks if an {@link AspectKey} and a {@link PrimaryKey} for Ebean are equivalent.
    *
@@ -1493,7 +2074,7 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
       @Nonnull URN urn, int start, int pageSize) {
     checkValidAspect(aspectClass);
     if (_changeLogEnabled) {
-      PagedList<EbeanMetadataAspect> pagedList = _server.find(EbeanMetadataAspect.class)
+      PagedList<EbeanMetadataAspect> pagedList = getReadServer(Collections.singleton(urn)).find(EbeanMetadataAspect.class)
           .select(KEY_ID)
           .where()
           .eq(URN_COLUMN, urn.toString())
@@ -1524,7 +2105,7 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
 
     checkValidAspect(aspectClass);
 
-    final PagedList<EbeanMetadataAspect> pagedList = _server.find(EbeanMetadataAspect.class)
+    final PagedList<EbeanMetadataAspect> pagedList = getReadServer().find(EbeanMetadataAspect.class)
         .select(KEY_ID)
         .where()
         .eq(ASPECT_COLUMN, ModelUtils.getAspectName(aspectClass))
@@ -1552,7 +2133,7 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     }
 
     final String query = getDistinctUrnsOfEntitySqlQuery(lastUrn, pageSize);
-    final List<SqlRow> sqlRows = _server.createSqlQuery(query).setFirstRow(0).findList();
+    final List<SqlRow> sqlRows = getReadServer().createSqlQuery(query).setFirstRow(0).findList();
     return sqlRows.stream().map(sqlRow -> getUrn(sqlRow.getString(URN_COLUMN))).collect(Collectors.toList());
   }
 
@@ -1597,7 +2178,7 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     checkValidAspect(aspectClass);
     PagedList<EbeanMetadataAspect> pagedList;
     if (_changeLogEnabled) {
-      pagedList = _server.find(EbeanMetadataAspect.class)
+      pagedList = getReadServer(Collections.singleton(urn)).find(EbeanMetadataAspect.class)
           .select(ALL_COLUMNS)
           .where()
           .eq(URN_COLUMN, urn.toString())
@@ -1625,7 +2206,7 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
 
     if (_changeLogEnabled) {
 
-      PagedList<EbeanMetadataAspect> pagedList = _server.find(EbeanMetadataAspect.class)
+      PagedList<EbeanMetadataAspect> pagedList = getReadServer().find(EbeanMetadataAspect.class)
           .select(ALL_COLUMNS)
           .where()
           .eq(ASPECT_COLUMN, ModelUtils.getAspectName(aspectClass))
@@ -1655,6 +2236,86 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     return list(aspectClass, LATEST_VERSION, start, pageSize);
   }
 
+  @Override
+  @Nonnull
+  public <ASPECT extends RecordTemplate> ListResult<URN> listUrns(@Nonnull Class<ASPECT> aspectClass,
+      @Nullable URN lastUrn, int pageSize, @Nonnull ListResult.TotalCountMode totalCountMode) {
+    checkPageSize(pageSize);
+    if (_schemaConfig != SchemaConfig.OLD_SCHEMA_ONLY) {
+      // decouple from old schema
+      return _localAccess.listUrns(aspectClass, lastUrn, pageSize, totalCountMode);
+    }
+
+    checkValidAspect(aspectClass);
+
+    final List<URN> urns = findLatestAspectsAfterUrn(aspectClass, KEY_ID, lastUrn, pageSize + 1).stream()
+        .map(entry -> getUrn(entry.getKey().getUrn()))
+        .collect(Collectors.toList());
+    return toListResultAfterUrn(urns, null, countLatestAspects(aspectClass, totalCountMode), pageSize);
+  }
+
+  @Override
+  @Nonnull
+  public <ASPECT extends RecordTemplate> ListResult<ASPECT> list(@Nonnull Class<ASPECT> aspectClass,
+      @Nullable URN lastUrn, int pageSize, @Nonnull ListResult.TotalCountMode totalCountMode) {
+    checkPageSize(pageSize);
+    checkValidAspect(aspectClass);
+
+    if (!_changeLogEnabled) {
+      return _localAccess.list(aspectClass, lastUrn, pageSize, totalCountMode);
+    }
+
+    final List<ASPECT> aspects = new ArrayList<>();
+    final List<ExtraInfo> extraInfos = new ArrayList<>();
+    findLatestAspectsAfterUrn(aspectClass, ALL_COLUMNS, lastUrn, pageSize + 1).forEach(a -> {
+      final Optional<ASPECT> record = toRecordTemplate(aspectClass, a);
+      record.ifPresent(r -> {
+        aspects.add(r);
+        extraInfos.add(EbeanLocalDAO.toExtraInfo(a));
+      });
+    });
+    return toListResultAfterUrn(aspects, makeListResultMetadata(extraInfos),
+        countLatestAspects(aspectClass, totalCountMode), pageSize);
+  }
+
+  /**
+   * Finds the latest, non soft deleted, versions of an aspect in the old schema, ordered by urn and starting after the
+   * given urn.
+   */
+  @Nonnull
+  private <ASPECT extends RecordTemplate> List<EbeanMetadataAspect> findLatestAspectsAfterUrn(
+      @Nonnull Class<ASPECT> aspectClass, @Nonnull String columns, @Nullable URN lastUrn, int limit) {
+    final ExpressionList<EbeanMetadataAspect> expressionList = findLatestAspects(aspectClass, columns);
+    if (lastUrn != null) {
+      expressionList.gt(URN_COLUMN, lastUrn.toString());
+    }
+    return expressionList.setMaxRows(limit).orderBy().asc(URN_COLUMN).findList();
+  }
+
+  @Nonnull
+  private <ASPECT extends RecordTemplate> ExpressionList<EbeanMetadataAspect> findLatestAspects(
+      @Nonnull Class<ASPECT> aspectClass, @Nonnull String columns) {
+    return getReadServer().find(EbeanMetadataAspect.class)
+        .select(columns)
+        .where()
+        .eq(ASPECT_COLUMN, ModelUtils.getAspectName(aspectClass))
+        .eq(VERSION_COLUMN, LATEST_VERSION)
+        .ne(METADATA_COLUMN, DELETED_VALUE);
+  }
+
+  private <ASPECT extends RecordTemplate> int countLatestAspects(@Nonnull Class<ASPECT> aspectClass,
+      @Nonnull ListResult.TotalCountMode totalCountMode) {
+    // The statistics of the old schema table, holding all aspects of all entities, can't estimate the count of an aspect
+    return totalCountMode == ListResult.TotalCountMode.EXACT ? findLatestAspects(aspectClass, KEY_ID).findCount()
+        : ListResult.UNKNOWN_TOTAL_COUNT;
+  }
+
+  private static void checkPageSize(int pageSize) {
+    if (pageSize <= 0) {
+      throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+    }
+  }
+
   @Nonnull
   URN getUrn(@Nonnull String urn) {
     try {
@@ -1681,8 +2342,7 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
       return Optional.empty();
     }
     final ExtraInfo extraInfo = toExtraInfo(aspect);
-    return Optional.of(new AspectWithExtraInfo<>(RecordUtils.toRecordTemplate(aspectClass, aspect.getMetadata()),
-        extraInfo));
+    return Optional.of(AspectWithExtraInfo.lazy(LazyAspect.fromJson(aspectClass, aspect.getMetadata()), extraInfo));
   }
 
   /**
@@ -1769,6 +2429,22 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
 
   @Override
   public long newNumericId(@Nonnull String namespace, int maxTransactionRetry) {
+    final NumericIdBlockAllocator allocator = _numericIdBlockAllocator;
+    if (allocator == null) {
+      return reserveNumericIds(namespace, 1, maxTransactionRetry, false);
+    }
+    return allocator.next(namespace, blockSize -> reserveNumericIds(namespace, blockSize, maxTransactionRetry, true));
+  }
+
+  /**
+   * Reserves the next ids of a namespace by inserting the last of them into the {@code metadata_id} table.
+   *
+   * <p>A block of ids is reserved in its own transaction: the allocator keeps handing out its ids even if the caller's
+   * transaction rolls back, so the reservation must not roll back with it.
+   *
+   * @return the last reserved id
+   */
+  private long reserveNumericIds(@Nonnull String namespace, int count, int maxTransactionRetry, boolean requiresNew) {
     return runInTransactionWithRetry(() -> {
       final Optional<EbeanMetadataId> result = _server.find(EbeanMetadataId.class)
           .where()
@@ -1779,10 +2455,10 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
           .findOneOrEmpty();
 
       EbeanMetadataId id = result.orElse(new EbeanMetadataId(namespace, 0));
-      id.setId(id.getId() + 1);
+      id.setId(id.getId() + count);
       _server.insert(id);
       return id;
-    }, maxTransactionRetry).getId();
+    }, maxTransactionRetry, null, requiresNew).getId();
   }
 
   @Nonnull
@@ -1898,6 +2574,38 @@ public class EbeanLocalDAO<ASPECT_UNION extends UnionTemplate, URN extends Urn>
     return _localAccess.listUrns(indexFilter, indexSortCriterion, lastUrn, pageSize);
   }
 
+  /**
+   * Streams the urns from the entity table with forward-only queries, each reading up to the scan segment size rows and
+   * continuing after the last urn of the previous one, in the new schema. Falls back to paginating with
+   * {@link #listUrns(IndexFilter, IndexSortCriterion, Urn, int)} in the other schema configs.
+   */
+  @Override
+  @Nonnull
+  public CloseableIterator<URN> scanUrns(@Nullable IndexFilter indexFilter, int fetchSize) {
+    if (_schemaConfig != SchemaConfig.NEW_SCHEMA_ONLY) {
+      return super.scanUrns(indexFilter, fetchSize);
+    }
+    checkFetchSize(fetchSize);
+    return _localAccess.scanUrns(indexFilter, fetchSize, Math.max(fetchSize, _scanSegmentSize));
+  }
+
+  /**
+   * Streams the urns along with their aspects from the entity table in the new schema, see
+   * {@link #scanUrns(IndexFilter, int)}. The aspects are decoded lazily. In the other schema configs the aspects of the
+   * scanned urns are read a batch at a time.
+   */
+  @Override
+  @Nonnull
+  public CloseableIterator<UrnAspectEntry<URN>> scanAspects(@Nonnull Set<Class<? extends RecordTemplate>> aspectClasses,
+      @Nullable IndexFilter indexFilter, int fetchSize) {
+    if (_schemaConfig != SchemaConfig.NEW_SCHEMA_ONLY) {
+      return super.scanAspects(aspectClasses, indexFilter, fetchSize);
+    }
+    checkFetchSize(fetchSize);
+    checkValidAspects(aspectClasses);
+    return _localAccess.scanAspects(aspectClasses, indexFilter, fetchSize, Math.max(fetchSize, _scanSegmentSize));
+  }
+
   /**
    *  Similar to {@link #listUrns(IndexFilter, IndexSortCriterion, Urn, int)} but returns a list result with pagination
    *  information.
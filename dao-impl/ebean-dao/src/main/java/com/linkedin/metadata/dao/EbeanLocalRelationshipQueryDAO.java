@@ -70,6 +70,8 @@ public class EbeanLocalRelationshipQueryDAO {
   private Set<String> _mgEntityTypeNameSet;
   private EbeanLocalDAO.SchemaConfig _schemaConfig = EbeanLocalDAO.SchemaConfig.NEW_SCHEMA_ONLY;
   private SchemaValidatorUtil _schemaValidatorUtil;
+  // Routes queries to a read-only replica. Null means every query goes to _server.
+  private ReadReplicaRouter _readReplicaRouter;
 
   public EbeanLocalRelationshipQueryDAO(EbeanServer server, ServerConfig serverConfig,
       EBeanDAOConfig eBeanDAOConfig) {
@@ -120,6 +122,18 @@ public class EbeanLocalRelationshipQueryDAO {
     _schemaConfig = schemaConfig;
   }
 
+  /**
+   * Routes the entity and relationship queries of this DAO to a read-only replica, except for queries inside a
+   * transaction or a {@link ReadReplicaRouter#readFromPrimary()} scope. Keyset scans always read from the primary, as
+   * their scan start time and deleted rows must come from the same clock and data as the writes. Pass null (the
+   * default) to query the primary only.
+   *
+   * @param readReplicaRouter router of queries to the replica, or null
+   */
+  public void setReadReplicaRouter(@Nullable ReadReplicaRouter readReplicaRouter) {
+    _readReplicaRouter = readReplicaRouter;
+  }
+
   /**
    * Finds a list of entities of a specific type based on the given filter on the entity.
    * The SNAPSHOT class must be defined within com.linkedin.metadata.snapshot package in metadata-models.
@@ -153,7 +167,7 @@ public class EbeanLocalRelationshipQueryDAO {
     }
     sqlBuilder.append(" ORDER BY urn LIMIT ").append(Math.max(1, count)).append(" OFFSET ").append(Math.max(0, offset));
 
-    return _server.createSqlQuery(sqlBuilder.toString()).findList().stream()
+    return getReadServer().createSqlQuery(sqlBuilder.toString()).findList().stream()
         .map(sqlRow -> constructSnapshot(sqlRow, snapshotClass))
         .collect(Collectors.toList());
   }
@@ -219,7 +233,7 @@ public class EbeanLocalRelationshipQueryDAO {
 
     // Execute SQL
     List<RecordTemplate> results = new ArrayList<>();
-    _server.createSqlQuery(sql).findList().forEach(sqlRow -> results.add(constructSnapshot(sqlRow, snapshotClass)));
+    getReadServer().createSqlQuery(sql).findList().forEach(sqlRow -> results.add(constructSnapshot(sqlRow, snapshotClass)));
     return results;
   }
 
@@ -277,7 +291,7 @@ public class EbeanLocalRelationshipQueryDAO {
         count,
         offset, relationshipLookUpContext);
 
-    List<SqlRow> rows = executeSqlWithIndexCheck(sql, relationshipTableName);
+    List<SqlRow> rows = executeSqlWithIndexCheck(getReadServer(), sql, relationshipTableName);
 
     return rows.stream()
         .map(row -> RecordUtils.toRecordTemplate(relationshipType, row.getString("metadata")))
@@ -462,7 +476,7 @@ public class EbeanLocalRelationshipQueryDAO {
 
     // Query current rows first. If a row is soft-deleted between the two reads, Query B may also see
     // the same id; mergeKeysetRows dedups that id. Running B first could turn the race into a drop.
-    final List<SqlRow> currentRows = executeSqlWithIndexCheck(currentSql, relationshipTableName);
+    final List<SqlRow> currentRows = executeSqlWithIndexCheck(_server, currentSql, relationshipTableName);
     // No-op seam. The A/B race spans two separate statements, so there is no way to land a
     // soft-delete between them from outside the DAO; tests override this to inject one
     // deterministically instead of relying on timing.
@@ -676,7 +690,7 @@ public class EbeanLocalRelationshipQueryDAO {
         destTableName, destinationEntityFilter, count, offset, relationshipLookUpContext);
     // Temporary log to help debug the slow SQL query
     log.info("Executing SQL for GQS: {}", sql);
-    return executeSqlWithIndexCheck(sql, relationshipTableName);
+    return executeSqlWithIndexCheck(getReadServer(), sql, relationshipTableName);
   }
 
   /**
@@ -1344,9 +1358,9 @@ public class EbeanLocalRelationshipQueryDAO {
     return _mgEntityTypeNameSet;
   }
 
-  private List<SqlRow> executeSqlWithIndexCheck(String sql, String relationshipTableName) {
+  private List<SqlRow> executeSqlWithIndexCheck(EbeanServer server, String sql, String relationshipTableName) {
     try {
-      return _server.createSqlQuery(sql).findList();
+      return server.createSqlQuery(sql).findList();
     } catch (PersistenceException e) {
       throwIfMissingIndex(e, relationshipTableName);
       throw new RuntimeException("Failed to execute SQL query for relationships", e);
@@ -1365,6 +1379,14 @@ public class EbeanLocalRelationshipQueryDAO {
     }
   }
 
+  /**
+   * Returns the server to run a query on, see {@link ReadReplicaRouter}.
+   */
+  @Nonnull
+  private EbeanServer getReadServer() {
+    return _readReplicaRouter == null ? _server : _readReplicaRouter.getReadServer(_server);
+  }
+
   private void throwIfMissingIndex(PersistenceException e, String relationshipTableName) {
     Throwable cause = e.getCause();
     if (cause instanceof SQLException && cause.getMessage() != null
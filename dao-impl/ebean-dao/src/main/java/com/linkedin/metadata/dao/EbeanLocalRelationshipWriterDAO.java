@@ -5,17 +5,26 @@ import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.metadata.dao.builder.BaseLocalRelationshipBuilder.LocalRelationshipUpdates;
 import com.linkedin.metadata.dao.exception.RetryLimitReached;
 import com.linkedin.metadata.dao.internal.BaseGraphWriterDAO;
+import com.linkedin.metadata.dao.tracking.BaseDaoBenchmarkMetrics;
+import com.linkedin.metadata.dao.tracking.NoOpDaoBenchmarkMetrics;
+import com.linkedin.metadata.dao.utils.AspectContentHash;
 import com.linkedin.metadata.dao.utils.GraphUtils;
 import com.linkedin.metadata.dao.utils.RecordUtils;
 import com.linkedin.metadata.dao.utils.SQLSchemaUtils;
 import com.linkedin.metadata.dao.utils.SQLStatementUtils;
 import com.linkedin.metadata.validator.RelationshipValidator;
 import io.ebean.EbeanServer;
+import io.ebean.SqlQuery;
+import io.ebean.SqlRow;
 import io.ebean.SqlUpdate;
 import io.ebean.Transaction;
 import io.ebean.annotation.Transactional;
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Supplier;
@@ -31,9 +40,13 @@ public class EbeanLocalRelationshipWriterDAO extends BaseGraphWriterDAO {
   private static final String DEFAULT_ACTOR = "urn:li:principal:UNKNOWN";
   private final EbeanServer _server;
   private boolean _useAspectColumnForRelationshipRemoval = false;
+  private boolean _diffRelationshipWrites = false;
+  private volatile TransactionRetryPolicy _transactionRetryPolicy = TransactionRetryPolicy.NO_BACKOFF;
+  private BaseDaoBenchmarkMetrics _benchmarkMetrics = new NoOpDaoBenchmarkMetrics();
 
   // Common column names shared by all local relationship tables.
   private static class CommonColumnName {
+    private static final String ID = "id";
     private static final String ASPECT = "aspect";
     private static final String SOURCE = "source";
     private static final String DESTINATION = "destination";
@@ -47,6 +60,8 @@ public class EbeanLocalRelationshipWriterDAO extends BaseGraphWriterDAO {
   private static final int DELETE_BATCH_SIZE = 10000; // Process deletes in batches of 10,000 rows
   private static final int MAX_BATCHES = 1000; // Maximum number of batches to process
   private static final String LIMIT = " LIMIT ";
+  private static final String PEGASUS_PREFIX = "pegasus.";
+  private static final String UNKNOWN_ENTITY_TYPE = "unknown";
   @Getter
   private int batchCount = 0;
 
@@ -62,6 +77,35 @@ public class EbeanLocalRelationshipWriterDAO extends BaseGraphWriterDAO {
     _useAspectColumnForRelationshipRemoval = useAspectColumnForRelationshipRemoval;
   }
 
+  /**
+   * Set a flag to indicate whether to write the relationships of a source as a diff against its current relationships.
+   * If set to true, adding relationships only soft-deletes the current relationships that are not in the new ones and
+   * only inserts the new relationships that are not current yet, so that an update changing a few edges of a source
+   * with many edges only writes the changed rows. Relationships are matched by destination and metadata content.
+   * Otherwise, all the current relationships are soft-deleted and all the new ones inserted.
+   */
+  public void setDiffRelationshipWrites(boolean diffRelationshipWrites) {
+    _diffRelationshipWrites = diffRelationshipWrites;
+  }
+
+  /**
+   * Sets how a transaction that failed is waited on before it's retried, see
+   * {@link EbeanLocalDAO#setTransactionRetryPolicy(TransactionRetryPolicy)}. Defaults to
+   * {@link TransactionRetryPolicy#NO_BACKOFF}. The relationship removals run nested in the transaction of the aspect
+   * write, and thus keep retrying right away unless this DAO is used on its own.
+   */
+  public void setTransactionRetryPolicy(@Nonnull TransactionRetryPolicy transactionRetryPolicy) {
+    _transactionRetryPolicy = transactionRetryPolicy;
+  }
+
+  /**
+   * Sets the metrics the transaction retries are recorded to, see
+   * {@link EbeanLocalDAO#setTransactionRetryPolicy(TransactionRetryPolicy)}.
+   */
+  public void setBenchmarkMetrics(@Nonnull BaseDaoBenchmarkMetrics metrics) {
+    _benchmarkMetrics = metrics;
+  }
+
   /**
    * Process the local relationship updates with transaction guarantee.
    * @param urn Urn of the entity to update relationships.
@@ -180,20 +224,37 @@ public class EbeanLocalRelationshipWriterDAO extends BaseGraphWriterDAO {
 
     // Remove some local relationships if needed before adding new relationships using REMOVE_ALL_EDGES_FROM_SOURCE.
     Urn sourceUrn = GraphUtils.getSourceUrnBasedOnRelationshipVersion(firstRelationship, urn);
-    removeRelationshipsBySource(sourceUrn, aspectClass, isTestMode ? SQLSchemaUtils.getTestRelationshipTableName(firstRelationship)
-        : SQLSchemaUtils.getRelationshipTableName(firstRelationship));
+    String tableName = isTestMode ? SQLSchemaUtils.getTestRelationshipTableName(firstRelationship)
+        : SQLSchemaUtils.getRelationshipTableName(firstRelationship);
+    List<RELATIONSHIP> relationshipsToInsert = relationshipGroup;
+    if (_diffRelationshipWrites) {
+      relationshipsToInsert = removeStaleRelationshipsBySource(sourceUrn, aspectClass, tableName, relationshipGroup);
+    } else {
+      removeRelationshipsBySource(sourceUrn, aspectClass, tableName);
+    }
+
+    insertRelationships(urn, aspectClass, tableName, relationshipsToInsert);
+  }
 
+  /**
+   * Insert the given list of relationships to a local relationship table in batches.
+   * @param urn the source urn to be used for the relationships. Optional for Relationship V1.
+   * @param aspectClass class of the aspect from which these relationships are extracted from
+   * @param tableName the table name of the relationship
+   * @param relationships the list of relationships to be inserted
+   */
+  private <ASPECT extends RecordTemplate, RELATIONSHIP extends RecordTemplate> void insertRelationships(@Nullable Urn urn,
+      @Nonnull Class<ASPECT> aspectClass, @Nonnull String tableName, @Nonnull List<RELATIONSHIP> relationships) {
     long now = Instant.now().toEpochMilli();
 
     // Insert in batches with 100 values per insert statement
-    int numBatches = (relationshipGroup.size() + INSERT_BATCH_SIZE - 1) / INSERT_BATCH_SIZE;
+    int numBatches = (relationships.size() + INSERT_BATCH_SIZE - 1) / INSERT_BATCH_SIZE;
     for (int i = 0; i < numBatches; i++) {
-      int numRelationships = Math.min(INSERT_BATCH_SIZE, relationshipGroup.size() - i * INSERT_BATCH_SIZE);
+      int numRelationships = Math.min(INSERT_BATCH_SIZE, relationships.size() - i * INSERT_BATCH_SIZE);
 
       // Set up the general insertion update with static parameters set (lastmodifiedon, lastmodifiedby, {aspect})
-      SqlUpdate sqlUpdate = _server.createSqlUpdate(SQLStatementUtils.insertLocalRelationshipSQL(
-              isTestMode ? SQLSchemaUtils.getTestRelationshipTableName(firstRelationship)
-                  : SQLSchemaUtils.getRelationshipTableName(firstRelationship), numRelationships, _useAspectColumnForRelationshipRemoval))
+      SqlUpdate sqlUpdate = _server.createSqlUpdate(
+              SQLStatementUtils.insertLocalRelationshipSQL(tableName, numRelationships, _useAspectColumnForRelationshipRemoval))
           .setParameter(CommonColumnName.LAST_MODIFIED_ON, new Timestamp(now))
           .setParameter(CommonColumnName.LAST_MODIFIED_BY, DEFAULT_ACTOR);
       if (_useAspectColumnForRelationshipRemoval) {
@@ -202,7 +263,7 @@ public class EbeanLocalRelationshipWriterDAO extends BaseGraphWriterDAO {
 
       // For each relationship in the batch, set the "values" to insert
       for (int j = 0; j < numRelationships; j++) {
-        RELATIONSHIP relationship = relationshipGroup.get(j);
+        RELATIONSHIP relationship = relationships.get(i * INSERT_BATCH_SIZE + j);
         // Relationship model V2 doesn't include source urn, it needs to be passed in.
         // For relationship model V1, this given urn can be source urn or destination urn.
         // For relationship model V2, this given urn can only be source urn.
@@ -221,6 +282,78 @@ public class EbeanLocalRelationshipWriterDAO extends BaseGraphWriterDAO {
     }
   }
 
+  /**
+   * Soft-delete the current relationships of a source which are not in the given relationships, see
+   * {@link #setDiffRelationshipWrites(boolean)}.
+   * @param source the source urn of the relationships
+   * @param aspectClass class of the aspect from which the relationships are derived from
+   * @param tableName the table name of the relationship
+   * @param relationships the new relationships of the source, all of the same class
+   * @return the new relationships which are not current yet, to be inserted
+   */
+  @Nonnull
+  private <ASPECT extends RecordTemplate, RELATIONSHIP extends RecordTemplate> List<RELATIONSHIP> removeStaleRelationshipsBySource(
+      @Nonnull Urn source, @Nonnull Class<ASPECT> aspectClass, @Nonnull String tableName,
+      @Nonnull List<RELATIONSHIP> relationships) {
+    Class<RELATIONSHIP> relationshipClass = (Class<RELATIONSHIP>) relationships.get(0).getClass();
+    SqlQuery query = _server.createSqlQuery(
+        SQLStatementUtils.selectLocalRelationshipsBySourceSQL(tableName, _useAspectColumnForRelationshipRemoval));
+    query.setParameter(CommonColumnName.SOURCE, source.toString());
+    if (_useAspectColumnForRelationshipRemoval) {
+      String aspectClassFQCN = normalizeAspectFQCN(aspectClass);
+      query.setParameter(CommonColumnName.ASPECT, aspectClassFQCN);
+      query.setParameter("pegasus_" + CommonColumnName.ASPECT, PEGASUS_PREFIX + aspectClassFQCN);
+    }
+
+    // ids of the current relationships by (destination, metadata hash), a relationship can be stored more than once
+    Map<String, Deque<Long>> currentIds = new HashMap<>();
+    for (SqlRow row : query.findList()) {
+      String key = relationshipKey(row.getString(CommonColumnName.DESTINATION),
+          RecordUtils.toRecordTemplate(relationshipClass, row.getString(CommonColumnName.METADATA)));
+      currentIds.computeIfAbsent(key, k -> new ArrayDeque<>()).add(row.getLong(CommonColumnName.ID));
+    }
+
+    // keep a current row per new relationship, the remaining rows are stale
+    List<RELATIONSHIP> relationshipsToInsert = new ArrayList<>();
+    for (RELATIONSHIP relationship : relationships) {
+      Deque<Long> ids = currentIds.get(relationshipKey(getDestinationUrnFromRelationship(relationship).toString(), relationship));
+      if (ids == null || ids.poll() == null) {
+        relationshipsToInsert.add(relationship);
+      }
+    }
+    List<Long> staleIds = currentIds.values().stream().flatMap(Deque::stream).collect(Collectors.toList());
+
+    for (int i = 0; i < staleIds.size(); i += INSERT_BATCH_SIZE) {
+      List<Long> batch = staleIds.subList(i, Math.min(i + INSERT_BATCH_SIZE, staleIds.size()));
+      SqlUpdate deletionSQL = _server.createSqlUpdate(SQLStatementUtils.deleteLocalRelationshipsByIdSQL(tableName, batch.size()));
+      for (int j = 0; j < batch.size(); j++) {
+        deletionSQL.setParameter(CommonColumnName.ID + j, batch.get(j));
+      }
+      deletionSQL.execute();
+    }
+
+    if (log.isDebugEnabled()) {
+      log.debug("Diffed relationships of {} in {}: {} kept, {} removed, {} to insert", source, tableName,
+          relationships.size() - relationshipsToInsert.size(), staleIds.size(), relationshipsToInsert.size());
+    }
+    return relationshipsToInsert;
+  }
+
+  @Nonnull
+  private static String relationshipKey(@Nonnull String destination, @Nonnull RecordTemplate relationship) {
+    return destination + '\n' + AspectContentHash.compute(relationship);
+  }
+
+  /**
+   * Normalize the aspect FQCN by removing any 'pegasus.' prefix, as "pegasus.com.linkedin..." and "com.linkedin..." are
+   * equivalent.
+   */
+  @Nonnull
+  private static String normalizeAspectFQCN(@Nonnull Class<? extends RecordTemplate> aspectClass) {
+    String aspectClassFQCN = aspectClass.getCanonicalName();
+    return aspectClassFQCN.startsWith(PEGASUS_PREFIX) ? aspectClassFQCN.substring(PEGASUS_PREFIX.length()) : aspectClassFQCN;
+  }
+
   /**
    * Process the relationship removal in the DB tableName based on the source urn.
    * @param source the source urn to be used for the relationships
@@ -232,14 +365,9 @@ public class EbeanLocalRelationshipWriterDAO extends BaseGraphWriterDAO {
     deletionSQL.setParameter(CommonColumnName.SOURCE, source.toString());
     if (_useAspectColumnForRelationshipRemoval) {
       // treat "pegasus.com.linkedin..." and "com.linkedin..." as equivalent
-      String aspectClassFQCN = aspectClass.getCanonicalName();
-      String pegasusPrefix = "pegasus.";
-      // normalize the aspect FQCN first by removing any 'pegasus.' prefix
-      if (aspectClassFQCN.startsWith(pegasusPrefix)) {
-        aspectClassFQCN = aspectClassFQCN.substring(pegasusPrefix.length());
-      }
+      String aspectClassFQCN = normalizeAspectFQCN(aspectClass);
       deletionSQL.setParameter(CommonColumnName.ASPECT, aspectClassFQCN); // WHERE aspect = "com.linkedin..."
-      deletionSQL.setParameter("pegasus_" + CommonColumnName.ASPECT, pegasusPrefix + aspectClassFQCN); // OR aspect = "pegasus.com.linkedin..."
+      deletionSQL.setParameter("pegasus_" + CommonColumnName.ASPECT, PEGASUS_PREFIX + aspectClassFQCN); // OR aspect = "pegasus.com.linkedin..."
     }
     batchCount = 0;
     while (batchCount < MAX_BATCHES) {
@@ -249,7 +377,8 @@ public class EbeanLocalRelationshipWriterDAO extends BaseGraphWriterDAO {
         // behavior is supported when using Ebean Transactions despite the fact that true nested transactions are not supported in MySQL.
         // Ebean mimics the nested behavior by using MySQL savepoints under the hood which CAN be nested. Thus, if all the inner commits (below) succeed,
         // but the outer commit (somewhere else outside this logic) does not, the WHOLE TRANSACTION (including the inner commits) will be rolled back.
-        int rowsAffected = runInTransactionWithRetry(deletionSQL::execute, 3); // Retry up to 3 times in case of transient failures
+        int rowsAffected = runInTransactionWithRetry(deletionSQL::execute, 3, source.getEntityType(),
+            aspectClass.getSimpleName()); // Retry up to 3 times in case of transient failures
         batchCount++;
 
         if (log.isDebugEnabled()) {
@@ -289,23 +418,67 @@ public class EbeanLocalRelationshipWriterDAO extends BaseGraphWriterDAO {
 
   @Nonnull
   protected <T> T runInTransactionWithRetry(@Nonnull Supplier<T> block, int maxTransactionRetry) {
+    return runInTransactionWithRetry(block, maxTransactionRetry, UNKNOWN_ENTITY_TYPE, null);
+  }
+
+  @Nonnull
+  private <T> T runInTransactionWithRetry(@Nonnull Supplier<T> block, int maxTransactionRetry,
+      @Nonnull String entityType, @Nullable String aspect) {
+    final TransactionRetryPolicy retryPolicy = _transactionRetryPolicy;
+    // A nested transaction retries right away: waiting would hold the locks of the outer transaction.
+    final boolean backOff = retryPolicy != TransactionRetryPolicy.NO_BACKOFF && _server.currentTransaction() == null;
+    long firstFailureMs = 0;
     int retryCount = 0;
     RuntimeException lastException = null;
     while (retryCount <= maxTransactionRetry) {
+      if (retryCount > 0) {
+        final long waitedMs = backOff ? retryPolicy.awaitRetry(retryCount, System.currentTimeMillis() - firstFailureMs) : 0;
+        if (waitedMs < 0) {
+          recordRetriedTransaction(entityType, aspect, retryCount - 1, lastException, firstFailureMs);
+          throw new RetryLimitReached("Failed to execute within the retry budget of " + retryPolicy.getRetryBudgetMs()
+              + " ms after " + (retryCount - 1) + " retries", lastException);
+        }
+        recordTransactionRetry(entityType, aspect, lastException, waitedMs);
+      }
       try (Transaction transaction = _server.beginTransaction()) {
         T result = block.get();
         transaction.commit();
+        if (lastException != null) {
+          recordRetriedTransaction(entityType, aspect, retryCount, null, firstFailureMs);
+        }
         return result; // Successful execution, return result
       } catch (RuntimeException exception) {
+        if (lastException == null) {
+          firstFailureMs = System.currentTimeMillis();
+        }
         lastException = exception;
         retryCount++;
       }
     }
     // If we exhausted retries, throw an exception.
     if (lastException != null) {
+      recordRetriedTransaction(entityType, aspect, maxTransactionRetry, lastException, firstFailureMs);
       throw new RetryLimitReached("Failed to execute after " + maxTransactionRetry + " retries", lastException);
     } else {
       throw new RetryLimitReached("Failed to execute after " + maxTransactionRetry + " retries due to unknown reasons");
     }
   }
+
+  private void recordTransactionRetry(@Nonnull String entityType, @Nullable String aspect, @Nonnull Exception cause,
+      long waitedMs) {
+    if (_benchmarkMetrics.isEnabled()) {
+      _benchmarkMetrics.recordOperation(EbeanLocalDAO.TRANSACTION_RETRY_OPERATION, entityType, aspect, null,
+          EbeanLocalDAO.TRANSACTION_RETRY_STATUS, cause.getClass().getSimpleName(), waitedMs);
+    }
+  }
+
+  private void recordRetriedTransaction(@Nonnull String entityType, @Nullable String aspect, int retries,
+      @Nullable Exception failure, long firstFailureMs) {
+    if (_benchmarkMetrics.isEnabled()) {
+      _benchmarkMetrics.recordOperation(EbeanLocalDAO.RETRIED_TRANSACTION_OPERATION, entityType, aspect,
+          InstrumentedEbeanLocalAccess.bucketCount(retries),
+          failure == null ? InstrumentedEbeanLocalAccess.STATUS_SUCCESS : InstrumentedEbeanLocalAccess.STATUS_FAILURE,
+          failure == null ? null : failure.getClass().getSimpleName(), System.currentTimeMillis() - firstFailureMs);
+    }
+  }
 }
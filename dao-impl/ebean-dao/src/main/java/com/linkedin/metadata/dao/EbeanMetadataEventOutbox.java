@@ -0,0 +1,93 @@
+package com.linkedin.metadata.dao;
+
+import com.linkedin.common.AuditStamp;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.dao.producer.BaseMetadataEventOutbox;
+import com.linkedin.metadata.dao.utils.RecordUtils;
+import com.linkedin.metadata.events.ChangeType;
+import com.linkedin.metadata.events.IngestionMode;
+import com.linkedin.metadata.events.IngestionTrackingContext;
+import io.ebean.EbeanServer;
+import java.sql.Timestamp;
+import java.time.Clock;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+
+/**
+ * A {@link BaseMetadataEventOutbox} stored in the {@code metadata_event_outbox} table of the database of the DAO. The
+ * events are inserted through the same {@link EbeanServer} as the aspects, so that they join the current transaction
+ * of the DAO. {@link EbeanMetadataEventOutboxRelay} delivers them to the producer.
+ *
+ * <p>Events are stored with the JSON serialization of their values, and are ordered by the auto increment id of the
+ * table. As the aspect write of a transaction precedes its events, the row lock on the aspect keeps the events of an
+ * urn in commit order.
+ */
+public class EbeanMetadataEventOutbox implements BaseMetadataEventOutbox {
+
+  static final String TABLE_NAME = "metadata_event_outbox";
+
+  private static final String INSERT_EVENT = "INSERT INTO " + TABLE_NAME
+      + " (urn, aspect, event_type, old_value, new_value, audit_stamp, tracking_context, ingestion_mode, change_type, createdon)"
+      + " VALUES (:urn, :aspect, :eventType, :oldValue, :newValue, :auditStamp, :trackingContext, :ingestionMode,"
+      + " :changeType, :createdOn)";
+
+  /**
+   * Types of the events in the outbox, i.e. which producer method they are delivered with.
+   */
+  enum EventType {
+    METADATA_AUDIT_EVENT,
+    ASPECT_SPECIFIC_METADATA_AUDIT_EVENT
+  }
+
+  private final EbeanServer _server;
+  private final Clock _clock;
+
+  public EbeanMetadataEventOutbox(@Nonnull EbeanServer server) {
+    this(server, Clock.systemUTC());
+  }
+
+  EbeanMetadataEventOutbox(@Nonnull EbeanServer server, @Nonnull Clock clock) {
+    _server = server;
+    _clock = clock;
+  }
+
+  @Override
+  public <ASPECT extends RecordTemplate> void appendMetadataAuditEvent(@Nonnull Urn urn, @Nullable ASPECT oldValue,
+      @Nullable ASPECT newValue, @Nonnull Class<ASPECT> aspectClass) {
+    append(EventType.METADATA_AUDIT_EVENT, urn, oldValue, newValue, aspectClass, null, null, null, null);
+  }
+
+  @Override
+  public <ASPECT extends RecordTemplate> void appendAspectSpecificMetadataAuditEvent(@Nonnull Urn urn,
+      @Nullable ASPECT oldValue, @Nullable ASPECT newValue, @Nonnull Class<ASPECT> aspectClass,
+      @Nullable AuditStamp auditStamp, @Nullable IngestionTrackingContext trackingContext,
+      @Nullable IngestionMode ingestionMode, @Nullable ChangeType changeType) {
+    append(EventType.ASPECT_SPECIFIC_METADATA_AUDIT_EVENT, urn, oldValue, newValue, aspectClass, auditStamp,
+        trackingContext, ingestionMode, changeType);
+  }
+
+  private void append(@Nonnull EventType eventType, @Nonnull Urn urn, @Nullable RecordTemplate oldValue,
+      @Nullable RecordTemplate newValue, @Nonnull Class<? extends RecordTemplate> aspectClass,
+      @Nullable AuditStamp auditStamp, @Nullable IngestionTrackingContext trackingContext,
+      @Nullable IngestionMode ingestionMode, @Nullable ChangeType changeType) {
+    _server.createSqlUpdate(INSERT_EVENT)
+        .setParameter("urn", urn.toString())
+        .setParameter("aspect", aspectClass.getCanonicalName())
+        .setParameter("eventType", eventType.name())
+        .setParameter("oldValue", toJson(oldValue))
+        .setParameter("newValue", toJson(newValue))
+        .setParameter("auditStamp", toJson(auditStamp))
+        .setParameter("trackingContext", toJson(trackingContext))
+        .setParameter("ingestionMode", ingestionMode == null ? null : ingestionMode.name())
+        .setParameter("changeType", changeType == null ? null : changeType.name())
+        .setParameter("createdOn", new Timestamp(_clock.millis()))
+        .execute();
+  }
+
+  @Nullable
+  private static String toJson(@Nullable RecordTemplate value) {
+    return value == null ? null : RecordUtils.toJsonString(value);
+  }
+}
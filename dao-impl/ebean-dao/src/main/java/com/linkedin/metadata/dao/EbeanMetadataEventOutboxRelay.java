@@ -0,0 +1,299 @@
+package com.linkedin.metadata.dao;
+
+import com.linkedin.common.AuditStamp;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.dao.EbeanMetadataEventOutbox.EventType;
+import com.linkedin.metadata.dao.producer.BaseMetadataEventProducer;
+import com.linkedin.metadata.dao.producer.BaseTrackingMetadataEventProducer;
+import com.linkedin.metadata.dao.tracking.BaseDaoBenchmarkMetrics;
+import com.linkedin.metadata.dao.tracking.NoOpDaoBenchmarkMetrics;
+import com.linkedin.metadata.dao.utils.ModelUtils;
+import com.linkedin.metadata.dao.utils.RecordUtils;
+import com.linkedin.metadata.events.ChangeType;
+import com.linkedin.metadata.events.IngestionMode;
+import com.linkedin.metadata.events.IngestionTrackingContext;
+import io.ebean.EbeanServer;
+import io.ebean.SqlRow;
+import io.ebean.SqlUpdate;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Relays the events of an {@link EbeanMetadataEventOutbox} to a producer.
+ *
+ * <p>Each pass reads the oldest events of the outbox, in id order, hands them to the producer one by one, then deletes
+ * the delivered ones. Once the producer fails on an event, the pass skips the later events of the same urn, which are
+ * retried with it by the next pass, so the events of an urn are never delivered out of order, while the events of
+ * other urns are still delivered. Delivery is at least once: an event delivered right before the relay stops, and not
+ * deleted yet, is delivered again by the next relay. Only one relay must run against an outbox table at a time.
+ *
+ * <p>An event the producer keeps failing on, e.g. because its aspect class was removed, is parked after
+ * {@link #setMaxDeliveryAttempts(int) max delivery attempts}: it stays in the outbox with its attempts count, for an
+ * operator to inspect, but is no longer read, and the later events of its urn are delivered.
+ *
+ * <p>The relay can be driven by calling {@link #relayBatch()}, or run on its own thread with {@link #start(long)}. The
+ * delivery of each event is recorded through {@link BaseDaoBenchmarkMetrics} as a {@value #OPERATION} operation whose
+ * latency is the time the event spent in the outbox, and {@link #getLagMs()} is the age of the oldest pending event.
+ *
+ * @param <URN> the URN type of the entities of the events
+ */
+@Slf4j
+public class EbeanMetadataEventOutboxRelay<URN extends Urn> implements AutoCloseable {
+
+  static final String OPERATION = "relayMetadataAuditEvent";
+
+  private static final String THREAD_NAME_PREFIX = "gma-dao-outbox-relay-";
+  private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+  static final int DEFAULT_MAX_DELIVERY_ATTEMPTS = 10;
+
+  private static final String SELECT_EVENTS = "SELECT id, urn, aspect, event_type, old_value, new_value, audit_stamp, "
+      + "tracking_context, ingestion_mode, change_type, createdon, attempts FROM " + EbeanMetadataEventOutbox.TABLE_NAME
+      + " WHERE attempts < %d ORDER BY id LIMIT %d";
+
+  private static final String INCREMENT_ATTEMPTS = "UPDATE " + EbeanMetadataEventOutbox.TABLE_NAME
+      + " SET attempts = attempts + 1 WHERE id = :id";
+
+  private static final String DELETE_EVENTS = "DELETE FROM " + EbeanMetadataEventOutbox.TABLE_NAME + " WHERE id IN (%s)";
+
+  private final EbeanServer _server;
+  private final BaseMetadataEventProducer<?, ?, URN> _producer;
+  private final Class<URN> _urnClass;
+  private final int _batchSize;
+  private final Clock _clock;
+  private BaseDaoBenchmarkMetrics _metrics = new NoOpDaoBenchmarkMetrics();
+  private volatile int _maxDeliveryAttempts = DEFAULT_MAX_DELIVERY_ATTEMPTS;
+
+  private volatile long _lagMs = 0;
+  private volatile boolean _closed = false;
+  private Thread _relay = null;
+
+  /**
+   * Constructor for EbeanMetadataEventOutboxRelay.
+   *
+   * @param server server of the database of the outbox
+   * @param producer producer the events are delivered to. The aspect specific events are delivered with their tracking
+   *     context if it's a {@link BaseTrackingMetadataEventProducer}.
+   * @param urnClass class of the urns of the events
+   * @param batchSize max number of events read by a pass, must be positive
+   */
+  public EbeanMetadataEventOutboxRelay(@Nonnull EbeanServer server, @Nonnull BaseMetadataEventProducer<?, ?, URN> producer,
+      @Nonnull Class<URN> urnClass, int batchSize) {
+    this(server, producer, urnClass, batchSize, Clock.systemUTC());
+  }
+
+  EbeanMetadataEventOutboxRelay(@Nonnull EbeanServer server, @Nonnull BaseMetadataEventProducer<?, ?, URN> producer,
+      @Nonnull Class<URN> urnClass, int batchSize, @Nonnull Clock clock) {
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+    }
+    _server = server;
+    _producer = producer;
+    _urnClass = urnClass;
+    _batchSize = batchSize;
+    _clock = clock;
+  }
+
+  /**
+   * Sets the metrics the deliveries are recorded to.
+   */
+  public void setBenchmarkMetrics(@Nonnull BaseDaoBenchmarkMetrics metrics) {
+    _metrics = metrics;
+  }
+
+  /**
+   * Sets the number of times the producer may fail on an event before the event is parked. Defaults to
+   * {@value #DEFAULT_MAX_DELIVERY_ATTEMPTS}.
+   *
+   * @param maxDeliveryAttempts max number of delivery attempts of an event, must be positive
+   */
+  public void setMaxDeliveryAttempts(int maxDeliveryAttempts) {
+    if (maxDeliveryAttempts <= 0) {
+      throw new IllegalArgumentException("Max delivery attempts must be positive: " + maxDeliveryAttempts);
+    }
+    _maxDeliveryAttempts = maxDeliveryAttempts;
+  }
+
+  /**
+   * Returns the age in milliseconds of the oldest event pending at the start of the last pass, 0 if there was none.
+   */
+  public long getLagMs() {
+    return _lagMs;
+  }
+
+  /**
+   * Runs a pass, delivering up to {@code batchSize} of the oldest events.
+   *
+   * @return the number of events delivered
+   * @throws RuntimeException the first failure of the producer, once the events delivered in the pass are deleted
+   */
+  public int relayBatch() {
+    final int maxDeliveryAttempts = _maxDeliveryAttempts;
+    final List<SqlRow> events =
+        _server.createSqlQuery(String.format(SELECT_EVENTS, maxDeliveryAttempts, _batchSize)).findList();
+    _lagMs = events.isEmpty() ? 0 : Math.max(0, _clock.millis() - events.get(0).getTimestamp("createdon").getTime());
+
+    final List<Long> delivered = new ArrayList<>();
+    // Urns whose later events wait for an earlier event of the pass that failed
+    final Set<String> failedUrns = new HashSet<>();
+    RuntimeException failure = null;
+    for (SqlRow event : events) {
+      final String urn = event.getString("urn");
+      if (failedUrns.contains(urn)) {
+        continue;
+      }
+      try {
+        deliver(event);
+      } catch (RuntimeException e) {
+        record(event, e);
+        failedUrns.add(urn);
+        failure = failure == null ? e : failure;
+        recordFailedAttempt(event, maxDeliveryAttempts, e);
+        continue;
+      }
+      record(event, null);
+      delivered.add(event.getLong("id"));
+    }
+
+    if (!delivered.isEmpty()) {
+      final SqlUpdate delete = _server.createSqlUpdate(String.format(DELETE_EVENTS,
+          IntStream.range(0, delivered.size()).mapToObj(i -> ":id" + i).collect(Collectors.joining(", "))));
+      for (int i = 0; i < delivered.size(); i++) {
+        delete.setParameter("id" + i, delivered.get(i));
+      }
+      delete.execute();
+    }
+    if (failure != null) {
+      throw failure;
+    }
+    return delivered.size();
+  }
+
+  /**
+   * Starts relaying on a daemon thread, which runs passes back to back while the outbox has a full batch of events,
+   * and otherwise, or after a failure, waits {@code pollIntervalMs} before the next pass.
+   *
+   * @param pollIntervalMs time in milliseconds between passes once the outbox has been drained, must be positive
+   * @throws IllegalStateException if the relay has already been started
+   */
+  public synchronized void start(long pollIntervalMs) {
+    if (pollIntervalMs <= 0) {
+      throw new IllegalArgumentException("Poll interval must be positive: " + pollIntervalMs);
+    }
+    if (_relay != null) {
+      throw new IllegalStateException("Outbox relay already started");
+    }
+    _relay = new Thread(() -> run(pollIntervalMs), THREAD_NAME_PREFIX + THREAD_COUNT.incrementAndGet());
+    _relay.setDaemon(true);
+    _relay.start();
+  }
+
+  /**
+   * Stops the relay thread, if started, once its current pass is done.
+   */
+  @Override
+  public void close() throws InterruptedException {
+    final Thread relay;
+    synchronized (this) {
+      _closed = true;
+      relay = _relay;
+    }
+    if (relay != null) {
+      relay.interrupt();
+      relay.join();
+    }
+  }
+
+  private void run(long pollIntervalMs) {
+    while (!_closed) {
+      int delivered;
+      try {
+        delivered = relayBatch();
+      } catch (RuntimeException e) {
+        log.warn("Failed to relay metadata audit events from the outbox, retrying in {} ms", pollIntervalMs, e);
+        delivered = 0;
+      }
+      if (delivered < _batchSize) {
+        try {
+          TimeUnit.MILLISECONDS.sleep(pollIntervalMs);
+        } catch (InterruptedException e) {
+          return;
+        }
+      }
+    }
+  }
+
+  private void recordFailedAttempt(@Nonnull SqlRow event, int maxDeliveryAttempts, @Nonnull RuntimeException failure) {
+    final long id = event.getLong("id");
+    _server.createSqlUpdate(INCREMENT_ATTEMPTS).setParameter("id", id).execute();
+    if (event.getInteger("attempts") + 1 >= maxDeliveryAttempts) {
+      log.error("Parking outbox event {} of {} after {} failed delivery attempts", id, event.getString("urn"),
+          maxDeliveryAttempts, failure);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void deliver(@Nonnull SqlRow event) {
+    final URN urn = ModelUtils.getUrnFromString(event.getString("urn"), _urnClass);
+    final Class<RecordTemplate> aspectClass = (Class<RecordTemplate>) ModelUtils.getAspectClass(event.getString("aspect"));
+    final RecordTemplate oldValue = fromJson(aspectClass, event.getString("old_value"));
+    final RecordTemplate newValue = fromJson(aspectClass, event.getString("new_value"));
+
+    if (EventType.valueOf(event.getString("event_type")) == EventType.METADATA_AUDIT_EVENT) {
+      _producer.produceMetadataAuditEvent(urn, oldValue, newValue);
+      return;
+    }
+
+    final AuditStamp auditStamp = fromJson(AuditStamp.class, event.getString("audit_stamp"));
+    final String ingestionModeName = event.getString("ingestion_mode");
+    final IngestionMode ingestionMode = ingestionModeName == null ? null : IngestionMode.valueOf(ingestionModeName);
+    final String changeTypeName = event.getString("change_type");
+    final ChangeType changeType = changeTypeName == null ? null : ChangeType.valueOf(changeTypeName);
+
+    if (_producer instanceof BaseTrackingMetadataEventProducer) {
+      final BaseTrackingMetadataEventProducer<?, ?, URN> trackingProducer = (BaseTrackingMetadataEventProducer<?, ?, URN>) _producer;
+      final IngestionTrackingContext trackingContext =
+          fromJson(IngestionTrackingContext.class, event.getString("tracking_context"));
+      if (changeType == null) {
+        trackingProducer.produceAspectSpecificMetadataAuditEvent(urn, oldValue, newValue, aspectClass, auditStamp,
+            trackingContext, ingestionMode);
+      } else {
+        trackingProducer.produceAspectSpecificMetadataAuditEvent(urn, oldValue, newValue, aspectClass, auditStamp,
+            trackingContext, ingestionMode, changeType);
+      }
+    } else if (changeType == null) {
+      _producer.produceAspectSpecificMetadataAuditEvent(urn, oldValue, newValue, aspectClass, auditStamp, ingestionMode);
+    } else {
+      _producer.produceAspectSpecificMetadataAuditEvent(urn, oldValue, newValue, aspectClass, auditStamp, ingestionMode,
+          changeType);
+    }
+  }
+
+  private void record(@Nonnull SqlRow event, @Nullable RuntimeException failure) {
+    if (!_metrics.isEnabled()) {
+      return;
+    }
+    final String aspect = event.getString("aspect");
+    _metrics.recordOperation(OPERATION, ModelUtils.getUrnFromString(event.getString("urn"), Urn.class).getEntityType(),
+        aspect.substring(aspect.lastIndexOf('.') + 1), null, failure == null ? "success" : "failure",
+        failure == null ? null : failure.getClass().getSimpleName(),
+        Math.max(0, _clock.millis() - event.getTimestamp("createdon").getTime()));
+  }
+
+  @Nullable
+  private static <T extends RecordTemplate> T fromJson(@Nonnull Class<T> type, @Nullable String json) {
+    return json == null ? null : RecordUtils.toRecordTemplate(type, json);
+  }
+}
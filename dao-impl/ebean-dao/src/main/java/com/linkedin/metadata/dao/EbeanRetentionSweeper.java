@@ -0,0 +1,244 @@
+package com.linkedin.metadata.dao;
+
+import com.google.common.util.concurrent.RateLimiter;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.dao.retention.Retention;
+import com.linkedin.metadata.dao.retention.TimeBasedRetention;
+import com.linkedin.metadata.dao.retention.VersionBasedRetention;
+import com.linkedin.metadata.dao.tracking.BaseDaoBenchmarkMetrics;
+import com.linkedin.metadata.dao.tracking.NoOpDaoBenchmarkMetrics;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Applies the {@link Retention} of the aspects written through an {@link EbeanLocalDAO} asynchronously, see
+ * {@link EbeanLocalDAO#setRetentionSweeper(EbeanRetentionSweeper)}.
+ *
+ * <p>The DAO records the (urn, aspect) pairs it writes, and each sweep deletes the versions of the recorded pairs that
+ * their retention no longer retains, in batches of at most {@code batchSize} rows, each batch being its own statement.
+ * The batches of all pairs share a rate limit, so that a sweep after a burst of writes can't saturate the database.
+ * The retention and the largest version of a pair are read at sweep time, so a pair recorded by a write that was then
+ * rolled back is swept as if it had never been recorded.
+ *
+ * <p>The sweeper can be driven by calling {@link #sweep()}, or run on its own thread with {@link #start(long)}. Each
+ * batch is recorded through {@link BaseDaoBenchmarkMetrics} as a {@value #OPERATION} operation, and the progress is
+ * reported by {@link #getPendingCount()} and {@link #getDeletedCount()}.
+ *
+ * @param <URN> the URN type of the entity of the DAO
+ */
+@Slf4j
+public final class EbeanRetentionSweeper<URN extends Urn> implements AutoCloseable {
+
+  static final String OPERATION = "sweepRetention";
+
+  private static final String THREAD_NAME_PREFIX = "gma-dao-retention-sweeper-";
+  private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+  private final EbeanLocalDAO<?, URN> _dao;
+  private final int _batchSize;
+  private final RateLimiter _rateLimiter;
+  private final Clock _clock;
+  private BaseDaoBenchmarkMetrics _metrics = new NoOpDaoBenchmarkMetrics();
+
+  // Pairs written since they were last swept
+  private final Set<PendingRetention<URN>> _pending = ConcurrentHashMap.newKeySet();
+  private final AtomicLong _deletedCount = new AtomicLong();
+
+  private volatile boolean _closed = false;
+  private Thread _sweeper = null;
+
+  @Value
+  private static class PendingRetention<URN extends Urn> {
+    URN urn;
+    Class<? extends RecordTemplate> aspectClass;
+  }
+
+  /**
+   * Constructor for EbeanRetentionSweeper. The sweeper is only used by the DAO once it's set with
+   * {@link EbeanLocalDAO#setRetentionSweeper(EbeanRetentionSweeper)}.
+   *
+   * @param dao DAO whose written aspects are swept
+   * @param batchSize max number of versions deleted by a batch, must be positive
+   * @param maxBatchesPerSecond max number of batches run per second, must be positive
+   */
+  public EbeanRetentionSweeper(@Nonnull EbeanLocalDAO<?, URN> dao, int batchSize, double maxBatchesPerSecond) {
+    this(dao, batchSize, maxBatchesPerSecond, Clock.systemUTC());
+  }
+
+  EbeanRetentionSweeper(@Nonnull EbeanLocalDAO<?, URN> dao, int batchSize, double maxBatchesPerSecond,
+      @Nonnull Clock clock) {
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+    }
+    if (!(maxBatchesPerSecond > 0)) {
+      throw new IllegalArgumentException("Max batches per second must be positive: " + maxBatchesPerSecond);
+    }
+    _dao = dao;
+    _batchSize = batchSize;
+    _rateLimiter = RateLimiter.create(maxBatchesPerSecond);
+    _clock = clock;
+  }
+
+  /**
+   * Sets the metrics the batches are recorded to.
+   */
+  public void setBenchmarkMetrics(@Nonnull BaseDaoBenchmarkMetrics metrics) {
+    _metrics = metrics;
+  }
+
+  /**
+   * Returns the number of (urn, aspect) pairs waiting to be swept.
+   */
+  public int getPendingCount() {
+    return _pending.size();
+  }
+
+  /**
+   * Returns the total number of versions deleted by the sweeper.
+   */
+  public long getDeletedCount() {
+    return _deletedCount.get();
+  }
+
+  @Nonnull
+  EbeanLocalDAO<?, URN> getDao() {
+    return _dao;
+  }
+
+  /**
+   * Records that an aspect has been written and needs its retention to be applied.
+   */
+  void record(@Nonnull URN urn, @Nonnull Class<? extends RecordTemplate> aspectClass) {
+    _pending.add(new PendingRetention<>(urn, aspectClass));
+  }
+
+  /**
+   * Sweeps the pairs recorded so far. A pair whose sweep fails is recorded again, to be retried by the next sweep.
+   *
+   * @return the number of versions deleted
+   */
+  public long sweep() {
+    long deleted = 0;
+    final List<PendingRetention<URN>> pending = new ArrayList<>(_pending);
+    for (PendingRetention<URN> pair : pending) {
+      if (_closed) {
+        break;
+      }
+      // removed before it's swept, so that a write made during its sweep records it again
+      _pending.remove(pair);
+      try {
+        deleted += sweep(pair);
+      } catch (RuntimeException e) {
+        log.warn("Failed to sweep the retention of {} of {}, will retry", pair.getAspectClass().getSimpleName(),
+            pair.getUrn(), e);
+        _pending.add(pair);
+      }
+    }
+    return deleted;
+  }
+
+  /**
+   * Starts sweeping on a daemon thread, every {@code intervalMs}.
+   *
+   * @param intervalMs time in milliseconds between the end of a sweep and the start of the next one, must be positive
+   * @throws IllegalStateException if the sweeper has already been started
+   */
+  public synchronized void start(long intervalMs) {
+    if (intervalMs <= 0) {
+      throw new IllegalArgumentException("Interval must be positive: " + intervalMs);
+    }
+    if (_sweeper != null) {
+      throw new IllegalStateException("Retention sweeper already started");
+    }
+    _sweeper = new Thread(() -> run(intervalMs), THREAD_NAME_PREFIX + THREAD_COUNT.incrementAndGet());
+    _sweeper.setDaemon(true);
+    _sweeper.start();
+  }
+
+  /**
+   * Stops the sweeper thread, if started, once its current batch is done. The pairs not swept yet are left pending.
+   */
+  @Override
+  public void close() throws InterruptedException {
+    final Thread sweeper;
+    synchronized (this) {
+      _closed = true;
+      sweeper = _sweeper;
+    }
+    if (sweeper != null) {
+      sweeper.interrupt();
+      sweeper.join();
+    }
+  }
+
+  private void run(long intervalMs) {
+    while (!_closed) {
+      sweep();
+      try {
+        TimeUnit.MILLISECONDS.sleep(intervalMs);
+      } catch (InterruptedException e) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Deletes the expired versions of a pair, batch by batch, until a batch comes back short.
+   */
+  private long sweep(@Nonnull PendingRetention<URN> pair) {
+    final Retention retention = _dao.getRetention(pair.getAspectClass());
+    if (!(retention instanceof VersionBasedRetention) && !(retention instanceof TimeBasedRetention)) {
+      // the retention has been removed since the write
+      return 0;
+    }
+
+    long deleted = 0;
+    while (true) {
+      _rateLimiter.acquire();
+      final long start = System.currentTimeMillis();
+      final int batchDeleted;
+      try {
+        batchDeleted = retention instanceof VersionBasedRetention
+            ? _dao.sweepVersionBasedRetention(pair.getAspectClass(), pair.getUrn(), (VersionBasedRetention) retention,
+                _batchSize)
+            : _dao.sweepTimeBasedRetention(pair.getAspectClass(), pair.getUrn(), (TimeBasedRetention) retention,
+                _clock.millis(), _batchSize);
+      } catch (RuntimeException e) {
+        recordBatch(pair, "failure", e.getClass().getSimpleName(), start);
+        throw e;
+      }
+      recordBatch(pair, "success", null, start);
+      deleted += batchDeleted;
+      _deletedCount.addAndGet(batchDeleted);
+
+      if (batchDeleted < _batchSize) {
+        return deleted;
+      }
+      if (_closed) {
+        // not fully swept, keep it for the next sweeper
+        _pending.add(pair);
+        return deleted;
+      }
+    }
+  }
+
+  private void recordBatch(@Nonnull PendingRetention<URN> pair, @Nonnull String status, @Nullable String errorClass,
+      long start) {
+    if (_metrics.isEnabled()) {
+      _metrics.recordOperation(OPERATION, pair.getUrn().getEntityType(), pair.getAspectClass().getSimpleName(), null,
+          status, errorClass, System.currentTimeMillis() - start);
+    }
+  }
+}
@@ -0,0 +1,166 @@
+package com.linkedin.metadata.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.NoSuchElementException;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * {@link CloseableIterator} over the rows of an entity table satisfying a filter, in urn order.
+ *
+ * <p>The rows are read in segments of at most {@code segmentSize} rows. Each segment is a single forward-only, read-only
+ * query whose rows are streamed from the database {@code fetchSize} at a time, and starts after the last urn of the
+ * previous segment (keyset continuation). This keeps the memory used bounded however many rows are scanned, and avoids
+ * holding a statement, and its connection, open for the whole scan. With drivers that buffer whole results regardless
+ * of the fetch size, e.g. MySQL Connector/J without {@code useCursorFetch}, memory is bounded by the segment size.
+ *
+ * <p>Each segment uses its own connection from the data source, released when the segment is exhausted or the cursor
+ * closed.
+ */
+@Slf4j
+final class EntityTableScanCursor<T> implements CloseableIterator<T> {
+
+  /**
+   * Maps the current row of the result set of a segment.
+   */
+  @FunctionalInterface
+  interface RowMapper<T> {
+    @Nonnull
+    T map(@Nonnull ResultSet resultSet) throws SQLException;
+  }
+
+  private final DataSource _dataSource;
+  private final String _selectSql;
+  private final int _fetchSize;
+  private final int _segmentSize;
+  private final RowMapper<T> _rowMapper;
+
+  private Connection _connection;
+  private PreparedStatement _statement;
+  private ResultSet _resultSet;
+  private int _segmentRows;
+  private String _lastUrn;
+  private T _next;
+  private boolean _exhausted;
+
+  /**
+   * Constructor for EntityTableScanCursor.
+   *
+   * @param dataSource data source of the database holding the entity table
+   * @param selectSql query selecting the urn column, and any other, of the rows to scan. It must end with a WHERE clause
+   *                  and must not be ordered or limited.
+   * @param fetchSize number of rows fetched from the database at a time
+   * @param segmentSize maximum number of rows read by a single query
+   * @param rowMapper maps a row to the element returned
+   */
+  EntityTableScanCursor(@Nonnull DataSource dataSource, @Nonnull String selectSql, int fetchSize, int segmentSize,
+      @Nonnull RowMapper<T> rowMapper) {
+    _dataSource = dataSource;
+    _selectSql = selectSql;
+    _fetchSize = fetchSize;
+    _segmentSize = segmentSize;
+    _rowMapper = rowMapper;
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (_next != null) {
+      return true;
+    }
+    if (_exhausted) {
+      return false;
+    }
+    try {
+      while (true) {
+        if (_resultSet == null) {
+          openSegment();
+        }
+        if (_resultSet.next()) {
+          _segmentRows++;
+          _lastUrn = _resultSet.getString("urn");
+          _next = _rowMapper.map(_resultSet);
+          return true;
+        }
+        final boolean segmentFull = _segmentRows >= _segmentSize;
+        closeSegment();
+        if (!segmentFull) {
+          _exhausted = true;
+          return false;
+        }
+      }
+    } catch (SQLException e) {
+      close();
+      throw new RuntimeException(String.format("Failed to scan after urn %s: %s", _lastUrn, _selectSql), e);
+    }
+  }
+
+  @Override
+  public T next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    final T next = _next;
+    _next = null;
+    return next;
+  }
+
+  @Override
+  public void close() {
+    _next = null;
+    _exhausted = true;
+    closeSegment();
+  }
+
+  private void openSegment() throws SQLException {
+    final StringBuilder sql = new StringBuilder(_selectSql);
+    if (_lastUrn != null) {
+      sql.append(" AND urn > ?");
+    }
+    sql.append(" ORDER BY urn LIMIT ").append(_segmentSize);
+
+    _segmentRows = 0;
+    _connection = _dataSource.getConnection();
+    _statement = _connection.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+    _statement.setFetchSize(_fetchSize);
+    if (_lastUrn != null) {
+      _statement.setString(1, _lastUrn);
+    }
+    _resultSet = _statement.executeQuery();
+  }
+
+  private void closeSegment() {
+    closeQuietly(_resultSet);
+    closeQuietly(_statement);
+    if (_connection != null) {
+      try {
+        if (!_connection.getAutoCommit()) {
+          // end the read only transaction before the connection goes back to the pool
+          _connection.rollback();
+        }
+      } catch (SQLException e) {
+        log.warn("Failed to end the transaction of a scan: {}", e.toString());
+      }
+    }
+    closeQuietly(_connection);
+    _resultSet = null;
+    _statement = null;
+    _connection = null;
+  }
+
+  private static void closeQuietly(@Nullable AutoCloseable closeable) {
+    if (closeable == null) {
+      return;
+    }
+    try {
+      closeable.close();
+    } catch (Exception e) {
+      log.warn("Failed to release a resource of a scan: {}", e.toString());
+    }
+  }
+}
@@ -0,0 +1,267 @@
+package com.linkedin.metadata.dao;
+
+import com.linkedin.common.AuditStamp;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.dao.BaseLocalDAO.AspectUpdateLambda;
+import com.linkedin.metadata.events.IngestionTrackingContext;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * Group commit of concurrent {@link BaseLocalDAO#add(Urn, AspectUpdateLambda, AuditStamp, int, IngestionTrackingContext)}
+ * calls, which trades a little latency for far fewer transaction commits (and their fsyncs) under bursty load.
+ *
+ * <p>Adds are queued and a single writer thread drains them into shared transactions of up to {@code maxBatchSize}
+ * adds, waiting at most {@code maxDelayMs} after the first add of a transaction for others to join it. A transaction
+ * only holds adds of different urns, the later adds of an urn are held back to the next transaction so that the adds
+ * of an urn are committed in the order they were queued.
+ *
+ * <p>Each add keeps the semantics of a plain add: the future of an add completes with the new value of the aspect once
+ * the shared transaction has been committed, and its MAE is only produced, and its post-update hooks invoked, after
+ * the commit. Usage emissions are buffered until the commit by {@link com.linkedin.metadata.dao.tracking.DaoUsageBuffer}
+ * as for any transaction. If the shared transaction fails, e.g. because of a single invalid add, each of its adds is
+ * retried alone in its own transaction, so that only the failing adds fail.
+ *
+ * @param <URN> the URN type of the entity of the DAO
+ */
+@Slf4j
+public final class GroupCommitWriter<URN extends Urn> implements AutoCloseable {
+
+  private static final String THREAD_NAME_PREFIX = "gma-dao-group-commit-";
+  private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+  // Same as the default of BaseLocalDAO#add
+  private static final int MAX_TRANSACTION_RETRY = 3;
+
+  // How long the idle writer waits for an add before checking whether it's closed
+  private static final long IDLE_POLL_MS = 100;
+
+  private final BaseLocalDAO<?, URN> _dao;
+  private final int _maxBatchSize;
+  private final long _maxDelayNanos;
+
+  private final BlockingQueue<PendingAdd<URN, ?>> _queue = new LinkedBlockingQueue<>();
+  // Adds taken from the queue but held back to the next transaction as it already had an add of their urn. Only
+  // accessed by the writer thread.
+  private final Deque<PendingAdd<URN, ?>> _heldBack = new ArrayDeque<>();
+  private final Thread _writer;
+  // Guarded by this, together with the adds to the queue
+  private volatile boolean _closed = false;
+
+  private static final class PendingAdd<URN extends Urn, ASPECT extends RecordTemplate> {
+    final URN urn;
+    final AspectUpdateLambda<ASPECT> updateLambda;
+    final AuditStamp auditStamp;
+    final IngestionTrackingContext trackingContext;
+    final CompletableFuture<ASPECT> future = new CompletableFuture<>();
+    // Rest of the add to run once its transaction has been committed
+    Supplier<ASPECT> completion;
+
+    PendingAdd(@Nonnull URN urn, @Nonnull AspectUpdateLambda<ASPECT> updateLambda, @Nonnull AuditStamp auditStamp,
+        @Nullable IngestionTrackingContext trackingContext) {
+      this.urn = urn;
+      this.updateLambda = updateLambda;
+      this.auditStamp = auditStamp;
+      this.trackingContext = trackingContext;
+    }
+  }
+
+  /**
+   * Constructor for GroupCommitWriter, which starts its writer thread.
+   *
+   * @param dao DAO the aspects are added to
+   * @param maxBatchSize max number of adds committed in a transaction, must be positive
+   * @param maxDelayMs max time in milliseconds the first add of a transaction waits for other adds to join it
+   */
+  public GroupCommitWriter(@Nonnull BaseLocalDAO<?, URN> dao, int maxBatchSize, long maxDelayMs) {
+    if (maxBatchSize <= 0) {
+      throw new IllegalArgumentException("Max batch size must be positive: " + maxBatchSize);
+    }
+    if (maxDelayMs < 0) {
+      throw new IllegalArgumentException("Max delay must be non-negative: " + maxDelayMs);
+    }
+    _dao = dao;
+    _maxBatchSize = maxBatchSize;
+    _maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMs);
+    _writer = new Thread(this::run, THREAD_NAME_PREFIX + THREAD_COUNT.incrementAndGet());
+    _writer.setDaemon(true);
+    _writer.start();
+  }
+
+  /**
+   * Queues an add of an aspect, see {@link BaseLocalDAO#add(Urn, AspectUpdateLambda, AuditStamp, int, IngestionTrackingContext)}.
+   * The urn and the aspect are validated right away.
+   *
+   * @param urn the URN for the entity the aspect is attached to
+   * @param updateLambda the {@link AspectUpdateLambda} describing the update
+   * @param auditStamp the audit stamp for the operation
+   * @param trackingContext the tracking context for the operation
+   * @return a future completed with the new value of the aspect, or null if the add was skipped by a callback, once
+   *     the add has been committed
+   * @throws IllegalStateException if the writer is closed
+   */
+  @Nonnull
+  public <ASPECT extends RecordTemplate> CompletableFuture<ASPECT> add(@Nonnull URN urn,
+      @Nonnull AspectUpdateLambda<ASPECT> updateLambda, @Nonnull AuditStamp auditStamp,
+      @Nullable IngestionTrackingContext trackingContext) {
+    _dao.checkAdd(urn, updateLambda, auditStamp);
+    final PendingAdd<URN, ASPECT> pending = new PendingAdd<>(urn, updateLambda, auditStamp, trackingContext);
+    synchronized (this) {
+      if (_closed) {
+        throw new IllegalStateException("Group commit writer is closed");
+      }
+      _queue.add(pending);
+    }
+    return pending.future;
+  }
+
+  /**
+   * Stops accepting adds and waits for the writer thread to commit the adds already queued.
+   */
+  @Override
+  public void close() throws InterruptedException {
+    synchronized (this) {
+      _closed = true;
+    }
+    _writer.join();
+  }
+
+  private void run() {
+    while (true) {
+      final List<PendingAdd<URN, ?>> batch;
+      try {
+        batch = nextBatch();
+      } catch (InterruptedException e) {
+        log.warn("Group commit writer interrupted, failing the adds still queued.");
+        failQueued(e);
+        return;
+      }
+      if (batch == null) {
+        return;
+      }
+      commit(batch);
+    }
+  }
+
+  /**
+   * Takes the adds of the next transaction, waiting for the first one, or returns null once the writer is closed and
+   * every add has been taken.
+   */
+  @Nullable
+  private List<PendingAdd<URN, ?>> nextBatch() throws InterruptedException {
+    final List<PendingAdd<URN, ?>> batch = new ArrayList<>();
+    final Set<URN> urns = new HashSet<>();
+
+    // the held back adds go first, in the order they were queued
+    for (int count = _heldBack.size(); count > 0; count--) {
+      final PendingAdd<URN, ?> pending = _heldBack.pollFirst();
+      if (batch.size() < _maxBatchSize && urns.add(pending.urn)) {
+        batch.add(pending);
+      } else {
+        _heldBack.addLast(pending);
+      }
+    }
+
+    long deadline = System.nanoTime() + _maxDelayNanos;
+    while (batch.size() < _maxBatchSize) {
+      final PendingAdd<URN, ?> pending;
+      if (batch.isEmpty()) {
+        pending = _queue.poll(IDLE_POLL_MS, TimeUnit.MILLISECONDS);
+        if (pending == null) {
+          // no add can be queued once closed, so an empty queue stays empty
+          if (_closed && _queue.isEmpty()) {
+            return null;
+          }
+          continue;
+        }
+        deadline = System.nanoTime() + _maxDelayNanos;
+      } else {
+        final long remaining = deadline - System.nanoTime();
+        pending = remaining > 0 ? _queue.poll(remaining, TimeUnit.NANOSECONDS) : _queue.poll();
+        if (pending == null) {
+          break;
+        }
+      }
+      if (urns.add(pending.urn)) {
+        batch.add(pending);
+      } else {
+        _heldBack.addLast(pending);
+      }
+    }
+    return batch;
+  }
+
+  private void commit(@Nonnull List<PendingAdd<URN, ?>> batch) {
+    try {
+      _dao.runInTransactionWithRetry(() -> {
+        batch.forEach(this::addWithinTransaction);
+        return batch;
+      }, MAX_TRANSACTION_RETRY);
+    } catch (RuntimeException e) {
+      if (batch.size() == 1) {
+        batch.get(0).future.completeExceptionally(e);
+        return;
+      }
+      log.warn("Group commit of {} adds failed, retrying each add alone", batch.size(), e);
+      batch.forEach(this::commitAlone);
+      return;
+    } catch (Throwable t) {
+      batch.forEach(pending -> pending.future.completeExceptionally(t));
+      return;
+    }
+    batch.forEach(GroupCommitWriter::complete);
+  }
+
+  private void commitAlone(@Nonnull PendingAdd<URN, ?> pending) {
+    try {
+      _dao.runInTransactionWithRetry(() -> {
+        addWithinTransaction(pending);
+        return pending;
+      }, MAX_TRANSACTION_RETRY);
+    } catch (Throwable t) {
+      pending.future.completeExceptionally(t);
+      return;
+    }
+    complete(pending);
+  }
+
+  private <ASPECT extends RecordTemplate> void addWithinTransaction(@Nonnull PendingAdd<URN, ASPECT> pending) {
+    pending.completion = _dao.addWithinTransaction(pending.urn, pending.updateLambda, pending.auditStamp,
+        pending.trackingContext, false);
+  }
+
+  private static <ASPECT extends RecordTemplate> void complete(@Nonnull PendingAdd<?, ASPECT> pending) {
+    try {
+      pending.future.complete(pending.completion.get());
+    } catch (Throwable t) {
+      // the add is committed, but its MAE or post-update hooks failed, as a plain add would report
+      pending.future.completeExceptionally(t);
+    }
+  }
+
+  private void failQueued(@Nonnull Throwable cause) {
+    synchronized (this) {
+      _closed = true;
+    }
+    _heldBack.forEach(pending -> pending.future.completeExceptionally(cause));
+    _heldBack.clear();
+    final List<PendingAdd<URN, ?>> queued = new ArrayList<>();
+    _queue.drainTo(queued);
+    queued.forEach(pending -> pending.future.completeExceptionally(cause));
+  }
+}
@@ -11,6 +11,7 @@ import com.linkedin.metadata.query.IndexSortCriterion;
 import java.sql.Timestamp;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
@@ -40,6 +41,41 @@ public interface IEbeanLocalAccess<URN extends Urn> {
   void configureOptionalForceIndex(@Nullable String indexName,
       @Nullable Map<Class<?>, String> requiredCriteria);
 
+  /**
+   * Sets whether {@link #batchGetUnion(List, int, int, boolean, boolean)} reads all the requested aspects of a page with
+   * a single statement projecting every aspect column, instead of one statement per aspect. Disabled by default.
+   *
+   * @param multiAspectReadsEnabled whether to read all aspects of a page with a single statement
+   */
+  void setMultiAspectReadsEnabled(boolean multiAspectReadsEnabled);
+
+  /**
+   * Sets a cache of urns and aspects known to be absent, consulted by {@link #exists(Urn)} and by
+   * {@link #batchGetUnion(List, int, int, boolean, boolean)} reads that exclude soft deleted aspects. Writes through
+   * this local access invalidate the written urn. Pass null (the default) to disable.
+   *
+   * @param negativeResultCache cache of negative read results, or null
+   */
+  void setNegativeResultCache(@Nullable NegativeResultCache negativeResultCache);
+
+  /**
+   * Sets a cache of the results of {@link #countAggregate(IndexFilter, IndexGroupByCriterion)} for the shapes
+   * registered with it. Writes through this local access invalidate the cached results of the shapes depending on the
+   * written aspects. Pass null (the default) to always count live.
+   *
+   * @param aggregateCountCache cache of aggregate counts, or null
+   */
+  void setAggregateCountCache(@Nullable AggregateCountCache aggregateCountCache);
+
+  /**
+   * Routes the reads of this local access to a read-only replica, see {@link ReadReplicaRouter} for the reads that still
+   * go to the primary. Writes through this local access start the read-your-writes window of the written urn. Pass
+   * null (the default) to read everything from the primary.
+   *
+   * @param readReplicaRouter router of reads to the replica, or null
+   */
+  void setReadReplicaRouter(@Nullable ReadReplicaRouter readReplicaRouter);
+
   /**
    * Upsert aspect into entity table.
    *
@@ -75,6 +111,26 @@ public interface IEbeanLocalAccess<URN extends Urn> {
       @Nonnull Class<ASPECT> aspectClass, @Nonnull AuditStamp auditStamp, @Nullable Timestamp oldTimestamp,
       @Nullable IngestionTrackingContext ingestionTrackingContext, boolean isTestMode, boolean softDeleteOverwrite);
 
+  /**
+   * Upsert aspect into entity table unless it is unchanged, without reading the stored aspect. The aspect is stored
+   * with its {@link com.linkedin.metadata.dao.utils.AspectContentHash}, which the database compares with the hash of
+   * the stored aspect.
+   *
+   * <p>An aspect last written by another code path has no hash, so its first conditional upsert always writes it.
+   *
+   * @param <ASPECT>                 metadata aspect value
+   * @param urn                      entity urn
+   * @param newValue                 aspect value in {@link RecordTemplate}
+   * @param aspectClass              class of the aspect
+   * @param auditStamp               audit timestamp
+   * @param ingestionTrackingContext the ingestionTrackingContext of the MCE responsible for this update
+   * @param isTestMode               whether the test mode is enabled or not
+   * @return whether the aspect was written, i.e. the entity was absent or soft deleted or the aspect changed
+   */
+  <ASPECT extends RecordTemplate> boolean upsertIfChanged(@Nonnull URN urn, @Nonnull ASPECT newValue,
+      @Nonnull Class<ASPECT> aspectClass, @Nonnull AuditStamp auditStamp,
+      @Nullable IngestionTrackingContext ingestionTrackingContext, boolean isTestMode);
+
   /**
    * Create aspect from entity table.
    *
@@ -109,6 +165,21 @@ public interface IEbeanLocalAccess<URN extends Urn> {
       @Nonnull AuditStamp auditStamp,
       @Nullable IngestionTrackingContext ingestionTrackingContext, boolean isTestMode);
 
+  /**
+   * Batch upsert multiple aspects for multiple URNs using multi-row INSERT ... ON DUPLICATE KEY UPDATE statements, one
+   * per distinct set of aspect columns written. Has the same semantics as calling
+   * {@link #batchUpsert(Urn, List, AuditStamp, IngestionTrackingContext, boolean)} for each URN.
+   *
+   * @param updateContexts           aspect update contexts containing values and lambdas, by entity URN
+   * @param auditStamp               audit stamp for tracking
+   * @param ingestionTrackingContext tracking context for ingestion
+   * @param isTestMode               whether the test mode is enabled or not
+   * @return number of rows affected, as reported by the database
+   */
+  int batchUpsertMany(@Nonnull Map<URN, List<BaseLocalDAO.AspectUpdateContext<RecordTemplate>>> updateContexts,
+      @Nonnull AuditStamp auditStamp,
+      @Nullable IngestionTrackingContext ingestionTrackingContext, boolean isTestMode);
+
   /**
    * Get read aspects from entity table. This a new schema implementation for batchGetUnion() in {@link EbeanLocalDAO}
    * @param keys {@link AspectKey} to retrieve aspect metadata
@@ -181,6 +252,29 @@ public interface IEbeanLocalAccess<URN extends Urn> {
   ListResult<URN> listUrns(@Nullable IndexFilter indexFilter, @Nullable IndexSortCriterion indexSortCriterion,
       int start, int pageSize);
 
+  /**
+   * Scans the urns that satisfy the given filter conditions, ordered lexicographically by their string representation.
+   * The rows are streamed from the entity table, see {@link EntityTableScanCursor}.
+   *
+   * @param indexFilter {@link IndexFilter} containing filter conditions to be applied, or null to scan all the urns
+   * @param fetchSize number of rows fetched from the database at a time
+   * @param segmentSize maximum number of rows read by a single query
+   * @return an iterator over the urns, which must be closed
+   */
+  @Nonnull
+  CloseableIterator<URN> scanUrns(@Nullable IndexFilter indexFilter, int fetchSize, int segmentSize);
+
+  /**
+   * Similar to {@link #scanUrns(IndexFilter, int, int)} but also returns the given aspects of each urn, read from the
+   * same rows. The aspects are decoded lazily, see {@link LazyAspect}.
+   *
+   * @param aspectClasses aspect classes to return
+   * @return an iterator over the urns along with their aspects, which must be closed
+   */
+  @Nonnull
+  CloseableIterator<UrnAspectEntry<URN>> scanAspects(@Nonnull Set<Class<? extends RecordTemplate>> aspectClasses,
+      @Nullable IndexFilter indexFilter, int fetchSize, int segmentSize);
+
   /**
    * Returns a boolean representing if an Urn has any Aspects associated with it (i.e. if it exists in the DB).
    * @param urn {@link Urn} for the entity
@@ -241,6 +335,34 @@ public interface IEbeanLocalAccess<URN extends Urn> {
   <ASPECT extends RecordTemplate> ListResult<ASPECT> list(@Nonnull Class<ASPECT> aspectClass,
      int start, int pageSize);
 
+  /**
+   * Similar to {@link #listUrns(Class, int, int)} but paginates by the last urn of the previous page, in urn order.
+   *
+   * @param aspectClass the type of the aspect to query
+   * @param lastUrn the last urn of the previous page, or null for the first page
+   * @param pageSize the size of the page
+   * @param totalCountMode how the total count is computed
+   * @param <ASPECT> must be a supported aspect type in {@code ASPECT_UNION}.
+   * @return a {@link ListResult} containing a list of URN and other pagination information
+   */
+  @Nonnull
+  <ASPECT extends RecordTemplate> ListResult<URN> listUrns(@Nonnull Class<ASPECT> aspectClass, @Nullable URN lastUrn,
+      int pageSize, @Nonnull ListResult.TotalCountMode totalCountMode);
+
+  /**
+   * Similar to {@link #list(Class, int, int)} but paginates by the last urn of the previous page, in urn order.
+   *
+   * @param aspectClass the type of the aspect to query
+   * @param lastUrn the last urn of the previous page, or null for the first page
+   * @param pageSize the size of the page
+   * @param totalCountMode how the total count is computed
+   * @param <ASPECT> must be a supported aspect type in {@code ASPECT_UNION}.
+   * @return a {@link ListResult} containing a list of aspects and other pagination information
+   */
+  @Nonnull
+  <ASPECT extends RecordTemplate> ListResult<ASPECT> list(@Nonnull Class<ASPECT> aspectClass, @Nullable URN lastUrn,
+      int pageSize, @Nonnull ListResult.TotalCountMode totalCountMode);
+
   /**
    * Ensure table schemas are up-to-date according to db evolution scripts.
    */
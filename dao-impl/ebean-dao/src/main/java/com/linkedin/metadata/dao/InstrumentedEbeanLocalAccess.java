@@ -13,6 +13,7 @@ import com.linkedin.metadata.query.IndexSortCriterion;
 import java.sql.Timestamp;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import javax.annotation.Nonnull;
@@ -93,6 +94,26 @@ public class InstrumentedEbeanLocalAccess<URN extends Urn> implements IEbeanLoca
     _delegate.configureOptionalForceIndex(indexName, requiredCriteria);
   }
 
+  @Override
+  public void setMultiAspectReadsEnabled(boolean multiAspectReadsEnabled) {
+    _delegate.setMultiAspectReadsEnabled(multiAspectReadsEnabled);
+  }
+
+  @Override
+  public void setNegativeResultCache(@Nullable NegativeResultCache negativeResultCache) {
+    _delegate.setNegativeResultCache(negativeResultCache);
+  }
+
+  @Override
+  public void setAggregateCountCache(@Nullable AggregateCountCache aggregateCountCache) {
+    _delegate.setAggregateCountCache(aggregateCountCache);
+  }
+
+  @Override
+  public void setReadReplicaRouter(@Nullable ReadReplicaRouter readReplicaRouter) {
+    _delegate.setReadReplicaRouter(readReplicaRouter);
+  }
+
   @Override
   public <ASPECT extends RecordTemplate> int add(@Nonnull URN urn, @Nullable ASPECT newValue,
       @Nonnull Class<ASPECT> aspectClass, @Nonnull AuditStamp auditStamp,
@@ -112,6 +133,14 @@ public class InstrumentedEbeanLocalAccess<URN extends Urn> implements IEbeanLoca
             oldTimestamp, ingestionTrackingContext, isTestMode, softDeleteOverwrite));
   }
 
+  @Override
+  public <ASPECT extends RecordTemplate> boolean upsertIfChanged(@Nonnull URN urn, @Nonnull ASPECT newValue,
+      @Nonnull Class<ASPECT> aspectClass, @Nonnull AuditStamp auditStamp,
+      @Nullable IngestionTrackingContext ingestionTrackingContext, boolean isTestMode) {
+    return instrument("upsertIfChanged", aspectClass.getSimpleName(), null,
+        () -> _delegate.upsertIfChanged(urn, newValue, aspectClass, auditStamp, ingestionTrackingContext, isTestMode));
+  }
+
   @Override
   public <ASPECT_UNION extends RecordTemplate> int create(@Nonnull URN urn,
       @Nonnull List<? extends RecordTemplate> aspectValues,
@@ -133,6 +162,14 @@ public class InstrumentedEbeanLocalAccess<URN extends Urn> implements IEbeanLoca
             ingestionTrackingContext, isTestMode));
   }
 
+  @Override
+  public int batchUpsertMany(@Nonnull Map<URN, List<BaseLocalDAO.AspectUpdateContext<RecordTemplate>>> updateContexts,
+      @Nonnull AuditStamp auditStamp, @Nullable IngestionTrackingContext ingestionTrackingContext,
+      boolean isTestMode) {
+    return instrument("batchUpsertMany", null, bucketCount(updateContexts.size()),
+        () -> _delegate.batchUpsertMany(updateContexts, auditStamp, ingestionTrackingContext, isTestMode));
+  }
+
   @Nonnull
   @Override
   public <ASPECT extends RecordTemplate> List<EbeanMetadataAspect> batchGetUnion(
@@ -176,6 +213,20 @@ public class InstrumentedEbeanLocalAccess<URN extends Urn> implements IEbeanLoca
         () -> _delegate.listUrns(indexFilter, indexSortCriterion, start, pageSize));
   }
 
+  @Nonnull
+  @Override
+  public CloseableIterator<URN> scanUrns(@Nullable IndexFilter indexFilter, int fetchSize, int segmentSize) {
+    // the rows are read lazily as the iterator is consumed, so there is no latency to measure here
+    return _delegate.scanUrns(indexFilter, fetchSize, segmentSize);
+  }
+
+  @Nonnull
+  @Override
+  public CloseableIterator<UrnAspectEntry<URN>> scanAspects(@Nonnull Set<Class<? extends RecordTemplate>> aspectClasses,
+      @Nullable IndexFilter indexFilter, int fetchSize, int segmentSize) {
+    return _delegate.scanAspects(aspectClasses, indexFilter, fetchSize, segmentSize);
+  }
+
   @Override
   public boolean exists(@Nonnull URN urn) {
     return instrument("exists", null, null, () -> _delegate.exists(urn));
@@ -211,6 +262,21 @@ public class InstrumentedEbeanLocalAccess<URN extends Urn> implements IEbeanLoca
     return instrument("list", null, null, () -> _delegate.list(aspectClass, start, pageSize));
   }
 
+  @Nonnull
+  @Override
+  public <ASPECT extends RecordTemplate> ListResult<URN> listUrns(@Nonnull Class<ASPECT> aspectClass,
+      @Nullable URN lastUrn, int pageSize, @Nonnull ListResult.TotalCountMode totalCountMode) {
+    return instrument("listUrns", null, null,
+        () -> _delegate.listUrns(aspectClass, lastUrn, pageSize, totalCountMode));
+  }
+
+  @Nonnull
+  @Override
+  public <ASPECT extends RecordTemplate> ListResult<ASPECT> list(@Nonnull Class<ASPECT> aspectClass,
+      @Nullable URN lastUrn, int pageSize, @Nonnull ListResult.TotalCountMode totalCountMode) {
+    return instrument("list", null, null, () -> _delegate.list(aspectClass, lastUrn, pageSize, totalCountMode));
+  }
+
   @Override
   public void ensureSchemaUpToDate() {
     // Not instrumented — admin operation
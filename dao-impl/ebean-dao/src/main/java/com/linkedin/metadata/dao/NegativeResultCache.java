@@ -0,0 +1,175 @@
+package com.linkedin.metadata.dao;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.data.template.RecordTemplate;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import javax.annotation.Nonnull;
+
+
+/**
+ * A bounded, time-windowed cache of negative read results of the entity tables: urns that don't exist, and aspects
+ * that an urn doesn't have. See {@link IEbeanLocalAccess#setNegativeResultCache(NegativeResultCache)}.
+ *
+ * <p>Only absence is cached, and every write through the local access removes the urn from the cache, so a cached
+ * entry can only be stale because of writes made elsewhere (another host, or a transaction committed after the read
+ * started). Entries expire after the TTL, which bounds that staleness window.
+ *
+ * <p>To prevent a read that raced with a write from caching a result it loaded before the write, a reader takes a
+ * stamp with {@link #beginRead()} before reading and passes it when recording misses. Misses of urns invalidated after
+ * the stamp was taken are dropped.
+ *
+ * <p>Entries are grouped per urn (matched case-insensitively, same as the reads) and evicted least-recently-used urn
+ * first once there are more than the max number of urns.
+ */
+public class NegativeResultCache {
+
+  // Number of stripes used to track the last invalidation per urn. Collisions only cause extra dropped misses.
+  private static final int INVALIDATION_STRIPES = 64;
+
+  private final int _maxUrns;
+  private final long _ttlMs;
+  private final Clock _clock;
+
+  // Lower-cased urn -> misses of that urn, in least-recently-used order. Guarded by this.
+  private final LinkedHashMap<String, UrnMisses> _misses = new LinkedHashMap<>(16, 0.75f, true);
+  private final long[] _invalidatedAt = new long[INVALIDATION_STRIPES];
+  private long _sequence = 0;
+
+  private static final class UrnMisses {
+    // expiry of "the urn doesn't exist", or 0 if not known
+    long urnMissingUntilMs;
+    // aspect class -> expiry of "the urn doesn't have this aspect"
+    final Map<Class<? extends RecordTemplate>, Long> aspectMissingUntilMs = new HashMap<>();
+  }
+
+  /**
+   * Constructor for NegativeResultCache.
+   *
+   * @param maxUrns max number of urns with cached misses, must be positive
+   * @param ttl how long a miss is cached, must be positive
+   */
+  public NegativeResultCache(int maxUrns, @Nonnull Duration ttl) {
+    this(maxUrns, ttl, Clock.systemUTC());
+  }
+
+  @VisibleForTesting
+  NegativeResultCache(int maxUrns, @Nonnull Duration ttl, @Nonnull Clock clock) {
+    if (maxUrns <= 0) {
+      throw new IllegalArgumentException("Max urns must be positive: " + maxUrns);
+    }
+    if (ttl.isNegative() || ttl.isZero()) {
+      throw new IllegalArgumentException("TTL must be positive: " + ttl);
+    }
+    _maxUrns = maxUrns;
+    _ttlMs = ttl.toMillis();
+    _clock = clock;
+  }
+
+  /**
+   * Returns a stamp to pass when recording the misses of a read started after this call.
+   */
+  public synchronized long beginRead() {
+    return _sequence;
+  }
+
+  /**
+   * Returns true if the urn is known not to exist.
+   */
+  public synchronized boolean isUrnMissing(@Nonnull Urn urn) {
+    final UrnMisses misses = _misses.get(urnKey(urn));
+    return misses != null && misses.urnMissingUntilMs > _clock.millis();
+  }
+
+  /**
+   * Returns true if the urn is known not to have the aspect, either because it doesn't exist or because the aspect
+   * wasn't found.
+   */
+  public synchronized boolean isAspectMissing(@Nonnull Urn urn, @Nonnull Class<? extends RecordTemplate> aspectClass) {
+    final UrnMisses misses = _misses.get(urnKey(urn));
+    if (misses == null) {
+      return false;
+    }
+    final long now = _clock.millis();
+    if (misses.urnMissingUntilMs > now) {
+      return true;
+    }
+    final Long aspectMissingUntilMs = misses.aspectMissingUntilMs.get(aspectClass);
+    return aspectMissingUntilMs != null && aspectMissingUntilMs > now;
+  }
+
+  /**
+   * Records that the urn doesn't exist, unless it has been invalidated since {@code readStamp} was taken.
+   */
+  public synchronized void recordMissingUrn(@Nonnull Urn urn, long readStamp) {
+    final UrnMisses misses = missesToRecord(urn, readStamp);
+    if (misses != null) {
+      misses.urnMissingUntilMs = _clock.millis() + _ttlMs;
+    }
+  }
+
+  /**
+   * Records that the urn doesn't have the aspect, unless the urn has been invalidated since {@code readStamp} was taken.
+   */
+  public synchronized void recordMissingAspect(@Nonnull Urn urn, @Nonnull Class<? extends RecordTemplate> aspectClass,
+      long readStamp) {
+    final UrnMisses misses = missesToRecord(urn, readStamp);
+    if (misses != null) {
+      misses.aspectMissingUntilMs.put(aspectClass, _clock.millis() + _ttlMs);
+    }
+  }
+
+  /**
+   * Forgets all the misses of the urn, to be called whenever the urn or any of its aspects is written.
+   */
+  public synchronized void invalidate(@Nonnull Urn urn) {
+    final String urnKey = urnKey(urn);
+    _invalidatedAt[stripe(urnKey)] = ++_sequence;
+    _misses.remove(urnKey);
+  }
+
+  /**
+   * Returns the number of urns with cached misses, including expired ones not yet dropped.
+   */
+  public synchronized int size() {
+    return _misses.size();
+  }
+
+  private UrnMisses missesToRecord(@Nonnull Urn urn, long readStamp) {
+    final String urnKey = urnKey(urn);
+    if (_invalidatedAt[stripe(urnKey)] > readStamp) {
+      // the urn was written after the read started, so the miss may be stale
+      return null;
+    }
+    UrnMisses misses = _misses.get(urnKey);
+    if (misses == null) {
+      misses = new UrnMisses();
+      _misses.put(urnKey, misses);
+      evictIfNeeded();
+    }
+    return misses;
+  }
+
+  private void evictIfNeeded() {
+    final Iterator<UrnMisses> iterator = _misses.values().iterator();
+    while (_misses.size() > _maxUrns && iterator.hasNext()) {
+      iterator.next();
+      iterator.remove();
+    }
+  }
+
+  @Nonnull
+  private static String urnKey(@Nonnull Urn urn) {
+    return urn.toString().toLowerCase(Locale.ROOT);
+  }
+
+  private static int stripe(@Nonnull String urnKey) {
+    return Math.floorMod(urnKey.hashCode(), INVALIDATION_STRIPES);
+  }
+}
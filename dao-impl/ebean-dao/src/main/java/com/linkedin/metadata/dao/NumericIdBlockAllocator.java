@@ -0,0 +1,77 @@
+package com.linkedin.metadata.dao;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntToLongFunction;
+import javax.annotation.Nonnull;
+
+
+/**
+ * Hands out numeric ids from blocks reserved in the {@code metadata_id} table, see
+ * {@link EbeanLocalDAO#setNumericIdBlockSize(int)}.
+ *
+ * <p>Each namespace has at most one block in use at a time. Ids of the current block are handed out with an atomic
+ * counter, so that concurrent callers don't contend on the database. The thread that finds the block exhausted
+ * reserves the next block, while the other threads of that namespace wait for it.
+ */
+final class NumericIdBlockAllocator {
+
+  private final int _blockSize;
+  // Namespace -> its current block. A namespace's holder is also the monitor guarding the reservation of its next block.
+  private final Map<String, AtomicReference<Block>> _blocks = new ConcurrentHashMap<>();
+
+  /**
+   * A reserved block of ids, handed out by its own counter so that a block is never handed out twice.
+   */
+  private static final class Block {
+    // Next id to hand out, goes past _last once the block is exhausted
+    private final AtomicLong _next;
+    private final long _last;
+
+    private Block(long first, long last) {
+      _next = new AtomicLong(first);
+      _last = last;
+    }
+  }
+
+  /**
+   * Constructor for NumericIdBlockAllocator.
+   *
+   * @param blockSize number of ids reserved at once, must be positive
+   */
+  NumericIdBlockAllocator(int blockSize) {
+    if (blockSize <= 0) {
+      throw new IllegalArgumentException("Block size must be positive: " + blockSize);
+    }
+    _blockSize = blockSize;
+  }
+
+  /**
+   * Returns the next id of a namespace, reserving a new block if the current one is exhausted.
+   *
+   * @param namespace namespace of the id
+   * @param reserve reserves the given number of ids of the namespace in the database, returning the last reserved id
+   * @return the next id of the namespace
+   */
+  long next(@Nonnull String namespace, @Nonnull IntToLongFunction reserve) {
+    // a namespace starts with an empty block, so that its first call reserves a block
+    final AtomicReference<Block> holder =
+        _blocks.computeIfAbsent(namespace, ignored -> new AtomicReference<>(new Block(1, 0)));
+    while (true) {
+      final Block block = holder.get();
+      final long id = block._next.getAndIncrement();
+      if (id <= block._last) {
+        return id;
+      }
+      synchronized (holder) {
+        // another thread may have reserved the next block in the meantime
+        if (holder.get() == block) {
+          final long last = reserve.applyAsLong(_blockSize);
+          holder.set(new Block(last - _blockSize + 1, last));
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,230 @@
+package com.linkedin.metadata.dao;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.linkedin.common.urn.Urn;
+import com.linkedin.metadata.dao.tracking.DaoReadContext;
+import com.linkedin.metadata.dao.utils.EbeanServerUtils;
+import io.ebean.EbeanServer;
+import io.ebean.Transaction;
+import io.ebean.TransactionCallbackAdapter;
+import io.ebean.config.ServerConfig;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import javax.annotation.Nonnull;
+
+
+/**
+ * Routes the reads of the DAOs to a read-only replica {@link EbeanServer}, for reads that can tolerate the replication
+ * lag. See {@link EbeanLocalDAO#setReadReplicaRouter(ReadReplicaRouter)}.
+ *
+ * <p>A read still goes to the primary if any of the following holds:
+ * <ul>
+ *   <li>the current thread is inside a {@link #readFromPrimary()} scope, which is the per-call "primary only" option</li>
+ *   <li>the primary has a transaction in progress on the current thread, as the replica can't see its writes</li>
+ *   <li>the read is the internal read-before-write of a write, see {@link DaoReadContext}</li>
+ *   <li>one of the urns it reads has been written through this router's DAOs within the read-your-writes window</li>
+ * </ul>
+ *
+ * <p>Reads that aren't scoped to a set of urns (e.g. list urns by filter, count aggregate, relationship queries) are
+ * only subject to the first three rules, use {@link #readFromPrimary()} for those that must see recent writes.
+ *
+ * <p>Recent writes are tracked per urn (matched case-insensitively) for up to the max number of tracked urns. When more
+ * urns are written within one window than can be tracked, all urn scoped reads go to the primary until the window of
+ * the forgotten writes has passed, so that read-your-writes is never silently lost.
+ */
+public class ReadReplicaRouter {
+
+  private static final int DEFAULT_MAX_TRACKED_URNS = 100_000;
+  private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+  private final EbeanServer _replicaServer;
+  private final long _readYourWritesWindowMs;
+  private final int _maxTrackedUrns;
+  private final Clock _clock;
+
+  // Lower-cased urn -> time of its last write, oldest write first. Guarded by this.
+  private final LinkedHashMap<String, Long> _recentWrites = new LinkedHashMap<>();
+  // All urn scoped reads go to the primary until then, set when a recent write had to be forgotten. Guarded by this.
+  private long _primaryOnlyUntilMs = 0;
+
+  /**
+   * A "primary only" scope. Closing restores the option to the state it had before {@link #readFromPrimary()}, so
+   * scopes may nest.
+   */
+  public interface Scope extends AutoCloseable {
+    @Override
+    void close();
+  }
+
+  /**
+   * Constructor for ReadReplicaRouter.
+   *
+   * @param replicaServer the {@link EbeanServer} of the read-only replica
+   * @param readYourWritesWindow how long after a write to a urn its reads go to the primary, must not be negative
+   */
+  public ReadReplicaRouter(@Nonnull EbeanServer replicaServer, @Nonnull Duration readYourWritesWindow) {
+    this(replicaServer, readYourWritesWindow, DEFAULT_MAX_TRACKED_URNS, Clock.systemUTC());
+  }
+
+  /**
+   * Constructor for ReadReplicaRouter.
+   *
+   * @param replicaServerConfig the {@link ServerConfig} of the read-only replica, it should not be the default server
+   * @param readYourWritesWindow how long after a write to a urn its reads go to the primary, must not be negative
+   */
+  public ReadReplicaRouter(@Nonnull ServerConfig replicaServerConfig, @Nonnull Duration readYourWritesWindow) {
+    this(EbeanServerUtils.createServer(replicaServerConfig), readYourWritesWindow);
+  }
+
+  @VisibleForTesting
+  ReadReplicaRouter(@Nonnull EbeanServer replicaServer, @Nonnull Duration readYourWritesWindow, int maxTrackedUrns,
+      @Nonnull Clock clock) {
+    if (readYourWritesWindow.isNegative()) {
+      throw new IllegalArgumentException("Read-your-writes window must not be negative: " + readYourWritesWindow);
+    }
+    if (maxTrackedUrns <= 0) {
+      throw new IllegalArgumentException("Max tracked urns must be positive: " + maxTrackedUrns);
+    }
+    _replicaServer = replicaServer;
+    _readYourWritesWindowMs = readYourWritesWindow.toMillis();
+    _maxTrackedUrns = maxTrackedUrns;
+    _clock = clock;
+  }
+
+  /**
+   * Sends all the reads of the current thread to the primary until the returned scope is closed. Callers MUST use
+   * try-with-resources so the option can't leak to a subsequent operation on a pooled thread.
+   *
+   * <pre>{@code
+   * try (ReadReplicaRouter.Scope ignored = ReadReplicaRouter.readFromPrimary()) {
+   *   return dao.get(aspectClass, urn);
+   * }
+   * }</pre>
+   *
+   * @return a scope that restores the previous option when closed
+   */
+  @Nonnull
+  public static Scope readFromPrimary() {
+    final boolean previous = isReadFromPrimary();
+    PRIMARY_ONLY.set(Boolean.TRUE);
+    return () -> {
+      if (previous) {
+        PRIMARY_ONLY.set(Boolean.TRUE);
+      } else {
+        PRIMARY_ONLY.remove();
+      }
+    };
+  }
+
+  /**
+   * Returns whether the current thread is inside a {@link #readFromPrimary()} scope.
+   */
+  public static boolean isReadFromPrimary() {
+    return Boolean.TRUE.equals(PRIMARY_ONLY.get());
+  }
+
+  @Nonnull
+  public EbeanServer getReplicaServer() {
+    return _replicaServer;
+  }
+
+  /**
+   * Returns the server to run a read that isn't scoped to a set of urns on.
+   *
+   * @param primaryServer the primary server
+   */
+  @Nonnull
+  public EbeanServer getReadServer(@Nonnull EbeanServer primaryServer) {
+    return mustReadFromPrimary(primaryServer) ? primaryServer : _replicaServer;
+  }
+
+  /**
+   * Returns the server to run a read of the given urns on.
+   *
+   * @param primaryServer the primary server
+   * @param urns the urns to read
+   */
+  @Nonnull
+  public EbeanServer getReadServer(@Nonnull EbeanServer primaryServer, @Nonnull Collection<? extends Urn> urns) {
+    if (mustReadFromPrimary(primaryServer) || isAnyRecentlyWritten(urns)) {
+      return primaryServer;
+    }
+    return _replicaServer;
+  }
+
+  /**
+   * Records a write to the urn, so that its reads go to the primary for the read-your-writes window. If the write is
+   * part of a transaction of the primary, the window starts again once it commits.
+   *
+   * @param primaryServer the primary server the write was made on
+   * @param urn the urn written
+   */
+  public void recordWrite(@Nonnull EbeanServer primaryServer, @Nonnull Urn urn) {
+    if (_readYourWritesWindowMs == 0) {
+      return;
+    }
+    recordWrite(urn);
+    final Transaction transaction = primaryServer.currentTransaction();
+    if (transaction != null) {
+      transaction.register(new TransactionCallbackAdapter() {
+        @Override
+        public void postCommit() {
+          recordWrite(urn);
+        }
+      });
+    }
+  }
+
+  private boolean mustReadFromPrimary(@Nonnull EbeanServer primaryServer) {
+    return isReadFromPrimary() || primaryServer.currentTransaction() != null || DaoReadContext.isInternalRead();
+  }
+
+  private synchronized void recordWrite(@Nonnull Urn urn) {
+    final long now = _clock.millis();
+    final String urnKey = urnKey(urn);
+    // re-insert to move the urn to the end, keeping the oldest write first
+    _recentWrites.remove(urnKey);
+    _recentWrites.put(urnKey, now);
+
+    final Iterator<Map.Entry<String, Long>> iterator = _recentWrites.entrySet().iterator();
+    while (iterator.hasNext()) {
+      final Map.Entry<String, Long> oldest = iterator.next();
+      final long windowEndMs = oldest.getValue() + _readYourWritesWindowMs;
+      if (windowEndMs <= now) {
+        iterator.remove();
+      } else if (_recentWrites.size() > _maxTrackedUrns) {
+        _primaryOnlyUntilMs = Math.max(_primaryOnlyUntilMs, windowEndMs);
+        iterator.remove();
+      } else {
+        break;
+      }
+    }
+  }
+
+  private synchronized boolean isAnyRecentlyWritten(@Nonnull Collection<? extends Urn> urns) {
+    if (_recentWrites.isEmpty() && _primaryOnlyUntilMs == 0) {
+      return false;
+    }
+    final long now = _clock.millis();
+    if (_primaryOnlyUntilMs > now) {
+      return true;
+    }
+    for (Urn urn : urns) {
+      final Long writtenAtMs = _recentWrites.get(urnKey(urn));
+      if (writtenAtMs != null && writtenAtMs + _readYourWritesWindowMs > now) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Nonnull
+  private static String urnKey(@Nonnull Urn urn) {
+    return urn.toString().toLowerCase(Locale.ROOT);
+  }
+}
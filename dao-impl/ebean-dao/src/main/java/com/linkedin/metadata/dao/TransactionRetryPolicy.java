@@ -0,0 +1,99 @@
+package com.linkedin.metadata.dao;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import lombok.Getter;
+
+
+/**
+ * How a DAO waits between the attempts of a transaction that failed on a conflict, e.g. an optimistic lock failure or
+ * a duplicate key, see {@link EbeanLocalDAO#setTransactionRetryPolicy(TransactionRetryPolicy)} and
+ * {@link EbeanLocalRelationshipWriterDAO#setTransactionRetryPolicy(TransactionRetryPolicy)}.
+ *
+ * <p>The n-th retry waits {@code min(initialBackoffMs * 2^(n - 1), maxBackoffMs)}, less a random share of up to
+ * {@code jitter} of it, so that writers that conflicted on the same key don't all retry at the same time again. No
+ * retry is attempted once the time spent since the first failure, plus the next wait, would exceed the retry budget.
+ */
+@Getter
+public final class TransactionRetryPolicy {
+
+  /**
+   * Retries right away, within the max number of retries only.
+   */
+  public static final TransactionRetryPolicy NO_BACKOFF = new TransactionRetryPolicy(0, 0, 0, Long.MAX_VALUE);
+
+  private final long initialBackoffMs;
+  private final long maxBackoffMs;
+  private final double jitter;
+  private final long retryBudgetMs;
+
+  private TransactionRetryPolicy(long initialBackoffMs, long maxBackoffMs, double jitter, long retryBudgetMs) {
+    this.initialBackoffMs = initialBackoffMs;
+    this.maxBackoffMs = maxBackoffMs;
+    this.jitter = jitter;
+    this.retryBudgetMs = retryBudgetMs;
+  }
+
+  /**
+   * Creates a policy with exponential backoff.
+   *
+   * @param initialBackoffMs wait before the first retry, must be positive
+   * @param maxBackoffMs max wait before a retry, must be at least {@code initialBackoffMs}
+   * @param jitter share of each wait that is randomized, between 0 and 1
+   * @param retryBudgetMs max time in milliseconds spent retrying a transaction, must be positive
+   */
+  public static TransactionRetryPolicy exponentialBackoff(long initialBackoffMs, long maxBackoffMs, double jitter,
+      long retryBudgetMs) {
+    if (initialBackoffMs <= 0) {
+      throw new IllegalArgumentException("Initial backoff must be positive: " + initialBackoffMs);
+    }
+    if (maxBackoffMs < initialBackoffMs) {
+      throw new IllegalArgumentException("Max backoff must be at least the initial backoff: " + maxBackoffMs);
+    }
+    if (!(jitter >= 0 && jitter <= 1)) {
+      throw new IllegalArgumentException("Jitter must be between 0 and 1: " + jitter);
+    }
+    if (retryBudgetMs <= 0) {
+      throw new IllegalArgumentException("Retry budget must be positive: " + retryBudgetMs);
+    }
+    return new TransactionRetryPolicy(initialBackoffMs, maxBackoffMs, jitter, retryBudgetMs);
+  }
+
+  /**
+   * Returns the wait before a retry, without jitter.
+   *
+   * @param retry number of the retry, starting at 1
+   */
+  long getBackoffMs(int retry) {
+    if (initialBackoffMs == 0) {
+      return 0;
+    }
+    // shift counts wrap around at 64, and the backoff is capped long before
+    final int shift = Math.min(retry - 1, 62);
+    return initialBackoffMs > maxBackoffMs >> shift ? maxBackoffMs : initialBackoffMs << shift;
+  }
+
+  /**
+   * Waits before a retry, unless it would exceed the retry budget.
+   *
+   * @param retry number of the retry, starting at 1
+   * @param elapsedMs time in milliseconds spent since the first failure of the transaction
+   * @return the time in milliseconds waited, or -1 if the retry must not be attempted
+   */
+  long awaitRetry(int retry, long elapsedMs) {
+    final long backoffMs = getBackoffMs(retry);
+    final long waitMs = backoffMs - (long) (backoffMs * jitter * ThreadLocalRandom.current().nextDouble());
+    if (elapsedMs + waitMs > retryBudgetMs) {
+      return -1;
+    }
+    if (waitMs > 0) {
+      try {
+        TimeUnit.MILLISECONDS.sleep(waitMs);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return -1;
+      }
+    }
+    return waitMs;
+  }
+}
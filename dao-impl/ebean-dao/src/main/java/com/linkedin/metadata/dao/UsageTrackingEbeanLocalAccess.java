@@ -18,6 +18,7 @@ import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Supplier;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -86,6 +87,26 @@ public class UsageTrackingEbeanLocalAccess<URN extends Urn> implements IEbeanLoc
     _delegate.configureOptionalForceIndex(indexName, requiredCriteria);
   }
 
+  @Override
+  public void setMultiAspectReadsEnabled(boolean multiAspectReadsEnabled) {
+    _delegate.setMultiAspectReadsEnabled(multiAspectReadsEnabled);
+  }
+
+  @Override
+  public void setNegativeResultCache(@Nullable NegativeResultCache negativeResultCache) {
+    _delegate.setNegativeResultCache(negativeResultCache);
+  }
+
+  @Override
+  public void setAggregateCountCache(@Nullable AggregateCountCache aggregateCountCache) {
+    _delegate.setAggregateCountCache(aggregateCountCache);
+  }
+
+  @Override
+  public void setReadReplicaRouter(@Nullable ReadReplicaRouter readReplicaRouter) {
+    _delegate.setReadReplicaRouter(readReplicaRouter);
+  }
+
   @Override
   public Map<URN, EntityDeletionInfo> readDeletionInfoBatch(@Nonnull List<URN> urns,
       boolean isTestMode) {
@@ -110,6 +131,20 @@ public class UsageTrackingEbeanLocalAccess<URN extends Urn> implements IEbeanLoc
     return _delegate.listUrns(indexFilter, indexSortCriterion, start, pageSize);
   }
 
+  @Nonnull
+  @Override
+  public CloseableIterator<URN> scanUrns(@Nullable IndexFilter indexFilter, int fetchSize, int segmentSize) {
+    return _delegate.scanUrns(indexFilter, fetchSize, segmentSize);
+  }
+
+  @Nonnull
+  @Override
+  public CloseableIterator<UrnAspectEntry<URN>> scanAspects(@Nonnull Set<Class<? extends RecordTemplate>> aspectClasses,
+      @Nullable IndexFilter indexFilter, int fetchSize, int segmentSize) {
+    // Global cross-URN scan -- no single-entity target, not captured as usage.
+    return _delegate.scanAspects(aspectClasses, indexFilter, fetchSize, segmentSize);
+  }
+
   @Override
   public boolean exists(@Nonnull URN urn) {
     return _delegate.exists(urn);
@@ -137,6 +172,21 @@ public class UsageTrackingEbeanLocalAccess<URN extends Urn> implements IEbeanLoc
     return _delegate.list(aspectClass, start, pageSize);
   }
 
+  @Nonnull
+  @Override
+  public <ASPECT extends RecordTemplate> ListResult<URN> listUrns(@Nonnull Class<ASPECT> aspectClass,
+      @Nullable URN lastUrn, int pageSize, @Nonnull ListResult.TotalCountMode totalCountMode) {
+    return _delegate.listUrns(aspectClass, lastUrn, pageSize, totalCountMode);
+  }
+
+  @Nonnull
+  @Override
+  public <ASPECT extends RecordTemplate> ListResult<ASPECT> list(@Nonnull Class<ASPECT> aspectClass,
+      @Nullable URN lastUrn, int pageSize, @Nonnull ListResult.TotalCountMode totalCountMode) {
+    // Global cross-URN scan -- no single-entity target, not captured as usage.
+    return _delegate.list(aspectClass, lastUrn, pageSize, totalCountMode);
+  }
+
   @Override
   public void ensureSchemaUpToDate() {
     _delegate.ensureSchemaUpToDate();
@@ -203,6 +253,19 @@ public class UsageTrackingEbeanLocalAccess<URN extends Urn> implements IEbeanLoc
     return result;
   }
 
+  @Override
+  public <ASPECT extends RecordTemplate> boolean upsertIfChanged(@Nonnull URN urn, @Nonnull ASPECT newValue,
+      @Nonnull Class<ASPECT> aspectClass, @Nonnull AuditStamp auditStamp,
+      @Nullable IngestionTrackingContext ingestionTrackingContext, boolean isTestMode) {
+    final boolean written =
+        _delegate.upsertIfChanged(urn, newValue, aspectClass, auditStamp, ingestionTrackingContext, isTestMode);
+    if (written && emissionEnabled() && !isTestMode && !isBackfill(ingestionTrackingContext)) {
+      emitWriteOnCommit(OP_WRITE, "upsertIfChanged", auditStamp, urn::getEntityType,
+          () -> singleTarget(urn, aspectClass.getSimpleName()));
+    }
+    return written;
+  }
+
   @Override
   public <ASPECT_UNION extends RecordTemplate> int create(@Nonnull URN urn,
       @Nonnull List<? extends RecordTemplate> aspectValues,
@@ -232,6 +295,20 @@ public class UsageTrackingEbeanLocalAccess<URN extends Urn> implements IEbeanLoc
     return result;
   }
 
+  @Override
+  public int batchUpsertMany(@Nonnull Map<URN, List<BaseLocalDAO.AspectUpdateContext<RecordTemplate>>> updateContexts,
+      @Nonnull AuditStamp auditStamp, @Nullable IngestionTrackingContext ingestionTrackingContext,
+      boolean isTestMode) {
+    final int result =
+        _delegate.batchUpsertMany(updateContexts, auditStamp, ingestionTrackingContext, isTestMode);
+    if (result > 0 && emissionEnabled() && !isTestMode && !isBackfill(ingestionTrackingContext)) {
+      emitWriteOnCommit(OP_WRITE, "batchUpsertMany", auditStamp,
+          () -> updateContexts.keySet().iterator().next().getEntityType(),
+          () -> targetsFromContexts(updateContexts));
+    }
+    return result;
+  }
+
   @Override
   public int softDeleteAsset(@Nonnull URN urn, boolean isTestMode) {
     final int result = _delegate.softDeleteAsset(urn, isTestMode);
@@ -401,6 +478,15 @@ public class UsageTrackingEbeanLocalAccess<URN extends Urn> implements IEbeanLoc
     return names;
   }
 
+  @Nonnull
+  private static <URN extends Urn> List<DaoUsageTarget> targetsFromContexts(
+      @Nonnull Map<URN, List<BaseLocalDAO.AspectUpdateContext<RecordTemplate>>> updateContexts) {
+    final List<DaoUsageTarget> targets = new ArrayList<>(updateContexts.size());
+    updateContexts.forEach(
+        (urn, contexts) -> targets.add(new DaoUsageTarget(urn.toString(), aspectNamesFromContexts(contexts))));
+    return targets;
+  }
+
   /**
    * Groups the read keys by URN, collecting the aspect simple names per URN so a multi-URN
    * {@code batchGetUnion} produces one {@link DaoUsageTarget} per distinct URN.
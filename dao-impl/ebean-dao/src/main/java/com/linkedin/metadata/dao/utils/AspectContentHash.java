@@ -0,0 +1,103 @@
+package com.linkedin.metadata.dao.utils;
+
+import com.linkedin.data.ByteString;
+import com.linkedin.data.DataList;
+import com.linkedin.data.DataMap;
+import com.linkedin.data.template.RecordTemplate;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import javax.annotation.Nonnull;
+
+
+/**
+ * Hash of the content of an aspect, stored next to the aspect by the conditional upserts so that an unchanged aspect
+ * can be detected by the database without reading and deserializing the stored value.
+ *
+ * <p>The hash is computed over a canonical encoding of the aspect {@link DataMap}, with map keys sorted and numbers
+ * widened, so that two aspects with equal data have the same hash regardless of the order their fields were set in,
+ * which the JSON serialization doesn't guarantee.
+ */
+public final class AspectContentHash {
+
+  private static final String ALGORITHM = "SHA-256";
+
+  private AspectContentHash() {
+  }
+
+  /**
+   * Computes the content hash of an aspect.
+   *
+   * @param aspect the aspect value
+   * @return the base64 encoded SHA-256 digest of the canonical encoding of the aspect
+   */
+  @Nonnull
+  public static String compute(@Nonnull RecordTemplate aspect) {
+    final MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance(ALGORITHM);
+    } catch (NoSuchAlgorithmException e) {
+      // every Java platform implements SHA-256
+      throw new IllegalStateException(e);
+    }
+    try (DataOutputStream out = new DataOutputStream(new DigestOutputStream(OutputStream.nullOutputStream(), digest))) {
+      write(out, aspect.data());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return Base64.getEncoder().withoutPadding().encodeToString(digest.digest());
+  }
+
+  private static void write(@Nonnull DataOutputStream out, @Nonnull Object value) throws IOException {
+    if (value instanceof DataMap) {
+      final DataMap map = (DataMap) value;
+      final List<String> keys = new ArrayList<>(map.keySet());
+      Collections.sort(keys);
+      out.writeByte('M');
+      out.writeInt(keys.size());
+      for (String key : keys) {
+        writeBytes(out, key.getBytes(StandardCharsets.UTF_8));
+        write(out, map.get(key));
+      }
+    } else if (value instanceof DataList) {
+      final DataList list = (DataList) value;
+      out.writeByte('L');
+      out.writeInt(list.size());
+      for (Object element : list) {
+        write(out, element);
+      }
+    } else if (value instanceof String) {
+      out.writeByte('S');
+      writeBytes(out, ((String) value).getBytes(StandardCharsets.UTF_8));
+    } else if (value instanceof Integer || value instanceof Long) {
+      out.writeByte('J');
+      out.writeLong(((Number) value).longValue());
+    } else if (value instanceof Float || value instanceof Double) {
+      out.writeByte('D');
+      out.writeDouble(((Number) value).doubleValue());
+    } else if (value instanceof Boolean) {
+      out.writeByte('Z');
+      out.writeBoolean((Boolean) value);
+    } else if (value instanceof ByteString) {
+      out.writeByte('B');
+      writeBytes(out, ((ByteString) value).copyBytes());
+    } else {
+      // Data.NULL
+      out.writeByte('N');
+    }
+  }
+
+  private static void writeBytes(@Nonnull DataOutputStream out, @Nonnull byte[] bytes) throws IOException {
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+}
@@ -0,0 +1,318 @@
+package com.linkedin.metadata.dao.utils;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+
+/**
+ * The envelope of an entity table aspect column, decoded in a single pass over the column value.
+ *
+ * <p>An aspect column holds either an {@link com.linkedin.metadata.aspect.AuditedAspect} or, once the aspect has been
+ * soft deleted, a {@link com.linkedin.metadata.aspect.SoftDeletedAspect}. Building either record (and re-serializing
+ * the nested aspect) means parsing the whole value into a {@link com.linkedin.data.DataMap} first, which is wasted
+ * work on the read path: all the reader needs are a few top level audit fields and the aspect JSON itself. This
+ * scanner walks the top level object once, keeps the fields it knows about and returns the nested aspect as a slice
+ * of the original string, without materializing anything else.
+ */
+@Getter
+final class AuditedAspectEnvelope {
+
+  private static final String ASPECT = "aspect";
+  private static final String CANONICAL_NAME = "canonicalName";
+  private static final String LAST_MODIFIED_ON = "lastmodifiedon";
+  private static final String LAST_MODIFIED_BY = "lastmodifiedby";
+  private static final String CREATED_FOR = "createdfor";
+  private static final String EMIT_TIME = "emitTime";
+  private static final String EMITTER = "emitter";
+  private static final String GMA_DELETED = "gma_deleted";
+  private static final String DELETED_TIMESTAMP = "deleted_timestamp";
+  private static final String DELETED_BY = "deleted_by";
+
+  /**
+   * The aspect JSON, exactly as stored, or null if the envelope has no aspect (e.g. soft deleted).
+   */
+  private String aspect;
+  private String canonicalName;
+  private String lastmodifiedon;
+  private String lastmodifiedby;
+  private String createdfor;
+  private Long emitTime;
+  private String emitter;
+  private boolean gmaDeleted;
+  private Long deletedTimestamp;
+  private String deletedBy;
+
+  // Scanner state
+  @Getter(AccessLevel.NONE)
+  private final String _json;
+  @Getter(AccessLevel.NONE)
+  private int _pos;
+
+  private AuditedAspectEnvelope(@Nonnull String json) {
+    _json = json;
+  }
+
+  /**
+   * Decodes the envelope stored in an aspect column.
+   *
+   * @param json value of the aspect column
+   * @return the decoded envelope
+   * @throws IllegalArgumentException if the value isn't a JSON object
+   */
+  @Nonnull
+  static AuditedAspectEnvelope parse(@Nonnull String json) {
+    final AuditedAspectEnvelope envelope = new AuditedAspectEnvelope(json);
+    envelope.readObject();
+    return envelope;
+  }
+
+  private void readObject() {
+    skipWhitespace();
+    expect('{');
+    skipWhitespace();
+    if (peek() == '}') {
+      _pos++;
+      return;
+    }
+    while (true) {
+      skipWhitespace();
+      final String field = readString();
+      skipWhitespace();
+      expect(':');
+      skipWhitespace();
+      readField(field);
+      skipWhitespace();
+      final char next = next();
+      if (next == '}') {
+        return;
+      }
+      if (next != ',') {
+        throw error("Expected ',' or '}'");
+      }
+    }
+  }
+
+  private void readField(@Nonnull String field) {
+    switch (field) {
+      case ASPECT:
+        aspect = readRawValue();
+        break;
+      case CANONICAL_NAME:
+        canonicalName = readNullableString();
+        break;
+      case LAST_MODIFIED_ON:
+        lastmodifiedon = readNullableString();
+        break;
+      case LAST_MODIFIED_BY:
+        lastmodifiedby = readNullableString();
+        break;
+      case CREATED_FOR:
+        createdfor = readNullableString();
+        break;
+      case EMIT_TIME:
+        emitTime = readNullableLong();
+        break;
+      case EMITTER:
+        emitter = readNullableString();
+        break;
+      case GMA_DELETED:
+        gmaDeleted = Boolean.parseBoolean(readLiteral());
+        break;
+      case DELETED_TIMESTAMP:
+        deletedTimestamp = readNullableLong();
+        break;
+      case DELETED_BY:
+        deletedBy = readNullableString();
+        break;
+      default:
+        skipValue();
+    }
+  }
+
+  // Nested objects and arrays are returned verbatim, strings unescaped (same as org.json.simple would hand them back)
+  @Nullable
+  private String readRawValue() {
+    final char c = peek();
+    if (c == '"') {
+      return readString();
+    }
+    final int start = _pos;
+    skipValue();
+    final String raw = _json.substring(start, _pos);
+    return "null".equals(raw) ? null : raw;
+  }
+
+  @Nullable
+  private String readNullableString() {
+    if (peek() == '"') {
+      return readString();
+    }
+    final String literal = readLiteral();
+    if ("null".equals(literal)) {
+      return null;
+    }
+    throw error("Expected a string");
+  }
+
+  @Nullable
+  private Long readNullableLong() {
+    final String literal = readLiteral();
+    if ("null".equals(literal)) {
+      return null;
+    }
+    try {
+      return Long.parseLong(literal);
+    } catch (NumberFormatException e) {
+      throw error("Expected a long");
+    }
+  }
+
+  // Reads a number, true, false or null
+  @Nonnull
+  private String readLiteral() {
+    final int start = _pos;
+    while (_pos < _json.length()) {
+      final char c = _json.charAt(_pos);
+      if (c == ',' || c == '}' || c == ']' || Character.isWhitespace(c)) {
+        break;
+      }
+      _pos++;
+    }
+    if (start == _pos) {
+      throw error("Expected a value");
+    }
+    return _json.substring(start, _pos);
+  }
+
+  @Nonnull
+  private String readString() {
+    expect('"');
+    final int start = _pos;
+    StringBuilder unescaped = null;
+    int chunkStart = start;
+    while (true) {
+      final char c = next();
+      if (c == '"') {
+        if (unescaped == null) {
+          return _json.substring(start, _pos - 1);
+        }
+        return unescaped.append(_json, chunkStart, _pos - 1).toString();
+      }
+      if (c == '\\') {
+        if (unescaped == null) {
+          unescaped = new StringBuilder();
+        }
+        unescaped.append(_json, chunkStart, _pos - 1).append(readEscape());
+        chunkStart = _pos;
+      }
+    }
+  }
+
+  private char readEscape() {
+    final char c = next();
+    switch (c) {
+      case '"':
+      case '\\':
+      case '/':
+        return c;
+      case 'b':
+        return '\b';
+      case 'f':
+        return '\f';
+      case 'n':
+        return '\n';
+      case 'r':
+        return '\r';
+      case 't':
+        return '\t';
+      case 'u':
+        if (_pos + 4 > _json.length()) {
+          throw error("Truncated unicode escape");
+        }
+        try {
+          final char unicode = (char) Integer.parseInt(_json.substring(_pos, _pos + 4), 16);
+          _pos += 4;
+          return unicode;
+        } catch (NumberFormatException e) {
+          throw error("Invalid unicode escape");
+        }
+      default:
+        throw error("Invalid escape");
+    }
+  }
+
+  private void skipValue() {
+    final char c = peek();
+    if (c == '"') {
+      skipString();
+    } else if (c == '{' || c == '[') {
+      skipContainer();
+    } else {
+      readLiteral();
+    }
+  }
+
+  private void skipString() {
+    expect('"');
+    while (true) {
+      final char c = next();
+      if (c == '"') {
+        return;
+      }
+      if (c == '\\') {
+        next();
+      }
+    }
+  }
+
+  // Skips a nested object or array, only tracking the nesting depth and strings (which may contain brackets)
+  private void skipContainer() {
+    int depth = 0;
+    do {
+      final char c = peek();
+      if (c == '"') {
+        skipString();
+        continue;
+      }
+      if (c == '{' || c == '[') {
+        depth++;
+      } else if (c == '}' || c == ']') {
+        depth--;
+      }
+      _pos++;
+    } while (depth > 0);
+  }
+
+  private void skipWhitespace() {
+    while (_pos < _json.length() && Character.isWhitespace(_json.charAt(_pos))) {
+      _pos++;
+    }
+  }
+
+  private void expect(char expected) {
+    if (next() != expected) {
+      throw error("Expected '" + expected + "'");
+    }
+  }
+
+  private char peek() {
+    if (_pos >= _json.length()) {
+      throw error("Unexpected end of input");
+    }
+    return _json.charAt(_pos);
+  }
+
+  private char next() {
+    final char c = peek();
+    _pos++;
+    return c;
+  }
+
+  @Nonnull
+  private IllegalArgumentException error(@Nonnull String message) {
+    return new IllegalArgumentException(
+        String.format("Failed to parse aspect envelope at position %d: %s. Value: %s", _pos, message, _json));
+  }
+}
@@ -17,6 +17,8 @@ import com.linkedin.metadata.dao.EntityDeletionInfo;
 import com.linkedin.metadata.dao.ListResult;
 import com.linkedin.metadata.query.AspectField;
 import com.linkedin.metadata.query.Condition;
+import com.linkedin.metadata.query.ExtraInfoArray;
+import com.linkedin.metadata.query.ListResultMetadata;
 import com.linkedin.metadata.query.LocalRelationshipCriterion;
 import com.linkedin.metadata.query.LocalRelationshipValue;
 import com.linkedin.metadata.query.RelationshipField;
@@ -27,7 +29,6 @@ import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.net.URISyntaxException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -79,6 +80,8 @@ public class EBeanDAOUtils {
    */
   @Deprecated
   public static final String DELETED_VALUE = RecordUtils.toJsonString(DELETED_METADATA);
+  // Field every soft-delete marker has, in both the legacy and enriched formats
+  private static final String SOFT_DELETED_FIELD = "gma_deleted";
 
   /**
    * Build an enriched soft-delete marker JSON with deletion audit metadata.
@@ -98,7 +101,8 @@ public class EBeanDAOUtils {
    * Handles both legacy format {"gma_deleted":true} and enriched format with extra fields.
    */
   public static boolean isSoftDeletedMetadata(@Nullable String metadata) {
-    if (metadata == null) {
+    // skip parsing the metadata when it can't be a soft deleted marker, which is the case of almost all aspects read
+    if (metadata == null || !metadata.contains(SOFT_DELETED_FIELD)) {
       return false;
     }
     try {
@@ -168,6 +172,40 @@ public class EBeanDAOUtils {
     return -Math.floorDiv(-x, y);
   }
 
+  /**
+   * Build the {@link ListResult} of a page paginated by last urn. The next page starts after the urn of the last value,
+   * so the next start is always {@link ListResult#INVALID_NEXT_START}.
+   * @param values values of the page, with one more value than the page size if there's a next page
+   * @param listResultMetadata {@link ListResultMetadata} of the values, with one {@link com.linkedin.metadata.query.ExtraInfo}
+   *                           per value, or null
+   * @param totalCount total count of the values, or {@link ListResult#UNKNOWN_TOTAL_COUNT}
+   * @param pageSize size of the page
+   * @param <T> type of the values
+   * @return {@link ListResult} of at most page size values
+   */
+  @Nonnull
+  public static <T> ListResult<T> toListResultAfterUrn(@Nonnull List<T> values,
+      @Nullable ListResultMetadata listResultMetadata, int totalCount, int pageSize) {
+    final boolean havingMore = values.size() > pageSize;
+    if (havingMore) {
+      values = values.subList(0, pageSize);
+      if (listResultMetadata != null) {
+        listResultMetadata = new ListResultMetadata().setExtraInfos(
+            new ExtraInfoArray(listResultMetadata.getExtraInfos().subList(0, pageSize)));
+      }
+    }
+    return ListResult.<T>builder()
+        .values(values)
+        .metadata(listResultMetadata)
+        .nextStart(ListResult.INVALID_NEXT_START)
+        .havingMore(havingMore)
+        .totalCount(totalCount)
+        .totalPageCount(totalCount == ListResult.UNKNOWN_TOTAL_COUNT ? ListResult.UNKNOWN_TOTAL_COUNT
+            : ceilDiv(totalCount, pageSize))
+        .pageSize(pageSize)
+        .build();
+  }
+
   /**
    * Compare lists, which should be results from reading the old and new schema tables. If different, log an error and
    * return false. Otherwise, return true.
@@ -372,38 +410,78 @@ public class EBeanDAOUtils {
    */
   private static <ASPECT extends RecordTemplate> EbeanMetadataAspect readSqlRow(SqlRow sqlRow,
       Class<ASPECT> aspectClass) {
+    final String urn = sqlRow.getString("urn");
+    final String columnName = SQLSchemaUtils.getAspectColumnName(getEntityType(urn), aspectClass);
+    final String columnValue = sqlRow.getString(columnName);
+    // Decode the column once: the envelope tells both whether the aspect is soft deleted and its audit fields.
+    return readSqlRow(sqlRow, aspectClass, urn, columnName, columnValue, AuditedAspectEnvelope.parse(columnValue));
+  }
 
-    final EbeanMetadataAspect ebeanMetadataAspect = new EbeanMetadataAspect();
+  /**
+   * Read the EbeanMetadataAspect of one aspect column from a {@link SqlRow} holding several aspect columns of an entity
+   * table, e.g. the result of {@link SQLStatementUtils#createParameterizedMultiAspectReadSql}.
+   * @param sqlRow {@link SqlRow}
+   * @param aspectClass aspect class of the column to read
+   * @param includeSoftDeleted whether to return soft deleted aspects, or skip them
+   * @param <ASPECT> aspect type
+   * @return {@link EbeanMetadataAspect}, or null if the column is null or (when not included) soft deleted
+   */
+  @Nullable
+  public static <ASPECT extends RecordTemplate> EbeanMetadataAspect readAspectColumn(@Nonnull SqlRow sqlRow,
+      @Nonnull Class<ASPECT> aspectClass, boolean includeSoftDeleted) {
     final String urn = sqlRow.getString("urn");
-    EbeanMetadataAspect.PrimaryKey primaryKey;
-    final String columnName;
-    try {
-      columnName = SQLSchemaUtils.getAspectColumnName(Urn.createFromString(urn).getEntityType(), aspectClass);
-    } catch (URISyntaxException e) {
-      throw new RuntimeException("Invalid urn format: " + urn, e);
+    final String columnName = SQLSchemaUtils.getAspectColumnName(getEntityType(urn), aspectClass);
+    final String columnValue = sqlRow.getString(columnName);
+    if (columnValue == null) {
+      return null;
     }
+    final AuditedAspectEnvelope envelope = AuditedAspectEnvelope.parse(columnValue);
+    if (!includeSoftDeleted && envelope.isGmaDeleted()) {
+      return null;
+    }
+    return readSqlRow(sqlRow, aspectClass, urn, columnName, columnValue, envelope);
+  }
+
+  /**
+   * Extract the aspect JSON of an entity table aspect column, decoding the column in a single pass.
+   * @param columnValue value of the aspect column, or null
+   * @return the aspect JSON, or null if the column is null or the aspect soft deleted
+   */
+  @Nullable
+  public static String readAspectJson(@Nullable String columnValue) {
+    if (columnValue == null) {
+      return null;
+    }
+    final AuditedAspectEnvelope envelope = AuditedAspectEnvelope.parse(columnValue);
+    return envelope.isGmaDeleted() ? null : envelope.getAspect();
+  }
+
+  private static <ASPECT extends RecordTemplate> EbeanMetadataAspect readSqlRow(@Nonnull SqlRow sqlRow,
+      @Nonnull Class<ASPECT> aspectClass, @Nonnull String urn, @Nonnull String columnName, @Nonnull String columnValue,
+      @Nonnull AuditedAspectEnvelope envelope) {
+    final EbeanMetadataAspect ebeanMetadataAspect = new EbeanMetadataAspect();
+    EbeanMetadataAspect.PrimaryKey primaryKey;
     // Check for asset-level deletion: deleted_ts is non-null means the entire entity was deleted
     // via softDeleteAsset(). deleted_ts is only in the SELECT when includeSoftDeleted=true.
     final Timestamp assetDeletedTs = sqlRow.keySet().contains("deleted_ts") ? sqlRow.getTimestamp("deleted_ts") : null;
     final boolean isAssetLevelDeleted = assetDeletedTs != null;
 
-    if (isSoftDeletedAspect(sqlRow, columnName)) {
+    if (envelope.isGmaDeleted()) {
       primaryKey = new EbeanMetadataAspect.PrimaryKey(urn, aspectClass.getCanonicalName(), LATEST_VERSION);
 
-      // Try to extract per-aspect deletion timestamp from the enriched soft-delete JSON.
+      // Use the per-aspect deletion timestamp of the enriched soft-delete JSON.
       // Fall back to entity-level lastmodifiedon for legacy rows that only have {"gma_deleted":true}.
-      SoftDeletedAspect softDeletedAspect = RecordUtils.toRecordTemplate(SoftDeletedAspect.class, sqlRow.getString(columnName));
-      Timestamp deletionTimestamp = softDeletedAspect.hasDeleted_timestamp()
-          ? new Timestamp(softDeletedAspect.getDeleted_timestamp())
+      Timestamp deletionTimestamp = envelope.getDeletedTimestamp() != null
+          ? new Timestamp(envelope.getDeletedTimestamp())
           : timeStampStringToTimeStamp(sqlRow.getString("lastmodifiedon"));
-      String deletedBy = softDeletedAspect.hasDeleted_by()
-          ? softDeletedAspect.getDeleted_by()
+      String deletedBy = envelope.getDeletedBy() != null
+          ? envelope.getDeletedBy()
           : sqlRow.getString("lastmodifiedby");
 
       ebeanMetadataAspect.setCreatedBy(deletedBy);
       ebeanMetadataAspect.setCreatedOn(deletionTimestamp);
       ebeanMetadataAspect.setCreatedFor(sqlRow.getString("createdfor"));
-      ebeanMetadataAspect.setMetadata(sqlRow.getString(columnName));
+      ebeanMetadataAspect.setMetadata(columnValue);
     } else if (isAssetLevelDeleted) {
       // Asset-level deletion: aspect column still has its value but entity row has deleted_ts set.
       // Mark as soft-deleted using deleted_ts as the deletion timestamp.
@@ -413,21 +491,40 @@ public class EBeanDAOUtils {
       ebeanMetadataAspect.setCreatedFor(sqlRow.getString("createdfor"));
       ebeanMetadataAspect.setMetadata(DELETED_VALUE);
     } else {
-      AuditedAspect auditedAspect = RecordUtils.toRecordTemplate(AuditedAspect.class, sqlRow.getString(columnName));
-      primaryKey = new EbeanMetadataAspect.PrimaryKey(urn, auditedAspect.getCanonicalName(), LATEST_VERSION);
-      ebeanMetadataAspect.setCreatedBy(auditedAspect.getLastmodifiedby());
+      if (envelope.getCanonicalName() == null || envelope.getLastmodifiedon() == null
+          || envelope.getLastmodifiedby() == null) {
+        throw new IllegalArgumentException(
+            String.format("Column %s of %s is not a valid AuditedAspect: %s", columnName, urn, columnValue));
+      }
+      primaryKey = new EbeanMetadataAspect.PrimaryKey(urn, envelope.getCanonicalName(), LATEST_VERSION);
+      ebeanMetadataAspect.setCreatedBy(envelope.getLastmodifiedby());
 
-      ebeanMetadataAspect.setCreatedOn(timeStampStringToTimeStamp(auditedAspect.getLastmodifiedon()));
+      ebeanMetadataAspect.setCreatedOn(timeStampStringToTimeStamp(envelope.getLastmodifiedon()));
 
-      ebeanMetadataAspect.setCreatedFor(auditedAspect.getCreatedfor());
-      ebeanMetadataAspect.setEmitTime(auditedAspect.getEmitTime());
-      ebeanMetadataAspect.setEmitter(auditedAspect.getEmitter());
-      ebeanMetadataAspect.setMetadata(extractAspectJsonString(sqlRow.getString(columnName)));
+      ebeanMetadataAspect.setCreatedFor(envelope.getCreatedfor());
+      ebeanMetadataAspect.setEmitTime(envelope.getEmitTime());
+      ebeanMetadataAspect.setEmitter(envelope.getEmitter());
+      ebeanMetadataAspect.setMetadata(envelope.getAspect());
     }
     ebeanMetadataAspect.setKey(primaryKey);
     return ebeanMetadataAspect;
   }
 
+  /**
+   * Returns the entity type of a urn string, i.e. the segment after "urn:li:", without parsing the whole urn.
+   * @param urn urn string, e.g. urn:li:dataset:(...)
+   * @return entity type of the urn, e.g. dataset
+   */
+  @Nonnull
+  static String getEntityType(@Nonnull String urn) {
+    final int typeStart = urn.indexOf(':', urn.indexOf(':') + 1) + 1;
+    final int typeEnd = typeStart > 0 ? urn.indexOf(':', typeStart) : -1;
+    if (!urn.startsWith("urn:") || typeEnd <= typeStart) {
+      throw new RuntimeException("Invalid urn format: " + urn);
+    }
+    return urn.substring(typeStart, typeEnd);
+  }
+
   /**
    * Checks whether the entity table record has been soft deleted.
    * @param sqlRow {@link SqlRow} result from MySQL server
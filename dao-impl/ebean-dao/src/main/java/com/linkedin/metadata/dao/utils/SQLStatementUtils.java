@@ -14,10 +14,13 @@ import com.linkedin.metadata.query.LocalRelationshipCriterionArray;
 import com.linkedin.metadata.query.LocalRelationshipFilter;
 import com.linkedin.metadata.query.LocalRelationshipValue;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.ParametersAreNonnullByDefault;
@@ -40,6 +43,33 @@ import static com.linkedin.metadata.dao.utils.SQLSchemaUtils.*;
  */
 @Slf4j
 public class SQLStatementUtils {
+  /**
+   * Name of the bind parameter holding the urn in the parameterized single-urn statements.
+   */
+  public static final String URN_PARAMETER = "urn";
+
+  /**
+   * Sizes the IN lists of the parameterized statements are rounded up to. Keeping the number of distinct IN list
+   * sizes small keeps the number of distinct statements (and so prepared statement cache entries) small too.
+   */
+  public static final int[] IN_LIST_BUCKETS = {1, 8, 32, 128, 512};
+
+  /**
+   * Largest IN list of a parameterized statement. Longer lists must be split across several statements.
+   */
+  public static final int MAX_IN_LIST_SIZE = IN_LIST_BUCKETS[IN_LIST_BUCKETS.length - 1];
+
+  // Placeholder lists for each bucket, e.g. ":urn0, :urn1, :urn2" (built once as they never change)
+  private static final Map<Integer, String> IN_LIST_PLACEHOLDERS = new HashMap<>();
+
+  static {
+    for (int bucket : IN_LIST_BUCKETS) {
+      IN_LIST_PLACEHOLDERS.put(bucket, IntStream.range(0, bucket)
+          .mapToObj(index -> ":" + getInListParameter(index))
+          .collect(Collectors.joining(", ")));
+    }
+  }
+
   private static final Escaper URN_ESCAPER = Escapers.builder()
       .addEscape('\'', "''")
       .addEscape('\\', "\\\\").build();
@@ -75,6 +105,22 @@ public class SQLStatementUtils {
       "INSERT INTO %s (urn, a_urn, %s, lastmodifiedon, lastmodifiedby) VALUE (:urn, :a_urn, :metadata, :lastmodifiedon, :lastmodifiedby) "
           + "ON DUPLICATE KEY UPDATE %s = :metadata, lastmodifiedon = :lastmodifiedon, a_urn = :a_urn, deleted_ts = NULL;";
 
+  // Conditional counterparts of the upserts above, writing an aspect carrying a content hash. The update only matches
+  // the row if the entity is soft deleted or the stored hash differs; the insert fails on an existing row.
+  private static final String SQL_UPDATE_ASPECT_IF_CHANGED_TEMPLATE =
+      "UPDATE %s SET %s = :metadata, lastmodifiedon = :lastmodifiedon, lastmodifiedby = :lastmodifiedby, deleted_ts = NULL "
+          + "WHERE urn = :urn AND (deleted_ts IS NOT NULL OR NOT (JSON_UNQUOTE(JSON_EXTRACT(%s, '$.contentHash')) <=> :contentHash));";
+
+  private static final String SQL_UPDATE_ASPECT_IF_CHANGED_WITH_URN_TEMPLATE =
+      "UPDATE %s SET %s = :metadata, a_urn = :a_urn, lastmodifiedon = :lastmodifiedon, lastmodifiedby = :lastmodifiedby, deleted_ts = NULL "
+          + "WHERE urn = :urn AND (deleted_ts IS NOT NULL OR NOT (JSON_UNQUOTE(JSON_EXTRACT(%s, '$.contentHash')) <=> :contentHash));";
+
+  private static final String SQL_INSERT_ASPECT_TEMPLATE =
+      "INSERT INTO %s (urn, %s, lastmodifiedon, lastmodifiedby) VALUE (:urn, :metadata, :lastmodifiedon, :lastmodifiedby);";
+
+  private static final String SQL_INSERT_ASPECT_WITH_URN_TEMPLATE =
+      "INSERT INTO %s (urn, a_urn, %s, lastmodifiedon, lastmodifiedby) VALUE (:urn, :a_urn, :metadata, :lastmodifiedon, :lastmodifiedby);";
+
   // INSERT prefix of the sql statement for inserting into metadata_aspect table with multiple aspects which will be combined with the VALUES suffix
   public static final String SQL_INSERT_INTO_ASSET_WITH_URN = "INSERT INTO %s (urn, a_urn, lastmodifiedon, lastmodifiedby,";
   // VALUES suffix of the sql statement for inserting into metadata_aspect table with multiple aspects which will be combined with the INSERT prefix
@@ -138,9 +184,25 @@ public class SQLStatementUtils {
       String.format("SELECT urn, %%s, lastmodifiedon, lastmodifiedby, createdfor, (SELECT COUNT(urn) FROM %%s WHERE %s) "
           + "as _total_count FROM %%s WHERE %s LIMIT %%s OFFSET %%s", NONNULL_CHECK,  NONNULL_CHECK);
 
+  // Keyset variants of the listing above: no correlated count, and the page continues after the last urn of the previous
+  // one instead of skipping an offset, so every page costs the same. Counting is a separate, optional, statement.
+  private static final String SQL_LIST_ASPECT_AFTER_URN_TEMPLATE =
+      String.format("SELECT urn, %%s, lastmodifiedon, lastmodifiedby, createdfor FROM %%s WHERE %s AND %s%%s ORDER BY urn "
+          + "LIMIT %%d", NONNULL_CHECK, SOFT_DELETED_CHECK);
+
+  private static final String SQL_COUNT_ASPECT_TEMPLATE =
+      String.format("SELECT COUNT(urn) as _total_count FROM %%s WHERE %s AND %s", NONNULL_CHECK, SOFT_DELETED_CHECK);
+
+  private static final String AFTER_URN_CONDITION = " AND urn > :" + URN_PARAMETER;
+
   private static final String SQL_READ_ASPECT_WITH_SOFT_DELETED_TEMPLATE =
       "SELECT urn, %s, lastmodifiedon, lastmodifiedby, deleted_ts FROM %s WHERE urn IN (";
 
+  // Multi-aspect read: the per-aspect soft delete check can't be expressed in the WHERE clause, as a row is returned as
+  // long as any of its columns is wanted. Soft deleted aspects are filtered out when reading the row instead.
+  private static final String SQL_READ_ASPECTS_TEMPLATE =
+      "SELECT urn, %s, lastmodifiedon, lastmodifiedby FROM %s WHERE urn IN (";
+
   private static final String INDEX_GROUP_BY_CRITERION = "SELECT count(*) as COUNT, %s FROM %s";
 
   private static final String SQL_GET_ALL_COLUMNS =
@@ -148,6 +210,22 @@ public class SQLStatementUtils {
 
   private static final String SQL_URN_EXIST_TEMPLATE = "SELECT urn FROM %s WHERE urn = '%s' AND deleted_ts IS NULL";
 
+  // Parameterized variants of the statements above. The urns are bound instead of inlined, so the statement text only
+  // depends on the table, the column and the size of the IN list, and can be reused from the prepared statement caches.
+  private static final String SQL_URN_EXIST_PARAMETERIZED_TEMPLATE =
+      "SELECT urn FROM %s WHERE urn = :" + URN_PARAMETER + " AND deleted_ts IS NULL";
+
+  private static final String SQL_SOFT_DELETE_ASSET_PARAMETERIZED_TEMPLATE =
+      "UPDATE %s SET deleted_ts = NOW() WHERE urn = :" + URN_PARAMETER + ";";
+
+  private static final String SQL_LIST_ASPECT_BY_URN_PARAMETERIZED_TEMPLATE =
+      String.format("SELECT urn, %%s, lastmodifiedon, lastmodifiedby, createdfor FROM %%s WHERE urn = :%s AND %s AND %s",
+          URN_PARAMETER, NONNULL_CHECK, SOFT_DELETED_CHECK);
+
+  private static final String SQL_LIST_ASPECT_BY_URN_WITH_SOFT_DELETED_PARAMETERIZED_TEMPLATE =
+      String.format("SELECT urn, %%s, lastmodifiedon, lastmodifiedby, createdfor FROM %%s WHERE urn = :%s AND %s",
+          URN_PARAMETER, NONNULL_CHECK);
+
   private static final String INSERT_LOCAL_RELATIONSHIPS = "INSERT INTO %s (metadata, source, destination, source_type, "
       + "destination_type, lastmodifiedon, lastmodifiedby) VALUES ";
 
@@ -166,10 +244,23 @@ public class SQLStatementUtils {
   private static final String DELETE_BY_SOURCE_AND_ASPECT = "UPDATE %s SET deleted_ts=NOW(6) "
       + "WHERE source = :source AND (aspect = :aspect OR aspect = :pegasus_aspect) AND deleted_ts IS NULL";
 
+  private static final String SELECT_BY_SOURCE = "SELECT id, metadata, destination FROM %s "
+      + "WHERE source = :source AND deleted_ts IS NULL";
+
+  private static final String SELECT_BY_SOURCE_AND_ASPECT = "SELECT id, metadata, destination FROM %s "
+      + "WHERE source = :source AND (aspect = :aspect OR aspect = :pegasus_aspect) AND deleted_ts IS NULL";
+
+  private static final String DELETE_BY_IDS = "UPDATE %s SET deleted_ts=NOW(6) WHERE id IN (%s) AND deleted_ts IS NULL";
+
   private static final String SQL_BROWSE_ASPECT_TEMPLATE =
       String.format("SELECT urn, %%s, lastmodifiedon, lastmodifiedby, (SELECT COUNT(urn) FROM %%s) as _total_count "
           + "FROM %%s WHERE %s LIMIT %%d OFFSET %%d", SOFT_DELETED_CHECK);
 
+  private static final String SQL_BROWSE_ASPECT_AFTER_URN_TEMPLATE =
+      String.format("SELECT urn FROM %%s WHERE %s%%s ORDER BY urn LIMIT %%d", SOFT_DELETED_CHECK);
+
+  private static final String SQL_BROWSE_COUNT_TEMPLATE = "SELECT COUNT(urn) as _total_count FROM %s";
+
   private static final String GET_ESTIMATED_COUNT = "select table_rows from information_schema.tables where "
       + "table_schema = '%s' and table_name = '%s'";
 
@@ -198,6 +289,64 @@ public class SQLStatementUtils {
     return String.format(SQL_URN_EXIST_TEMPLATE, tableName, escapeReservedCharInUrn(urn.toString()));
   }
 
+  /**
+   * Same as {@link #createExistSql(Urn)} but with the urn bound to {@link #URN_PARAMETER} instead of inlined.
+   * @param urn entity urn
+   * @return parameterized entity exist sql
+   */
+  public static String createParameterizedExistSql(@Nonnull Urn urn) {
+    return String.format(SQL_URN_EXIST_PARAMETERIZED_TEMPLATE, getTableName(urn));
+  }
+
+  /**
+   * Returns the smallest of the {@link #IN_LIST_BUCKETS} that fits the given number of values.
+   * @param size number of values in the IN list, between 1 and {@link #MAX_IN_LIST_SIZE}
+   * @return size the IN list is padded to
+   */
+  public static int getInListBucket(int size) {
+    if (size <= 0 || size > MAX_IN_LIST_SIZE) {
+      throw new IllegalArgumentException(
+          String.format("IN list size must be between 1 and %d: %d", MAX_IN_LIST_SIZE, size));
+    }
+    for (int bucket : IN_LIST_BUCKETS) {
+      if (size <= bucket) {
+        return bucket;
+      }
+    }
+    return MAX_IN_LIST_SIZE;
+  }
+
+  /**
+   * Returns the name of the bind parameter at the given position of the IN list of a parameterized statement.
+   * @param index position in the IN list, 0 based
+   * @return bind parameter name, e.g. urn3
+   */
+  @Nonnull
+  public static String getInListParameter(int index) {
+    return URN_PARAMETER + index;
+  }
+
+  /**
+   * Pads the values of an IN list to the size of its bucket by repeating the last value. Repeated values don't change
+   * the result of an IN condition.
+   * @param values the values of the IN list, between 1 and {@link #MAX_IN_LIST_SIZE} of them
+   * @return values to bind to {@link #getInListParameter(int)} 0 to bucket - 1
+   */
+  @Nonnull
+  public static List<String> padInList(@Nonnull List<String> values) {
+    final int bucket = getInListBucket(values.size());
+    if (bucket == values.size()) {
+      return values;
+    }
+    final List<String> padded = new ArrayList<>(bucket);
+    padded.addAll(values);
+    final String last = values.get(values.size() - 1);
+    while (padded.size() < bucket) {
+      padded.add(last);
+    }
+    return padded;
+  }
+
   /**
    * Create read aspect SQL statement for one aspect class (but could include many urns). Essentially, this will query for a
    * single aspect column in the metadata entity tables. The query includes a filter for filtering out soft-deleted aspects.
@@ -238,6 +387,88 @@ public class SQLStatementUtils {
     return stringBuilder.toString();
   }
 
+  /**
+   * Same as {@link #createAspectReadSql(Class, Set, boolean, boolean)} but with an IN list of bind parameters
+   * ({@link #getInListParameter(int)} 0 to bucket - 1) instead of inlined urns. Bind the values returned by
+   * {@link #padInList(List)} to them.
+   * @param aspectClass aspect class to query for
+   * @param urn one of the urns to query for, used to resolve the table
+   * @param inListBucket size of the IN list, one of {@link #IN_LIST_BUCKETS}
+   * @param includeSoftDeleted a flag to include soft deleted records
+   * @param isTestMode whether the test mode is enabled or not
+   * @param <ASPECT> aspect type
+   * @return parameterized aspect read sql statement
+   */
+  public static <ASPECT extends RecordTemplate> String createParameterizedAspectReadSql(
+      @Nonnull Class<ASPECT> aspectClass, @Nonnull Urn urn, int inListBucket, boolean includeSoftDeleted,
+      boolean isTestMode) {
+    final String placeholders = IN_LIST_PLACEHOLDERS.get(inListBucket);
+    if (placeholders == null) {
+      throw new IllegalArgumentException("Not an IN list bucket: " + inListBucket);
+    }
+    final String columnName = getAspectColumnName(urn.getEntityType(), aspectClass);
+    final String tableName = isTestMode ? getTestTableName(urn) : getTableName(urn);
+    final String sqlTemplate =
+        includeSoftDeleted ? SQL_READ_ASPECT_WITH_SOFT_DELETED_TEMPLATE : SQL_READ_ASPECT_TEMPLATE;
+
+    final StringBuilder stringBuilder = new StringBuilder();
+    stringBuilder.append(String.format(sqlTemplate, columnName, tableName, columnName));
+    stringBuilder.append(placeholders);
+    stringBuilder.append(RIGHT_PARENTHESIS);
+    if (!includeSoftDeleted) {
+      stringBuilder.append(" AND ");
+      stringBuilder.append(DELETED_TS_IS_NULL_CHECK);
+    }
+    return stringBuilder.toString();
+  }
+
+  /**
+   * Create a read SQL statement for several aspect columns of the same entity table at once, with an IN list of bind
+   * parameters like {@link #createParameterizedAspectReadSql(Class, Urn, int, boolean, boolean)}. Unlike the single
+   * aspect read, soft deleted aspects are not filtered out by the statement, see
+   * {@link EBeanDAOUtils#readAspectColumn(io.ebean.SqlRow, Class, boolean)}.
+   *
+   * <p>Example:
+   * SELECT urn, a_aspect1, a_aspect2, lastmodifiedon, lastmodifiedby FROM metadata_entity_foo WHERE urn IN (:urn0, :urn1)
+   * AND deleted_ts IS NULL
+   * </p>
+   * @param aspectClasses aspect classes to query for
+   * @param urn one of the urns to query for, used to resolve the table
+   * @param inListBucket size of the IN list, one of {@link #IN_LIST_BUCKETS}
+   * @param includeSoftDeleted a flag to include soft deleted records
+   * @param isTestMode whether the test mode is enabled or not
+   * @return parameterized multi-aspect read sql statement
+   */
+  public static String createParameterizedMultiAspectReadSql(
+      @Nonnull Collection<? extends Class<? extends RecordTemplate>> aspectClasses, @Nonnull Urn urn, int inListBucket,
+      boolean includeSoftDeleted, boolean isTestMode) {
+    if (aspectClasses.isEmpty()) {
+      throw new IllegalArgumentException("Need at least 1 aspect to query.");
+    }
+    final String placeholders = IN_LIST_PLACEHOLDERS.get(inListBucket);
+    if (placeholders == null) {
+      throw new IllegalArgumentException("Not an IN list bucket: " + inListBucket);
+    }
+    // sorted, so that the same set of aspects always makes the same statement
+    final String columnNames = aspectClasses.stream()
+        .map(aspectClass -> getAspectColumnName(urn.getEntityType(), aspectClass))
+        .sorted()
+        .collect(Collectors.joining(", "));
+    final String tableName = isTestMode ? getTestTableName(urn) : getTableName(urn);
+    final String sqlTemplate =
+        includeSoftDeleted ? SQL_READ_ASPECT_WITH_SOFT_DELETED_TEMPLATE : SQL_READ_ASPECTS_TEMPLATE;
+
+    final StringBuilder stringBuilder = new StringBuilder();
+    stringBuilder.append(String.format(sqlTemplate, columnNames, tableName));
+    stringBuilder.append(placeholders);
+    stringBuilder.append(RIGHT_PARENTHESIS);
+    if (!includeSoftDeleted) {
+      stringBuilder.append(" AND ");
+      stringBuilder.append(DELETED_TS_IS_NULL_CHECK);
+    }
+    return stringBuilder.toString();
+  }
+
   /**
    * List all the aspect record (0 or 1) for a given entity urn and aspect type.
    * @param aspectClass aspect type
@@ -259,6 +490,28 @@ public class SQLStatementUtils {
     }
   }
 
+  /**
+   * Same as {@link #createListAspectByUrnSql(Class, Urn, boolean)} but with the urn bound to {@link #URN_PARAMETER}
+   * instead of inlined.
+   * @param aspectClass aspect type
+   * @param urn entity urn
+   * @param includeSoftDeleted whether to include soft deleted aspects
+   * @param <ASPECT> aspect type
+   * @return a parameterized SQL to run listing aspect query
+   */
+  public static <ASPECT extends RecordTemplate> String createParameterizedListAspectByUrnSql(
+      @Nonnull Class<ASPECT> aspectClass, @Nonnull Urn urn, boolean includeSoftDeleted) {
+    final String columnName = getAspectColumnName(urn.getEntityType(), aspectClass);
+    final String tableName = getTableName(urn);
+    if (includeSoftDeleted) {
+      return String.format(SQL_LIST_ASPECT_BY_URN_WITH_SOFT_DELETED_PARAMETERIZED_TEMPLATE, columnName, tableName,
+          columnName);
+    } else {
+      return String.format(SQL_LIST_ASPECT_BY_URN_PARAMETERIZED_TEMPLATE, columnName, tableName, columnName,
+          columnName);
+    }
+  }
+
   /**
    * List all the aspects for a given entity type and aspect type.
    * @param aspectClass aspect type
@@ -282,6 +535,36 @@ public class SQLStatementUtils {
     }
   }
 
+  /**
+   * Same as {@link #createListAspectWithPaginationSql(Class, String, boolean, int, int)} but ordered by urn, starting
+   * after the urn bound to {@link #URN_PARAMETER} if any, and without the total count.
+   * @param aspectClass aspect type
+   * @param entityType entity name from Urn
+   * @param afterUrn whether the page starts after the urn bound to {@link #URN_PARAMETER}
+   * @param limit maximum number of rows returned
+   * @param <ASPECT> aspect type
+   * @return a SQL to run listing aspect query paginated by last urn.
+   */
+  public static <ASPECT extends RecordTemplate> String createListAspectAfterUrnSql(@Nonnull Class<ASPECT> aspectClass,
+      String entityType, boolean afterUrn, int limit) {
+    final String columnName = getAspectColumnName(entityType, aspectClass);
+    return String.format(SQL_LIST_ASPECT_AFTER_URN_TEMPLATE, columnName, getTableName(entityType), columnName, columnName,
+        afterUrn ? AFTER_URN_CONDITION : "", limit);
+  }
+
+  /**
+   * Count the non soft deleted aspects of a given entity type and aspect type, in the {@code _total_count} column.
+   * @param aspectClass aspect type
+   * @param entityType entity name from Urn
+   * @param <ASPECT> aspect type
+   * @return a SQL to run counting aspect query.
+   */
+  public static <ASPECT extends RecordTemplate> String createCountAspectSql(@Nonnull Class<ASPECT> aspectClass,
+      String entityType) {
+    final String columnName = getAspectColumnName(entityType, aspectClass);
+    return String.format(SQL_COUNT_ASPECT_TEMPLATE, getTableName(entityType), columnName, columnName);
+  }
+
   /**
    * Create Upsert SQL statement.
    * @param urn  entity urn
@@ -297,6 +580,39 @@ public class SQLStatementUtils {
     return String.format(urnExtraction ? SQL_UPSERT_ASPECT_WITH_URN_TEMPLATE : SQL_UPSERT_ASPECT_TEMPLATE, tableName, columnName, columnName);
   }
 
+  /**
+   * Create the SQL statement updating an aspect, carrying a content hash, unless the stored aspect has the same hash.
+   * @param urn  entity urn
+   * @param <ASPECT> aspect type
+   * @param aspectClass aspect class
+   * @param isTestMode whether the test mode is enabled or not
+   * @return conditional aspect update sql
+   */
+  public static <ASPECT extends RecordTemplate> String createAspectUpdateIfChangedSql(@Nonnull Urn urn,
+      @Nonnull Class<ASPECT> aspectClass, boolean urnExtraction, boolean isTestMode) {
+    final String tableName = isTestMode ? getTestTableName(urn) : getTableName(urn);
+    final String columnName = getAspectColumnName(urn.getEntityType(), aspectClass);
+    return String.format(urnExtraction ? SQL_UPDATE_ASPECT_IF_CHANGED_WITH_URN_TEMPLATE : SQL_UPDATE_ASPECT_IF_CHANGED_TEMPLATE,
+        tableName, columnName, columnName);
+  }
+
+  /**
+   * Create the SQL statement inserting the row of an entity with an aspect, which fails with a duplicate key if the
+   * entity already has a row.
+   * @param urn  entity urn
+   * @param <ASPECT> aspect type
+   * @param aspectClass aspect class
+   * @param isTestMode whether the test mode is enabled or not
+   * @return aspect insert sql
+   */
+  public static <ASPECT extends RecordTemplate> String createAspectInsertSql(@Nonnull Urn urn,
+      @Nonnull Class<ASPECT> aspectClass, boolean urnExtraction, boolean isTestMode) {
+    final String tableName = isTestMode ? getTestTableName(urn) : getTableName(urn);
+    final String columnName = getAspectColumnName(urn.getEntityType(), aspectClass);
+    return String.format(urnExtraction ? SQL_INSERT_ASPECT_WITH_URN_TEMPLATE : SQL_INSERT_ASPECT_TEMPLATE,
+        tableName, columnName);
+  }
+
   /**
    * Create Delete SQL statement.
    * @param urn entity urn
@@ -308,6 +624,18 @@ public class SQLStatementUtils {
     return String.format(SQL_SOFT_DELETE_ASSET_WITH_URN, tableName, urn);
   }
 
+  /**
+   * Same as {@link #createSoftDeleteAssetSql(Urn, boolean)} but with the urn bound to {@link #URN_PARAMETER} instead
+   * of inlined.
+   * @param urn entity urn
+   * @param isTestMode whether the test mode is enabled or not
+   * @return parameterized delete sql
+   */
+  public static String createParameterizedSoftDeleteAssetSql(@Nonnull Urn urn, boolean isTestMode) {
+    final String tableName = isTestMode ? getTestTableName(urn) : getTableName(urn);
+    return String.format(SQL_SOFT_DELETE_ASSET_PARAMETERIZED_TEMPLATE, tableName);
+  }
+
   /**
    * Create SELECT SQL statement for reading deletion-relevant columns for a batch of URNs.
    * Selects only urn, deleted_ts, and aspect columns (a_* prefix), excluding index columns (i_*)
@@ -408,6 +736,25 @@ public class SQLStatementUtils {
     return "SELECT urn FROM " + tableName + forceIndex + "\n" + whereClause;
   }
 
+  /**
+   * Create filter SQL statement selecting the given columns along with the urn, e.g. the aspect columns to scan.
+   * @param entityType entity type from urn
+   * @param columns columns to select along with the urn
+   * @param indexFilter index filter
+   * @param nonDollarVirtualColumnsEnabled  true if virtual column does not contain $, false otherwise
+   * @return translated SQL where statement
+   */
+  public static String createFilterSql(String entityType, @Nonnull List<String> columns,
+      @Nullable IndexFilter indexFilter, boolean nonDollarVirtualColumnsEnabled, @Nonnull SchemaValidatorUtil schemaValidator) {
+    final StringBuilder sql = new StringBuilder("SELECT urn");
+    columns.forEach(column -> sql.append(", ").append(column));
+    return sql.append(" FROM ")
+        .append(getTableName(entityType))
+        .append("\n")
+        .append(parseIndexFilter(entityType, indexFilter, nonDollarVirtualColumnsEnabled, schemaValidator))
+        .toString();
+  }
+
   /**
    * Create index group by SQL statement.
    * @param entityType entity type
@@ -452,6 +799,33 @@ public class SQLStatementUtils {
         Math.max(pageSize, 0), Math.max(offset, 0));
   }
 
+  /**
+   * Same as {@link #createAspectBrowseSql(String, Class, int, int)} but ordered by urn, starting after the urn bound to
+   * {@link #URN_PARAMETER} if any, and without the total count.
+   * @param entityType entity type.
+   * @param aspectClass aspect class
+   * @param afterUrn whether the page starts after the urn bound to {@link #URN_PARAMETER}
+   * @param limit maximum number of rows returned
+   * @param <ASPECT> {@link RecordTemplate}
+   * @return aspect browse SQL paginated by last urn.
+   */
+  public static <ASPECT extends RecordTemplate> String createAspectBrowseAfterUrnSql(String entityType,
+      Class<ASPECT> aspectClass, boolean afterUrn, int limit) {
+    final String columnName = getAspectColumnName(entityType, aspectClass);
+    return String.format(SQL_BROWSE_ASPECT_AFTER_URN_TEMPLATE, getTableName(entityType), columnName,
+        afterUrn ? AFTER_URN_CONDITION : "", Math.max(limit, 0));
+  }
+
+  /**
+   * Count the urns browsed by {@link #createAspectBrowseSql(String, Class, int, int)}, in the {@code _total_count}
+   * column.
+   * @param entityType entity type.
+   * @return aspect browse count SQL.
+   */
+  public static String createAspectBrowseCountSql(String entityType) {
+    return String.format(SQL_BROWSE_COUNT_TEMPLATE, getTableName(entityType));
+  }
+
   /**
    * Generate the create SQL statement for inserting local relationships. There can be multiple relationships added in
    * a single statement. The SQL generated should look like the following, where N is the number of relationships to insert:
@@ -496,6 +870,28 @@ public class SQLStatementUtils {
     return useAspectColumn ? String.format(DELETE_BY_SOURCE_AND_ASPECT, tableName) : String.format(DELETE_BY_SOURCE, tableName);
   }
 
+  /**
+   * Construct the SQL reading the non-deleted relationships of a source, i.e. the relationships
+   * {@link #deleteLocalRelationshipSQL(String, boolean)} would soft-delete.
+   * @param tableName Table name of the relationship
+   * @param useAspectColumn whether to only read the relationships of the aspect bound to :aspect
+   * @return SQL reading the id, metadata and destination of the relationships
+   */
+  public static String selectLocalRelationshipsBySourceSQL(final String tableName, boolean useAspectColumn) {
+    return useAspectColumn ? String.format(SELECT_BY_SOURCE_AND_ASPECT, tableName) : String.format(SELECT_BY_SOURCE, tableName);
+  }
+
+  /**
+   * Construct the SQL soft-deleting relationships by id, with the ids bound to :id0, :id1, ...
+   * @param tableName Table name of the relationship
+   * @param numIds number of ids
+   * @return soft-deletion SQL
+   */
+  public static String deleteLocalRelationshipsByIdSQL(final String tableName, int numIds) {
+    final String ids = IntStream.range(0, numIds).mapToObj(i -> ":id" + i).collect(Collectors.joining(", "));
+    return String.format(DELETE_BY_IDS, tableName, ids);
+  }
+
   /**
    * Construct where clause SQL from multiple filters. Return null if all filters are empty.
    * @param supportedConditions contains supported conditions such as EQUAL.
@@ -15,6 +15,32 @@ create table metadata_id (
   constraint uq_metadata_id_namespace_id unique (namespace,id)
 );
 
+create table metadata_backfill_checkpoint (
+  job_name                      varchar(255) not null,
+  last_urn                      varchar(500),
+  urns_processed                bigint not null,
+  pages_processed               bigint not null,
+  completed                     boolean not null,
+  updatedon                     timestamp not null,
+  constraint pk_metadata_backfill_checkpoint primary key (job_name)
+);
+
+create table metadata_event_outbox (
+  id                            bigint auto_increment not null,
+  urn                           varchar(500) not null,
+  aspect                        varchar(200) not null,
+  event_type                    varchar(50) not null,
+  old_value                     clob,
+  new_value                     clob,
+  audit_stamp                   clob,
+  tracking_context              clob,
+  ingestion_mode                varchar(50),
+  change_type                   varchar(50),
+  createdon                     timestamp not null,
+  attempts                      integer default 0 not null,
+  constraint pk_metadata_event_outbox primary key (id)
+);
+
 create table metadata_index (
   id                            bigint auto_increment not null,
   urn                           varchar(500) not null,
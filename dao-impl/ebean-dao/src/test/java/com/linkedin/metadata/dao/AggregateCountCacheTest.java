@@ -0,0 +1,129 @@
+package com.linkedin.metadata.dao;
+
+import com.linkedin.metadata.dao.utils.SQLIndexFilterUtils;
+import com.linkedin.metadata.query.Condition;
+import com.linkedin.metadata.query.IndexCriterion;
+import com.linkedin.metadata.query.IndexCriterionArray;
+import com.linkedin.metadata.query.IndexFilter;
+import com.linkedin.metadata.query.IndexGroupByCriterion;
+import com.linkedin.metadata.query.IndexValue;
+import com.linkedin.testing.AspectBar;
+import com.linkedin.testing.AspectFoo;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+
+public class AggregateCountCacheTest {
+
+  private static final IndexGroupByCriterion GROUP_BY =
+      new IndexGroupByCriterion().setAspect(AspectFoo.class.getCanonicalName()).setPath("/value");
+  private static final Map<String, Long> COUNTS = Collections.singletonMap("foo", 1L);
+
+  private Clock _clock;
+
+  @BeforeMethod
+  public void setup() {
+    _clock = mock(Clock.class);
+    when(_clock.millis()).thenReturn(1000L);
+  }
+
+  private static IndexFilter makeFilter(String value) {
+    IndexCriterion criterion =
+        SQLIndexFilterUtils.createIndexCriterion(AspectFoo.class, "value", Condition.EQUAL, IndexValue.create(value));
+    return new IndexFilter().setCriteria(new IndexCriterionArray(Collections.singletonList(criterion)));
+  }
+
+  @Test
+  public void testOnlyRegisteredShapesAreCached() {
+    AggregateCountCache cache = new AggregateCountCache(Duration.ofMinutes(1), _clock);
+    cache.register(makeFilter("foo"), GROUP_BY);
+
+    // shapes are matched by value
+    assertTrue(cache.isRegistered(makeFilter("foo"), GROUP_BY));
+    assertFalse(cache.isRegistered(makeFilter("bar"), GROUP_BY));
+    assertFalse(cache.isRegistered(null, GROUP_BY));
+    assertNull(cache.get(makeFilter("foo"), GROUP_BY));
+
+    cache.put(makeFilter("foo"), GROUP_BY, COUNTS, cache.beginRead());
+    cache.put(makeFilter("bar"), GROUP_BY, COUNTS, cache.beginRead());
+    assertEquals(cache.get(makeFilter("foo"), GROUP_BY), COUNTS);
+    assertNull(cache.get(makeFilter("bar"), GROUP_BY));
+  }
+
+  @Test
+  public void testInvalidateForgetsCounts() {
+    AggregateCountCache cache = new AggregateCountCache(Duration.ofMinutes(1), _clock);
+    cache.register(null, GROUP_BY);
+    cache.put(null, GROUP_BY, COUNTS, cache.beginRead());
+
+    cache.invalidate();
+
+    assertNull(cache.get(null, GROUP_BY));
+    assertTrue(cache.isRegistered(null, GROUP_BY));
+  }
+
+  @Test
+  public void testInvalidateAspectsForgetsDependentCountsOnly() {
+    AggregateCountCache cache = new AggregateCountCache(Duration.ofMinutes(1), _clock);
+    IndexGroupByCriterion groupByBar =
+        new IndexGroupByCriterion().setAspect(AspectBar.class.getCanonicalName()).setPath("/value");
+    cache.register(makeFilter("foo"), GROUP_BY);
+    cache.register(makeFilter("foo"), groupByBar);
+    cache.register(null, GROUP_BY);
+    long readStamp = cache.beginRead();
+    cache.put(makeFilter("foo"), GROUP_BY, COUNTS, readStamp);
+    cache.put(makeFilter("foo"), groupByBar, COUNTS, readStamp);
+    cache.put(null, GROUP_BY, COUNTS, readStamp);
+
+    cache.invalidate(Collections.singleton(AspectBar.class.getCanonicalName()));
+
+    // Expect: the shape filtering on AspectFoo only is still cached, unlike the ones grouping by AspectBar or counting
+    // every urn
+    assertEquals(cache.get(makeFilter("foo"), GROUP_BY), COUNTS);
+    assertNull(cache.get(makeFilter("foo"), groupByBar));
+    assertNull(cache.get(null, GROUP_BY));
+
+    // Expect: a count of an invalidated shape racing with the write is dropped
+    cache.put(makeFilter("foo"), groupByBar, COUNTS, readStamp);
+    assertNull(cache.get(makeFilter("foo"), groupByBar));
+
+    cache.invalidate(Collections.singleton(AspectFoo.class.getCanonicalName()));
+    assertNull(cache.get(makeFilter("foo"), GROUP_BY));
+  }
+
+  @Test
+  public void testCountRacingWithWriteIsDropped() {
+    AggregateCountCache cache = new AggregateCountCache(Duration.ofMinutes(1), _clock);
+    cache.register(null, GROUP_BY);
+
+    long readStamp = cache.beginRead();
+    cache.invalidate();
+    cache.put(null, GROUP_BY, COUNTS, readStamp);
+    assertNull(cache.get(null, GROUP_BY));
+
+    cache.put(null, GROUP_BY, COUNTS, cache.beginRead());
+    assertEquals(cache.get(null, GROUP_BY), COUNTS);
+  }
+
+  @Test
+  public void testCountsExpire() {
+    AggregateCountCache cache = new AggregateCountCache(Duration.ofSeconds(1), _clock);
+    cache.register(null, GROUP_BY);
+    cache.put(null, GROUP_BY, COUNTS, cache.beginRead());
+
+    when(_clock.millis()).thenReturn(2000L);
+    assertNull(cache.get(null, GROUP_BY));
+  }
+
+  @Test
+  public void testInvalidTtl() {
+    assertThrows(IllegalArgumentException.class, () -> new AggregateCountCache(Duration.ZERO));
+  }
+}
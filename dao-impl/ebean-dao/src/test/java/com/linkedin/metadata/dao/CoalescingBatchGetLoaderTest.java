@@ -0,0 +1,184 @@
+package com.linkedin.metadata.dao;
+
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.dao.EbeanMetadataAspect.PrimaryKey;
+import com.linkedin.metadata.dao.utils.ModelUtils;
+import com.linkedin.testing.AspectBar;
+import com.linkedin.testing.AspectFoo;
+import com.linkedin.testing.urn.FooUrn;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static com.linkedin.testing.TestUtils.*;
+import static org.testng.Assert.*;
+
+
+public class CoalescingBatchGetLoaderTest {
+
+  private ScheduledExecutorService _scheduler;
+  // every batch handed to the batch function
+  private List<List<AspectKey<FooUrn, ? extends RecordTemplate>>> _batches;
+
+  @BeforeMethod
+  public void setup() {
+    _scheduler = Executors.newScheduledThreadPool(2);
+    _batches = new CopyOnWriteArrayList<>();
+  }
+
+  @AfterMethod
+  public void teardown() {
+    _scheduler.shutdownNow();
+  }
+
+  // Returns a record for every requested AspectFoo key, and nothing for other aspects
+  private List<EbeanMetadataAspect> fakeBatchGet(List<AspectKey<FooUrn, ? extends RecordTemplate>> keys) {
+    _batches.add(new ArrayList<>(keys));
+    return keys.stream().filter(key -> key.getAspectClass() == AspectFoo.class).map(key -> {
+      EbeanMetadataAspect record = new EbeanMetadataAspect();
+      record.setKey(new PrimaryKey(key.getUrn().toString(), ModelUtils.getAspectName(AspectFoo.class), 0L));
+      record.setMetadata("{\"value\":\"" + key.getUrn().getFooIdEntity() + "\"}");
+      return record;
+    }).collect(Collectors.toList());
+  }
+
+  private static AspectKey<FooUrn, AspectFoo> fooKey(int id) {
+    return new AspectKey<>(AspectFoo.class, makeFooUrn(id), 0L);
+  }
+
+  @Test
+  public void testKeysWithinWindowAreReadInOneBatch() {
+    CoalescingBatchGetLoader<FooUrn> loader = new CoalescingBatchGetLoader<>(this::fakeBatchGet, _scheduler, 200, 100);
+
+    CompletableFuture<List<EbeanMetadataAspect>> first = loader.load(fooKey(1));
+    CompletableFuture<List<EbeanMetadataAspect>> second = loader.load(fooKey(2));
+    CompletableFuture<List<EbeanMetadataAspect>> missing =
+        loader.load(new AspectKey<>(AspectBar.class, makeFooUrn(1), 0L));
+
+    assertEquals(first.join().get(0).getMetadata(), "{\"value\":\"1\"}");
+    assertEquals(second.join().get(0).getMetadata(), "{\"value\":\"2\"}");
+    assertEquals(missing.join(), Collections.emptyList());
+    assertEquals(_batches.size(), 1);
+    assertEquals(_batches.get(0).size(), 3);
+  }
+
+  @Test
+  public void testDuplicateKeysShareOneResult() {
+    CoalescingBatchGetLoader<FooUrn> loader = new CoalescingBatchGetLoader<>(this::fakeBatchGet, _scheduler, 200, 100);
+
+    CompletableFuture<List<EbeanMetadataAspect>> first = loader.load(fooKey(1));
+    CompletableFuture<List<EbeanMetadataAspect>> duplicate = loader.load(fooKey(1));
+
+    assertSame(duplicate, first);
+    first.join();
+    assertEquals(_batches.size(), 1);
+    assertEquals(_batches.get(0).size(), 1);
+  }
+
+  @Test
+  public void testMaxBatchSizeDispatchesBeforeWindow() {
+    CoalescingBatchGetLoader<FooUrn> loader =
+        new CoalescingBatchGetLoader<>(this::fakeBatchGet, _scheduler, TimeUnit.HOURS.toMillis(1), 2);
+
+    CompletableFuture<List<EbeanMetadataAspect>> first = loader.load(fooKey(1));
+    CompletableFuture<List<EbeanMetadataAspect>> second = loader.load(fooKey(2));
+    CompletableFuture<List<EbeanMetadataAspect>> third = loader.load(fooKey(3));
+
+    // the first two keys fill a batch; the third one waits for its (hour long) window
+    first.join();
+    second.join();
+    assertFalse(third.isDone());
+    assertEquals(_batches.size(), 1);
+  }
+
+  @Test
+  public void testSequentialBatches() {
+    CoalescingBatchGetLoader<FooUrn> loader = new CoalescingBatchGetLoader<>(this::fakeBatchGet, _scheduler, 0, 100);
+
+    loader.load(fooKey(1)).join();
+    loader.load(fooKey(1)).join();
+
+    // the key is no longer pending once its batch completed, so it is read again
+    assertEquals(_batches.size(), 2);
+  }
+
+  @Test
+  public void testDispatchedKeysAreReadAgain() throws InterruptedException {
+    CountDownLatch release = new CountDownLatch(1);
+    CoalescingBatchGetLoader<FooUrn> loader = new CoalescingBatchGetLoader<>(keys -> {
+      List<EbeanMetadataAspect> records = fakeBatchGet(keys);
+      if (_batches.size() == 1) {
+        awaitUninterruptibly(release);
+      }
+      return records;
+    }, _scheduler, 0, 100);
+
+    // the first read is dispatched and blocked in the batch function
+    CompletableFuture<List<EbeanMetadataAspect>> first = loader.load(fooKey(1));
+    while (_batches.isEmpty()) {
+      Thread.sleep(1);
+    }
+
+    // a read issued afterwards, e.g. after the caller's own write, doesn't share the dispatched read
+    CompletableFuture<List<EbeanMetadataAspect>> second = loader.load(fooKey(1));
+    assertNotSame(second, first);
+    second.join();
+    release.countDown();
+    first.join();
+    assertEquals(_batches.size(), 2);
+  }
+
+  private static void awaitUninterruptibly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Test
+  public void testFailureIsPropagatedToAllCallers() {
+    CoalescingBatchGetLoader<FooUrn> loader = new CoalescingBatchGetLoader<>(keys -> {
+      throw new IllegalStateException("boom");
+    }, _scheduler, 50, 100);
+
+    CompletableFuture<List<EbeanMetadataAspect>> first = loader.load(fooKey(1));
+    CompletableFuture<List<EbeanMetadataAspect>> second = loader.load(fooKey(2));
+
+    for (CompletableFuture<List<EbeanMetadataAspect>> future : Arrays.asList(first, second)) {
+      CompletionException e = expectThrows(CompletionException.class, future::join);
+      assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+  }
+
+  @Test
+  public void testRejectedSchedulerReadsOnCallingThread() {
+    _scheduler.shutdown();
+    CoalescingBatchGetLoader<FooUrn> loader = new CoalescingBatchGetLoader<>(this::fakeBatchGet, _scheduler, 50, 100);
+
+    CompletableFuture<List<EbeanMetadataAspect>> future = loader.load(fooKey(1));
+
+    assertTrue(future.isDone());
+    assertEquals(future.join().size(), 1);
+  }
+
+  @Test
+  public void testInvalidArguments() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new CoalescingBatchGetLoader<FooUrn>(this::fakeBatchGet, _scheduler, -1, 100));
+    assertThrows(IllegalArgumentException.class,
+        () -> new CoalescingBatchGetLoader<FooUrn>(this::fakeBatchGet, _scheduler, 10, 0));
+  }
+}
@@ -0,0 +1,126 @@
+package com.linkedin.metadata.dao;
+
+import com.google.common.io.Resources;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.backfill.BackfillMode;
+import com.linkedin.metadata.dao.tracking.BaseDaoBenchmarkMetrics;
+import com.linkedin.metadata.dao.utils.EmbeddedMariaInstance;
+import com.linkedin.testing.AspectFoo;
+import com.linkedin.testing.EntityAspectUnion;
+import com.linkedin.testing.urn.FooUrn;
+import io.ebean.Ebean;
+import io.ebean.EbeanServer;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static com.linkedin.testing.TestUtils.*;
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+
+public class EbeanBackfillJobTest {
+
+  private static final Set<Class<? extends RecordTemplate>> ASPECTS = Collections.singleton(AspectFoo.class);
+
+  private EbeanServer _server;
+  private EbeanLocalDAO<EntityAspectUnion, FooUrn> _mockDao;
+  private final FooUrn _urn1 = makeFooUrn(1);
+  private final FooUrn _urn2 = makeFooUrn(2);
+  private final FooUrn _urn3 = makeFooUrn(3);
+  private final FooUrn _urn4 = makeFooUrn(4);
+  private final FooUrn _urn5 = makeFooUrn(5);
+
+  @BeforeClass
+  public void setupServer() {
+    _server = EmbeddedMariaInstance.getServer(EbeanBackfillJobTest.class.getSimpleName());
+  }
+
+  @BeforeMethod
+  @SuppressWarnings("unchecked")
+  public void setupTest() throws IOException {
+    _server.execute(Ebean.createSqlUpdate(
+        Resources.toString(Resources.getResource("ebean-local-dao-create-all.sql"), StandardCharsets.UTF_8)));
+
+    // 5 urns, listed in pages of 2
+    _mockDao = mock(EbeanLocalDAO.class);
+    when(_mockDao.listUrns(FooUrn.class, null, 2)).thenReturn(Arrays.asList(_urn1, _urn2));
+    when(_mockDao.listUrns(FooUrn.class, _urn2, 2)).thenReturn(Arrays.asList(_urn3, _urn4));
+    when(_mockDao.listUrns(FooUrn.class, _urn4, 2)).thenReturn(Collections.singletonList(_urn5));
+  }
+
+  @Test
+  public void testBackfillsAllPages() throws Exception {
+    BaseDaoBenchmarkMetrics metrics = mock(BaseDaoBenchmarkMetrics.class);
+    when(metrics.isEnabled()).thenReturn(true);
+    EbeanBackfillJob<FooUrn> job = newJob("job");
+    job.setBenchmarkMetrics(metrics);
+
+    EbeanBackfillJob.Progress progress = job.run();
+
+    assertEquals(progress, new EbeanBackfillJob.Progress(_urn5.toString(), 5, 3, true));
+    assertEquals(job.getProgress(), progress);
+    verify(_mockDao).backfill(BackfillMode.MAE_ONLY, ASPECTS, new HashSet<>(Arrays.asList(_urn1, _urn2)));
+    verify(_mockDao).backfill(BackfillMode.MAE_ONLY, ASPECTS, new HashSet<>(Arrays.asList(_urn3, _urn4)));
+    verify(_mockDao).backfill(BackfillMode.MAE_ONLY, ASPECTS, Collections.singleton(_urn5));
+    verify(metrics, times(2)).recordOperation(eq(EbeanBackfillJob.OPERATION), eq("foo"), isNull(), eq("2"), eq("success"),
+        isNull(), anyLong());
+
+    // a completed job doesn't run again
+    assertEquals(newJob("job").run(), progress);
+    verify(_mockDao, times(3)).backfill(any(BackfillMode.class), any(), any());
+  }
+
+  @Test
+  public void testResumesFromTheCheckpoint() throws Exception {
+    when(_mockDao.backfill(BackfillMode.MAE_ONLY, ASPECTS, new HashSet<>(Arrays.asList(_urn3, _urn4))))
+        .thenThrow(new IllegalStateException("backfill failed"));
+
+    // the second page fails, the checkpoint stays after the first one
+    EbeanBackfillJob<FooUrn> job = newJob("job");
+    assertThrows(IllegalStateException.class, job::run);
+    assertEquals(job.getProgress(), new EbeanBackfillJob.Progress(_urn2.toString(), 2, 1, false));
+
+    reset(_mockDao);
+    when(_mockDao.listUrns(FooUrn.class, _urn2, 2)).thenReturn(Arrays.asList(_urn3, _urn4));
+    when(_mockDao.listUrns(FooUrn.class, _urn4, 2)).thenReturn(Collections.singletonList(_urn5));
+
+    assertEquals(newJob("job").run(), new EbeanBackfillJob.Progress(_urn5.toString(), 5, 3, true));
+    verify(_mockDao, never()).listUrns(FooUrn.class, null, 2);
+    verify(_mockDao, never()).backfill(BackfillMode.MAE_ONLY, ASPECTS, new HashSet<>(Arrays.asList(_urn1, _urn2)));
+
+    // the checkpoint is per job, so another job lists from the first page
+    when(_mockDao.listUrns(FooUrn.class, null, 2)).thenReturn(Arrays.asList(_urn1, _urn2));
+    assertEquals(newJob("another job").run().getUrnsProcessed(), 5);
+  }
+
+  @Test
+  public void testResetCheckpoint() throws Exception {
+    EbeanBackfillJob<FooUrn> job = newJob("job");
+    job.run();
+
+    job.resetCheckpoint();
+    assertEquals(job.getProgress(), new EbeanBackfillJob.Progress(null, 0, 0, false));
+    assertEquals(newJob("job").run().getPagesProcessed(), 3);
+  }
+
+  @Test
+  public void testInvalidArguments() {
+    assertThrows(IllegalArgumentException.class, () -> new EbeanBackfillJob<>(_server, _mockDao, "job",
+        BackfillMode.MAE_ONLY, ASPECTS, FooUrn.class, 0, 1, 1000));
+    assertThrows(IllegalArgumentException.class, () -> new EbeanBackfillJob<>(_server, _mockDao, "job",
+        BackfillMode.MAE_ONLY, ASPECTS, FooUrn.class, 2, 0, 1000));
+    assertThrows(IllegalArgumentException.class, () -> new EbeanBackfillJob<>(_server, _mockDao, "job",
+        BackfillMode.MAE_ONLY, ASPECTS, FooUrn.class, 2, 1, 0));
+  }
+
+  private EbeanBackfillJob<FooUrn> newJob(String jobName) {
+    return new EbeanBackfillJob<>(_server, _mockDao, jobName, BackfillMode.MAE_ONLY, ASPECTS, FooUrn.class, 2, 2, 1000);
+  }
+}
@@ -36,11 +36,17 @@ import java.lang.reflect.Field;
 import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
 import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.DataProvider;
@@ -149,6 +155,186 @@ public class EbeanLocalAccessTest {
     assertTrue(ebeanMetadataAspectList.isEmpty());
   }
 
+  @Test
+  public void testGetAspectsAcrossInListBuckets() {
+    // Given: metadata_entity_foo table with fooUrns from 0 ~ 99, and keys for fooUrns 0 ~ 599 (more than one IN list)
+    List<AspectKey<FooUrn, ? extends RecordTemplate>> aspectKeys = new ArrayList<>();
+    for (int i = 0; i < 600; i++) {
+      aspectKeys.add(new AspectKey<>(AspectFoo.class, makeFooUrn(i), 0L));
+    }
+
+    // When: reading 9 keys (padded to an IN list of 32), then all of them (split into 512 + 88 padded to 128)
+    List<EbeanMetadataAspect> someAspects = _ebeanLocalAccessFoo.batchGetUnion(aspectKeys, 9, 0, false, false);
+    List<EbeanMetadataAspect> allAspects = _ebeanLocalAccessFoo.batchGetUnion(aspectKeys, 600, 0, false, false);
+
+    // Expect: every existing aspect is returned exactly once, with its own value
+    assertEquals(9, someAspects.size());
+    assertEquals(100, allAspects.size());
+    Set<String> values = new HashSet<>();
+    for (EbeanMetadataAspect aspect : allAspects) {
+      String id = aspect.getKey().getUrn().substring("urn:li:foo:".length());
+      assertEquals("{\"value\":\"" + id + "\"}", aspect.getMetadata());
+      values.add(id);
+    }
+    assertEquals(100, values.size());
+  }
+
+  @Test
+  public void testGetAspectsWithMultiAspectReads() {
+    // Given: fooUrns 0 ~ 99 with AspectFoo, AspectBar on fooUrns 0 ~ 2, and AspectFoo of fooUrn 1 soft deleted
+    for (int i = 0; i < 3; i++) {
+      _ebeanLocalAccessFoo.add(makeFooUrn(i), new AspectBar().setValue("bar" + i), AspectBar.class,
+          makeAuditStamp("bar", System.currentTimeMillis()), null, false);
+    }
+    _ebeanLocalAccessFoo.add(makeFooUrn(1), null, AspectFoo.class, makeAuditStamp("foo", System.currentTimeMillis()),
+        null, false);
+    List<AspectKey<FooUrn, ? extends RecordTemplate>> aspectKeys = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      aspectKeys.add(new AspectKey<>(AspectFoo.class, makeFooUrn(i), 0L));
+    }
+    aspectKeys.add(new AspectKey<>(AspectBar.class, makeFooUrn(0), 0L));
+    aspectKeys.add(new AspectKey<>(AspectBar.class, makeFooUrn(1), 0L));
+    // doesn't have AspectBar
+    aspectKeys.add(new AspectKey<>(AspectBar.class, makeFooUrn(3), 0L));
+
+    for (boolean includeSoftDeleted : new boolean[]{false, true}) {
+      // When: reading the keys with one statement per aspect, then with a single statement
+      Set<String> expected = toComparableSet(_ebeanLocalAccessFoo.batchGetUnion(aspectKeys, 100, 0, includeSoftDeleted, false));
+      _ebeanLocalAccessFoo.setMultiAspectReadsEnabled(true);
+      try {
+        Set<String> actual = toComparableSet(_ebeanLocalAccessFoo.batchGetUnion(aspectKeys, 100, 0, includeSoftDeleted, false));
+
+        // Expect: both read the same aspects
+        assertEquals(actual, expected);
+      } finally {
+        _ebeanLocalAccessFoo.setMultiAspectReadsEnabled(false);
+      }
+      // AspectFoo of 0, 2, 3, 4 (plus the soft deleted one of 1 if included) and AspectBar of 0, 1
+      assertEquals(expected.size(), includeSoftDeleted ? 7 : 6);
+    }
+  }
+
+  private static Set<String> toComparableSet(List<EbeanMetadataAspect> aspects) {
+    Set<String> result = new HashSet<>();
+    for (EbeanMetadataAspect aspect : aspects) {
+      result.add(String.join("|", aspect.getKey().getUrn(), aspect.getKey().getAspect(), aspect.getMetadata(),
+          aspect.getCreatedBy(), String.valueOf(aspect.getCreatedOn())));
+    }
+    return result;
+  }
+
+  @Test
+  public void testNegativeResultCache() {
+    // Given: fooUrns 0 ~ 99 with AspectFoo, and another local access (e.g. on another host) not sharing the cache
+    EbeanLocalAccess<FooUrn> otherLocalAccess = new EbeanLocalAccess<>(_server,
+        EmbeddedMariaInstance.SERVER_CONFIG_MAP.get(_server.getName()), FooUrn.class, new FooUrnPathExtractor(),
+        _ebeanConfig.isNonDollarVirtualColumnsEnabled());
+    FooUrn missingUrn = makeFooUrn(1000);
+    AspectKey<FooUrn, AspectFoo> missingKey = new AspectKey<>(AspectFoo.class, missingUrn, 0L);
+    AspectKey<FooUrn, AspectBar> missingAspectKey = new AspectKey<>(AspectBar.class, makeFooUrn(1), 0L);
+    _ebeanLocalAccessFoo.setNegativeResultCache(new NegativeResultCache(100, Duration.ofMinutes(10)));
+    try {
+      // When: the misses are read once, then written by the other local access
+      assertFalse(_ebeanLocalAccessFoo.exists(missingUrn));
+      assertTrue(_ebeanLocalAccessFoo.batchGetUnion(Arrays.asList(missingAspectKey), 1, 0, false, false).isEmpty());
+      otherLocalAccess.add(missingUrn, new AspectFoo().setValue("foo"), AspectFoo.class, makeAuditStamp("foo", _now),
+          null, false);
+      otherLocalAccess.add(makeFooUrn(1), new AspectBar().setValue("bar"), AspectBar.class,
+          makeAuditStamp("bar", _now), null, false);
+
+      // Expect: the misses are served from the cache, except for reads including soft deleted aspects
+      assertFalse(_ebeanLocalAccessFoo.exists(missingUrn));
+      assertTrue(_ebeanLocalAccessFoo.batchGetUnion(Arrays.asList(missingKey), 1, 0, false, false).isEmpty());
+      assertTrue(_ebeanLocalAccessFoo.batchGetUnion(Arrays.asList(missingAspectKey), 1, 0, false, false).isEmpty());
+      assertEquals(_ebeanLocalAccessFoo.batchGetUnion(Arrays.asList(missingAspectKey), 1, 0, true, false).size(), 1);
+
+      // When: the urns are written through the caching local access
+      _ebeanLocalAccessFoo.add(missingUrn, new AspectFoo().setValue("foo2"), AspectFoo.class,
+          makeAuditStamp("foo", _now), null, false);
+      _ebeanLocalAccessFoo.add(makeFooUrn(1), new AspectBar().setValue("bar2"), AspectBar.class,
+          makeAuditStamp("bar", _now), null, false);
+
+      // Expect: the misses are forgotten
+      assertTrue(_ebeanLocalAccessFoo.exists(missingUrn));
+      assertEquals(_ebeanLocalAccessFoo.batchGetUnion(Arrays.asList(missingKey), 1, 0, false, false).size(), 1);
+      assertEquals(_ebeanLocalAccessFoo.batchGetUnion(Arrays.asList(missingAspectKey), 1, 0, false, false).size(), 1);
+    } finally {
+      _ebeanLocalAccessFoo.setNegativeResultCache(null);
+    }
+  }
+
+  @Test
+  public void testUpsertIfChangedWithConcurrentInsert() {
+    // Given: a local access whose insert races with another writer inserting the same absent urn first
+    FooUrn urn = makeFooUrn(1000);
+    EbeanServer server = spy(_server);
+    EbeanLocalAccess<FooUrn> localAccess = new EbeanLocalAccess<>(server,
+        EmbeddedMariaInstance.SERVER_CONFIG_MAP.get(_server.getName()), FooUrn.class, new FooUrnPathExtractor(),
+        _ebeanConfig.isNonDollarVirtualColumnsEnabled());
+    doAnswer(invocation -> {
+      _ebeanLocalAccessFoo.add(urn, new AspectFoo().setValue("theirs"), AspectFoo.class, makeAuditStamp("foo", _now),
+          null, false);
+      return invocation.callRealMethod();
+    }).when(server).createSqlUpdate(startsWith("INSERT INTO"));
+
+    // When: the aspect is upserted if changed
+    boolean written = localAccess.upsertIfChanged(urn, new AspectFoo().setValue("mine"), AspectFoo.class,
+        makeAuditStamp("foo", _now), null, false);
+
+    // Expect: the write isn't lost but applied over the row of the other writer
+    assertTrue(written);
+    List<EbeanMetadataAspect> aspects = _ebeanLocalAccessFoo.batchGetUnion(
+        Collections.singletonList(new AspectKey<>(AspectFoo.class, urn, 0L)), 1, 0, false, false);
+    assertEquals(aspects.get(0).getMetadata(), "{\"value\":\"mine\"}");
+  }
+
+  @Test
+  public void testReadReplicaRouting() throws IOException {
+    // Given: a replica lagging behind the primary, where urn:li:foo:0 has a stale value and urns 1 ~ 99 don't exist yet
+    EbeanServer replicaServer = EmbeddedMariaInstance.getServer(EbeanLocalAccessTest.class.getSimpleName() + "Replica");
+    replicaServer.execute(Ebean.createSqlUpdate(Resources.toString(Resources.getResource(
+        _ebeanConfig.isNonDollarVirtualColumnsEnabled() ? "ebean-local-access-create-all-with-non-dollar-virtual-column-names.sql"
+            : "ebean-local-access-create-all.sql"), StandardCharsets.UTF_8)));
+    EbeanLocalAccess<FooUrn> replicaLocalAccess = new EbeanLocalAccess<>(replicaServer,
+        EmbeddedMariaInstance.SERVER_CONFIG_MAP.get(replicaServer.getName()), FooUrn.class, new FooUrnPathExtractor(),
+        _ebeanConfig.isNonDollarVirtualColumnsEnabled());
+    replicaLocalAccess.add(makeFooUrn(0), new AspectFoo().setValue("stale"), AspectFoo.class,
+        makeAuditStamp("foo", _now), null, false);
+    Clock clock = mock(Clock.class);
+    when(clock.millis()).thenReturn(_now);
+    _ebeanLocalAccessFoo.setReadReplicaRouter(new ReadReplicaRouter(replicaServer, Duration.ofSeconds(1), 100, clock));
+    List<AspectKey<FooUrn, ? extends RecordTemplate>> keys =
+        Collections.singletonList(new AspectKey<>(AspectFoo.class, makeFooUrn(0), 0L));
+    try {
+      // Expect: reads are served by the replica
+      assertEquals(_ebeanLocalAccessFoo.batchGetUnion(keys, 1, 0, false, false).get(0).getMetadata(),
+          "{\"value\":\"stale\"}");
+      assertFalse(_ebeanLocalAccessFoo.exists(makeFooUrn(1)));
+      assertEquals(_ebeanLocalAccessFoo.listUrns(AspectFoo.class, 0, 10).getTotalCount(), 1);
+
+      // Expect: reads asking for the primary are served by the primary
+      try (ReadReplicaRouter.Scope ignored = ReadReplicaRouter.readFromPrimary()) {
+        assertEquals(_ebeanLocalAccessFoo.batchGetUnion(keys, 1, 0, false, false).get(0).getMetadata(),
+            "{\"value\":\"0\"}");
+        assertTrue(_ebeanLocalAccessFoo.exists(makeFooUrn(1)));
+        assertEquals(_ebeanLocalAccessFoo.listUrns(AspectFoo.class, 0, 10).getTotalCount(), 100);
+      }
+
+      // When: urn:li:foo:1 is written
+      _ebeanLocalAccessFoo.add(makeFooUrn(1), new AspectFoo().setValue("new"), AspectFoo.class,
+          makeAuditStamp("foo", _now), null, false);
+
+      // Expect: its reads are served by the primary within the read-your-writes window, other reads by the replica
+      assertTrue(_ebeanLocalAccessFoo.exists(makeFooUrn(1)));
+      assertEquals(_ebeanLocalAccessFoo.batchGetUnion(keys, 1, 0, false, false).get(0).getMetadata(),
+          "{\"value\":\"stale\"}");
+      when(clock.millis()).thenReturn(_now + 1000);
+      assertFalse(_ebeanLocalAccessFoo.exists(makeFooUrn(1)));
+    } finally {
+      _ebeanLocalAccessFoo.setReadReplicaRouter(null);
+    }
+  }
+
   @Test
   public void testGetAspectWhenColumnMissing() throws Exception {
     // Given: a valid URN for which the aspect column does not exist
@@ -195,6 +381,120 @@ public class EbeanLocalAccessTest {
     assertEquals(5, listUrns.getTotalPageCount());
   }
 
+  @Test
+  public void testListUrnsAfterUrn() {
+    // Given: metadata_entity_foo table with fooUrns from 0 ~ 99
+    List<String> expected = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      expected.add(makeFooUrn(i).toString());
+    }
+    Collections.sort(expected);
+
+    // When: listing all the urns 30 at a time, each page after the last urn of the previous one
+    List<String> listed = new ArrayList<>();
+    FooUrn lastUrn = null;
+    ListResult<FooUrn> page;
+    int pages = 0;
+    do {
+      page = _ebeanLocalAccessFoo.listUrns(AspectFoo.class, lastUrn, 30, ListResult.TotalCountMode.NONE);
+      page.getValues().forEach(urn -> listed.add(urn.toString()));
+      lastUrn = page.getValues().get(page.getValues().size() - 1);
+      pages++;
+    } while (page.isHavingMore());
+
+    // Expect: all the urns are listed once, in urn order, without any total count
+    assertEquals(pages, 4);
+    assertEquals(listed, expected);
+    assertEquals(page.getTotalCount(), ListResult.UNKNOWN_TOTAL_COUNT);
+
+    // Expect: the total count is only computed on demand
+    ListResult<FooUrn> counted = _ebeanLocalAccessFoo.listUrns(AspectFoo.class, null, 30, ListResult.TotalCountMode.EXACT);
+    assertEquals(counted.getTotalCount(), 100);
+    assertEquals(counted.getTotalPageCount(), 4);
+    ListResult<FooUrn> estimated =
+        _ebeanLocalAccessFoo.listUrns(AspectFoo.class, null, 30, ListResult.TotalCountMode.ESTIMATED);
+    assertTrue(estimated.getTotalCount() >= 0);
+  }
+
+  @Test
+  public void testListAfterUrn() {
+    // Given: metadata_entity_foo table with fooUrns from 0 ~ 99
+    FooUrn fooUrn0 = makeFooUrn(0);
+
+    // When: listing the first page of AspectFoo, and the page after urn:li:foo:0
+    ListResult<AspectFoo> first = _ebeanLocalAccessFoo.list(AspectFoo.class, null, 1, ListResult.TotalCountMode.EXACT);
+    ListResult<AspectFoo> next = _ebeanLocalAccessFoo.list(AspectFoo.class, fooUrn0, 1, ListResult.TotalCountMode.NONE);
+
+    // Expect: urn:li:foo:0 then urn:li:foo:1, the next urn in lexicographic order
+    assertEquals(first.getValues(), Collections.singletonList(new AspectFoo().setValue("0")));
+    assertEquals(first.getMetadata().getExtraInfos().get(0).getUrn(), fooUrn0);
+    assertEquals(first.getTotalCount(), 100);
+    assertTrue(first.isHavingMore());
+    assertEquals(next.getValues(), Collections.singletonList(new AspectFoo().setValue("1")));
+    assertEquals(next.getMetadata().getExtraInfos().size(), 1);
+    assertEquals(next.getTotalCount(), ListResult.UNKNOWN_TOTAL_COUNT);
+  }
+
+  @Test
+  public void testScanUrnsAcrossSegments() {
+    // Given: metadata_entity_foo table with fooUrns from 0 ~ 99
+    List<String> expected = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      expected.add(makeFooUrn(i).toString());
+    }
+    Collections.sort(expected);
+
+    // When: scanning the whole table with segments of 30 rows, so it takes 4 queries
+    List<String> scanned = new ArrayList<>();
+    try (CloseableIterator<FooUrn> urns = _ebeanLocalAccessFoo.scanUrns(null, 7, 30)) {
+      urns.forEachRemaining(urn -> scanned.add(urn.toString()));
+    }
+
+    // Expect: all the urns are returned once, in urn order
+    assertEquals(scanned, expected);
+  }
+
+  @Test
+  public void testScanAspectsWithFilter() {
+    // Given: metadata_entity_foo table with fooUrns from 0 ~ 99
+    // When: scanning urns where ids >= 25 and id < 50 along with their AspectFoo and AspectBar
+    IndexCriterionArray indexCriterionArray = new IndexCriterionArray();
+    indexCriterionArray.add(
+        SQLIndexFilterUtils.createIndexCriterion(AspectFoo.class, "value", Condition.GREATER_THAN_OR_EQUAL_TO,
+            IndexValue.create(25)));
+    indexCriterionArray.add(
+        SQLIndexFilterUtils.createIndexCriterion(AspectFoo.class, "value", Condition.LESS_THAN, IndexValue.create(50)));
+    IndexFilter indexFilter = new IndexFilter().setCriteria(indexCriterionArray);
+
+    List<UrnAspectEntry<FooUrn>> scanned = new ArrayList<>();
+    try (CloseableIterator<UrnAspectEntry<FooUrn>> entries =
+        _ebeanLocalAccessFoo.scanAspects(new HashSet<>(Arrays.asList(AspectFoo.class, AspectBar.class)), indexFilter, 4,
+            10)) {
+      entries.forEachRemaining(scanned::add);
+    }
+
+    // Expect: urns 25 ~ 49 are returned with only their AspectFoo, as none has AspectBar
+    assertEquals(scanned.size(), 25);
+    for (int i = 0; i < 25; i++) {
+      assertEquals(scanned.get(i),
+          new UrnAspectEntry<>(makeFooUrn(25 + i), Collections.singletonList(new AspectFoo().setValue(String.valueOf(25 + i)))));
+    }
+  }
+
+  @Test
+  public void testScanUrnsClosedEarly() {
+    // Given: metadata_entity_foo table with fooUrns from 0 ~ 99
+    CloseableIterator<FooUrn> urns = _ebeanLocalAccessFoo.scanUrns(null, 5, 10);
+    assertTrue(urns.hasNext());
+    urns.next();
+
+    // When: closing the scan before it's done
+    urns.close();
+
+    // Expect: there is nothing left to iterate
+    assertFalse(urns.hasNext());
+  }
+
   @Test
   public void testListUrnsWithLastUrn() throws URISyntaxException {
 
@@ -333,6 +633,47 @@ public class EbeanLocalAccessTest {
     assertEquals(countMap.get("25"), Long.valueOf(2));
   }
 
+  @Test
+  public void testCountAggregateFromCache() {
+    // Given: fooUrns 0 ~ 99 with AspectFoo, and another local access (e.g. on another host) not sharing the cache
+    EbeanLocalAccess<FooUrn> otherLocalAccess = new EbeanLocalAccess<>(_server,
+        EmbeddedMariaInstance.SERVER_CONFIG_MAP.get(_server.getName()), FooUrn.class, new FooUrnPathExtractor(),
+        _ebeanConfig.isNonDollarVirtualColumnsEnabled());
+    IndexFilter indexFilter = new IndexFilter().setCriteria(new IndexCriterionArray(Collections.singletonList(
+        SQLIndexFilterUtils.createIndexCriterion(AspectFoo.class, "value", Condition.EQUAL, IndexValue.create(25)))));
+    IndexGroupByCriterion indexGroupByCriterion =
+        new IndexGroupByCriterion().setAspect(AspectFoo.class.getCanonicalName()).setPath("/value");
+    AggregateCountCache cache = new AggregateCountCache(Duration.ofMinutes(10));
+    cache.register(indexFilter, indexGroupByCriterion);
+    _ebeanLocalAccessFoo.setAggregateCountCache(cache);
+    try {
+      // When: the shape is counted once, then foo:26's value is changed to 25 by the other local access
+      assertEquals(_ebeanLocalAccessFoo.countAggregate(indexFilter, indexGroupByCriterion).get("25"), Long.valueOf(1));
+      otherLocalAccess.add(makeFooUrn(26), new AspectFoo().setValue("25"), AspectFoo.class,
+          makeAuditStamp("foo", _now), null, false);
+
+      // Expect: the count is served from the cache, unlike shapes that aren't registered
+      assertEquals(_ebeanLocalAccessFoo.countAggregate(indexFilter, indexGroupByCriterion).get("25"), Long.valueOf(1));
+      assertEquals(_ebeanLocalAccessFoo.countAggregate(null, indexGroupByCriterion).get("25"), Long.valueOf(2));
+
+      // When: an aspect the shape doesn't read is written through the caching local access
+      _ebeanLocalAccessFoo.add(makeFooUrn(26), new AspectBar().setValue("bar"), AspectBar.class,
+          makeAuditStamp("foo", _now), null, false);
+
+      // Expect: the count is still served from the cache
+      assertEquals(_ebeanLocalAccessFoo.countAggregate(indexFilter, indexGroupByCriterion).get("25"), Long.valueOf(1));
+
+      // When: foo:27's value is changed to 25 through the caching local access
+      _ebeanLocalAccessFoo.add(makeFooUrn(27), new AspectFoo().setValue("25"), AspectFoo.class,
+          makeAuditStamp("foo", _now), null, false);
+
+      // Expect: the cached count is forgotten
+      assertEquals(_ebeanLocalAccessFoo.countAggregate(indexFilter, indexGroupByCriterion).get("25"), Long.valueOf(3));
+    } finally {
+      _ebeanLocalAccessFoo.setAggregateCountCache(null);
+    }
+  }
+
   @Test
   public void testCountAggregateSkipsMissingColumn() throws Exception {
     // Given: metadata_entity_foo table with fooUrns from 0 ~ 99
@@ -737,6 +1078,83 @@ public class EbeanLocalAccessTest {
     assertEquals(fooUrn.toString(), testTableResults.get(0).getKey().getUrn());
   }
 
+  @Test
+  public void testBatchUpsertMany() {
+    // Arrange - urn 322 already exists, urns 320 and 321 write the same aspects in a different order
+    FooUrn fooUrn1 = makeFooUrn(320);
+    FooUrn fooUrn2 = makeFooUrn(321);
+    FooUrn fooUrn3 = makeFooUrn(322);
+    AspectFoo oldFoo = new AspectFoo().setValue("old");
+    AuditStamp auditStamp = makeAuditStamp("actor", _now);
+    _ebeanLocalAccessFoo.batchUpsert(fooUrn3, Collections.singletonList(
+        new BaseLocalDAO.AspectUpdateContext<>(null, oldFoo, new BaseLocalDAO.AspectUpdateLambda<>(oldFoo))),
+        auditStamp, null, false);
+
+    Map<FooUrn, List<BaseLocalDAO.AspectUpdateContext<RecordTemplate>>> updateContexts = new LinkedHashMap<>();
+    updateContexts.put(fooUrn1, Arrays.asList(updateContext(new AspectFoo().setValue("foo1")),
+        updateContext(new AspectBar().setValue("bar1"))));
+    updateContexts.put(fooUrn2, Arrays.asList(updateContext(new AspectBar().setValue("bar2")),
+        updateContext(new AspectFoo().setValue("foo2"))));
+    updateContexts.put(fooUrn3, Collections.singletonList(updateContext(new AspectFoo().setValue("foo3"))));
+
+    // Act
+    int result = _ebeanLocalAccessFoo.batchUpsertMany(updateContexts, auditStamp, null, false);
+
+    // Assert - 2 rows inserted and 1 row updated, which MySQL reports as 2 affected rows
+    assertEquals(result, 4);
+    List<AspectKey<FooUrn, ? extends RecordTemplate>> keys = Arrays.asList(
+        new AspectKey<>(AspectFoo.class, fooUrn1, 0L), new AspectKey<>(AspectBar.class, fooUrn1, 0L),
+        new AspectKey<>(AspectFoo.class, fooUrn2, 0L), new AspectKey<>(AspectBar.class, fooUrn2, 0L),
+        new AspectKey<>(AspectFoo.class, fooUrn3, 0L));
+    Map<String, String> metadata = new HashMap<>();
+    for (EbeanMetadataAspect aspect : _ebeanLocalAccessFoo.batchGetUnion(keys, keys.size(), 0, false, false)) {
+      metadata.put(aspect.getKey().getUrn() + "/" + aspect.getKey().getAspect(), aspect.getMetadata());
+    }
+    assertEquals(metadata.size(), 5);
+    assertEquals(metadata.get(fooUrn1 + "/" + AspectFoo.class.getCanonicalName()), "{\"value\":\"foo1\"}");
+    assertEquals(metadata.get(fooUrn1 + "/" + AspectBar.class.getCanonicalName()), "{\"value\":\"bar1\"}");
+    assertEquals(metadata.get(fooUrn2 + "/" + AspectFoo.class.getCanonicalName()), "{\"value\":\"foo2\"}");
+    assertEquals(metadata.get(fooUrn2 + "/" + AspectBar.class.getCanonicalName()), "{\"value\":\"bar2\"}");
+    assertEquals(metadata.get(fooUrn3 + "/" + AspectFoo.class.getCanonicalName()), "{\"value\":\"foo3\"}");
+  }
+
+  private static BaseLocalDAO.AspectUpdateContext<RecordTemplate> updateContext(RecordTemplate value) {
+    return new BaseLocalDAO.AspectUpdateContext<>(null, value, new BaseLocalDAO.AspectUpdateLambda<>(value));
+  }
+
+  @Test
+  public void testUpsertIfChanged() {
+    FooUrn fooUrn = makeFooUrn(330);
+    AuditStamp auditStamp = makeAuditStamp("actor", _now);
+    AspectKey<FooUrn, AspectFoo> key = new AspectKey<>(AspectFoo.class, fooUrn, 0L);
+
+    // absent entity is inserted, then the same value is skipped
+    assertTrue(_ebeanLocalAccessFoo.upsertIfChanged(fooUrn, new AspectFoo().setValue("foo"), AspectFoo.class, auditStamp,
+        null, false));
+    assertFalse(_ebeanLocalAccessFoo.upsertIfChanged(fooUrn, new AspectFoo().setValue("foo"), AspectFoo.class, auditStamp,
+        null, false));
+
+    // changed value is written
+    assertTrue(_ebeanLocalAccessFoo.upsertIfChanged(fooUrn, new AspectFoo().setValue("bar"), AspectFoo.class, auditStamp,
+        null, false));
+    assertEquals(_ebeanLocalAccessFoo.batchGetUnion(Collections.singletonList(key), 1, 0, false, false).get(0).getMetadata(),
+        "{\"value\":\"bar\"}");
+
+    // an aspect written without a content hash is always written once
+    _ebeanLocalAccessFoo.add(fooUrn, new AspectFoo().setValue("baz"), AspectFoo.class, auditStamp, null, false);
+    assertTrue(_ebeanLocalAccessFoo.upsertIfChanged(fooUrn, new AspectFoo().setValue("baz"), AspectFoo.class, auditStamp,
+        null, false));
+    assertFalse(_ebeanLocalAccessFoo.upsertIfChanged(fooUrn, new AspectFoo().setValue("baz"), AspectFoo.class, auditStamp,
+        null, false));
+
+    // a soft deleted entity is revived even if its aspect is unchanged
+    _ebeanLocalAccessFoo.softDeleteAsset(fooUrn, false);
+    assertTrue(_ebeanLocalAccessFoo.upsertIfChanged(fooUrn, new AspectFoo().setValue("baz"), AspectFoo.class, auditStamp,
+        null, false));
+    assertEquals(_ebeanLocalAccessFoo.batchGetUnion(Collections.singletonList(key), 1, 0, false, false).get(0).getMetadata(),
+        "{\"value\":\"baz\"}");
+  }
+
   // ==================== readDeletionInfoBatch tests ====================
 
   /**
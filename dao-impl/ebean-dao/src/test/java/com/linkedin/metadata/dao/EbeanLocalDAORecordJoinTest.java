@@ -0,0 +1,166 @@
+package com.linkedin.metadata.dao;
+
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.dao.EbeanLocalDAO.RecordJoinKey;
+import com.linkedin.metadata.dao.EbeanMetadataAspect.PrimaryKey;
+import com.linkedin.metadata.dao.utils.ModelUtils;
+import com.linkedin.testing.AspectBar;
+import com.linkedin.testing.AspectBaz;
+import com.linkedin.testing.AspectFoo;
+import com.linkedin.testing.urn.FooUrn;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.annotations.Test;
+
+import static com.linkedin.testing.TestUtils.*;
+import static org.testng.Assert.*;
+
+
+/**
+ * Tests for the hash-indexed join of requested {@link AspectKey}s against the records returned by a batch get, plus a
+ * micro-benchmark comparing it with the previous linear {@link EbeanLocalDAO#matchKeys(AspectKey, PrimaryKey)} scan.
+ */
+@Slf4j
+public class EbeanLocalDAORecordJoinTest {
+
+  private static final List<Class<? extends RecordTemplate>> ASPECT_CLASSES =
+      Arrays.asList(AspectFoo.class, AspectBar.class, AspectBaz.class);
+
+  @Test
+  public void testRecordJoinKeyIgnoresUrnCase() {
+    AspectKey<FooUrn, AspectFoo> aspectKey = new AspectKey<>(AspectFoo.class, makeFooUrn(1), 0L);
+    PrimaryKey pk = new PrimaryKey("URN:LI:FOO:1", ModelUtils.getAspectName(AspectFoo.class), 0L);
+
+    assertEquals(RecordJoinKey.of(aspectKey), RecordJoinKey.of(pk));
+  }
+
+  @Test
+  public void testRecordJoinKeyDistinguishesAspectAndVersion() {
+    FooUrn urn = makeFooUrn(1);
+    RecordJoinKey key = RecordJoinKey.of(new AspectKey<>(AspectFoo.class, urn, 0L));
+
+    assertNotEquals(key, RecordJoinKey.of(new AspectKey<>(AspectBar.class, urn, 0L)));
+    assertNotEquals(key, RecordJoinKey.of(new AspectKey<>(AspectFoo.class, urn, 1L)));
+    assertNotEquals(key, RecordJoinKey.of(new AspectKey<>(AspectFoo.class, makeFooUrn(2), 0L)));
+  }
+
+  @Test
+  public void testIndexRecordsByKeyKeepsFirstMatch() {
+    FooUrn urn = makeFooUrn(1);
+    EbeanMetadataAspect first = makeRecord(urn.toString(), AspectFoo.class);
+    EbeanMetadataAspect duplicate = makeRecord(urn.toString().toUpperCase(), AspectFoo.class);
+
+    Map<RecordJoinKey, EbeanMetadataAspect> index = EbeanLocalDAO.indexRecordsByKey(Arrays.asList(first, duplicate));
+
+    assertEquals(index.size(), 1);
+    assertSame(index.get(RecordJoinKey.of(new AspectKey<>(AspectFoo.class, urn, 0L))), first);
+  }
+
+  @Test
+  public void testIndexedJoinMatchesLinearScan() {
+    List<AspectKey<FooUrn, ? extends RecordTemplate>> keys = makeKeys(50);
+    List<EbeanMetadataAspect> records = makeRecords(keys);
+    // drop some records so that a subset of the keys has no match
+    records.removeIf(record -> record.getKey().getUrn().endsWith("7"));
+
+    Map<RecordJoinKey, EbeanMetadataAspect> index = EbeanLocalDAO.indexRecordsByKey(records);
+    for (AspectKey<FooUrn, ? extends RecordTemplate> key : keys) {
+      EbeanMetadataAspect expected = linearMatch(key, records);
+      assertSame(index.get(RecordJoinKey.of(key)), expected);
+    }
+  }
+
+  /**
+   * Times the indexed join against the linear scan for growing batch sizes. The numbers are logged rather than asserted
+   * so that the test does not become flaky on a busy machine; the expected shape is a roughly constant per-key cost for
+   * the indexed join and a per-key cost growing linearly with the batch size for the linear scan.
+   */
+  @Test
+  public void benchmarkIndexedJoinAgainstLinearScan() {
+    for (int urnCount : new int[]{10, 100, 500}) {
+      List<AspectKey<FooUrn, ? extends RecordTemplate>> keys = makeKeys(urnCount);
+      List<EbeanMetadataAspect> records = makeRecords(keys);
+
+      // warm up both paths before timing
+      runLinear(keys, records);
+      runIndexed(keys, records);
+
+      long start = System.nanoTime();
+      int linearMatches = runLinear(keys, records);
+      long linearNanos = System.nanoTime() - start;
+
+      start = System.nanoTime();
+      int indexedMatches = runIndexed(keys, records);
+      long indexedNanos = System.nanoTime() - start;
+
+      assertEquals(indexedMatches, linearMatches);
+      assertEquals(indexedMatches, keys.size());
+      log.info("Joined {} keys: linear scan {} us, indexed join {} us, speedup {}x", keys.size(), linearNanos / 1000,
+          indexedNanos / 1000, String.format("%.1f", (double) linearNanos / Math.max(1, indexedNanos)));
+    }
+  }
+
+  private static int runLinear(List<AspectKey<FooUrn, ? extends RecordTemplate>> keys,
+      List<EbeanMetadataAspect> records) {
+    int matches = 0;
+    for (AspectKey<FooUrn, ? extends RecordTemplate> key : keys) {
+      if (linearMatch(key, records) != null) {
+        matches++;
+      }
+    }
+    return matches;
+  }
+
+  private static int runIndexed(List<AspectKey<FooUrn, ? extends RecordTemplate>> keys,
+      List<EbeanMetadataAspect> records) {
+    Map<RecordJoinKey, EbeanMetadataAspect> index = EbeanLocalDAO.indexRecordsByKey(records);
+    int matches = 0;
+    for (AspectKey<FooUrn, ? extends RecordTemplate> key : keys) {
+      if (index.get(RecordJoinKey.of(key)) != null) {
+        matches++;
+      }
+    }
+    return matches;
+  }
+
+  // Same predicate as EbeanLocalDAO#matchKeys, kept here so the benchmark does not need a DAO instance
+  private static EbeanMetadataAspect linearMatch(AspectKey<FooUrn, ? extends RecordTemplate> key,
+      List<EbeanMetadataAspect> records) {
+    return records.stream()
+        .filter(record -> key.getUrn().toString().equalsIgnoreCase(record.getKey().getUrn())
+            && key.getVersion() == record.getKey().getVersion()
+            && ModelUtils.getAspectName(key.getAspectClass()).equals(record.getKey().getAspect()))
+        .findFirst()
+        .orElse(null);
+  }
+
+  private static List<AspectKey<FooUrn, ? extends RecordTemplate>> makeKeys(int urnCount) {
+    List<AspectKey<FooUrn, ? extends RecordTemplate>> keys = new ArrayList<>();
+    for (int i = 0; i < urnCount; i++) {
+      FooUrn urn = makeFooUrn(i);
+      for (Class<? extends RecordTemplate> aspectClass : ASPECT_CLASSES) {
+        keys.add(new AspectKey<>(aspectClass, urn, 0L));
+      }
+    }
+    return keys;
+  }
+
+  private static List<EbeanMetadataAspect> makeRecords(List<AspectKey<FooUrn, ? extends RecordTemplate>> keys) {
+    List<EbeanMetadataAspect> records = new ArrayList<>();
+    // reverse order so that the linear scan cannot get lucky with early matches
+    for (int i = keys.size() - 1; i >= 0; i--) {
+      records.add(makeRecord(keys.get(i).getUrn().toString(), keys.get(i).getAspectClass()));
+    }
+    return records;
+  }
+
+  private static EbeanMetadataAspect makeRecord(String urn, Class<? extends RecordTemplate> aspectClass) {
+    EbeanMetadataAspect record = new EbeanMetadataAspect();
+    record.setKey(new PrimaryKey(urn, ModelUtils.getAspectName(aspectClass), 0L));
+    record.setMetadata("{}");
+    return record;
+  }
+}
@@ -16,6 +16,7 @@ import com.linkedin.metadata.dao.EbeanLocalDAO.FindMethodology;
 import com.linkedin.metadata.dao.EbeanLocalDAO.SchemaConfig;
 import com.linkedin.metadata.dao.EbeanMetadataAspect.PrimaryKey;
 import com.linkedin.metadata.dao.builder.BaseLocalRelationshipBuilder;
+import com.linkedin.metadata.dao.cache.InMemoryAspectCache;
 import com.linkedin.metadata.dao.equality.AlwaysFalseEqualityTester;
 import com.linkedin.metadata.dao.equality.DefaultEqualityTester;
 import com.linkedin.metadata.dao.ingestion.AspectCallbackMapKey;
@@ -33,6 +34,7 @@ import com.linkedin.metadata.dao.storage.LocalDAOStorageConfig;
 import com.linkedin.metadata.dao.tracking.BaseDaoBenchmarkMetrics;
 import com.linkedin.metadata.dao.tracking.BaseDaoUsageEmitter;
 import com.linkedin.metadata.dao.tracking.BaseTrackingManager;
+import com.linkedin.metadata.dao.tracking.NoOpDaoBenchmarkMetrics;
 import com.linkedin.metadata.dao.tracking.NoOpDaoUsageEmitter;
 import com.linkedin.metadata.dao.urnpath.UrnPathExtractor;
 import com.linkedin.metadata.dao.utils.BarUrnPathExtractor;
@@ -95,6 +97,7 @@ import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
 import java.sql.Timestamp;
 import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
@@ -104,17 +107,26 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.persistence.OptimisticLockException;
 import javax.persistence.RollbackException;
+import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatchers;
 import org.mockito.InOrder;
 import org.mockito.MockedStatic;
@@ -228,6 +240,9 @@ public class EbeanLocalDAOTest {
     }
     _mockProducer = mock(BaseMetadataEventProducer.class);
     _mockTrackingProducer = mock(BaseTrackingMetadataEventProducer.class);
+    // backfill MAEs are produced in batches, which are produced one event at a time by default
+    doCallRealMethod().when(_mockProducer).produceAspectSpecificMetadataAuditEvents(any(), any());
+    doCallRealMethod().when(_mockTrackingProducer).produceAspectSpecificMetadataAuditEvents(any(), any(), any());
     _mockTrackingManager = mock(BaseTrackingManager.class);
     _now = Instant.now().getEpochSecond() * 1000;
     _dummyAuditStamp = makeAuditStamp("foo", _now);
@@ -946,6 +961,42 @@ public class EbeanLocalDAOTest {
     assertNotNull(getMetadata(urn, aspectName, 0));
   }
 
+  @Test
+  public void testVersionBasedRetentionWithSweeper() {
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+    dao.setRetention(AspectFoo.class, new VersionBasedRetention(2));
+    EbeanRetentionSweeper<FooUrn> sweeper = new EbeanRetentionSweeper<>(dao, 1, 1000);
+    dao.setRetentionSweeper(sweeper);
+    FooUrn urn = makeFooUrn(1);
+    String aspectName = ModelUtils.getAspectName(AspectFoo.class);
+
+    for (int i = 0; i < 4; i++) {
+      dao.add(urn, new AspectFoo().setValue("foo" + i), _dummyAuditStamp);
+    }
+    if (!dao.isChangeLogEnabled()) {
+      assertEquals(sweeper.getPendingCount(), 0);
+      return;
+    }
+
+    // the writes only record the aspect
+    assertNotNull(getMetadata(urn, aspectName, 1));
+    assertNotNull(getMetadata(urn, aspectName, 2));
+    assertEquals(sweeper.getPendingCount(), 1);
+
+    // versions 1 and 2 are deleted by two full batches, then a short batch ends the sweep
+    assertEquals(sweeper.sweep(), 2);
+    assertNull(getMetadata(urn, aspectName, 1));
+    assertNull(getMetadata(urn, aspectName, 2));
+    assertNotNull(getMetadata(urn, aspectName, 3));
+    assertNotNull(getMetadata(urn, aspectName, 0));
+    assertEquals(sweeper.getPendingCount(), 0);
+    assertEquals(sweeper.getDeletedCount(), 2);
+    assertEquals(sweeper.sweep(), 0);
+
+    // a sweeper only applies to the DAO it was created for
+    assertThrows(IllegalArgumentException.class, () -> createDao(FooUrn.class).setRetentionSweeper(sweeper));
+  }
+
   @Test
   public void testAddSuccessAfterRetry() {
     if (_schemaConfig == SchemaConfig.OLD_SCHEMA_ONLY) {
@@ -978,6 +1029,126 @@ public class EbeanLocalDAOTest {
 
   @Test(expectedExceptions = RetryLimitReached.class)
   public void testAddFailedAfterRetry() {
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(createConflictingServer(), FooUrn.class);
+    dao.add(makeFooUrn(1), new AspectFoo().setValue("foo"), _dummyAuditStamp);
+  }
+
+  @Test
+  public void testAddFailedWithinRetryBudget() {
+    EbeanServer server = createConflictingServer();
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(server, FooUrn.class);
+    BaseDaoBenchmarkMetrics metrics = mock(BaseDaoBenchmarkMetrics.class);
+    when(metrics.isEnabled()).thenReturn(true);
+    dao.setBenchmarkMetrics(metrics);
+    // the first retry would wait past the budget
+    dao.setTransactionRetryPolicy(TransactionRetryPolicy.exponentialBackoff(10_000, 10_000, 0, 1000));
+
+    RetryLimitReached exception = expectThrows(RetryLimitReached.class,
+        () -> dao.add(makeFooUrn(1), new AspectFoo().setValue("foo"), _dummyAuditStamp));
+    assertTrue(exception.getMessage().contains("retry budget"));
+    verify(server, times(1)).beginTransaction();
+    verify(metrics).recordOperation(eq(EbeanLocalDAO.RETRIED_TRANSACTION_OPERATION), eq("foo"), eq("AspectFoo"), eq("0"),
+        eq("failure"), eq("RollbackException"), anyLong());
+    verify(metrics, never()).recordOperation(eq(EbeanLocalDAO.TRANSACTION_RETRY_OPERATION), any(), any(), any(), any(),
+        any(), anyLong());
+  }
+
+  @Test
+  public void testAddRetriesWithBackoff() {
+    EbeanServer server = createConflictingServer();
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(server, FooUrn.class);
+    BaseDaoBenchmarkMetrics metrics = mock(BaseDaoBenchmarkMetrics.class);
+    when(metrics.isEnabled()).thenReturn(true);
+    dao.setBenchmarkMetrics(metrics);
+    dao.setTransactionRetryPolicy(TransactionRetryPolicy.exponentialBackoff(5, 200, 0, 30_000));
+
+    expectThrows(RetryLimitReached.class, () -> dao.add(makeFooUrn(1), AspectFoo.class,
+        ignored -> new AspectFoo().setValue("foo"), _dummyAuditStamp, 2, null));
+
+    // each of the 2 retries waited before starting, 5 then 10 ms
+    verify(server, times(3)).beginTransaction();
+    ArgumentCaptor<Long> waitedMs = ArgumentCaptor.forClass(Long.class);
+    verify(metrics, times(2)).recordOperation(eq(EbeanLocalDAO.TRANSACTION_RETRY_OPERATION), eq("foo"), any(), any(),
+        any(), eq("RollbackException"), waitedMs.capture());
+    assertEquals(waitedMs.getAllValues(), Arrays.asList(5L, 10L));
+    verify(metrics).recordOperation(eq(EbeanLocalDAO.RETRIED_TRANSACTION_OPERATION), eq("foo"), any(), any(),
+        eq("failure"), eq("RollbackException"), anyLong());
+  }
+
+  @Test
+  public void testConcurrentWritersWithBackoff() throws Exception {
+    long retriesWithoutBackoff = addConcurrently(TransactionRetryPolicy.NO_BACKOFF, makeFooUrn(6300));
+    long retriesWithBackoff =
+        addConcurrently(TransactionRetryPolicy.exponentialBackoff(5, 200, 0.5, 30_000), makeFooUrn(6301));
+
+    // spreading the retries out makes them conflict less
+    assertTrue(retriesWithBackoff <= retriesWithoutBackoff,
+        "retries with backoff: " + retriesWithBackoff + ", without: " + retriesWithoutBackoff);
+  }
+
+  @Test(groups = "benchmark")
+  public void testConcurrentWritersThroughputWithBackoff() throws Exception {
+    long startMs = System.currentTimeMillis();
+    addConcurrently(TransactionRetryPolicy.NO_BACKOFF, makeFooUrn(6310));
+    long elapsedWithoutBackoffMs = System.currentTimeMillis() - startMs;
+    startMs = System.currentTimeMillis();
+    addConcurrently(TransactionRetryPolicy.exponentialBackoff(5, 200, 0.5, 30_000), makeFooUrn(6311));
+    long elapsedWithBackoffMs = System.currentTimeMillis() - startMs;
+
+    assertTrue(elapsedWithBackoffMs <= elapsedWithoutBackoffMs,
+        "elapsed with backoff: " + elapsedWithBackoffMs + " ms, without: " + elapsedWithoutBackoffMs + " ms");
+  }
+
+  /**
+   * Has concurrent writers update the same aspect of the same urn, so that their transactions conflict, and checks
+   * that every write commits.
+   *
+   * @return the number of transaction retries
+   */
+  private long addConcurrently(@Nonnull TransactionRetryPolicy retryPolicy, @Nonnull FooUrn urn) throws Exception {
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+    dao.setTransactionRetryPolicy(retryPolicy);
+    BaseDaoBenchmarkMetrics metrics = mock(BaseDaoBenchmarkMetrics.class);
+    when(metrics.isEnabled()).thenReturn(true);
+    dao.setBenchmarkMetrics(metrics);
+    int writers = 8;
+    int writesPerWriter = 10;
+
+    ExecutorService executor = Executors.newFixedThreadPool(writers);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < writers; i++) {
+        int writer = i;
+        futures.add(executor.submit(() -> {
+          for (int j = 0; j < writesPerWriter; j++) {
+            String value = "foo" + writer + "-" + j;
+            dao.add(urn, AspectFoo.class, ignored -> new AspectFoo().setValue(value),
+                makeAuditStamp("foo", _now + writer * writesPerWriter + j), 50, null);
+          }
+        }));
+      }
+      // a write running out of retries fails its writer
+      for (Future<?> future : futures) {
+        future.get(60, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertTrue(dao.get(AspectFoo.class, urn).isPresent());
+    verify(metrics, never()).recordOperation(eq(EbeanLocalDAO.RETRIED_TRANSACTION_OPERATION), any(), any(), any(),
+        eq("failure"), any(), anyLong());
+    return mockingDetails(metrics).getInvocations().stream()
+        .filter(invocation -> invocation.getMethod().getName().equals("recordOperation")
+            && EbeanLocalDAO.TRANSACTION_RETRY_OPERATION.equals(invocation.getArgument(0)))
+        .count();
+  }
+
+  /**
+   * Creates a mocked server on which every transaction rolls back.
+   */
+  @Nonnull
+  private static EbeanServer createConflictingServer() {
     EbeanServer server = mock(EbeanServer.class);
     Transaction mockTransaction = mock(Transaction.class);
     SqlQuery mockSqlQuery = mock(SqlQuery.class);
@@ -1002,9 +1173,7 @@ public class EbeanLocalDAOTest {
     when(mockEList.eq(any(), any())).thenReturn(mockEList);
     when(mockEList.orderBy()).thenReturn(mockOrderBy);
     when(mockOrderBy.desc(any())).thenReturn(mockQuery);
-
-    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(server, FooUrn.class);
-    dao.add(makeFooUrn(1), new AspectFoo().setValue("foo"), _dummyAuditStamp);
+    return server;
   }
 
   @Test
@@ -1142,6 +1311,30 @@ public class EbeanLocalDAOTest {
     assertEquals(result.get(AspectBar.class).get(), barV0);
   }
 
+  @Test
+  public void testGetLazilyDecodesOnAccess() {
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+    FooUrn urn = makeFooUrn(1);
+    AspectFoo foo = new AspectFoo().setValue("foo");
+    dao.add(urn, foo, _dummyAuditStamp);
+    AspectBar bar = new AspectBar().setValue("bar");
+    dao.add(urn, bar, _dummyAuditStamp);
+    dao.delete(urn, AspectBar.class, _dummyAuditStamp);
+    AspectKey<FooUrn, AspectFoo> fooKey = new AspectKey<>(AspectFoo.class, urn, 0L);
+    AspectKey<FooUrn, AspectBar> barKey = new AspectKey<>(AspectBar.class, urn, 0L);
+    AspectKey<FooUrn, AspectFoo> missingKey = new AspectKey<>(AspectFoo.class, makeFooUrn(2), 0L);
+
+    Map<AspectKey<FooUrn, ? extends RecordTemplate>, LazyAspect<? extends RecordTemplate>> result =
+        dao.getLazily(ImmutableSet.of(fooKey, barKey, missingKey));
+
+    // soft deleted and missing aspects are left out
+    assertEquals(result.keySet(), Collections.singleton(fooKey));
+    LazyAspect<? extends RecordTemplate> lazyFoo = result.get(fooKey);
+    assertFalse(lazyFoo.isMaterialized());
+    assertEquals(lazyFoo.get(), foo);
+    assertTrue(lazyFoo.isMaterialized());
+  }
+
   @Test
   public void testGetMultipleAspectsForMultipleUrns() {
     EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
@@ -1213,6 +1406,8 @@ public class EbeanLocalDAOTest {
     assertEquals(foo.get(), expected);
     verify(_mockProducer, times(1))
         .produceAspectSpecificMetadataAuditEvent(urn, expected, expected, AspectFoo.class, null, IngestionMode.BOOTSTRAP);
+    // backfill MAEs are produced as a single batch
+    verify(_mockProducer, times(1)).produceAspectSpecificMetadataAuditEvents(any(), eq(IngestionMode.BOOTSTRAP));
     verifyNoMoreInteractions(_mockProducer);
   }
 
@@ -1302,6 +1497,8 @@ public class EbeanLocalDAOTest {
             .produceAspectSpecificMetadataAuditEvent(urn, aspect, aspect, clazz, null, IngestionMode.BOOTSTRAP);
       }
     }
+    // backfill MAEs are produced as a single batch
+    verify(_mockProducer, times(1)).produceAspectSpecificMetadataAuditEvents(any(), eq(IngestionMode.BOOTSTRAP));
     verifyNoMoreInteractions(_mockProducer);
   }
 
@@ -1340,6 +1537,8 @@ public class EbeanLocalDAOTest {
       }
       assertFalse(backfilledAspects.get(urn.toString()).contains(getAspectName(AspectFooBar.class)));
     }
+    // backfill MAEs are produced as a single batch
+    verify(_mockProducer, times(1)).produceAspectSpecificMetadataAuditEvents(any(), eq(IngestionMode.BOOTSTRAP));
     verifyNoMoreInteractions(_mockProducer);
   }
 
@@ -1378,6 +1577,8 @@ public class EbeanLocalDAOTest {
       }
       assertFalse(backfilledAspects.get(urn.toString()).contains(getAspectName(AspectBar.class)));
     }
+    // backfill MAEs are produced as a single batch
+    verify(_mockProducer, times(1)).produceAspectSpecificMetadataAuditEvents(any(), eq(IngestionMode.BOOTSTRAP));
     verifyNoMoreInteractions(_mockProducer);
   }
 
@@ -1412,6 +1613,8 @@ public class EbeanLocalDAOTest {
             .produceAspectSpecificMetadataAuditEvent(urn, metadata, metadata, clazz, null, IngestionMode.BOOTSTRAP);
       }
     }
+    // backfill MAEs are produced as a single batch
+    verify(_mockProducer, times(1)).produceAspectSpecificMetadataAuditEvents(any(), eq(IngestionMode.BOOTSTRAP));
     verifyNoMoreInteractions(_mockProducer);
   }
 
@@ -1964,6 +2167,63 @@ public class EbeanLocalDAOTest {
     assertEquals(results.getValues().get(2), makeFooUrn(2));
   }
 
+  @Test
+  public void testListUrnsAfterUrn() {
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+    AspectFoo foo = new AspectFoo().setValue("foo");
+    for (int i = 0; i < 3; i++) {
+      dao.add(makeFooUrn(i), foo, _dummyAuditStamp);
+    }
+
+    ListResult<FooUrn> results = dao.listUrns(AspectFoo.class, null, 2, ListResult.TotalCountMode.EXACT);
+
+    assertTrue(results.isHavingMore());
+    assertEquals(results.getNextStart(), ListResult.INVALID_NEXT_START);
+    assertEquals(results.getTotalCount(), 3);
+    assertEquals(results.getPageSize(), 2);
+    assertEquals(results.getTotalPageCount(), 2);
+    assertEquals(results.getValues(), Arrays.asList(makeFooUrn(0), makeFooUrn(1)));
+
+    // List next page, after the last urn of the first one
+    results = dao.listUrns(AspectFoo.class, makeFooUrn(1), 2, ListResult.TotalCountMode.NONE);
+
+    assertFalse(results.isHavingMore());
+    assertEquals(results.getTotalCount(), ListResult.UNKNOWN_TOTAL_COUNT);
+    assertEquals(results.getTotalPageCount(), ListResult.UNKNOWN_TOTAL_COUNT);
+    assertEquals(results.getValues(), Collections.singletonList(makeFooUrn(2)));
+
+    assertThrows(IllegalArgumentException.class,
+        () -> dao.listUrns(AspectFoo.class, null, 0, ListResult.TotalCountMode.NONE));
+  }
+
+  @Test
+  public void testListAfterUrn() {
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+    List<AspectFoo> foos = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      AspectFoo foo = new AspectFoo().setValue("foo" + i);
+      dao.add(makeFooUrn(i), foo, _dummyAuditStamp);
+      foos.add(foo);
+    }
+
+    ListResult<AspectFoo> results = dao.list(AspectFoo.class, null, 2, ListResult.TotalCountMode.EXACT);
+
+    assertTrue(results.isHavingMore());
+    assertEquals(results.getNextStart(), ListResult.INVALID_NEXT_START);
+    assertEquals(results.getTotalCount(), 3);
+    assertEquals(results.getValues(), foos.subList(0, 2));
+    assertEquals(results.getMetadata().getExtraInfos().size(), 2);
+    assertEquals(results.getMetadata().getExtraInfos().get(1).getUrn(), makeFooUrn(1));
+
+    // List next page, after the urn of the last aspect of the first one
+    results = dao.list(AspectFoo.class, makeFooUrn(1), 2, ListResult.TotalCountMode.NONE);
+
+    assertFalse(results.isHavingMore());
+    assertEquals(results.getTotalCount(), ListResult.UNKNOWN_TOTAL_COUNT);
+    assertEquals(results.getValues(), foos.subList(2, 3));
+    assertEquals(results.getMetadata().getExtraInfos().get(0).getUrn(), makeFooUrn(2));
+  }
+
   @Test
   public void testListUrnsPaginatedByLastUrn() {
     EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
@@ -2203,6 +2463,40 @@ public class EbeanLocalDAOTest {
     assertEquals(id3, 1);
   }
 
+  @Test
+  public void testNewNumericIdWithBlocks() {
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+    assertEquals(dao.newNumericId("block namespace"), 1);
+
+    dao.setNumericIdBlockSize(10);
+    assertEquals(dao.newNumericId("block namespace"), 2);
+    assertEquals(dao.newNumericId("block namespace"), 3);
+
+    // another DAO mints ids after the reserved block
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> otherDao = createDao(FooUrn.class);
+    assertEquals(otherDao.newNumericId("block namespace"), 12);
+    assertEquals(dao.newNumericId("block namespace"), 4);
+
+    assertThrows(IllegalArgumentException.class, () -> dao.setNumericIdBlockSize(0));
+  }
+
+  @Test
+  public void testNewNumericIdWithBlocksInRolledBackTransaction() {
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+    dao.setNumericIdBlockSize(10);
+
+    // the block is reserved within a transaction which then rolls back
+    try (Transaction transaction = _server.beginTransaction()) {
+      assertEquals(dao.newNumericId("rollback namespace"), 1);
+      transaction.rollback();
+    }
+    assertEquals(dao.newNumericId("rollback namespace"), 2);
+
+    // the reservation outlived the rollback, so another DAO mints ids after the block
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> otherDao = createDao(FooUrn.class);
+    assertEquals(otherDao.newNumericId("rollback namespace"), 11);
+  }
+
   @Test
   void testExists() {
     // given
@@ -3394,6 +3688,81 @@ public class EbeanLocalDAOTest {
     testGetWithQuerySize(1000);
   }
 
+  @Test
+  public void testCoalescedSingleKeyReads() {
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+    ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1);
+    dao.setReadCoalescing(scheduler, 5, 10);
+    try {
+      FooUrn urn1 = makeFooUrn(1);
+      FooUrn urn2 = makeFooUrn(2);
+      AspectFoo foo = new AspectFoo().setValue("foo");
+      dao.add(urn1, foo, _dummyAuditStamp);
+
+      assertEquals(dao.get(AspectFoo.class, urn1), Optional.of(foo));
+      assertEquals(dao.get(AspectFoo.class, urn2), Optional.empty());
+    } finally {
+      scheduler.shutdownNow();
+    }
+  }
+
+  /**
+   * Reads the AspectFoo and AspectBar of 3 urns with the dao's batch get running pages of {@code querySize} keys on the
+   * given executor, and checks every value is returned.
+   */
+  private void assertGetInParallelPages(int querySize, @Nonnull ExecutorService executor) {
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+    dao.setParallelBatchGet(executor, 2);
+    dao.setQueryKeysCount(querySize);
+
+    Map<AspectKey<FooUrn, ? extends RecordTemplate>, Optional<? extends RecordTemplate>> expected = new HashMap<>();
+    for (int id = 1; id <= 3; id++) {
+      FooUrn urn = makeFooUrn(id);
+      AspectFoo foo = new AspectFoo().setValue("foo" + id);
+      AspectBar bar = new AspectBar().setValue("bar" + id);
+      addMetadata(urn, AspectFoo.class, 0, foo);
+      addMetadata(urn, AspectBar.class, 0, bar);
+      expected.put(new AspectKey<>(AspectFoo.class, urn, 0L), Optional.of(foo));
+      expected.put(new AspectKey<>(AspectBar.class, urn, 0L), Optional.of(bar));
+    }
+
+    assertEquals(dao.get(expected.keySet()), expected);
+  }
+
+  @Test
+  public void testParallelPagesOfOneKey() {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      assertGetInParallelPages(1, executor);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testParallelPagesOfTwoKeys() {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      assertGetInParallelPages(2, executor);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testParallelPagesFallBackToCallerWhenRejected() {
+    ExecutorService executor = Executors.newFixedThreadPool(1);
+    executor.shutdown();
+    assertGetInParallelPages(1, executor);
+  }
+
+  @Test
+  public void testNonPositiveMaxConcurrentPagesIsInvalid() {
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+
+    assertThrows(IllegalArgumentException.class, () -> dao.setParallelBatchGet(Runnable::run, 0));
+  }
+
   @Test
   public void testOptimisticLockException() {
     EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
@@ -4781,6 +5150,228 @@ public class EbeanLocalDAOTest {
     }
   }
 
+  /**
+   * Tests batchUpsertMany() across chunks: new, changed, unchanged and rejected entities get their own results.
+   */
+  @Test
+  public void testBatchUpsertMany() throws URISyntaxException {
+    if (_schemaConfig != SchemaConfig.NEW_SCHEMA_ONLY) {
+      return;
+    }
+
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+    FooUrn newUrn = makeFooUrn(6100);
+    FooUrn unchangedUrn = makeFooUrn(6101);
+    FooUrn changedUrn = makeFooUrn(6102);
+    FooUrn duplicateUrn = makeFooUrn(6103);
+    dao.addManyBatch(unchangedUrn, Collections.singletonList(new AspectFoo().setValue("same")), _dummyAuditStamp, null);
+    dao.addManyBatch(changedUrn, Collections.singletonList(new AspectFoo().setValue("old")), _dummyAuditStamp, null);
+
+    Map<FooUrn, List<BaseLocalDAO.AspectUpdateLambda<? extends RecordTemplate>>> lambdas = new LinkedHashMap<>();
+    lambdas.put(newUrn, Arrays.asList(new BaseLocalDAO.AspectUpdateLambda<>(new AspectFoo().setValue("foo")),
+        new BaseLocalDAO.AspectUpdateLambda<>(new AspectBar().setValue("bar"))));
+    lambdas.put(unchangedUrn,
+        Collections.singletonList(new BaseLocalDAO.AspectUpdateLambda<>(new AspectFoo().setValue("same"))));
+    lambdas.put(changedUrn,
+        Collections.singletonList(new BaseLocalDAO.AspectUpdateLambda<>(new AspectFoo().setValue("new"))));
+    lambdas.put(duplicateUrn, Arrays.asList(new BaseLocalDAO.AspectUpdateLambda<>(new AspectFoo().setValue("1")),
+        new BaseLocalDAO.AspectUpdateLambda<>(new AspectFoo().setValue("2"))));
+
+    // Act - in chunks of 2 urns
+    Map<FooUrn, BaseLocalDAO.BatchUpsertResult<EntityAspectUnion>> results =
+        dao.batchUpsertMany(lambdas, _dummyAuditStamp, null, 2);
+
+    // Assert - results are in the order of the input
+    assertEquals(new ArrayList<>(results.keySet()), Arrays.asList(newUrn, unchangedUrn, changedUrn, duplicateUrn));
+
+    assertEquals(results.get(newUrn).getStatus(), BaseLocalDAO.BatchUpsertStatus.WRITTEN);
+    assertEquals(results.get(newUrn).getResults().size(), 2);
+    assertTrue(results.get(newUrn).getSkippedAspects().isEmpty());
+    assertEquals(dao.getLatest(newUrn, AspectFoo.class, false).getAspect().getValue(), "foo");
+    assertEquals(dao.getLatest(newUrn, AspectBar.class, false).getAspect().getValue(), "bar");
+
+    assertEquals(results.get(unchangedUrn).getStatus(), BaseLocalDAO.BatchUpsertStatus.SKIPPED);
+    assertEquals(results.get(unchangedUrn).getSkippedAspects(), Collections.singletonList(AspectFoo.class));
+
+    assertEquals(results.get(changedUrn).getStatus(), BaseLocalDAO.BatchUpsertStatus.WRITTEN);
+    assertEquals(dao.getLatest(changedUrn, AspectFoo.class, false).getAspect().getValue(), "new");
+
+    assertEquals(results.get(duplicateUrn).getStatus(), BaseLocalDAO.BatchUpsertStatus.FAILED);
+    assertTrue(results.get(duplicateUrn).getFailure() instanceof IllegalArgumentException);
+    assertNull(dao.getLatest(duplicateUrn, AspectFoo.class, false).getAspect());
+  }
+
+  /**
+   * Registers an {@link AspectFoo} callback on the dao failing the writes of the given urn with "callback failure", and
+   * passing the values of the other urns through.
+   */
+  private static void setFailingAspectFooCallback(@Nonnull EbeanLocalDAO<EntityAspectUnion, FooUrn> dao,
+      @Nonnull FooUrn failingUrn) {
+    AspectCallbackRoutingClient<AspectFoo> failingCallback = new AspectCallbackRoutingClient<AspectFoo>() {
+      @Override
+      public AspectCallbackResponse<AspectFoo> routeAspectCallback(Urn urn, AspectFoo newAspectValue,
+          Optional<AspectFoo> existingAspectValue) {
+        if (urn.equals(failingUrn)) {
+          throw new IllegalStateException("callback failure");
+        }
+        return new AspectCallbackResponse<>(newAspectValue);
+      }
+    };
+    Map<AspectCallbackMapKey, AspectCallbackRoutingClient> callbackMap = new HashMap<>();
+    callbackMap.put(new AspectCallbackMapKey(AspectFoo.class, failingUrn.getEntityType()), failingCallback);
+    dao.setAspectCallbackRegistry(new AspectCallbackRegistry(callbackMap));
+  }
+
+  /**
+   * Tests that an entity failing in the pipeline of batchUpsertMany() doesn't fail the other entities of its chunk.
+   */
+  @Test
+  public void testBatchUpsertManyIsolatesFailures() throws URISyntaxException {
+    if (_schemaConfig != SchemaConfig.NEW_SCHEMA_ONLY) {
+      return;
+    }
+
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+    FooUrn failingUrn = makeFooUrn(6111);
+    setFailingAspectFooCallback(dao, failingUrn);
+
+    Map<FooUrn, List<BaseLocalDAO.AspectUpdateLambda<? extends RecordTemplate>>> lambdas = new LinkedHashMap<>();
+    for (int id = 6110; id < 6113; id++) {
+      lambdas.put(makeFooUrn(id),
+          Collections.singletonList(new BaseLocalDAO.AspectUpdateLambda<>(new AspectFoo().setValue("foo" + id))));
+    }
+
+    Map<FooUrn, BaseLocalDAO.BatchUpsertResult<EntityAspectUnion>> results =
+        dao.batchUpsertMany(lambdas, _dummyAuditStamp, null, 10);
+
+    assertEquals(results.get(failingUrn).getStatus(), BaseLocalDAO.BatchUpsertStatus.FAILED);
+    assertEquals(results.get(failingUrn).getFailure().getMessage(), "callback failure");
+    assertNull(dao.getLatest(failingUrn, AspectFoo.class, false).getAspect());
+    for (int id : new int[]{6110, 6112}) {
+      assertEquals(results.get(makeFooUrn(id)).getStatus(), BaseLocalDAO.BatchUpsertStatus.WRITTEN);
+      assertEquals(dao.getLatest(makeFooUrn(id), AspectFoo.class, false).getAspect().getValue(), "foo" + id);
+    }
+  }
+
+  @Test
+  public void testBatchUpsertManyInvalidChunkSize() {
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+    assertThrows(IllegalArgumentException.class,
+        () -> dao.batchUpsertMany(Collections.emptyMap(), _dummyAuditStamp, null, 0));
+  }
+
+  @Test
+  public void testGroupCommitWriter() throws Exception {
+    // spied to count the transactions the writer commits
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = spy(createDao(FooUrn.class));
+    List<CompletableFuture<AspectFoo>> futures = new ArrayList<>();
+
+    try (GroupCommitWriter<FooUrn> writer = new GroupCommitWriter<>(dao, 3, 50)) {
+      for (int id = 6200; id < 6205; id++) {
+        futures.add(writer.add(makeFooUrn(id), new BaseLocalDAO.AspectUpdateLambda<>(new AspectFoo().setValue("foo" + id)),
+            _dummyAuditStamp, null));
+      }
+      // a later add of the same urn is committed after the first one
+      futures.add(writer.add(makeFooUrn(6200), new BaseLocalDAO.AspectUpdateLambda<>(new AspectFoo().setValue("bar")),
+          _dummyAuditStamp, null));
+
+      for (int i = 0; i < 5; i++) {
+        int id = 6200 + i;
+        AspectFoo expected = new AspectFoo().setValue("foo" + id);
+        assertEquals(futures.get(i).get(10, TimeUnit.SECONDS), expected);
+        verify(_mockProducer, times(1)).produceMetadataAuditEvent(makeFooUrn(id), null, expected);
+      }
+      assertEquals(futures.get(5).get(10, TimeUnit.SECONDS), new AspectFoo().setValue("bar"));
+    }
+
+    // the adds are committed in batches, so in fewer transactions than adds
+    verify(dao, atLeastOnce()).runInTransactionWithRetry(any(), anyInt());
+    verify(dao, atMost(futures.size() - 1)).runInTransactionWithRetry(any(), anyInt());
+
+    assertEquals(dao.get(AspectFoo.class, makeFooUrn(6200)).get(), new AspectFoo().setValue("bar"));
+    for (int id = 6201; id < 6205; id++) {
+      assertEquals(dao.get(AspectFoo.class, makeFooUrn(id)).get(), new AspectFoo().setValue("foo" + id));
+    }
+  }
+
+  /**
+   * Tests that an add failing in a transaction shared by a {@link GroupCommitWriter} doesn't fail the other adds.
+   */
+  @Test
+  public void testGroupCommitWriterIsolatesFailures() throws Exception {
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+    FooUrn failingUrn = makeFooUrn(6211);
+    setFailingAspectFooCallback(dao, failingUrn);
+
+    Map<FooUrn, CompletableFuture<AspectFoo>> futures = new LinkedHashMap<>();
+    try (GroupCommitWriter<FooUrn> writer = new GroupCommitWriter<>(dao, 10, 200)) {
+      for (int id = 6210; id < 6213; id++) {
+        futures.put(makeFooUrn(id), writer.add(makeFooUrn(id),
+            new BaseLocalDAO.AspectUpdateLambda<>(new AspectFoo().setValue("foo" + id)), _dummyAuditStamp, null));
+      }
+
+      ExecutionException exception =
+          expectThrows(ExecutionException.class, () -> futures.get(failingUrn).get(10, TimeUnit.SECONDS));
+      assertEquals(exception.getCause().getMessage(), "callback failure");
+      for (int id : new int[]{6210, 6212}) {
+        assertEquals(futures.get(makeFooUrn(id)).get(10, TimeUnit.SECONDS), new AspectFoo().setValue("foo" + id));
+      }
+    }
+
+    assertFalse(dao.get(AspectFoo.class, failingUrn).isPresent());
+    for (int id : new int[]{6210, 6212}) {
+      assertEquals(dao.get(AspectFoo.class, makeFooUrn(id)).get(), new AspectFoo().setValue("foo" + id));
+    }
+  }
+
+  @Test
+  public void testUpsertIfChanged() throws URISyntaxException {
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+    FooUrn urn = makeFooUrn(6300);
+    AspectFoo foo = new AspectFoo().setValue("foo");
+
+    if (_schemaConfig != SchemaConfig.NEW_SCHEMA_ONLY || _enableChangeLog) {
+      assertThrows(UnsupportedOperationException.class, () -> dao.upsertIfChanged(urn, foo, _dummyAuditStamp, null));
+      return;
+    }
+
+    assertTrue(dao.upsertIfChanged(urn, foo, _dummyAuditStamp, null));
+    assertFalse(dao.upsertIfChanged(urn, new AspectFoo().setValue("foo"), _dummyAuditStamp, null));
+    assertTrue(dao.upsertIfChanged(urn, new AspectFoo().setValue("bar"), _dummyAuditStamp, null));
+    assertEquals(dao.get(AspectFoo.class, urn).get(), new AspectFoo().setValue("bar"));
+    // the read-free path never produces MAEs
+    verifyNoMoreInteractions(_mockProducer);
+  }
+
+  @Test
+  public void testUpsertIfChangedInvalidatesTheAspectCache() throws URISyntaxException {
+    if (_schemaConfig != SchemaConfig.NEW_SCHEMA_ONLY || _enableChangeLog) {
+      return;
+    }
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+    dao.setAspectCache(new InMemoryAspectCache(10, Duration.ofMinutes(1), new NoOpDaoBenchmarkMetrics()));
+    FooUrn urn = makeFooUrn(6301);
+
+    assertTrue(dao.upsertIfChanged(urn, new AspectFoo().setValue("foo"), _dummyAuditStamp, null));
+    // caches the written value
+    assertEquals(dao.get(AspectFoo.class, urn).get(), new AspectFoo().setValue("foo"));
+
+    assertTrue(dao.upsertIfChanged(urn, new AspectFoo().setValue("bar"), _dummyAuditStamp, null));
+    assertEquals(dao.get(AspectFoo.class, urn).get(), new AspectFoo().setValue("bar"));
+  }
+
+  @Test
+  public void testGroupCommitWriterInvalidArguments() throws Exception {
+    EbeanLocalDAO<EntityAspectUnion, FooUrn> dao = createDao(FooUrn.class);
+    assertThrows(IllegalArgumentException.class, () -> new GroupCommitWriter<>(dao, 0, 10));
+    assertThrows(IllegalArgumentException.class, () -> new GroupCommitWriter<>(dao, 10, -1));
+
+    GroupCommitWriter<FooUrn> writer = new GroupCommitWriter<>(dao, 10, 10);
+    writer.close();
+    assertThrows(IllegalStateException.class, () -> writer.add(makeFooUrn(6220),
+        new BaseLocalDAO.AspectUpdateLambda<>(new AspectFoo().setValue("foo")), _dummyAuditStamp, null));
+  }
+
   /**
    * Tests addManyBatch() when all aspects are rejected by shouldUpdateAspect() -- via equality check, for example.
    * Verifies that no database write occurs when all aspects have unchanged values.
@@ -0,0 +1,262 @@
+package com.linkedin.metadata.dao;
+
+import com.google.common.io.Resources;
+import com.linkedin.common.AuditStamp;
+import com.linkedin.data.template.RecordTemplate;
+import com.linkedin.metadata.dao.EbeanLocalDAO.FindMethodology;
+import com.linkedin.metadata.dao.EbeanLocalDAO.SchemaConfig;
+import com.linkedin.metadata.dao.producer.BaseMetadataEventProducer;
+import com.linkedin.metadata.dao.tracking.BaseDaoBenchmarkMetrics;
+import com.linkedin.metadata.dao.utils.EmbeddedMariaInstance;
+import com.linkedin.metadata.dao.utils.FooUrnPathExtractor;
+import com.linkedin.metadata.dao.utils.SharedSchemaCache;
+import com.linkedin.metadata.events.ChangeType;
+import com.linkedin.metadata.events.IngestionMode;
+import com.linkedin.testing.AspectBar;
+import com.linkedin.testing.AspectFoo;
+import com.linkedin.testing.EntityAspectUnion;
+import com.linkedin.testing.FooSnapshot;
+import com.linkedin.testing.urn.FooUrn;
+import io.ebean.Ebean;
+import io.ebean.EbeanServer;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static com.linkedin.common.AuditStamps.*;
+import static com.linkedin.testing.TestUtils.*;
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+
+public class EbeanMetadataEventOutboxRelayTest {
+
+  private static final long NOW = 1_700_000_000_000L;
+
+  private EbeanServer _server;
+  private BaseMetadataEventProducer _mockProducer;
+  private EbeanLocalDAO<EntityAspectUnion, FooUrn> _dao;
+  private final AuditStamp _auditStamp = makeAuditStamp("foo", NOW);
+
+  /**
+   * A producer keeping the events it's given in memory, optionally failing on some of them.
+   */
+  private static class InMemoryProducer extends BaseMetadataEventProducer<FooSnapshot, EntityAspectUnion, FooUrn> {
+    private final List<String> _events = new ArrayList<>();
+    private int _deliveriesBeforeFailure = Integer.MAX_VALUE;
+
+    InMemoryProducer() {
+      super(FooSnapshot.class, EntityAspectUnion.class);
+    }
+
+    @Override
+    public <ASPECT extends RecordTemplate> void produceSnapshotBasedMetadataChangeEvent(@Nonnull FooUrn urn,
+        @Nonnull ASPECT newValue) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public <ASPECT extends RecordTemplate> void produceMetadataAuditEvent(@Nonnull FooUrn urn, @Nullable ASPECT oldValue,
+        @Nullable ASPECT newValue) {
+      record(event("MAE", urn, oldValue, newValue, null));
+    }
+
+    @Override
+    public <ASPECT extends RecordTemplate> void produceAspectSpecificMetadataAuditEvent(@Nonnull FooUrn urn,
+        @Nullable ASPECT oldValue, @Nullable ASPECT newValue, @Nonnull Class<ASPECT> aspectClass,
+        @Nullable AuditStamp auditStamp, @Nullable IngestionMode ingestionMode) {
+      assertEquals(auditStamp, makeAuditStamp("foo", NOW));
+      assertEquals(ingestionMode, IngestionMode.LIVE);
+      record(event(aspectClass.getSimpleName(), urn, oldValue, newValue, null));
+    }
+
+    @Override
+    public <ASPECT extends RecordTemplate> void produceAspectSpecificMetadataAuditEvent(@Nonnull FooUrn urn,
+        @Nullable ASPECT oldValue, @Nullable ASPECT newValue, @Nonnull Class<ASPECT> aspectClass,
+        @Nullable AuditStamp auditStamp, @Nullable IngestionMode ingestionMode, ChangeType changeType) {
+      record(event(aspectClass.getSimpleName(), urn, oldValue, newValue, changeType));
+    }
+
+    @Override
+    public void produceMetadataGraphSearchMetric(@Nonnull String input, @Nonnull String request, @Nonnull String index,
+        @Nonnull List<String> topHits, @Nonnull String api) {
+      throw new UnsupportedOperationException();
+    }
+
+    private void record(@Nonnull String event) {
+      if (_deliveriesBeforeFailure-- == 0) {
+        throw new IllegalStateException("Producer unavailable");
+      }
+      _events.add(event);
+    }
+  }
+
+  @Nonnull
+  private static String event(@Nonnull String type, @Nonnull FooUrn urn, @Nullable RecordTemplate oldValue,
+      @Nullable RecordTemplate newValue, @Nullable ChangeType changeType) {
+    return String.format("%s %s %s -> %s %s", type, urn, oldValue, newValue, changeType);
+  }
+
+  @BeforeClass
+  public void setupServer() {
+    _server = EmbeddedMariaInstance.getServer(EbeanMetadataEventOutboxRelayTest.class.getSimpleName());
+  }
+
+  @BeforeMethod
+  public void setupTest() throws IOException {
+    _server.execute(Ebean.createSqlUpdate(
+        Resources.toString(Resources.getResource("ebean-local-dao-create-all.sql"), StandardCharsets.UTF_8)));
+    SharedSchemaCache.clearRegistry();
+
+    _mockProducer = mock(BaseMetadataEventProducer.class);
+    _dao = new EbeanLocalDAO<>(EntityAspectUnion.class, _mockProducer, _server,
+        EmbeddedMariaInstance.SERVER_CONFIG_MAP.get(_server.getName()), FooUrn.class, SchemaConfig.NEW_SCHEMA_ONLY,
+        FindMethodology.UNIQUE_ID, new EBeanDAOConfig());
+    _dao.setUrnPathExtractor(new FooUrnPathExtractor());
+    _dao.setEmitAuditEvent(true);
+    _dao.setEmitAspectSpecificAuditEvent(true);
+    _dao.setMetadataEventOutbox(new EbeanMetadataEventOutbox(_server, Clock.fixed(Instant.ofEpochMilli(NOW), ZoneOffset.UTC)));
+  }
+
+  @Test
+  public void testEventsAreRelayedInOrder() {
+    FooUrn urn1 = makeFooUrn(1);
+    FooUrn urn2 = makeFooUrn(2);
+    AspectFoo foo1 = new AspectFoo().setValue("foo1");
+    AspectFoo foo2 = new AspectFoo().setValue("foo2");
+    AspectBar bar = new AspectBar().setValue("bar");
+
+    _dao.add(urn1, foo1, _auditStamp);
+    _dao.add(urn2, bar, _auditStamp);
+    _dao.add(urn1, foo2, _auditStamp);
+    _dao.delete(urn2, AspectBar.class, _auditStamp);
+
+    // the DAO appends the events to the outbox instead of producing them
+    verifyNoMoreInteractions(_mockProducer);
+    assertEquals(countEvents(), 8);
+
+    InMemoryProducer producer = new InMemoryProducer();
+    EbeanMetadataEventOutboxRelay<FooUrn> relay = new EbeanMetadataEventOutboxRelay<>(_server, producer, FooUrn.class, 3);
+    assertEquals(relay.relayBatch(), 3);
+    assertEquals(relay.relayBatch(), 3);
+    assertEquals(relay.relayBatch(), 2);
+    assertEquals(relay.relayBatch(), 0);
+
+    assertEquals(producer._events, Arrays.asList(
+        event("MAE", urn1, null, foo1, null),
+        event("AspectFoo", urn1, null, foo1, null),
+        event("MAE", urn2, null, bar, null),
+        event("AspectBar", urn2, null, bar, null),
+        event("MAE", urn1, foo1, foo2, null),
+        event("AspectFoo", urn1, foo1, foo2, null),
+        event("MAE", urn2, bar, null, null),
+        event("AspectBar", urn2, bar, null, null)));
+    assertEquals(countEvents(), 0);
+    assertEquals(relay.getLagMs(), 0);
+  }
+
+  @Test
+  public void testRolledBackWriteAppendsNoEvent() {
+    FooUrn urn = makeFooUrn(1);
+
+    assertThrows(IllegalStateException.class, () -> _dao.runInTransactionWithRetry(() -> {
+      _dao.add(urn, new AspectFoo().setValue("foo"), _auditStamp);
+      throw new IllegalStateException("write failed");
+    }, 1));
+
+    assertFalse(_dao.get(AspectFoo.class, urn).isPresent());
+    assertEquals(countEvents(), 0);
+  }
+
+  @Test
+  public void testFailedDeliveryIsRetriedInOrder() {
+    FooUrn urn = makeFooUrn(1);
+    AspectFoo foo1 = new AspectFoo().setValue("foo1");
+    AspectFoo foo2 = new AspectFoo().setValue("foo2");
+    _dao.setEmitAuditEvent(false);
+    _dao.add(urn, foo1, _auditStamp);
+    _dao.add(urn, foo2, _auditStamp);
+
+    InMemoryProducer producer = new InMemoryProducer();
+    producer._deliveriesBeforeFailure = 1;
+    BaseDaoBenchmarkMetrics metrics = mock(BaseDaoBenchmarkMetrics.class);
+    when(metrics.isEnabled()).thenReturn(true);
+    EbeanMetadataEventOutboxRelay<FooUrn> relay = new EbeanMetadataEventOutboxRelay<>(_server, producer, FooUrn.class,
+        10, Clock.fixed(Instant.ofEpochMilli(NOW + 5000), ZoneOffset.UTC));
+    relay.setBenchmarkMetrics(metrics);
+
+    // the second event fails, the first one is delivered and removed from the outbox
+    assertThrows(IllegalStateException.class, relay::relayBatch);
+    assertEquals(producer._events, Arrays.asList(event("AspectFoo", urn, null, foo1, null)));
+    assertEquals(countEvents(), 1);
+    assertEquals(relay.getLagMs(), 5000);
+    verify(metrics).recordOperation(EbeanMetadataEventOutboxRelay.OPERATION, "foo", "AspectFoo", null, "success", null, 5000);
+    verify(metrics).recordOperation(EbeanMetadataEventOutboxRelay.OPERATION, "foo", "AspectFoo", null, "failure",
+        "IllegalStateException", 5000);
+
+    assertEquals(relay.relayBatch(), 1);
+    assertEquals(producer._events, Arrays.asList(event("AspectFoo", urn, null, foo1, null),
+        event("AspectFoo", urn, foo1, foo2, null)));
+    assertEquals(countEvents(), 0);
+  }
+
+  @Test
+  public void testPoisonEventIsParked() {
+    FooUrn urn1 = makeFooUrn(1);
+    FooUrn urn2 = makeFooUrn(2);
+    AspectFoo foo = new AspectFoo().setValue("foo");
+    AspectBar bar = new AspectBar().setValue("bar");
+    _dao.setEmitAuditEvent(false);
+    // an event of urn1 whose aspect class has since been removed, followed by regular events of urn1 and urn2
+    _server.createSqlUpdate("INSERT INTO metadata_event_outbox (urn, aspect, event_type, new_value, createdon) "
+        + "VALUES (:urn, 'com.linkedin.testing.RemovedAspect', 'ASPECT_SPECIFIC_METADATA_AUDIT_EVENT', '{}', :createdOn)")
+        .setParameter("urn", urn1.toString())
+        .setParameter("createdOn", new Timestamp(NOW))
+        .execute();
+    _dao.add(urn1, foo, _auditStamp);
+    _dao.add(urn2, bar, _auditStamp);
+
+    InMemoryProducer producer = new InMemoryProducer();
+    EbeanMetadataEventOutboxRelay<FooUrn> relay = new EbeanMetadataEventOutboxRelay<>(_server, producer, FooUrn.class, 10);
+    relay.setMaxDeliveryAttempts(2);
+
+    // the poison event holds back the later event of urn1 only
+    assertThrows(IllegalArgumentException.class, relay::relayBatch);
+    assertEquals(producer._events, Arrays.asList(event("AspectBar", urn2, null, bar, null)));
+    assertThrows(IllegalArgumentException.class, relay::relayBatch);
+    assertEquals(countEvents(), 2);
+
+    // once parked, the poison event stays in the outbox and the later event of urn1 is delivered
+    assertEquals(relay.relayBatch(), 1);
+    assertEquals(producer._events, Arrays.asList(event("AspectBar", urn2, null, bar, null),
+        event("AspectFoo", urn1, null, foo, null)));
+    assertEquals(relay.relayBatch(), 0);
+    assertEquals(_server.createSqlQuery("SELECT attempts FROM metadata_event_outbox").findOne()
+        .getInteger("attempts"), Integer.valueOf(2));
+  }
+
+  @Test
+  public void testInvalidArguments() {
+    InMemoryProducer producer = new InMemoryProducer();
+    assertThrows(IllegalArgumentException.class, () -> new EbeanMetadataEventOutboxRelay<>(_server, producer, FooUrn.class, 0));
+
+    EbeanMetadataEventOutboxRelay<FooUrn> relay = new EbeanMetadataEventOutboxRelay<>(_server, producer, FooUrn.class, 1);
+    assertThrows(IllegalArgumentException.class, () -> relay.start(0));
+    assertThrows(IllegalArgumentException.class, () -> relay.setMaxDeliveryAttempts(0));
+  }
+
+  private int countEvents() {
+    return _server.createSqlQuery("SELECT COUNT(*) AS cnt FROM metadata_event_outbox").findOne().getInteger("cnt");
+  }
+}
@@ -0,0 +1,116 @@
+package com.linkedin.metadata.dao;
+
+import com.linkedin.common.urn.Urn;
+import com.linkedin.testing.AspectBar;
+import com.linkedin.testing.AspectFoo;
+import java.net.URISyntaxException;
+import java.time.Clock;
+import java.time.Duration;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static com.linkedin.testing.TestUtils.*;
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+
+public class NegativeResultCacheTest {
+
+  private Clock _clock;
+
+  @BeforeMethod
+  public void setup() {
+    _clock = mock(Clock.class);
+    when(_clock.millis()).thenReturn(1000L);
+  }
+
+  @Test
+  public void testRecordAndLookup() {
+    NegativeResultCache cache = new NegativeResultCache(10, Duration.ofMinutes(1), _clock);
+
+    cache.recordMissingAspect(makeFooUrn(1), AspectFoo.class, cache.beginRead());
+    assertTrue(cache.isAspectMissing(makeFooUrn(1), AspectFoo.class));
+    assertFalse(cache.isAspectMissing(makeFooUrn(1), AspectBar.class));
+    assertFalse(cache.isUrnMissing(makeFooUrn(1)));
+
+    // a missing urn has none of its aspects
+    cache.recordMissingUrn(makeFooUrn(2), cache.beginRead());
+    assertTrue(cache.isUrnMissing(makeFooUrn(2)));
+    assertTrue(cache.isAspectMissing(makeFooUrn(2), AspectBar.class));
+  }
+
+  @Test
+  public void testUrnMatchIsCaseInsensitive() throws URISyntaxException {
+    NegativeResultCache cache = new NegativeResultCache(10, Duration.ofMinutes(1), _clock);
+
+    cache.recordMissingUrn(Urn.createFromString("urn:li:foo:ABC"), cache.beginRead());
+    assertTrue(cache.isUrnMissing(Urn.createFromString("urn:li:foo:abc")));
+
+    cache.invalidate(Urn.createFromString("urn:li:foo:abc"));
+    assertFalse(cache.isUrnMissing(Urn.createFromString("urn:li:foo:ABC")));
+  }
+
+  @Test
+  public void testInvalidateForgetsAllMissesOfUrn() {
+    NegativeResultCache cache = new NegativeResultCache(10, Duration.ofMinutes(1), _clock);
+    cache.recordMissingUrn(makeFooUrn(1), cache.beginRead());
+    cache.recordMissingAspect(makeFooUrn(1), AspectFoo.class, cache.beginRead());
+    cache.recordMissingAspect(makeFooUrn(2), AspectFoo.class, cache.beginRead());
+
+    cache.invalidate(makeFooUrn(1));
+
+    assertFalse(cache.isUrnMissing(makeFooUrn(1)));
+    assertFalse(cache.isAspectMissing(makeFooUrn(1), AspectFoo.class));
+    assertTrue(cache.isAspectMissing(makeFooUrn(2), AspectFoo.class));
+  }
+
+  @Test
+  public void testMissDroppedIfInvalidatedDuringRead() {
+    NegativeResultCache cache = new NegativeResultCache(10, Duration.ofMinutes(1), _clock);
+
+    long readStamp = cache.beginRead();
+    // a write lands between the read and the recording of its misses
+    cache.invalidate(makeFooUrn(1));
+    cache.recordMissingUrn(makeFooUrn(1), readStamp);
+    cache.recordMissingUrn(makeFooUrn(2), readStamp);
+
+    assertFalse(cache.isUrnMissing(makeFooUrn(1)));
+    assertTrue(cache.isUrnMissing(makeFooUrn(2)));
+  }
+
+  @Test
+  public void testTtlExpiry() {
+    NegativeResultCache cache = new NegativeResultCache(10, Duration.ofSeconds(1), _clock);
+    cache.recordMissingUrn(makeFooUrn(1), cache.beginRead());
+    cache.recordMissingAspect(makeFooUrn(2), AspectFoo.class, cache.beginRead());
+
+    when(_clock.millis()).thenReturn(1999L);
+    assertTrue(cache.isUrnMissing(makeFooUrn(1)));
+    assertTrue(cache.isAspectMissing(makeFooUrn(2), AspectFoo.class));
+
+    when(_clock.millis()).thenReturn(2000L);
+    assertFalse(cache.isUrnMissing(makeFooUrn(1)));
+    assertFalse(cache.isAspectMissing(makeFooUrn(2), AspectFoo.class));
+  }
+
+  @Test
+  public void testSizeBoundEvictsLeastRecentlyUsedUrn() {
+    NegativeResultCache cache = new NegativeResultCache(2, Duration.ofMinutes(1), _clock);
+    cache.recordMissingUrn(makeFooUrn(1), cache.beginRead());
+    cache.recordMissingUrn(makeFooUrn(2), cache.beginRead());
+    // touch urn 1 so that urn 2 becomes the least recently used
+    cache.isUrnMissing(makeFooUrn(1));
+    cache.recordMissingUrn(makeFooUrn(3), cache.beginRead());
+
+    assertEquals(cache.size(), 2);
+    assertTrue(cache.isUrnMissing(makeFooUrn(1)));
+    assertFalse(cache.isUrnMissing(makeFooUrn(2)));
+    assertTrue(cache.isUrnMissing(makeFooUrn(3)));
+  }
+
+  @Test
+  public void testInvalidArguments() {
+    assertThrows(IllegalArgumentException.class, () -> new NegativeResultCache(0, Duration.ofMinutes(1)));
+    assertThrows(IllegalArgumentException.class, () -> new NegativeResultCache(10, Duration.ZERO));
+  }
+}
@@ -0,0 +1,80 @@
+package com.linkedin.metadata.dao;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntToLongFunction;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class NumericIdBlockAllocatorTest {
+
+  @Test
+  public void testHandsOutBlocks() {
+    NumericIdBlockAllocator allocator = new NumericIdBlockAllocator(3);
+    AtomicLong stored = new AtomicLong();
+    AtomicInteger reservations = new AtomicInteger();
+    IntToLongFunction reserve = count -> {
+      reservations.incrementAndGet();
+      return stored.addAndGet(count);
+    };
+
+    for (long expected = 1; expected <= 7; expected++) {
+      assertEquals(allocator.next("namespace", reserve), expected);
+    }
+    assertEquals(reservations.get(), 3);
+  }
+
+  @Test
+  public void testNamespacesHaveTheirOwnBlocks() {
+    NumericIdBlockAllocator allocator = new NumericIdBlockAllocator(10);
+    // another allocator reserved ids 1 to 5 of "namespace"
+    AtomicLong stored = new AtomicLong(5);
+    AtomicLong otherStored = new AtomicLong();
+
+    assertEquals(allocator.next("namespace", stored::addAndGet), 6);
+    assertEquals(allocator.next("another namespace", otherStored::addAndGet), 1);
+    assertEquals(allocator.next("namespace", stored::addAndGet), 7);
+  }
+
+  @Test
+  public void testConcurrentCallersGetUniqueIds() throws Exception {
+    NumericIdBlockAllocator allocator = new NumericIdBlockAllocator(7);
+    AtomicLong stored = new AtomicLong();
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<List<Long>>> futures = new ArrayList<>();
+      for (int i = 0; i < 8; i++) {
+        futures.add(executor.submit(() -> {
+          List<Long> ids = new ArrayList<>();
+          for (int j = 0; j < 1000; j++) {
+            ids.add(allocator.next("namespace", stored::addAndGet));
+          }
+          return ids;
+        }));
+      }
+      Set<Long> ids = new HashSet<>();
+      for (Future<List<Long>> future : futures) {
+        ids.addAll(future.get());
+      }
+      assertEquals(ids.size(), 8000);
+      // no more blocks were reserved than needed, i.e. 1143 blocks of 7 ids
+      assertEquals(stored.get(), 8001);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testInvalidBlockSize() {
+    assertThrows(IllegalArgumentException.class, () -> new NumericIdBlockAllocator(0));
+  }
+}
@@ -0,0 +1,154 @@
+package com.linkedin.metadata.dao;
+
+import com.linkedin.common.urn.Urn;
+import com.linkedin.metadata.dao.tracking.DaoReadContext;
+import io.ebean.EbeanServer;
+import io.ebean.Transaction;
+import io.ebean.TransactionCallback;
+import java.net.URISyntaxException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import org.mockito.ArgumentCaptor;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import static com.linkedin.testing.TestUtils.*;
+import static org.mockito.Mockito.*;
+import static org.testng.Assert.*;
+
+
+public class ReadReplicaRouterTest {
+
+  private EbeanServer _primary;
+  private EbeanServer _replica;
+  private Clock _clock;
+
+  @BeforeMethod
+  public void setup() {
+    _primary = mock(EbeanServer.class);
+    _replica = mock(EbeanServer.class);
+    _clock = mock(Clock.class);
+    when(_clock.millis()).thenReturn(1000L);
+  }
+
+  @Test
+  public void testReadsGoToReplica() {
+    ReadReplicaRouter router = new ReadReplicaRouter(_replica, Duration.ofSeconds(1), 10, _clock);
+
+    assertSame(router.getReadServer(_primary), _replica);
+    assertSame(router.getReadServer(_primary, Arrays.asList(makeFooUrn(1), makeFooUrn(2))), _replica);
+  }
+
+  @Test
+  public void testReadFromPrimaryScope() {
+    ReadReplicaRouter router = new ReadReplicaRouter(_replica, Duration.ofSeconds(1), 10, _clock);
+
+    try (ReadReplicaRouter.Scope ignored = ReadReplicaRouter.readFromPrimary()) {
+      // nested scopes don't clear the enclosing one
+      try (ReadReplicaRouter.Scope nested = ReadReplicaRouter.readFromPrimary()) {
+        assertSame(router.getReadServer(_primary), _primary);
+      }
+      assertSame(router.getReadServer(_primary), _primary);
+      assertSame(router.getReadServer(_primary, Collections.singleton(makeFooUrn(1))), _primary);
+    }
+    assertFalse(ReadReplicaRouter.isReadFromPrimary());
+    assertSame(router.getReadServer(_primary), _replica);
+  }
+
+  @Test
+  public void testReadsInTransactionOrReadBeforeWriteGoToPrimary() {
+    ReadReplicaRouter router = new ReadReplicaRouter(_replica, Duration.ofSeconds(1), 10, _clock);
+
+    try (DaoReadContext.Scope ignored = DaoReadContext.markInternalRead()) {
+      assertSame(router.getReadServer(_primary), _primary);
+    }
+
+    when(_primary.currentTransaction()).thenReturn(mock(Transaction.class));
+    assertSame(router.getReadServer(_primary), _primary);
+    assertSame(router.getReadServer(_primary, Collections.singleton(makeFooUrn(1))), _primary);
+  }
+
+  @Test
+  public void testReadYourWritesWindow() throws URISyntaxException {
+    ReadReplicaRouter router = new ReadReplicaRouter(_replica, Duration.ofSeconds(1), 10, _clock);
+
+    router.recordWrite(_primary, Urn.createFromString("urn:li:foo:ABC"));
+
+    // urns are matched case-insensitively, and only urn scoped reads are affected
+    assertSame(router.getReadServer(_primary, Arrays.asList(makeFooUrn(1), Urn.createFromString("urn:li:foo:abc"))),
+        _primary);
+    assertSame(router.getReadServer(_primary, Collections.singleton(makeFooUrn(1))), _replica);
+    assertSame(router.getReadServer(_primary), _replica);
+
+    when(_clock.millis()).thenReturn(1999L);
+    assertSame(router.getReadServer(_primary, Collections.singleton(Urn.createFromString("urn:li:foo:abc"))), _primary);
+    when(_clock.millis()).thenReturn(2000L);
+    assertSame(router.getReadServer(_primary, Collections.singleton(Urn.createFromString("urn:li:foo:abc"))), _replica);
+  }
+
+  @Test
+  public void testWindowRestartsOnCommit() {
+    ReadReplicaRouter router = new ReadReplicaRouter(_replica, Duration.ofSeconds(1), 10, _clock);
+    Transaction transaction = mock(Transaction.class);
+    when(_primary.currentTransaction()).thenReturn(transaction);
+
+    router.recordWrite(_primary, makeFooUrn(1));
+    ArgumentCaptor<TransactionCallback> callback = ArgumentCaptor.forClass(TransactionCallback.class);
+    verify(transaction).register(callback.capture());
+    when(_primary.currentTransaction()).thenReturn(null);
+
+    // the transaction commits long after the write
+    when(_clock.millis()).thenReturn(5000L);
+    callback.getValue().postCommit();
+
+    when(_clock.millis()).thenReturn(5999L);
+    assertSame(router.getReadServer(_primary, Collections.singleton(makeFooUrn(1))), _primary);
+  }
+
+  @Test
+  public void testTooManyRecentWritesFallBackToPrimary() {
+    ReadReplicaRouter router = new ReadReplicaRouter(_replica, Duration.ofSeconds(1), 2, _clock);
+
+    router.recordWrite(_primary, makeFooUrn(1));
+    when(_clock.millis()).thenReturn(1500L);
+    router.recordWrite(_primary, makeFooUrn(2));
+    router.recordWrite(_primary, makeFooUrn(3));
+
+    // urn 1 was forgotten within its window, so all urn scoped reads go to the primary until it ends
+    assertSame(router.getReadServer(_primary, Collections.singleton(makeFooUrn(4))), _primary);
+    when(_clock.millis()).thenReturn(2000L);
+    assertSame(router.getReadServer(_primary, Collections.singleton(makeFooUrn(4))), _replica);
+    assertSame(router.getReadServer(_primary, Collections.singleton(makeFooUrn(3))), _primary);
+  }
+
+  @Test
+  public void testExpiredWritesAreNotCountedAgainstMaxTrackedUrns() {
+    ReadReplicaRouter router = new ReadReplicaRouter(_replica, Duration.ofSeconds(1), 2, _clock);
+
+    router.recordWrite(_primary, makeFooUrn(1));
+    router.recordWrite(_primary, makeFooUrn(2));
+    when(_clock.millis()).thenReturn(2000L);
+    router.recordWrite(_primary, makeFooUrn(3));
+    router.recordWrite(_primary, makeFooUrn(4));
+
+    assertSame(router.getReadServer(_primary, Collections.singleton(makeFooUrn(5))), _replica);
+  }
+
+  @Test
+  public void testZeroWindowDisablesReadYourWrites() {
+    ReadReplicaRouter router = new ReadReplicaRouter(_replica, Duration.ZERO, 10, _clock);
+
+    router.recordWrite(_primary, makeFooUrn(1));
+
+    assertSame(router.getReadServer(_primary, Collections.singleton(makeFooUrn(1))), _replica);
+  }
+
+  @Test
+  public void testInvalidArguments() {
+    assertThrows(IllegalArgumentException.class, () -> new ReadReplicaRouter(_replica, Duration.ofSeconds(-1)));
+    assertThrows(IllegalArgumentException.class,
+        () -> new ReadReplicaRouter(_replica, Duration.ofSeconds(1), 0, _clock));
+  }
+}
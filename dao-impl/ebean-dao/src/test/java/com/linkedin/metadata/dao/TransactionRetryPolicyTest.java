@@ -0,0 +1,52 @@
+package com.linkedin.metadata.dao;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class TransactionRetryPolicyTest {
+
+  @Test
+  public void testNoBackoff() {
+    assertEquals(TransactionRetryPolicy.NO_BACKOFF.getBackoffMs(1), 0);
+    assertEquals(TransactionRetryPolicy.NO_BACKOFF.getBackoffMs(100), 0);
+    assertEquals(TransactionRetryPolicy.NO_BACKOFF.awaitRetry(1, Long.MAX_VALUE - 1), 0);
+  }
+
+  @Test
+  public void testBackoffDoublesUpToTheMax() {
+    TransactionRetryPolicy policy = TransactionRetryPolicy.exponentialBackoff(10, 50, 0, 1000);
+
+    assertEquals(policy.getBackoffMs(1), 10);
+    assertEquals(policy.getBackoffMs(2), 20);
+    assertEquals(policy.getBackoffMs(3), 40);
+    assertEquals(policy.getBackoffMs(4), 50);
+    assertEquals(policy.getBackoffMs(100), 50);
+  }
+
+  @Test
+  public void testJitterShortensTheWait() {
+    TransactionRetryPolicy policy = TransactionRetryPolicy.exponentialBackoff(20, 20, 0.5, 1000);
+
+    for (int i = 0; i < 10; i++) {
+      long waitedMs = policy.awaitRetry(1, 0);
+      assertTrue(waitedMs > 10 && waitedMs <= 20, "Waited " + waitedMs);
+    }
+  }
+
+  @Test
+  public void testNoRetryPastTheBudget() {
+    TransactionRetryPolicy policy = TransactionRetryPolicy.exponentialBackoff(10_000, 10_000, 0, 15_000);
+
+    assertEquals(policy.awaitRetry(1, 6000), -1);
+  }
+
+  @Test
+  public void testInvalidArguments() {
+    assertThrows(IllegalArgumentException.class, () -> TransactionRetryPolicy.exponentialBackoff(0, 10, 0, 1000));
+    assertThrows(IllegalArgumentException.class, () -> TransactionRetryPolicy.exponentialBackoff(10, 5, 0, 1000));
+    assertThrows(IllegalArgumentException.class, () -> TransactionRetryPolicy.exponentialBackoff(10, 10, 1.5, 1000));
+    assertThrows(IllegalArgumentException.class, () -> TransactionRetryPolicy.exponentialBackoff(10, 10, 0, 0));
+  }
+}
@@ -184,6 +184,42 @@ public class EbeanLocalRelationshipWriterDAOTest {
   }
 
 
+  @Test
+  public void testAddRelationshipsWithDiff() throws URISyntaxException {
+    EbeanLocalRelationshipWriterDAO diffWriterDAO = new EbeanLocalRelationshipWriterDAO(_server);
+    diffWriterDAO.setUseAspectColumnForRelationshipRemoval(_useAspectColumnForRelationshipRemoval);
+    diffWriterDAO.setDiffRelationshipWrites(true);
+
+    BarUrn barUrn = BarUrn.createFromString("urn:li:bar:123");
+    PairsWith pairsWith1 = new PairsWith().setSource(barUrn).setDestination(FooUrn.createFromString("urn:li:foo:123"));
+    PairsWith pairsWith2 = new PairsWith().setSource(barUrn).setDestination(FooUrn.createFromString("urn:li:foo:456"));
+    PairsWith pairsWith3 = new PairsWith().setSource(barUrn).setDestination(FooUrn.createFromString("urn:li:foo:789"));
+
+    diffWriterDAO.addRelationships(barUrn, AspectFooBar.class, ImmutableList.of(pairsWith1, pairsWith2), false);
+    SqlRow unchanged = _server.createSqlQuery(
+        "select * from metadata_relationship_pairswith where destination = 'urn:li:foo:123' and deleted_ts is null").findOne();
+    assertNotNull(unchanged);
+
+    // foo:123 is kept as is, foo:456 is removed and foo:789 is added
+    diffWriterDAO.addRelationships(barUrn, AspectFooBar.class, ImmutableList.of(pairsWith1, pairsWith3), false);
+
+    List<SqlRow> all = _server.createSqlQuery("select * from metadata_relationship_pairswith").findList();
+    assertEquals(all.size(), 3);
+    List<SqlRow> current = _server.createSqlQuery(
+        "select * from metadata_relationship_pairswith where deleted_ts is null order by destination").findList();
+    assertEquals(current.size(), 2);
+    assertEquals(current.get(0).getLong("id"), unchanged.getLong("id"));
+    assertEquals(current.get(0).getTimestamp("lastmodifiedon"), unchanged.getTimestamp("lastmodifiedon"));
+    assertEquals(current.get(1).getString("destination"), "urn:li:foo:789");
+
+    // same relationships again, nothing is written
+    diffWriterDAO.addRelationships(barUrn, AspectFooBar.class, ImmutableList.of(pairsWith3, pairsWith1), false);
+    assertEquals(_server.createSqlQuery("select * from metadata_relationship_pairswith").findList().size(), 3);
+
+    // Clean up
+    _server.execute(Ebean.createSqlUpdate("truncate metadata_relationship_pairswith"));
+  }
+
   @Test
   public void testClearRelationshipsByEntityUrnSameAspect() throws URISyntaxException {
     _localRelationshipWriterDAO.setUseAspectColumnForRelationshipRemoval(_useAspectColumnForRelationshipRemoval);
@@ -359,6 +395,31 @@ public class EbeanLocalRelationshipWriterDAOTest {
     _server.execute(Ebean.createSqlUpdate("truncate metadata_relationship_pairswith"));
   }
 
+  @Test
+  public void testAddRelationshipsInMultipleBatches() throws URISyntaxException {
+    _localRelationshipWriterDAO.setUseAspectColumnForRelationshipRemoval(_useAspectColumnForRelationshipRemoval);
+
+    // more relationships than fit in two insert batches of 100
+    BarUrn barUrn = BarUrn.createFromString("urn:li:bar:123");
+    List<PairsWith> relationshipsToInsert = new ArrayList<>();
+    for (int i = 0; i < 250; i++) {
+      relationshipsToInsert.add(new PairsWith().setSource(barUrn).setDestination(FooUrn.createFromString("urn:li:foo:" + i)));
+    }
+
+    _localRelationshipWriterDAO.addRelationships(barUrn, AspectFooBar.class, relationshipsToInsert, false);
+
+    // every relationship is stored exactly once
+    List<SqlRow> all = _server.createSqlQuery("select destination, count(*) as cnt from metadata_relationship_pairswith "
+        + "where deleted_ts is null group by destination").findList();
+    assertEquals(all.size(), 250);
+    for (SqlRow row : all) {
+      assertEquals(row.getInteger("cnt").intValue(), 1, row.getString("destination"));
+    }
+
+    // Clean up
+    _server.execute(Ebean.createSqlUpdate("truncate metadata_relationship_pairswith"));
+  }
+
   @Test
   public void testRemoveRelationshipsSameAspectDifferentNamespace() throws URISyntaxException {
     if (!_useAspectColumnForRelationshipRemoval) {
@@ -0,0 +1,45 @@
+package com.linkedin.metadata.dao.utils;
+
+import com.linkedin.data.DataMap;
+import com.linkedin.data.template.StringArray;
+import com.linkedin.testing.AspectBaz;
+import com.linkedin.testing.AspectFoo;
+import java.util.Arrays;
+import java.util.Collections;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class AspectContentHashTest {
+
+  @Test
+  public void testEqualAspectsHaveEqualHashes() {
+    AspectBaz baz1 = new AspectBaz().setStringField("foo").setLongField(1L).setArrayField(new StringArray(Arrays.asList("a", "b")));
+    // same fields set in another order
+    AspectBaz baz2 = new AspectBaz().setArrayField(new StringArray(Arrays.asList("a", "b"))).setLongField(1L).setStringField("foo");
+
+    assertEquals(AspectContentHash.compute(baz1), AspectContentHash.compute(baz2));
+    assertEquals(AspectContentHash.compute(new AspectFoo().setValue("foo")),
+        AspectContentHash.compute(new AspectFoo().setValue("foo")));
+  }
+
+  @Test
+  public void testEqualAspectsParsedFromJsonHaveEqualHashes() {
+    AspectBaz baz = new AspectBaz().setStringField("foo").setLongField(1L);
+    // a long small enough is parsed as an int
+    AspectBaz parsed = RecordUtils.toRecordTemplate(AspectBaz.class, "{\"longField\":1,\"stringField\":\"foo\"}");
+
+    assertEquals(AspectContentHash.compute(parsed), AspectContentHash.compute(baz));
+  }
+
+  @Test
+  public void testDifferentAspectsHaveDifferentHashes() {
+    assertNotEquals(AspectContentHash.compute(new AspectFoo().setValue("foo")),
+        AspectContentHash.compute(new AspectFoo().setValue("bar")));
+    assertNotEquals(AspectContentHash.compute(new AspectBaz().setArrayField(new StringArray(Collections.singletonList("ab")))),
+        AspectContentHash.compute(new AspectBaz().setArrayField(new StringArray(Arrays.asList("a", "b")))));
+    assertNotEquals(AspectContentHash.compute(new AspectFoo().setValue("foo")),
+        AspectContentHash.compute(new AspectFoo(new DataMap())));
+  }
+}
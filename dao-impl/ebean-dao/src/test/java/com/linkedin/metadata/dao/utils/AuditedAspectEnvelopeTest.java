@@ -0,0 +1,85 @@
+package com.linkedin.metadata.dao.utils;
+
+import com.linkedin.metadata.aspect.AuditedAspect;
+import com.linkedin.metadata.dao.EbeanLocalAccess;
+import com.linkedin.testing.AspectFoo;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+
+public class AuditedAspectEnvelopeTest {
+
+  @Test
+  public void testParseAuditedAspect() {
+    AuditedAspect auditedAspect = new AuditedAspect()
+        .setAspect(RecordUtils.toJsonString(new AspectFoo().setValue("a \"quoted\" {value}")))
+        .setCanonicalName(AspectFoo.class.getCanonicalName())
+        .setLastmodifiedby("urn:li:corpuser:tester")
+        .setLastmodifiedon("2024-01-02 03:04:05.678")
+        .setCreatedfor("urn:li:corpuser:impersonator")
+        .setEmitTime(1234L)
+        .setEmitter("emitter");
+    String json = EbeanLocalAccess.toJsonString(auditedAspect);
+
+    AuditedAspectEnvelope envelope = AuditedAspectEnvelope.parse(json);
+
+    assertFalse(envelope.isGmaDeleted());
+    assertEquals(envelope.getAspect(), RecordUtils.toJsonString(new AspectFoo().setValue("a \"quoted\" {value}")));
+    assertEquals(envelope.getCanonicalName(), AspectFoo.class.getCanonicalName());
+    assertEquals(envelope.getLastmodifiedby(), "urn:li:corpuser:tester");
+    assertEquals(envelope.getLastmodifiedon(), "2024-01-02 03:04:05.678");
+    assertEquals(envelope.getCreatedfor(), "urn:li:corpuser:impersonator");
+    assertEquals(envelope.getEmitTime(), Long.valueOf(1234L));
+    assertEquals(envelope.getEmitter(), "emitter");
+  }
+
+  @Test
+  public void testParseOptionalFieldsAndUnknownFields() {
+    AuditedAspectEnvelope envelope = AuditedAspectEnvelope.parse(
+        " { \"unknown\" : [1, {\"a\": \"]}\"}], \"aspect\" : {\"value\":\"foo\", \"nested\": {\"x\": [true, null]}},"
+            + " \"canonicalName\":\"com.linkedin.testing.AspectFoo\", \"createdfor\": null, \"emitTime\": null } ");
+
+    assertEquals(envelope.getAspect(), "{\"value\":\"foo\", \"nested\": {\"x\": [true, null]}}");
+    assertEquals(envelope.getCanonicalName(), "com.linkedin.testing.AspectFoo");
+    assertNull(envelope.getCreatedfor());
+    assertNull(envelope.getEmitTime());
+    assertNull(envelope.getLastmodifiedby());
+  }
+
+  @Test
+  public void testParseUnescapesStrings() {
+    AuditedAspectEnvelope envelope = AuditedAspectEnvelope.parse(
+        "{\"lastmodifiedby\":\"urn:li:corpuser:a\\\\b\\/c\\u00e9\\n\", \"aspect\": \"{\\\"value\\\":\\\"foo\\\"}\"}");
+
+    assertEquals(envelope.getLastmodifiedby(), "urn:li:corpuser:a\\b/c\u00e9\n");
+    // an aspect stored as a JSON string is handed back unescaped
+    assertEquals(envelope.getAspect(), "{\"value\":\"foo\"}");
+  }
+
+  @Test
+  public void testParseSoftDeletedAspect() {
+    AuditedAspectEnvelope legacy = AuditedAspectEnvelope.parse(EBeanDAOUtils.DELETED_VALUE);
+    assertTrue(legacy.isGmaDeleted());
+    assertNull(legacy.getDeletedTimestamp());
+    assertNull(legacy.getAspect());
+
+    AuditedAspectEnvelope enriched =
+        AuditedAspectEnvelope.parse(EBeanDAOUtils.buildDeletedValue(1741286519000L, "urn:li:corpuser:tester"));
+    assertTrue(enriched.isGmaDeleted());
+    assertEquals(enriched.getDeletedTimestamp(), Long.valueOf(1741286519000L));
+    assertEquals(enriched.getDeletedBy(), "urn:li:corpuser:tester");
+
+    assertFalse(AuditedAspectEnvelope.parse("{\"gma_deleted\": false}").isGmaDeleted());
+    assertFalse(AuditedAspectEnvelope.parse("{}").isGmaDeleted());
+  }
+
+  @Test
+  public void testParseMalformedValue() {
+    assertThrows(IllegalArgumentException.class, () -> AuditedAspectEnvelope.parse(""));
+    assertThrows(IllegalArgumentException.class, () -> AuditedAspectEnvelope.parse("[]"));
+    assertThrows(IllegalArgumentException.class, () -> AuditedAspectEnvelope.parse("{\"aspect\": {\"value\": \"foo\"}"));
+    assertThrows(IllegalArgumentException.class, () -> AuditedAspectEnvelope.parse("{\"emitTime\": \"abc\"}"));
+    assertThrows(IllegalArgumentException.class, () -> AuditedAspectEnvelope.parse("{\"emitter\": 1}"));
+  }
+}
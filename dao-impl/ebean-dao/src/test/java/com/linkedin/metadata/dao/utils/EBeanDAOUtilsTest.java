@@ -41,7 +41,9 @@ import java.nio.charset.StandardCharsets;
 import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -51,9 +53,11 @@ import org.testng.annotations.Test;
 import static com.linkedin.testing.TestUtils.*;
 import static org.mockito.Mockito.*;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertThrows;
 import static org.testng.Assert.assertTrue;
 import static org.testng.AssertJUnit.assertEquals;
 import static org.testng.AssertJUnit.assertNotNull;
+import static org.testng.AssertJUnit.assertNull;
 
 
 public class EBeanDAOUtilsTest {
@@ -575,6 +579,60 @@ public class EBeanDAOUtilsTest {
     assertFalse(EBeanDAOUtils.isSoftDeletedAspect(sqlRow, "a_aspectbaz"));
   }
 
+  @Test
+  public void testReadSqlRows() {
+    AuditedAspect auditedAspect = new AuditedAspect()
+        .setAspect(RecordUtils.toJsonString(new AspectFoo().setValue("foo")))
+        .setCanonicalName(AspectFoo.class.getCanonicalName())
+        .setLastmodifiedby("urn:li:corpuser:tester")
+        .setLastmodifiedon("2024-01-02 03:04:05.678")
+        .setEmitTime(1234L)
+        .setEmitter("emitter");
+    SqlRow sqlRow = mock(SqlRow.class);
+    when(sqlRow.keySet()).thenReturn(new HashSet<>(Arrays.asList("urn", "a_aspectfoo")));
+    when(sqlRow.get("a_aspectfoo")).thenReturn(EbeanLocalAccess.toJsonString(auditedAspect));
+    when(sqlRow.getString("urn")).thenReturn("urn:li:foo:1");
+    when(sqlRow.getString("a_aspectfoo")).thenReturn(EbeanLocalAccess.toJsonString(auditedAspect));
+
+    List<EbeanMetadataAspect> results = EBeanDAOUtils.readSqlRows(Collections.singletonMap(sqlRow, AspectFoo.class));
+
+    assertEquals(1, results.size());
+    EbeanMetadataAspect result = results.get(0);
+    assertEquals(new EbeanMetadataAspect.PrimaryKey("urn:li:foo:1", AspectFoo.class.getCanonicalName(), 0),
+        result.getKey());
+    assertEquals(new AspectFoo().setValue("foo"), RecordUtils.toRecordTemplate(AspectFoo.class, result.getMetadata()));
+    assertEquals("urn:li:corpuser:tester", result.getCreatedBy());
+    assertEquals(EBeanDAOUtils.timeStampStringToTimeStamp("2024-01-02 03:04:05.678"), result.getCreatedOn());
+    assertEquals(Long.valueOf(1234L), result.getEmitTime());
+    assertEquals("emitter", result.getEmitter());
+  }
+
+  @Test
+  public void testReadSqlRowsWithSoftDeletedAspect() {
+    String deletedValue = EBeanDAOUtils.buildDeletedValue(1741286519000L, "urn:li:corpuser:deleter");
+    SqlRow sqlRow = mock(SqlRow.class);
+    when(sqlRow.keySet()).thenReturn(new HashSet<>(Arrays.asList("urn", "a_aspectfoo")));
+    when(sqlRow.get("a_aspectfoo")).thenReturn(deletedValue);
+    when(sqlRow.getString("urn")).thenReturn("urn:li:foo:1");
+    when(sqlRow.getString("a_aspectfoo")).thenReturn(deletedValue);
+
+    List<EbeanMetadataAspect> results = EBeanDAOUtils.readSqlRows(Collections.singletonMap(sqlRow, AspectFoo.class));
+
+    assertEquals(1, results.size());
+    assertEquals(deletedValue, results.get(0).getMetadata());
+    assertEquals("urn:li:corpuser:deleter", results.get(0).getCreatedBy());
+    assertEquals(new Timestamp(1741286519000L), results.get(0).getCreatedOn());
+    assertTrue(EBeanDAOUtils.isSoftDeletedAspect(results.get(0), AspectFoo.class));
+  }
+
+  @Test
+  public void testGetEntityType() {
+    assertEquals("foo", EBeanDAOUtils.getEntityType("urn:li:foo:1"));
+    assertEquals("dataset", EBeanDAOUtils.getEntityType("urn:li:dataset:(urn:li:dataPlatform:hive,db.table,PROD)"));
+    assertThrows(RuntimeException.class, () -> EBeanDAOUtils.getEntityType("urn:li:foo"));
+    assertThrows(RuntimeException.class, () -> EBeanDAOUtils.getEntityType("foo"));
+  }
+
   @Test
   public void testIsSoftDeletedAspectWithEnrichedJson() {
     // Enriched format with deleted_timestamp and deleted_by should also be detected as soft-deleted
@@ -629,6 +687,18 @@ public class EBeanDAOUtilsTest {
     assertFalse(EBeanDAOUtils.isSoftDeletedMetadata(""));
   }
 
+  @Test
+  public void testReadAspectJson() {
+    assertEquals("{\"value\":\"foo\"}", EBeanDAOUtils.readAspectJson(
+        "{\"lastmodifiedby\":\"urn:li:corpuser:tester\",\"lastmodifiedon\":\"2021-01-01 00:00:00.0\","
+            + "\"aspect\":{\"value\":\"foo\"},\"canonicalName\":\"com.linkedin.testing.AspectFoo\"}"));
+
+    // Soft deleted, in both formats, or null
+    assertNull(EBeanDAOUtils.readAspectJson("{\"gma_deleted\":true}"));
+    assertNull(EBeanDAOUtils.readAspectJson(EBeanDAOUtils.buildDeletedValue(1741286519000L, "urn:li:corpuser:tester")));
+    assertNull(EBeanDAOUtils.readAspectJson(null));
+  }
+
   @Test
   public void testBuildRelationshipFieldCriterionWithAspectField() {
     LocalRelationshipValue localRelationshipValue = LocalRelationshipValue.create(new StringArray("bar"));
@@ -99,6 +99,21 @@ public class SQLStatementUtilsTest {
     assertEquals(SQLStatementUtils.createAspectUpsertSql(fooUrn, AspectFoo.class, false, false), expectedSql);
   }
 
+  @Test
+  public void testCreateAspectUpdateIfChangedSql() {
+    FooUrn fooUrn = makeFooUrn(1);
+    String expectedSql =
+        "UPDATE metadata_entity_foo SET a_aspectfoo = :metadata, a_urn = :a_urn, lastmodifiedon = :lastmodifiedon, "
+            + "lastmodifiedby = :lastmodifiedby, deleted_ts = NULL WHERE urn = :urn AND (deleted_ts IS NOT NULL OR "
+            + "NOT (JSON_UNQUOTE(JSON_EXTRACT(a_aspectfoo, '$.contentHash')) <=> :contentHash));";
+    assertEquals(SQLStatementUtils.createAspectUpdateIfChangedSql(fooUrn, AspectFoo.class, true, false), expectedSql);
+
+    expectedSql =
+        "INSERT INTO metadata_entity_foo (urn, a_aspectfoo, lastmodifiedon, lastmodifiedby) VALUE (:urn, "
+            + ":metadata, :lastmodifiedon, :lastmodifiedby);";
+    assertEquals(SQLStatementUtils.createAspectInsertSql(fooUrn, AspectFoo.class, false, false), expectedSql);
+  }
+
   @Test
   public void testCreateInsertAspectSql() {
     String expectedSql = "INSERT INTO %s (urn, a_urn, lastmodifiedon, lastmodifiedby,";
@@ -154,6 +169,88 @@ public class SQLStatementUtilsTest {
     assertEquals(SQLStatementUtils.createAspectReadSql(AspectFoo.class, set, true, false), expectedSql);
   }
 
+  @Test
+  public void testCreateParameterizedAspectReadSql() {
+    FooUrn fooUrn = makeFooUrn(1);
+    String expectedSql =
+        "SELECT urn, a_aspectfoo, lastmodifiedon, lastmodifiedby "
+            + "FROM metadata_entity_foo "
+            + "WHERE JSON_EXTRACT(a_aspectfoo, '$.gma_deleted') IS NULL "
+            + "AND urn IN (:urn0, :urn1, :urn2, :urn3, :urn4, :urn5, :urn6, :urn7) "
+            + "AND deleted_ts IS NULL";
+    assertEquals(SQLStatementUtils.createParameterizedAspectReadSql(AspectFoo.class, fooUrn, 8, false, false),
+        expectedSql);
+
+    expectedSql =
+        "SELECT urn, a_aspectfoo, lastmodifiedon, lastmodifiedby, deleted_ts "
+            + "FROM metadata_entity_foo_test "
+            + "WHERE urn IN (:urn0)";
+    assertEquals(SQLStatementUtils.createParameterizedAspectReadSql(AspectFoo.class, fooUrn, 1, true, true),
+        expectedSql);
+
+    // the statement text is the same for any urn of the entity type
+    assertEquals(SQLStatementUtils.createParameterizedAspectReadSql(AspectFoo.class, makeFooUrn(2), 32, false, false),
+        SQLStatementUtils.createParameterizedAspectReadSql(AspectFoo.class, fooUrn, 32, false, false));
+
+    assertThrows(IllegalArgumentException.class,
+        () -> SQLStatementUtils.createParameterizedAspectReadSql(AspectFoo.class, fooUrn, 3, false, false));
+  }
+
+  @Test
+  public void testCreateParameterizedMultiAspectReadSql() {
+    FooUrn fooUrn = makeFooUrn(1);
+    String expectedSql =
+        "SELECT urn, a_aspectbar, a_aspectfoo, lastmodifiedon, lastmodifiedby "
+            + "FROM metadata_entity_foo "
+            + "WHERE urn IN (:urn0) "
+            + "AND deleted_ts IS NULL";
+    assertEquals(SQLStatementUtils.createParameterizedMultiAspectReadSql(Arrays.asList(AspectFoo.class, AspectBar.class),
+        fooUrn, 1, false, false), expectedSql);
+
+    expectedSql =
+        "SELECT urn, a_aspectbar, a_aspectfoo, lastmodifiedon, lastmodifiedby, deleted_ts "
+            + "FROM metadata_entity_foo_test "
+            + "WHERE urn IN (:urn0)";
+    assertEquals(SQLStatementUtils.createParameterizedMultiAspectReadSql(Arrays.asList(AspectBar.class, AspectFoo.class),
+        fooUrn, 1, true, true), expectedSql);
+
+    assertThrows(IllegalArgumentException.class,
+        () -> SQLStatementUtils.createParameterizedMultiAspectReadSql(Collections.emptyList(), fooUrn, 1, false, false));
+  }
+
+  @Test
+  public void testInListBuckets() {
+    assertEquals(SQLStatementUtils.getInListBucket(1), 1);
+    assertEquals(SQLStatementUtils.getInListBucket(2), 8);
+    assertEquals(SQLStatementUtils.getInListBucket(8), 8);
+    assertEquals(SQLStatementUtils.getInListBucket(9), 32);
+    assertEquals(SQLStatementUtils.getInListBucket(100), 128);
+    assertEquals(SQLStatementUtils.getInListBucket(512), 512);
+    assertThrows(IllegalArgumentException.class, () -> SQLStatementUtils.getInListBucket(0));
+    assertThrows(IllegalArgumentException.class, () -> SQLStatementUtils.getInListBucket(513));
+
+    assertEquals(SQLStatementUtils.padInList(Collections.singletonList("a")), Collections.singletonList("a"));
+    assertEquals(SQLStatementUtils.padInList(Arrays.asList("a", "b", "c")),
+        Arrays.asList("a", "b", "c", "c", "c", "c", "c", "c"));
+  }
+
+  @Test
+  public void testCreateParameterizedSingleUrnSql() {
+    FooUrn fooUrn = makeFooUrn(1);
+    assertEquals(SQLStatementUtils.createParameterizedExistSql(fooUrn),
+        "SELECT urn FROM metadata_entity_foo WHERE urn = :urn AND deleted_ts IS NULL");
+    assertEquals(SQLStatementUtils.createParameterizedSoftDeleteAssetSql(fooUrn, false),
+        "UPDATE metadata_entity_foo SET deleted_ts = NOW() WHERE urn = :urn;");
+    assertEquals(SQLStatementUtils.createParameterizedSoftDeleteAssetSql(fooUrn, true),
+        "UPDATE metadata_entity_foo_test SET deleted_ts = NOW() WHERE urn = :urn;");
+    assertEquals(SQLStatementUtils.createParameterizedListAspectByUrnSql(AspectFoo.class, fooUrn, true),
+        "SELECT urn, a_aspectfoo, lastmodifiedon, lastmodifiedby, createdfor FROM "
+            + "metadata_entity_foo WHERE urn = :urn AND a_aspectfoo IS NOT NULL");
+    assertEquals(SQLStatementUtils.createParameterizedListAspectByUrnSql(AspectFoo.class, fooUrn, false),
+        "SELECT urn, a_aspectfoo, lastmodifiedon, lastmodifiedby, createdfor FROM "
+            + "metadata_entity_foo WHERE urn = :urn AND a_aspectfoo IS NOT NULL AND JSON_EXTRACT(a_aspectfoo, '$.gma_deleted') IS NULL");
+  }
+
   @Test
   public void testCreateFilterSql() {
 
@@ -185,6 +282,22 @@ public class SQLStatementUtilsTest {
     assertEquals(sql2, expectedSql2);
   }
 
+  @Test
+  public void testCreateFilterSqlWithColumns() {
+    IndexFilter indexFilter = new IndexFilter().setCriteria(new IndexCriterionArray(Collections.singletonList(
+        SQLIndexFilterUtils.createIndexCriterion(AspectFoo.class, "value", Condition.LESS_THAN, IndexValue.create(50)))));
+
+    String sql = SQLStatementUtils.createFilterSql("foo", Arrays.asList("a_aspectfoo", "a_aspectbar"), indexFilter, false,
+        mockValidator);
+    String expectedSql = "SELECT urn, a_aspectfoo, a_aspectbar FROM metadata_entity_foo\n"
+        + "WHERE i_aspectfoo$value < 50\n" + "AND deleted_ts IS NULL";
+    assertEquals(sql, expectedSql);
+
+    // Expect: the same statement as without columns when there are none
+    assertEquals(SQLStatementUtils.createFilterSql("foo", Collections.emptyList(), indexFilter, false, mockValidator),
+        SQLStatementUtils.createFilterSql("foo", indexFilter, false, mockValidator));
+  }
+
   @Test
   public void testCreateFilterSqlWithForceIndex() {
     IndexFilter indexFilter = new IndexFilter();
@@ -740,6 +853,22 @@ public class SQLStatementUtilsTest {
             + "JSON_EXTRACT(a_aspectfoo, '$.gma_deleted') IS NULL LIMIT 5 OFFSET 0");
   }
 
+  @Test
+  public void testCreateListAspectAfterUrnSql() {
+    FooUrn fooUrn = new FooUrn(1);
+    assertEquals(
+        SQLStatementUtils.createListAspectAfterUrnSql(AspectFoo.class, fooUrn.getEntityType(), true, 6),
+        "SELECT urn, a_aspectfoo, lastmodifiedon, lastmodifiedby, createdfor FROM metadata_entity_foo "
+            + "WHERE a_aspectfoo IS NOT NULL AND JSON_EXTRACT(a_aspectfoo, '$.gma_deleted') IS NULL AND urn > :urn "
+            + "ORDER BY urn LIMIT 6");
+    assertEquals(SQLStatementUtils.createCountAspectSql(AspectFoo.class, fooUrn.getEntityType()),
+        "SELECT COUNT(urn) as _total_count FROM metadata_entity_foo WHERE a_aspectfoo IS NOT NULL AND "
+            + "JSON_EXTRACT(a_aspectfoo, '$.gma_deleted') IS NULL");
+    assertEquals(SQLStatementUtils.createAspectBrowseAfterUrnSql(fooUrn.getEntityType(), AspectFoo.class, false, 6),
+        "SELECT urn FROM metadata_entity_foo WHERE JSON_EXTRACT(a_aspectfoo, '$.gma_deleted') IS NULL "
+            + "ORDER BY urn LIMIT 6");
+  }
+
   @Test
   public void testUpdateAspectWithOptimisticLockSql() {
     FooUrn fooUrn = makeFooUrn(1);
@@ -4,6 +4,8 @@ DROP TABLE IF EXISTS metadata_entity_bar;
 DROP TABLE IF EXISTS metadata_entity_burger;
 DROP TABLE IF EXISTS metadata_aspect;
 DROP TABLE IF EXISTS metadata_id;
+DROP TABLE IF EXISTS metadata_event_outbox;
+DROP TABLE IF EXISTS metadata_backfill_checkpoint;
 DROP TABLE IF EXISTS metadata_index;
 DROP TABLE IF EXISTS metadata_relationship_belongsto;
 DROP TABLE IF EXISTS metadata_relationship_belongstov2;
@@ -96,6 +98,32 @@ CREATE TABLE metadata_id (
     CONSTRAINT uq_metadata_id_namespace_id UNIQUE (namespace,id)
 );
 
+CREATE TABLE metadata_backfill_checkpoint (
+    job_name VARCHAR(255) NOT NULL,
+    last_urn VARCHAR(500),
+    urns_processed BIGINT NOT NULL,
+    pages_processed BIGINT NOT NULL,
+    completed BOOLEAN NOT NULL,
+    updatedon DATETIME(6) NOT NULL,
+    PRIMARY KEY (job_name)
+);
+
+CREATE TABLE metadata_event_outbox (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    urn VARCHAR(500) NOT NULL,
+    aspect VARCHAR(200) NOT NULL,
+    event_type VARCHAR(50) NOT NULL,
+    old_value LONGTEXT,
+    new_value LONGTEXT,
+    audit_stamp TEXT,
+    tracking_context TEXT,
+    ingestion_mode VARCHAR(50),
+    change_type VARCHAR(50),
+    createdon DATETIME(6) NOT NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (id)
+);
+
 CREATE TABLE metadata_aspect (
     urn VARCHAR(500) NOT NULL,
     aspect VARCHAR(200) NOT NULL,
@@ -22,9 +22,9 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -82,7 +82,7 @@ public abstract class BaseEntityAgnosticResource {
         }
       });
 
-      // for each entity type, backfill MAE for each urn in parallel
+      // for each entity type, backfill MAE for its urns in batches
       for (String entityType : entityTypeToRequestsMap.keySet()) {
         final Optional<BaseLocalDAO<? extends UnionTemplate, ? extends Urn>> dao = getLocalDaoByEntity(entityType);
         if (!dao.isPresent()) {
@@ -90,10 +90,7 @@ public abstract class BaseEntityAgnosticResource {
           continue;
         }
         final List<BackfillItem> itemsToBackfill = entityTypeToRequestsMap.get(entityType);
-        final List<BackfillItem> backfilledItems = itemsToBackfill.stream()
-            .map(item -> backfillMAEForUrn(item.getUrn(), item.getAspects(), backfillMode, dao.get()).orElse(null))
-            .filter(Objects::nonNull)
-            .collect(Collectors.toList());
+        final List<BackfillItem> backfilledItems = backfillMAEForItems(itemsToBackfill, backfillMode, dao.get());
         log.info(String.format("Given requests: %s, backfill results: %s", itemsToBackfill, backfilledItems));
         backfillResults.addAll(backfilledItems);
       }
@@ -136,6 +133,50 @@ public abstract class BaseEntityAgnosticResource {
     }
   }
 
+  /**
+   * Backfills MAE for the {@link BackfillItem}s of an entity type. The urns of the items with the same aspects are
+   * backfilled by a single {@link BaseLocalDAO#backfillMAE(BackfillMode, Set, Set)} call, so that their MAEs are produced
+   * as a batch. If the call fails, e.g. because of an invalid urn, its urns are backfilled one at a time instead so that
+   * the other urns are still backfilled.
+   */
+  @Nonnull
+  protected List<BackfillItem> backfillMAEForItems(@Nonnull List<BackfillItem> items,
+      @Nonnull BackfillMode backfillMode, @Nonnull BaseLocalDAO<? extends UnionTemplate, ? extends Urn> dao) {
+    // group items by aspects, in request order
+    final Map<Set<String>, List<BackfillItem>> aspectSetToItemsMap = new LinkedHashMap<>();
+    items.forEach(item -> aspectSetToItemsMap.computeIfAbsent(new HashSet<>(item.getAspects()), k -> new ArrayList<>()).add(item));
+
+    final List<BackfillItem> backfilledItems = new ArrayList<>();
+    aspectSetToItemsMap.forEach((aspectSet, itemsWithAspectSet) -> {
+      final Set<String> urns = itemsWithAspectSet.stream().map(BackfillItem::getUrn).collect(Collectors.toSet());
+      final Optional<Map<String, Set<String>>> backfilledAspects = backfillMAEForUrns(urns, aspectSet, backfillMode, dao);
+      if (backfilledAspects.isPresent()) {
+        itemsWithAspectSet.forEach(item -> toBackfillItem(item.getUrn(), backfilledAspects.get().get(item.getUrn()))
+            .ifPresent(backfilledItems::add));
+      } else if (urns.size() > 1) {
+        itemsWithAspectSet.forEach(item -> backfillMAEForUrn(item.getUrn(), item.getAspects(), backfillMode, dao)
+            .ifPresent(backfilledItems::add));
+      }
+    });
+    return backfilledItems;
+  }
+
+  @Nonnull
+  private Optional<Map<String, Set<String>>> backfillMAEForUrns(@Nonnull Set<String> urns, @Nonnull Set<String> aspectSet,
+      @Nonnull BackfillMode backfillMode, @Nonnull BaseLocalDAO<? extends UnionTemplate, ? extends Urn> dao) {
+    try {
+      log.info(String.format("Attempt to backfill MAE for urns: %s, aspectSet: %s, backfillMode: %s", urns, aspectSet, backfillMode));
+      // set aspectSetToUse to null if empty to backfill all aspects
+      Set<String> aspectSetToUse = aspectSet.isEmpty() ? null : aspectSet;
+      return Optional.of(dao.backfillMAE(backfillMode, aspectSetToUse, urns));
+    } catch (IllegalArgumentException | InvalidMetadataType e) {
+      log.warn(String.format("Illegal argument or invalid metadata type, urns: %s, aspectSet: %s", urns, aspectSet), e);
+    } catch (IllegalStateException e) {
+      log.warn(String.format("Backfill failed for illegal state, urns: %s, aspectSet: %s", urns, aspectSet), e);
+    }
+    return Optional.empty();
+  }
+
   protected Optional<BackfillItem> backfillMAEForUrn(@Nonnull String urn, @Nonnull List<String> aspectSet,
       @Nonnull BackfillMode backfillMode, @Nonnull BaseLocalDAO<? extends UnionTemplate, ? extends Urn> dao) {
     try {
@@ -144,10 +185,7 @@ public abstract class BaseEntityAgnosticResource {
       Set<String> aspectSetToUse = aspectSet.isEmpty() ? null : new HashSet<>(aspectSet);
       Set<String> backfilledAspects = dao.backfillMAE(backfillMode, aspectSetToUse, Collections.singleton(urn)).get(urn);
       log.info(String.format("Backfilled aspects: %s, for urn: %s, aspectSet: %s, backfillMode: %s", backfilledAspects, urn, aspectSet, backfillMode));
-      if (backfilledAspects == null || backfilledAspects.isEmpty()) {
-        return Optional.empty();
-      }
-      return Optional.of(new BackfillItem().setUrn(urn).setAspects(new StringArray(backfilledAspects)));
+      return toBackfillItem(urn, backfilledAspects);
     } catch (IllegalArgumentException | InvalidMetadataType e) {
       log.warn(String.format("Illegal argument or invalid metadata type, urn: %s, aspectSet: %s", urn, aspectSet), e);
     } catch (IllegalStateException e) {
@@ -156,6 +194,14 @@ public abstract class BaseEntityAgnosticResource {
     return Optional.empty();
   }
 
+  @Nonnull
+  private static Optional<BackfillItem> toBackfillItem(@Nonnull String urn, @Nullable Set<String> backfilledAspects) {
+    if (backfilledAspects == null || backfilledAspects.isEmpty()) {
+      return Optional.empty();
+    }
+    return Optional.of(new BackfillItem().setUrn(urn).setAspects(new StringArray(backfilledAspects)));
+  }
+
   /**
    * Helper method to get the {@link BaseLocalDAO} from class {@link LocalDaoRegistry} for the given entity type.
    */
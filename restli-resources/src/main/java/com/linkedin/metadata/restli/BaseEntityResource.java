@@ -50,6 +50,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
@@ -180,6 +181,15 @@ public abstract class BaseEntityResource<
     return null; // override in resource class only if needed
   }
 
+  /**
+   * Whether {@link #get(Object, String[])} runs its existence check and aspect reads concurrently on the local DAO's
+   * async read executor instead of on the request thread, and reads the local and shadow read DAOs concurrently. The
+   * batch gets then read their aspects on the async read executor too. Override to enable.
+   */
+  protected boolean isParallelReadEnabled() {
+    return false;
+  }
+
   /**
    * Creates an URN from its string representation.
    */
@@ -232,6 +242,10 @@ public abstract class BaseEntityResource<
   protected Task<VALUE> get(@Nonnull KEY id, @QueryParam(PARAM_ASPECTS) @Optional @Nullable String[] aspectNames,
       boolean isInternalModelsEnabled) {
 
+    if (isParallelReadEnabled()) {
+      return getAsync(id, aspectNames, isInternalModelsEnabled);
+    }
+
     return RestliUtils.toTask(() -> {
       final URN urn = toUrn(id);
       BaseLocalDAO<INTERNAL_ASPECT_UNION, URN> shadowReadLocalDAO = getShadowReadLocalDAO();
@@ -251,6 +265,40 @@ public abstract class BaseEntityResource<
     });
   }
 
+  /**
+   * Same as {@link #get(Object, String[], boolean)} but the existence check and the aspect reads run concurrently on
+   * the local DAO's async read executor, so the request thread isn't blocked on them. The reads are chained without
+   * blocking, so they can't starve the executor of the threads they wait on.
+   */
+  @Nonnull
+  private Task<VALUE> getAsync(@Nonnull KEY id, @Nullable String[] aspectNames, boolean isInternalModelsEnabled) {
+    return RestliUtils.toTaskAsync(() -> {
+      final URN urn = toUrn(id);
+      final Set<Class<? extends RecordTemplate>> aspectClasses = parseAspectsParam(aspectNames, isInternalModelsEnabled);
+      final BaseLocalDAO<INTERNAL_ASPECT_UNION, URN> shadowReadLocalDAO = getShadowReadLocalDAO();
+      final CompletableFuture<Boolean> exists = getLocalDAO().existsAsync(urn).thenCompose(found -> {
+        if (found || shadowReadLocalDAO == null) {
+          return CompletableFuture.completedFuture(found);
+        }
+        return shadowReadLocalDAO.existsAsync(urn).thenApply(foundInShadow -> {
+          if (foundInShadow) {
+            log.warn("Entity {} exists in shadow DAO but not in local DAO. Ignoring shadow-only data.", urn);
+          }
+          return false;
+        });
+      });
+      final CompletableFuture<Map<URN, List<UnionTemplate>>> aspects =
+          getUrnAspectMapAsync(Collections.singleton(urn), aspectClasses, isInternalModelsEnabled);
+      return exists.thenCombine(aspects, (found, urnAspectsMap) -> {
+        if (!found) {
+          throw RestliUtils.resourceNotFoundException();
+        }
+        return isInternalModelsEnabled ? toInternalValue(newInternalSnapshot(urn, urnAspectsMap.get(urn)))
+            : toValue(newSnapshot(urn, urnAspectsMap.get(urn)));
+      });
+    });
+  }
+
   /**
    * Similar to {@link #get(Object, String[])} but for multiple entities. This method is deprecated in favor of
    * {@link #batchGetWithErrors}. This method has incorrect behavior when dealing with keys which don't exist
@@ -270,6 +318,17 @@ public abstract class BaseEntityResource<
   @Nonnull
   private Task<Map<KEY, VALUE>> batchGet(@Nonnull Set<KEY> ids,
       @QueryParam(PARAM_ASPECTS) @Optional @Nullable String[] aspectNames, boolean isInternalModelsEnabled) {
+    if (isParallelReadEnabled()) {
+      return RestliUtils.toTaskAsync(() -> {
+        final Map<URN, KEY> urnMap = ids.stream().collect(Collectors.toMap(this::toUrn, Function.identity()));
+        return getUrnAspectMapAsync(urnMap.keySet(), parseAspectsParam(aspectNames, isInternalModelsEnabled),
+            isInternalModelsEnabled).thenApply(urnAspectsMap -> toValues(urnAspectsMap, isInternalModelsEnabled)
+            .entrySet()
+            .stream()
+            .collect(Collectors.toMap(e -> urnMap.get(e.getKey()), Map.Entry::getValue)));
+      });
+    }
+
     return RestliUtils.toTask(() -> {
       final Map<URN, KEY> urnMap = ids.stream().collect(Collectors.toMap(this::toUrn, Function.identity()));
       return getInternal(urnMap.keySet(), parseAspectsParam(aspectNames, isInternalModelsEnabled),
@@ -296,31 +355,46 @@ public abstract class BaseEntityResource<
   @Nonnull
   private Task<BatchResult<KEY, VALUE>> batchGetWithErrors(@Nonnull Set<KEY> ids,
       @QueryParam(PARAM_ASPECTS) @Optional @Nullable String[] aspectNames, boolean isInternalModelsEnabled) {
+    if (isParallelReadEnabled()) {
+      return RestliUtils.toTaskAsync(() -> {
+        final Map<URN, KEY> urnMap = ids.stream().collect(Collectors.toMap(this::toUrn, Function.identity()));
+        return getUrnAspectMapAsync(urnMap.keySet(), parseAspectsParam(aspectNames, isInternalModelsEnabled),
+            isInternalModelsEnabled).thenApply(
+                urnAspectsMap -> toBatchResult(urnMap, toValues(urnAspectsMap, isInternalModelsEnabled)));
+      });
+    }
+
     return RestliUtils.toTask(() -> {
-      final Map<KEY, RestLiServiceException> errors = new HashMap<>();
-      final Map<KEY, HttpStatus> statuses = new HashMap<>();
       final Map<URN, KEY> urnMap = ids.stream().collect(Collectors.toMap(this::toUrn, Function.identity()));
-      final Map<URN, VALUE> batchResult =
-          getInternal(urnMap.keySet(), parseAspectsParam(aspectNames, isInternalModelsEnabled),
-              isInternalModelsEnabled);
-      batchResult.entrySet().removeIf(entry -> {
-        if (!entry.getValue().data().isEmpty()) {
-          // don't remove if there is a non-empty value associated with the key
-          statuses.put(urnMap.get(entry.getKey()), HttpStatus.S_200_OK);
-          return false;
-        }
-        // if this key's value is empty, then this key doesn't exist in the db.
-        // mark this key with 404 and remove the entry from the map
-        errors.put(urnMap.get(entry.getKey()), new RestLiServiceException(HttpStatus.S_404_NOT_FOUND));
-        statuses.put(urnMap.get(entry.getKey()), HttpStatus.S_404_NOT_FOUND);
-        return true;
-      });
-      return new BatchResult<>(
-          batchResult.entrySet().stream().collect(Collectors.toMap(e -> urnMap.get(e.getKey()), Map.Entry::getValue)),
-          statuses, errors);
+      return toBatchResult(urnMap, getInternal(urnMap.keySet(),
+          parseAspectsParam(aspectNames, isInternalModelsEnabled), isInternalModelsEnabled));
     });
   }
 
+  /**
+   * Builds the result of {@link #batchGetWithErrors(Set, String[])}, reporting the URNs without any aspect as not found.
+   */
+  @Nonnull
+  private BatchResult<KEY, VALUE> toBatchResult(@Nonnull Map<URN, KEY> urnMap, @Nonnull Map<URN, VALUE> batchResult) {
+    final Map<KEY, RestLiServiceException> errors = new HashMap<>();
+    final Map<KEY, HttpStatus> statuses = new HashMap<>();
+    batchResult.entrySet().removeIf(entry -> {
+      if (!entry.getValue().data().isEmpty()) {
+        // don't remove if there is a non-empty value associated with the key
+        statuses.put(urnMap.get(entry.getKey()), HttpStatus.S_200_OK);
+        return false;
+      }
+      // if this key's value is empty, then this key doesn't exist in the db.
+      // mark this key with 404 and remove the entry from the map
+      errors.put(urnMap.get(entry.getKey()), new RestLiServiceException(HttpStatus.S_404_NOT_FOUND));
+      statuses.put(urnMap.get(entry.getKey()), HttpStatus.S_404_NOT_FOUND);
+      return true;
+    });
+    return new BatchResult<>(
+        batchResult.entrySet().stream().collect(Collectors.toMap(e -> urnMap.get(e.getKey()), Map.Entry::getValue)),
+        statuses, errors);
+  }
+
   /**
    * Deprecated to use {@link #ingestAsset(RecordTemplate, IngestionParams)} instead.
    * An action method for automated ingestion pipeline.
@@ -1193,7 +1267,13 @@ public abstract class BaseEntityResource<
   @Nonnull
   protected Map<URN, VALUE> getInternal(@Nonnull Collection<URN> urns,
       @Nonnull Set<Class<? extends RecordTemplate>> aspectClasses, boolean isInternalModelsEnabled) {
-    return getUrnAspectMap(urns, aspectClasses, isInternalModelsEnabled).entrySet()
+    return toValues(getUrnAspectMap(urns, aspectClasses, isInternalModelsEnabled), isInternalModelsEnabled);
+  }
+
+  @Nonnull
+  private Map<URN, VALUE> toValues(@Nonnull Map<URN, List<UnionTemplate>> urnAspectsMap,
+      boolean isInternalModelsEnabled) {
+    return urnAspectsMap.entrySet()
         .stream()
         .collect(Collectors.toMap(Map.Entry::getKey,
             e -> isInternalModelsEnabled ? toInternalValue(newInternalSnapshot(e.getKey(), e.getValue()))
@@ -1217,32 +1297,65 @@ public abstract class BaseEntityResource<
   @Nonnull
   private Map<URN, List<UnionTemplate>> getUrnAspectMap(@Nonnull Collection<URN> urns,
       @Nonnull Set<Class<? extends RecordTemplate>> aspectClasses, boolean isInternalModelsEnabled) {
-    // Construct the keys to retrieve latest version of all supported aspects for all URNs.
-    final Set<AspectKey<URN, ? extends RecordTemplate>> keys = urns.stream()
+    final Set<AspectKey<URN, ? extends RecordTemplate>> keys = newAspectKeys(urns, aspectClasses);
+
+    BaseLocalDAO<INTERNAL_ASPECT_UNION, URN> shadowReadLocalDAO = getShadowReadLocalDAO();
+    if (shadowReadLocalDAO == null) {
+      return toUrnAspectMap(urns, getLocalDAO().get(keys), isInternalModelsEnabled);
+    } else {
+      return getUrnAspectMapFromShadowDao(urns, keys, isInternalModelsEnabled, shadowReadLocalDAO);
+    }
+  }
+
+  /**
+   * Asynchronous version of {@link #getUrnAspectMap(Collection, Set, boolean)}. The local and shadow reads run
+   * concurrently and are combined once both complete, without blocking a thread on either.
+   */
+  @Nonnull
+  private CompletableFuture<Map<URN, List<UnionTemplate>>> getUrnAspectMapAsync(@Nonnull Collection<URN> urns,
+      @Nonnull Set<Class<? extends RecordTemplate>> aspectClasses, boolean isInternalModelsEnabled) {
+    final Set<AspectKey<URN, ? extends RecordTemplate>> keys = newAspectKeys(urns, aspectClasses);
+
+    final BaseLocalDAO<INTERNAL_ASPECT_UNION, URN> shadowReadLocalDAO = getShadowReadLocalDAO();
+    if (shadowReadLocalDAO == null) {
+      return getLocalDAO().getAsync(keys)
+          .thenApply(localResults -> toUrnAspectMap(urns, localResults, isInternalModelsEnabled));
+    }
+    return getLocalDAO().getAsync(keys)
+        .thenCombine(shadowReadLocalDAO.getAsync(keys),
+            (localResults, shadowResults) -> mergeShadowResults(urns, keys, localResults, shadowResults,
+                isInternalModelsEnabled));
+  }
+
+  /**
+   * Constructs the keys to retrieve latest version of all supported aspects for all URNs.
+   */
+  @Nonnull
+  private Set<AspectKey<URN, ? extends RecordTemplate>> newAspectKeys(@Nonnull Collection<URN> urns,
+      @Nonnull Set<Class<? extends RecordTemplate>> aspectClasses) {
+    return urns.stream()
         .map(urn -> aspectClasses.stream()
             .map(clazz -> new AspectKey<>(clazz, urn, LATEST_VERSION))
             .collect(Collectors.toList()))
         .flatMap(List::stream)
         .collect(Collectors.toSet());
+  }
 
+  @Nonnull
+  private Map<URN, List<UnionTemplate>> toUrnAspectMap(@Nonnull Collection<URN> urns,
+      @Nonnull Map<AspectKey<URN, ? extends RecordTemplate>, java.util.Optional<? extends RecordTemplate>> results,
+      boolean isInternalModelsEnabled) {
     final Map<URN, List<UnionTemplate>> urnAspectsMap =
         urns.stream().collect(Collectors.toMap(Function.identity(), urn -> new ArrayList<>()));
 
-    BaseLocalDAO<INTERNAL_ASPECT_UNION, URN> shadowReadLocalDAO = getShadowReadLocalDAO();
-    if (shadowReadLocalDAO == null) {
-      if (isInternalModelsEnabled) {
-        getLocalDAO().get(keys)
-            .forEach((key, aspect) -> aspect.ifPresent(metadata -> urnAspectsMap.get(key.getUrn())
-                .add(ModelUtils.newAspectUnion(_internalAspectUnionClass, metadata))));
-      } else {
-        getLocalDAO().get(keys)
-            .forEach((key, aspect) -> aspect.ifPresent(metadata -> urnAspectsMap.get(key.getUrn())
-                .add(ModelUtils.newAspectUnion(_aspectUnionClass, metadata))));
-      }
-      return urnAspectsMap;
+    if (isInternalModelsEnabled) {
+      results.forEach((key, aspect) -> aspect.ifPresent(metadata -> urnAspectsMap.get(key.getUrn())
+          .add(ModelUtils.newAspectUnion(_internalAspectUnionClass, metadata))));
     } else {
-      return getUrnAspectMapFromShadowDao(urns, keys, isInternalModelsEnabled, shadowReadLocalDAO);
+      results.forEach((key, aspect) -> aspect.ifPresent(metadata -> urnAspectsMap.get(key.getUrn())
+          .add(ModelUtils.newAspectUnion(_aspectUnionClass, metadata))));
     }
+    return urnAspectsMap;
   }
 
   @Nonnull
@@ -1252,12 +1365,27 @@ public abstract class BaseEntityResource<
       boolean isInternalModelsEnabled,
       @Nonnull BaseLocalDAO<INTERNAL_ASPECT_UNION, URN> shadowReadLocalDAO) {
 
-    Map<AspectKey<URN, ? extends RecordTemplate>, java.util.Optional<? extends RecordTemplate>> localResults =
-        getLocalDAO().get(keys);
-
-    Map<AspectKey<URN, ? extends RecordTemplate>, java.util.Optional<? extends RecordTemplate>> shadowResults =
-        shadowReadLocalDAO.get(keys);
+    final Map<AspectKey<URN, ? extends RecordTemplate>, java.util.Optional<? extends RecordTemplate>> localResults;
+    final Map<AspectKey<URN, ? extends RecordTemplate>, java.util.Optional<? extends RecordTemplate>> shadowResults;
+    if (isParallelReadEnabled()) {
+      // Only called on the request thread; the async path uses getUrnAspectMapAsync instead of joining
+      final CompletableFuture<Map<AspectKey<URN, ? extends RecordTemplate>, java.util.Optional<? extends RecordTemplate>>>
+          shadowFuture = shadowReadLocalDAO.getAsync(keys);
+      localResults = getLocalDAO().get(keys);
+      shadowResults = RestliUtils.join(shadowFuture);
+    } else {
+      localResults = getLocalDAO().get(keys);
+      shadowResults = shadowReadLocalDAO.get(keys);
+    }
+    return mergeShadowResults(urns, keys, localResults, shadowResults, isInternalModelsEnabled);
+  }
 
+  @Nonnull
+  private Map<URN, List<UnionTemplate>> mergeShadowResults(@Nonnull Collection<URN> urns,
+      @Nonnull Set<AspectKey<URN, ? extends RecordTemplate>> keys,
+      @Nonnull Map<AspectKey<URN, ? extends RecordTemplate>, java.util.Optional<? extends RecordTemplate>> localResults,
+      @Nonnull Map<AspectKey<URN, ? extends RecordTemplate>, java.util.Optional<? extends RecordTemplate>> shadowResults,
+      boolean isInternalModelsEnabled) {
     final Map<URN, List<UnionTemplate>> urnAspectsMap =
         urns.stream().collect(Collectors.toMap(Function.identity(), urn -> new ArrayList<>()));
 
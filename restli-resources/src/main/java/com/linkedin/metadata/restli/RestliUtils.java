@@ -4,6 +4,8 @@ import com.linkedin.common.urn.Urn;
 import com.linkedin.data.template.RecordTemplate;
 import com.linkedin.data.template.StringArray;
 import com.linkedin.parseq.Task;
+import com.linkedin.parseq.promise.Promises;
+import com.linkedin.parseq.promise.SettablePromise;
 import com.linkedin.restli.common.HttpStatus;
 import com.linkedin.restli.server.RestLiServiceException;
 import java.util.Comparator;
@@ -11,6 +13,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
@@ -34,18 +38,74 @@ public class RestliUtils {
     try {
       return Task.value(supplier.get());
     } catch (Throwable throwable) {
+      throw toRestLiServiceException(throwable);
+    }
+  }
 
-      // Convert IllegalArgumentException to BAD REQUEST
-      if (throwable instanceof IllegalArgumentException || throwable.getCause() instanceof IllegalArgumentException) {
-        throwable = badRequestException(throwable.getMessage());
+  /**
+   * Similar to {@link #toTask(Supplier)} but the supplier starts an asynchronous computation and returns its future.
+   * The task completes when the future does, without blocking a thread while waiting for it. Exceptions thrown by the
+   * supplier or completing the future are wrapped the same way.
+   * @param supplier The supplier starting the asynchronous computation
+   * @return A parseq {@link Task}
+   */
+  @Nonnull
+  public static <T> Task<T> toTaskAsync(@Nonnull Supplier<CompletableFuture<T>> supplier) {
+    return Task.async(() -> {
+      final SettablePromise<T> promise = Promises.settable();
+      final CompletableFuture<T> future;
+      try {
+        future = supplier.get();
+      } catch (Throwable throwable) {
+        promise.fail(toRestLiServiceException(throwable));
+        return promise;
       }
+      future.whenComplete((value, throwable) -> {
+        if (throwable == null) {
+          promise.done(value);
+        } else {
+          promise.fail(toRestLiServiceException(unwrapCompletionException(throwable)));
+        }
+      });
+      return promise;
+    });
+  }
 
-      if (throwable instanceof RestLiServiceException) {
-        throw (RestLiServiceException) throwable;
+  /**
+   * Waits for the future of an asynchronous read and returns its result, rethrowing what the read threw rather than
+   * the wrapping {@link CompletionException}.
+   * @param future The future of the read
+   * @return The result of the read
+   */
+  public static <T> T join(@Nonnull CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      final Throwable cause = unwrapCompletionException(e);
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
       }
+      throw e;
+    }
+  }
+
+  @Nonnull
+  private static Throwable unwrapCompletionException(@Nonnull Throwable throwable) {
+    return throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+  }
 
-      throw new RestLiServiceException(HttpStatus.S_500_INTERNAL_SERVER_ERROR, throwable);
+  @Nonnull
+  private static RestLiServiceException toRestLiServiceException(@Nonnull Throwable throwable) {
+    // Convert IllegalArgumentException to BAD REQUEST
+    if (throwable instanceof IllegalArgumentException || throwable.getCause() instanceof IllegalArgumentException) {
+      throwable = badRequestException(throwable.getMessage());
+    }
+
+    if (throwable instanceof RestLiServiceException) {
+      return (RestLiServiceException) throwable;
     }
+
+    return new RestLiServiceException(HttpStatus.S_500_INTERNAL_SERVER_ERROR, throwable);
   }
 
   /**
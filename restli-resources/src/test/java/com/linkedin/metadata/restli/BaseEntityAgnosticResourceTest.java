@@ -21,7 +21,9 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -70,32 +72,24 @@ public class BaseEntityAgnosticResourceTest extends BaseEngineTest {
   @Test
   public void testBackfillMAESpecificAspectSuccess() {
     TestResource testResource = new TestResource();
-    for (String urn : fooUrnSet) {
-      when(_fooLocalDAO.backfillMAE(BackfillMode.BACKFILL_INCLUDING_LIVE_INDEX, multiAspectsSet, Collections.singleton(urn)))
-          .thenReturn(ImmutableMap.of(urn, singleAspectSet));
-    }
+    when(_fooLocalDAO.backfillMAE(BackfillMode.BACKFILL_INCLUDING_LIVE_INDEX, multiAspectsSet, fooUrnSet))
+        .thenReturn(provideBackfillResults(fooUrnSet, singleAspectSet));
 
     BackfillItem[] result = runAndWait(testResource.backfillMAE(provideBackfillItems(fooUrnSet, multiAspectsSet), IngestionMode.BACKFILL));
-    for (String urn : fooUrnSet) {
-      verify(_fooLocalDAO, times(1)).backfillMAE(BackfillMode.BACKFILL_INCLUDING_LIVE_INDEX,
-          multiAspectsSet, Collections.singleton(urn));
-    }
+    // all urns are backfilled in a single batch
+    verify(_fooLocalDAO, times(1)).backfillMAE(BackfillMode.BACKFILL_INCLUDING_LIVE_INDEX, multiAspectsSet, fooUrnSet);
+    verify(_fooLocalDAO, times(1)).backfillMAE(any(), any(), any());
     assertEqualBackfillItemArrays(result, provideBackfillItems(fooUrnSet, singleAspectSet));
   }
 
   @Test
   public void testBackfillMAENullAspectSuccess() {
     TestResource testResource = new TestResource();
-    for (String urn : fooUrnSet) {
-      when(_fooLocalDAO.backfillMAE(BackfillMode.BACKFILL_INCLUDING_LIVE_INDEX, null, Collections.singleton(urn)))
-          .thenReturn(ImmutableMap.of(urn, multiAspectsSet));
-    }
+    when(_fooLocalDAO.backfillMAE(BackfillMode.BACKFILL_INCLUDING_LIVE_INDEX, null, fooUrnSet))
+        .thenReturn(provideBackfillResults(fooUrnSet, multiAspectsSet));
 
     BackfillItem[] result = runAndWait(testResource.backfillMAE(provideBackfillItems(fooUrnSet, null), IngestionMode.BACKFILL));
-    for (String urn : fooUrnSet) {
-      verify(_fooLocalDAO, times(1)).backfillMAE(BackfillMode.BACKFILL_INCLUDING_LIVE_INDEX,
-          null, Collections.singleton(urn));
-    }
+    verify(_fooLocalDAO, times(1)).backfillMAE(BackfillMode.BACKFILL_INCLUDING_LIVE_INDEX, null, fooUrnSet);
     assertEqualBackfillItemArrays(result, provideBackfillItems(fooUrnSet, multiAspectsSet));
   }
 
@@ -103,14 +97,10 @@ public class BaseEntityAgnosticResourceTest extends BaseEngineTest {
   public void testBackfillMAEMultiEntitiesSuccess() {
     // mockito stubbing
     Set<String> barUrnSet = ImmutableSet.of(makeBarUrn(1).toString(), makeBarUrn(2).toString(), makeBarUrn(3).toString());
-    for (String urn : fooUrnSet) {
-      when(_fooLocalDAO.backfillMAE(BackfillMode.BACKFILL_INCLUDING_LIVE_INDEX, null, Collections.singleton(urn)))
-          .thenReturn(ImmutableMap.of(urn, multiAspectsSet));
-    }
-    for (String urn : barUrnSet) {
-      when(_barLocalDAO.backfillMAE(BackfillMode.BACKFILL_INCLUDING_LIVE_INDEX, null, Collections.singleton(urn)))
-          .thenReturn(ImmutableMap.of(urn, multiAspectsSet));
-    }
+    when(_fooLocalDAO.backfillMAE(BackfillMode.BACKFILL_INCLUDING_LIVE_INDEX, null, fooUrnSet))
+        .thenReturn(provideBackfillResults(fooUrnSet, multiAspectsSet));
+    when(_barLocalDAO.backfillMAE(BackfillMode.BACKFILL_INCLUDING_LIVE_INDEX, null, barUrnSet))
+        .thenReturn(provideBackfillResults(barUrnSet, multiAspectsSet));
 
     // merge urn sets
     Set<String> allUrnSet = new HashSet<>(barUrnSet);
@@ -119,15 +109,9 @@ public class BaseEntityAgnosticResourceTest extends BaseEngineTest {
     TestResource testResource = new TestResource();
     BackfillItem[] result = runAndWait(testResource.backfillMAE(provideBackfillItems(allUrnSet, null), IngestionMode.BACKFILL));
 
-    // verify all aspects are backfilled for each urn
-    for (String urn : fooUrnSet) {
-      verify(_fooLocalDAO, times(1)).backfillMAE(BackfillMode.BACKFILL_INCLUDING_LIVE_INDEX,
-          null, Collections.singleton(urn));
-    }
-    for (String urn : barUrnSet) {
-      verify(_barLocalDAO, times(1)).backfillMAE(BackfillMode.BACKFILL_INCLUDING_LIVE_INDEX,
-          null, Collections.singleton(urn));
-    }
+    // verify all aspects are backfilled for each urn, in a single batch per entity type
+    verify(_fooLocalDAO, times(1)).backfillMAE(BackfillMode.BACKFILL_INCLUDING_LIVE_INDEX, null, fooUrnSet);
+    verify(_barLocalDAO, times(1)).backfillMAE(BackfillMode.BACKFILL_INCLUDING_LIVE_INDEX, null, barUrnSet);
     BackfillItem[] expectedItems = provideBackfillItems(allUrnSet, multiAspectsSet);
     assertEqualBackfillItemArrays(result, expectedItems);
     verify(_fooLocalDAO, times(1)).getUrnClass();
@@ -139,19 +123,19 @@ public class BaseEntityAgnosticResourceTest extends BaseEngineTest {
   @Test
   public void testBackfillMAEEmptyBackfillResult() {
     TestResource testResource = new TestResource();
-    // no mockito stubbing, so dao.backfillMAE will return null
+    // no mockito stubbing, so dao.backfillMAE will return an empty map
     assertEquals(
         runAndWait(testResource.backfillMAE(provideBackfillItems(fooUrnSet, null), IngestionMode.BACKFILL)),
         new BackfillItem[0]
     );
-    verify(_fooLocalDAO, times(3)).backfillMAE(any(), any(), any());
+    verify(_fooLocalDAO, times(1)).backfillMAE(any(), any(), any());
   }
 
   @Test
   public void testBackfillMAEFilterEmptyAspectUrn() {
     TestResource testResource = new TestResource();
     Set<String> urnSet = ImmutableSet.of(makeFooUrn(1).toString(), makeFooUrn(2).toString());
-    when(_fooLocalDAO.backfillMAE(BackfillMode.BACKFILL_INCLUDING_LIVE_INDEX, null, Collections.singleton(makeFooUrn(1).toString())))
+    when(_fooLocalDAO.backfillMAE(BackfillMode.BACKFILL_INCLUDING_LIVE_INDEX, null, urnSet))
         .thenReturn(ImmutableMap.of(makeFooUrn(1).toString(), multiAspectsSet));
     BackfillItem[] result = runAndWait(testResource.backfillMAE(provideBackfillItems(urnSet, null), IngestionMode.BACKFILL));
     assertEqualBackfillItemArrays(result, provideBackfillItems(ImmutableSet.of(makeFooUrn(1).toString()), multiAspectsSet));
@@ -196,10 +180,14 @@ public class BaseEntityAgnosticResourceTest extends BaseEngineTest {
       when(_fooLocalDAO.backfillMAE(BackfillMode.BACKFILL_INCLUDING_LIVE_INDEX, multiAspectsSet, Collections.singleton(urn)))
           .thenReturn(ImmutableMap.of(urn, multiAspectsSet));
     }
+    doThrow(IllegalArgumentException.class).when(_fooLocalDAO).backfillMAE(BackfillMode.BACKFILL_INCLUDING_LIVE_INDEX, multiAspectsSet,
+        fooUrnSet);
     doThrow(IllegalArgumentException.class).when(_fooLocalDAO).backfillMAE(BackfillMode.BACKFILL_INCLUDING_LIVE_INDEX, multiAspectsSet,
         Collections.singleton(makeFooUrn(1).toString()));
 
     BackfillItem[] result = runAndWait(testResource.backfillMAE(provideBackfillItems(fooUrnSet, multiAspectsSet), IngestionMode.BACKFILL));
+    // the failed batch is backfilled one urn at a time
+    verify(_fooLocalDAO, times(1)).backfillMAE(BackfillMode.BACKFILL_INCLUDING_LIVE_INDEX, multiAspectsSet, fooUrnSet);
     for (String urn : fooUrnSet) {
       verify(_fooLocalDAO, times(1)).backfillMAE(BackfillMode.BACKFILL_INCLUDING_LIVE_INDEX,
           multiAspectsSet, Collections.singleton(urn));
@@ -209,6 +197,28 @@ public class BaseEntityAgnosticResourceTest extends BaseEngineTest {
     assertEqualBackfillItemArrays(result, expectedItems);
   }
 
+  @Test
+  public void testBackfillMAEBatchesByAspects() {
+    TestResource testResource = new TestResource();
+    Set<String> urnSet = ImmutableSet.of(makeFooUrn(1).toString(), makeFooUrn(2).toString());
+    String urn3 = makeFooUrn(3).toString();
+    when(_fooLocalDAO.backfillMAE(BackfillMode.BACKFILL_INCLUDING_LIVE_INDEX, multiAspectsSet, urnSet))
+        .thenReturn(provideBackfillResults(urnSet, multiAspectsSet));
+    doThrow(IllegalStateException.class).when(_fooLocalDAO).backfillMAE(BackfillMode.BACKFILL_INCLUDING_LIVE_INDEX, singleAspectSet,
+        Collections.singleton(urn3));
+
+    BackfillItem[] requests = Arrays.copyOf(provideBackfillItems(urnSet, multiAspectsSet), 3);
+    requests[2] = provideBackfillItems(Collections.singleton(urn3), singleAspectSet)[0];
+    BackfillItem[] result = runAndWait(testResource.backfillMAE(requests, IngestionMode.BACKFILL));
+
+    // one batch per set of aspects, and a failed batch of a single urn isn't retried
+    verify(_fooLocalDAO, times(1)).backfillMAE(BackfillMode.BACKFILL_INCLUDING_LIVE_INDEX, multiAspectsSet, urnSet);
+    verify(_fooLocalDAO, times(1)).backfillMAE(BackfillMode.BACKFILL_INCLUDING_LIVE_INDEX, singleAspectSet,
+        Collections.singleton(urn3));
+    verify(_fooLocalDAO, times(2)).backfillMAE(any(), any(), any());
+    assertEqualBackfillItemArrays(result, provideBackfillItems(urnSet, multiAspectsSet));
+  }
+
   @Test
   public void testListUrns() {
     TestResource testResource = new TestResource();
@@ -241,6 +251,10 @@ public class BaseEntityAgnosticResourceTest extends BaseEngineTest {
     }).toArray(BackfillItem[]::new);
   }
 
+  private Map<String, Set<String>> provideBackfillResults(Collection<String> urnSet, Set<String> aspects) {
+    return urnSet.stream().collect(Collectors.toMap(urn -> urn, urn -> aspects));
+  }
+
   private void assertEqualBackfillItemArrays(BackfillItem[] actual, BackfillItem[] expected) {
     List<BackfillItem> expectedList = Arrays.asList(expected);
     List<BackfillItem> actualList = Arrays.asList(actual);
@@ -64,6 +64,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import org.testng.annotations.BeforeMethod;
@@ -78,8 +81,10 @@ import static org.testng.Assert.*;
 public class BaseEntityResourceTest extends BaseEngineTest {
 
   private BaseLocalDAO<InternalEntityAspectUnion, FooUrn> _mockLocalDAO;
+  private BaseLocalDAO<InternalEntityAspectUnion, FooUrn> _mockShadowReadLocalDAO;
   private TestResource _resource = new TestResource();
   private TestInternalResource _internalResource = new TestInternalResource();
+  private boolean _parallelReadEnabled;
 
   class TestResource extends
                      BaseEntityResource<ComplexResourceKey<EntityKey, EmptyRecord>, EntityValue, FooUrn, EntitySnapshot,
@@ -101,6 +106,16 @@ public class BaseEntityResourceTest extends BaseEngineTest {
       return _mockLocalDAO;
     }
 
+    @Override
+    protected BaseLocalDAO<InternalEntityAspectUnion, FooUrn> getShadowReadLocalDAO() {
+      return _mockShadowReadLocalDAO;
+    }
+
+    @Override
+    protected boolean isParallelReadEnabled() {
+      return _parallelReadEnabled;
+    }
+
     @Nonnull
     @Override
     protected FooUrn createUrnFromString(@Nonnull String urnString) {
@@ -245,6 +260,8 @@ public class BaseEntityResourceTest extends BaseEngineTest {
   @BeforeMethod
   public void setup() {
     _mockLocalDAO = mock(BaseLocalDAO.class);
+    _mockShadowReadLocalDAO = null;
+    _parallelReadEnabled = false;
   }
 
   @Test
@@ -267,6 +284,85 @@ public class BaseEntityResourceTest extends BaseEngineTest {
     assertFalse(value.hasBar());
   }
 
+  @Test
+  public void testGetWithParallelReads() {
+    _parallelReadEnabled = true;
+    FooUrn urn = makeFooUrn(1234);
+    AspectFoo foo = new AspectFoo().setValue("foo");
+    AspectKey<FooUrn, AspectFoo> aspect1Key = new AspectKey<>(AspectFoo.class, urn, LATEST_VERSION);
+    String[] aspectNames = {AspectFoo.class.getCanonicalName()};
+    when(_mockLocalDAO.existsAsync(urn)).thenReturn(CompletableFuture.completedFuture(true));
+    when(_mockLocalDAO.getAsync(Collections.singleton(aspect1Key))).thenReturn(
+        CompletableFuture.completedFuture(Collections.singletonMap(aspect1Key, Optional.of(foo))));
+
+    EntityValue value = runAndWait(_resource.get(makeResourceKey(urn), aspectNames));
+
+    assertEquals(value.getFoo(), foo);
+    verify(_mockLocalDAO, never()).exists(urn);
+    verify(_mockLocalDAO, never()).get(anySet());
+  }
+
+  @Test
+  public void testGetWithParallelReadsOnSingleThreadExecutor() {
+    _parallelReadEnabled = true;
+    _mockShadowReadLocalDAO = mock(BaseLocalDAO.class);
+    FooUrn urn = makeFooUrn(1234);
+    AspectFoo foo = new AspectFoo().setValue("foo");
+    AspectKey<FooUrn, AspectFoo> aspect1Key = new AspectKey<>(AspectFoo.class, urn, LATEST_VERSION);
+    String[] aspectNames = {AspectFoo.class.getCanonicalName()};
+    // both DAOs share a single read thread, so any read waiting on another one would never complete
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      when(_mockLocalDAO.existsAsync(urn)).thenReturn(CompletableFuture.supplyAsync(() -> true, executor));
+      when(_mockLocalDAO.getAsync(Collections.singleton(aspect1Key))).thenReturn(
+          CompletableFuture.supplyAsync(() -> Collections.singletonMap(aspect1Key, Optional.of(foo)), executor));
+      when(_mockShadowReadLocalDAO.getAsync(Collections.singleton(aspect1Key))).thenReturn(
+          CompletableFuture.supplyAsync(() -> Collections.singletonMap(aspect1Key, Optional.of(foo)), executor));
+
+      // runAndWait fails if the task doesn't complete within its timeout
+      EntityValue value = runAndWait(_resource.get(makeResourceKey(urn), aspectNames));
+
+      assertEquals(value.getFoo(), foo);
+      verify(_mockLocalDAO, never()).exists(urn);
+      verify(_mockShadowReadLocalDAO, never()).exists(urn);
+      verify(_mockShadowReadLocalDAO, never()).get(anySet());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testGetWithParallelReadsUrnNotFound() {
+    _parallelReadEnabled = true;
+    FooUrn urn = makeFooUrn(1234);
+    when(_mockLocalDAO.existsAsync(urn)).thenReturn(CompletableFuture.completedFuture(false));
+    when(_mockLocalDAO.getAsync(Collections.emptySet())).thenReturn(
+        CompletableFuture.completedFuture(Collections.emptyMap()));
+
+    // the failure surfaces when the task runs rather than when it is created
+    RestLiServiceException e =
+        runAndWaitException(_resource.get(makeResourceKey(urn), new String[0]), RestLiServiceException.class);
+    assertEquals(e.getStatus(), HttpStatus.S_404_NOT_FOUND);
+  }
+
+  @Test
+  public void testGetWithParallelReadsUrnOnlyInShadow() {
+    _parallelReadEnabled = true;
+    _mockShadowReadLocalDAO = mock(BaseLocalDAO.class);
+    FooUrn urn = makeFooUrn(1234);
+    when(_mockLocalDAO.existsAsync(urn)).thenReturn(CompletableFuture.completedFuture(false));
+    when(_mockShadowReadLocalDAO.existsAsync(urn)).thenReturn(CompletableFuture.completedFuture(true));
+    when(_mockLocalDAO.getAsync(Collections.emptySet())).thenReturn(
+        CompletableFuture.completedFuture(Collections.emptyMap()));
+    when(_mockShadowReadLocalDAO.getAsync(Collections.emptySet())).thenReturn(
+        CompletableFuture.completedFuture(Collections.emptyMap()));
+
+    RestLiServiceException e =
+        runAndWaitException(_resource.get(makeResourceKey(urn), new String[0]), RestLiServiceException.class);
+    assertEquals(e.getStatus(), HttpStatus.S_404_NOT_FOUND);
+    verify(_mockShadowReadLocalDAO, never()).exists(urn);
+  }
+
   @Test
   public void testInternalModelGet() {
     FooUrn urn = makeFooUrn(1234);
@@ -439,6 +535,52 @@ public class BaseEntityResourceTest extends BaseEngineTest {
     verifyNoMoreInteractions(_mockLocalDAO);
   }
 
+  @Test
+  public void testBatchGetWithParallelReads() {
+    _parallelReadEnabled = true;
+    FooUrn urn1 = makeFooUrn(1);
+    FooUrn urn2 = makeFooUrn(2);
+    AspectFoo foo = new AspectFoo().setValue("foo");
+    AspectKey<FooUrn, AspectFoo> fooKey1 = new AspectKey<>(AspectFoo.class, urn1, LATEST_VERSION);
+    AspectKey<FooUrn, AspectFoo> fooKey2 = new AspectKey<>(AspectFoo.class, urn2, LATEST_VERSION);
+    String[] aspectNames = {ModelUtils.getAspectName(AspectFoo.class)};
+    when(_mockLocalDAO.getAsync(ImmutableSet.of(fooKey1, fooKey2))).thenReturn(
+        CompletableFuture.completedFuture(Collections.singletonMap(fooKey1, Optional.of(foo))));
+
+    Map<EntityKey, EntityValue> keyValueMap =
+        runAndWait(_resource.batchGet(ImmutableSet.of(makeResourceKey(urn1), makeResourceKey(urn2)), aspectNames))
+            .entrySet()
+            .stream()
+            .collect(Collectors.toMap(e -> e.getKey().getKey(), e -> e.getValue()));
+
+    assertEquals(keyValueMap.size(), 2);
+    assertEquals(keyValueMap.get(makeKey(1)).getFoo(), foo);
+    assertFalse(keyValueMap.get(makeKey(2)).hasFoo());
+    verify(_mockLocalDAO, never()).get(anySet());
+  }
+
+  @Test
+  public void testBatchGetWithErrorsWithParallelReads() {
+    _parallelReadEnabled = true;
+    FooUrn urn1 = makeFooUrn(1);
+    FooUrn urn2 = makeFooUrn(2);
+    AspectFoo foo = new AspectFoo().setValue("foo");
+    AspectKey<FooUrn, AspectFoo> fooKey1 = new AspectKey<>(AspectFoo.class, urn1, LATEST_VERSION);
+    AspectKey<FooUrn, AspectFoo> fooKey2 = new AspectKey<>(AspectFoo.class, urn2, LATEST_VERSION);
+    String[] aspectNames = {ModelUtils.getAspectName(AspectFoo.class)};
+    when(_mockLocalDAO.getAsync(ImmutableSet.of(fooKey1, fooKey2))).thenReturn(
+        CompletableFuture.completedFuture(Collections.singletonMap(fooKey1, Optional.of(foo))));
+
+    BatchResult<EntityKey, EntityValue> batchResultMap = convertBatchResult(runAndWait(
+        _resource.batchGetWithErrors(ImmutableSet.of(makeResourceKey(urn1), makeResourceKey(urn2)), aspectNames)));
+
+    assertEquals(batchResultMap.size(), 1);
+    assertEquals(batchResultMap.get(makeKey(1)).getFoo(), foo);
+    assertEquals(batchResultMap.getStatuses().get(makeKey(2)), HttpStatus.S_404_NOT_FOUND);
+    assertEquals(batchResultMap.getErrors().get(makeKey(2)).getStatus(), HttpStatus.S_404_NOT_FOUND);
+    verify(_mockLocalDAO, never()).get(anySet());
+  }
+
   @Test
   public void testBatchGetWithErrorsUrnsNotFound() {
     FooUrn urn1 = makeFooUrn(1);